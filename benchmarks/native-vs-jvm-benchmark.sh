@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+#
+# Compares the JVM build and the GraalVM native executable of the headless solver on
+#   - start up time: wall time of solving a single equation given on the command line
+#   - peak RSS: maximum resident set size of the batch run, from GNU time
+#   - steady-state throughput: equations per second solved from standard input
+#
+# Usage: mvn -B package && mvn -B -Pnative package && benchmarks/native-vs-jvm-benchmark.sh [equations] [runs]
+#
+# @author Terence Lee
+
+set -euo pipefail
+
+EQUATIONS="${1:-1000000}"
+RUNS="${2:-5}"
+PROJECT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$PROJECT_DIR"/target/quadratic-equation-solver-*.jar | head -n 1)"
+NATIVE="$PROJECT_DIR/target/quadratic-equation-solver"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+INPUT="$(mktemp)"
+trap 'rm -f "$INPUT"' EXIT
+
+if [ ! -x "$NATIVE" ]; then
+    echo "No native executable at $NATIVE, build it with: mvn -B -Pnative package"
+    exit 1
+fi
+
+GNU_TIME=""
+if /usr/bin/time -f %M true > /dev/null 2>&1; then
+    GNU_TIME="/usr/bin/time"
+fi
+
+# Same pseudo random equations for both builds
+awk -v count="$EQUATIONS" 'BEGIN {
+    srand(42)
+    for (i = 0; i < count; i++) {
+        printf "%.6f %.6f %.6f\n", rand() * 200 - 100, rand() * 200 - 100, rand() * 200 - 100
+    }
+}' > "$INPUT"
+
+
+# Prints the median of the numbers read from standard input
+median() {
+    sort -n | awk '{ values[NR] = $1 } END {
+        if (NR % 2) { print values[(NR + 1) / 2] }
+        else { print (values[NR / 2] + values[NR / 2 + 1]) / 2 }
+    }'
+}
+
+
+# benchmark <label> <command...>
+benchmark() {
+    local label="$1"
+    shift
+
+    local startupTimes="" batchTimes="" peakRss=""
+
+    for _ in $(seq "$RUNS"); do
+        local start end
+        start=$(date +%s%N)
+        "$@" 6 11 -35 > /dev/null
+        end=$(date +%s%N)
+        startupTimes+="$(( (end - start) / 1000000 ))"$'\n'
+
+        start=$(date +%s%N)
+        if [ -n "$GNU_TIME" ]; then
+            peakRss+="$("$GNU_TIME" -f %M "$@" --headless < "$INPUT" 2>&1 > /dev/null | tail -n 1)"$'\n'
+        else
+            "$@" --headless < "$INPUT" > /dev/null
+        fi
+        end=$(date +%s%N)
+        batchTimes+="$(( (end - start) / 1000000 ))"$'\n'
+    done
+
+    local batchMillis
+    batchMillis="$(echo -n "$batchTimes" | median)"
+
+    printf "%-8s start up %6s ms   peak RSS %8s KB   throughput %10.0f equations/s\n" "$label" \
+        "$(echo -n "$startupTimes" | median)" \
+        "$( [ -n "$peakRss" ] && echo -n "$peakRss" | median || echo n/a)" \
+        "$(awk -v count="$EQUATIONS" -v millis="$batchMillis" 'BEGIN { print count * 1000 / millis }')"
+}
+
+
+echo "Equations per batch run: $EQUATIONS, runs per measurement: $RUNS (medians)"
+benchmark "jvm" "$JAVA" -jar "$JAR"
+benchmark "native" "$NATIVE"
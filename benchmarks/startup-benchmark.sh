@@ -0,0 +1,82 @@
+#!/usr/bin/env bash
+#
+# Measures the time to first solve of the GUI and headless start up paths, with and
+# without the AppCDS archive recorded by the appcds profile
+#
+# Usage: mvn -B package && benchmarks/startup-benchmark.sh [runs]
+#
+# The GUI path needs a display; when DISPLAY is not set the script uses xvfb-run if it
+# is installed, and skips the GUI measurements otherwise
+#
+# @author Terence Lee
+
+set -euo pipefail
+
+RUNS="${1:-10}"
+PROJECT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$PROJECT_DIR"/target/quadratic-equation-solver-*.jar | head -n 1)"
+ARCHIVE="${JAR%.jar}.jsa"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+GUI_LAUNCHER=""
+if [ -z "${DISPLAY:-}" ]; then
+    if command -v xvfb-run > /dev/null; then
+        GUI_LAUNCHER="xvfb-run -a"
+    else
+        GUI_LAUNCHER="skip"
+    fi
+fi
+
+
+# Prints the median of the numbers read from standard input
+median() {
+    sort -n | awk '{ values[NR] = $1 } END {
+        if (NR % 2) { print values[(NR + 1) / 2] }
+        else { print (values[NR / 2] + values[NR / 2 + 1]) / 2 }
+    }'
+}
+
+
+# measure <label> <launcher> <java options> -- <application arguments>
+measure() {
+    local label="$1" launcher="$2" options="$3"
+    shift 4
+
+    local firstSolveTimes="" wallTimes=""
+
+    for _ in $(seq "$RUNS"); do
+        local start end output
+        start=$(date +%s%N)
+        # shellcheck disable=SC2086
+        output=$($launcher "$JAVA" $options -Dstartup.benchmark=true -jar "$JAR" "$@" 2>&1 > /dev/null)
+        end=$(date +%s%N)
+
+        firstSolveTimes+="$(echo "$output" | sed -n 's/.*time-to-first-solve-ms=\([0-9]*\).*/\1/p')"$'\n'
+        wallTimes+="$(( (end - start) / 1000000 ))"$'\n'
+    done
+
+    printf "%-22s time-to-first-solve %6s ms   process wall time %6s ms\n" "$label" \
+        "$(echo -n "$firstSolveTimes" | median)" "$(echo -n "$wallTimes" | median)"
+}
+
+
+echo "Runs per measurement: $RUNS (medians)"
+
+measure "headless" "" "" -- 6 11 -35
+
+if [ -f "$ARCHIVE" ]; then
+    measure "headless + AppCDS" "" "-XX:SharedArchiveFile=$ARCHIVE" -- 6 11 -35
+else
+    echo "No AppCDS archive at $ARCHIVE, build with a JDK 13+ to record one"
+fi
+
+if [ "$GUI_LAUNCHER" = "skip" ]; then
+    echo "No display and no xvfb-run, skipping the GUI path"
+    exit 0
+fi
+
+measure "gui" "$GUI_LAUNCHER" "" --
+
+if [ -f "$ARCHIVE" ]; then
+    measure "gui + AppCDS" "$GUI_LAUNCHER" "-XX:SharedArchiveFile=$ARCHIVE" --
+fi
@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+#
+# Measures how the solve throughput of the scalar and batch paths scales from 1 to N
+# threads, and prints the equations per second and the speedup over 1 thread
+#
+# Usage: mvn -B package && benchmarks/throughput-benchmark.sh [maximum threads] [equations] [rounds]
+#
+# @author Terence Lee
+
+set -euo pipefail
+
+THREADS="${1:-$(nproc)}"
+EQUATIONS="${2:-4194304}"
+ROUNDS="${3:-5}"
+PROJECT_DIR="$(cd "$(dirname "$0")/.." && pwd)"
+JAR="$(ls "$PROJECT_DIR"/target/quadratic-equation-solver-*.jar | head -n 1)"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+"$JAVA" -cp "$JAR" runners.ThroughputBenchmark "$THREADS" "$EQUATIONS" "$ROUNDS"
@@ -1,26 +1,95 @@
 import controllers.QuadraticEquationSolverRootPanel;
+import runners.HeadlessSolverRunner;
+import runners.StartupBenchmark;
 
 import javax.swing.*;
 
 /**
  * Contains only the main method to start up the swing application
  *
+ * When coefficients (or the --headless flag) are passed on the command line, the
+ * equations are solved by the HeadlessSolverRunner instead, and none of the Swing
+ * classes are loaded
+ *
  * @author Terence Lee
  * */
 public class Main {
 
+    /**
+     * The command line flag used by the build to record the class data sharing archive.
+     * Loads both the headless and the GUI classes, then exits
+     * */
+    static final String CDS_TRAINING_FLAG = "--cds-training";
+
+
     public static void main(String [] args){
 
-        QuadraticEquationSolverRootPanel rootPanel = new QuadraticEquationSolverRootPanel();
-        rootPanel.setVisible(true);
+        if (args.length == 1 && CDS_TRAINING_FLAG.equals(args[0])){
+
+            SwingUserInterface.runClassDataSharingTraining();
+            return;
+        }
+
+        if (args.length > 0){
+
+            HeadlessSolverRunner.main(args);
+            return;
+        }
+
+        SwingUtilities.invokeLater(SwingUserInterface::createAndShowMainFrame);
+    }
+
+
+    /**
+     * Holds every reference to the Swing user interface, so that the Swing and
+     * GroupLayout classes are only loaded once the GUI is actually needed
+     * */
+    private static class SwingUserInterface {
+
+        /**
+         * Create the root panel and the main frame, must be called on the event dispatch thread
+         * */
+        private static void createAndShowMainFrame(){
+
+            QuadraticEquationSolverRootPanel rootPanel = new QuadraticEquationSolverRootPanel();
+            rootPanel.setVisible(true);
+
+            JFrame mainFrame = new JFrame();
+            mainFrame.setContentPane(rootPanel);
+            mainFrame.setVisible(true);
+            mainFrame.setSize(680, 550);
+            mainFrame.setResizable(false);
+            mainFrame.setTitle("Quadratic Equation Solver By Terence Lee");
+            mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+
+            if (StartupBenchmark.isEnabled()){
+
+                rootPanel.solveAndDisplay(6, 11, -35);
+                StartupBenchmark.reportTimeToFirstSolve("gui");
+                System.exit(0);
+            }
+        }
+
+
+        /**
+         * Exercise the root panel and the headless solver once, without showing a window,
+         * so that -XX:ArchiveClassesAtExit records the classes of both start up paths
+         * */
+        private static void runClassDataSharingTraining(){
+
+            HeadlessSolverRunner.main(new String[]{"6", "11", "-35"});
+
+            try {
+                SwingUtilities.invokeAndWait(() -> {
 
-        JFrame mainFrame = new JFrame();
-        mainFrame.setContentPane(rootPanel);
-        mainFrame.setVisible(true);
-        mainFrame.setSize(680, 550);
-        mainFrame.setResizable(false);
-        mainFrame.setTitle("Quadratic Equation Solver By Terence Lee");
-        mainFrame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+                    QuadraticEquationSolverRootPanel rootPanel = new QuadraticEquationSolverRootPanel();
+                    rootPanel.solveAndDisplay(6, 11, -35);
+                });
+            }
+            catch (Exception e){
 
+                throw new IllegalStateException("Class data sharing training run failed", e);
+            }
+        }
     }
 }
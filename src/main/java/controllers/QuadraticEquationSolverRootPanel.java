@@ -1,6 +1,8 @@
 package controllers;
 
 
+import models.ExactQuadraticRoots;
+import models.ExactQuadraticSolver;
 import models.IComplexNumber;
 import models.IVertex;
 import models.QuadraticEquationSolver;
@@ -533,6 +535,24 @@ public class QuadraticEquationSolverRootPanel extends javax.swing.JPanel {
     }
 
 
+    /**
+     * Enter the given coefficients into the three user input textfields, then solve
+     * and display the quadratic equation as if the solve button had been clicked
+     *
+     * @param coefficientA the coefficient a of the quadratic equation
+     * @param coefficientB the coefficient b of the quadratic equation
+     * @param constantC the constant c of the quadratic equation
+     * */
+    public void solveAndDisplay(double coefficientA, double coefficientB, double constantC){
+
+        this.coefficientATextField.setText(String.valueOf(coefficientA));
+        this.coefficientBTextField.setText(String.valueOf(coefficientB));
+        this.constantCTextField.setText(String.valueOf(constantC));
+
+        getUserInputsAndDisplayQuadraticEquationSolution();
+    }
+
+
     /**
      * Retrieve the user inputs (coefficients and constant of the quadratic equation)
      * and solve the quadratic solution. Then display the corresponding solution
@@ -713,6 +733,13 @@ public class QuadraticEquationSolverRootPanel extends javax.swing.JPanel {
 
         String rootTypeToDisplay = null;
 
+        if (rootType == null){
+
+            this.typeOfRootsNonEditableTextField.setText(
+                    describeDegenerateEquation(quadraticEquationSolver.getEquationType()));
+            return;
+        }
+
         switch (rootType){
 
             case REAL_AND_DISTINCT:
@@ -726,12 +753,37 @@ public class QuadraticEquationSolverRootPanel extends javax.swing.JPanel {
             case COMPLEX:
                 rootTypeToDisplay = "Complex";
                 break;
+
+            case SINGLE_REAL:
+                rootTypeToDisplay = "Linear (One Real Root)";
+                break;
         }
 
         this.typeOfRootsNonEditableTextField.setText(rootTypeToDisplay);
     }
 
 
+    /**
+     * Returns the text displayed as the type of roots of an equation without a root type
+     *
+     * @param equationType the equation type of the degenerate equation
+     * */
+    private static String describeDegenerateEquation(QuadraticEquationSolver.EquationType equationType){
+
+        switch (equationType){
+
+            case CONSTANT:
+                return "No Roots";
+
+            case IDENTITY:
+                return "Every x is a Root";
+
+            default:
+                return "Invalid Input";
+        }
+    }
+
+
 
     /**
      * Displays the first root of the quadratic equation
@@ -754,11 +806,20 @@ public class QuadraticEquationSolverRootPanel extends javax.swing.JPanel {
 
             firstRootToDisplayString = String.format("%f - %fi", realPart, Math.abs(imaginaryPart));
         }
+        else if (firstRoot == null){
+            firstRootToDisplayString = "-";
+        }
         else{
             Double firstRootDouble = (Double) firstRoot;
             firstRootToDisplayString = firstRootDouble.toString();
         }
 
+        ExactQuadraticRoots exactRoots = solveExactly(quadraticEquationSolver);
+
+        if (exactRoots != null){
+            firstRootToDisplayString = withExactForm(exactRoots, exactRoots.formatFirstRoot(),
+                    firstRootToDisplayString);
+        }
 
         this.firstRootNonEditableTextField.setText(firstRootToDisplayString);
     }
@@ -785,16 +846,59 @@ public class QuadraticEquationSolverRootPanel extends javax.swing.JPanel {
 
             secondRootToDisplayString = String.format("%f + %fi", realPart, imaginaryPart);
         }
+        else if (secondRoot == null){
+            secondRootToDisplayString = "-";
+        }
         else{
             Double secondRootDouble = (Double) secondRoot;
             secondRootToDisplayString = secondRootDouble.toString();
         }
 
+        ExactQuadraticRoots exactRoots = solveExactly(quadraticEquationSolver);
+
+        if (exactRoots != null){
+            secondRootToDisplayString = withExactForm(exactRoots, exactRoots.formatSecondRoot(),
+                    secondRootToDisplayString);
+        }
 
         this.secondRootNonEditableTextField.setText(secondRootToDisplayString);
     }
 
 
+    /**
+     * Returns the exact roots of a quadratic equation with integer coefficients, e.g.
+     * (-3 ± 2√5)/4, or null if the equation is not quadratic or a coefficient is not an integer
+     *
+     * @param quadraticEquationSolver instance of QuadraticEquationSolver containing the
+     *                                solution of the quadratic equation
+     * */
+    private static ExactQuadraticRoots solveExactly(QuadraticEquationSolver quadraticEquationSolver){
+
+        double coefficientA = quadraticEquationSolver.getCoefficientA();
+        double coefficientB = quadraticEquationSolver.getCoefficientB();
+        double constantC = quadraticEquationSolver.getConstantC();
+
+        if (quadraticEquationSolver.getEquationType() != QuadraticEquationSolver.EquationType.QUADRATIC
+                || !ExactQuadraticSolver.isIntegral(coefficientA, coefficientB, constantC)){
+
+            return null;
+        }
+
+        return ExactQuadraticSolver.solve(coefficientA, coefficientB, constantC);
+    }
+
+
+    /**
+     * Returns the exact form of a root, followed by its approximation when the root is
+     * irrational or complex, e.g. (-3 - √13)/4 ≈ -1.651388
+     * */
+    private static String withExactForm(ExactQuadraticRoots exactRoots, String exactRoot,
+                                        String approximateRoot){
+
+        return exactRoots.isRational() ? exactRoot : exactRoot + " ≈ " + approximateRoot;
+    }
+
+
 
     /**
      * Displays the discriminant of the quadratic equation
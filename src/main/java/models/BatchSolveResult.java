@@ -0,0 +1,317 @@
+package models;
+
+
+/**
+ * Holds the solutions of a batch of polynomial equations of the same degree as
+ * primitive columns, one entry per equation (row)
+ *
+ * The roots of row i are stored at indexes [i * degree, (i + 1) * degree) of the root
+ * columns, so the first and second roots of a quadratic equation in row i are at
+ * indexes 2i and 2i + 1. Real roots have an imaginary part of 0
+ *
+ * The root type column holds the ordinal of QuadraticEquationSolver.RootType, see the
+ * ROOT_TYPE_ constants. Rows without a finite set of roots hold ROOT_TYPE_NONE
+ *
+ * Quadratic results also have an equation type column, which classifies degenerate
+ * inputs (a == 0, or coefficients which are not finite), see the EQUATION_TYPE_ constants
+ *
+ * The getters of the columns return the backing arrays (not copies), so that batches can
+ * be solved and read without any allocation
+ *
+ * A result is not thread-safe. Concurrent solves may write disjoint rows of the same
+ * result (solveParallel does), but the rows become visible to another thread only after
+ * a happens-before edge such as joining the solving threads, or handing the result over
+ * through a concurrent collection or a volatile field
+ *
+ * Example usage:
+ * <pre>
+ *     BatchSolveResult result = new BatchSolveResult(coefficientsA.length);
+ *
+ *     QuadraticEquationBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result);
+ *
+ *     double [] discriminants = result.getDiscriminants();
+ *     byte [] rootTypes = result.getRootTypes();
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public class BatchSolveResult {
+
+    /**
+     * Root type code of QuadraticEquationSolver.RootType.REAL_AND_EQUAL
+     * */
+    public static final byte ROOT_TYPE_REAL_AND_EQUAL = 0;
+
+    /**
+     * Root type code of QuadraticEquationSolver.RootType.REAL_AND_DISTINCT
+     * */
+    public static final byte ROOT_TYPE_REAL_AND_DISTINCT = 1;
+
+    /**
+     * Root type code of QuadraticEquationSolver.RootType.COMPLEX
+     * */
+    public static final byte ROOT_TYPE_COMPLEX = 2;
+
+    /**
+     * Root type code of QuadraticEquationSolver.RootType.SINGLE_REAL, the single root of a
+     * linear equation, which is held in the first root slot of its row
+     * */
+    public static final byte ROOT_TYPE_SINGLE_REAL = 3;
+
+    /**
+     * Root type code of rows that have no roots, or where every x is a root, or
+     * whose coefficients are not finite. getRootType() returns null for these rows
+     * */
+    public static final byte ROOT_TYPE_NONE = 4;
+
+    /**
+     * Equation type code of QuadraticEquationSolver.EquationType.QUADRATIC
+     * */
+    public static final byte EQUATION_TYPE_QUADRATIC = 0;
+
+    /**
+     * Equation type code of QuadraticEquationSolver.EquationType.LINEAR
+     * */
+    public static final byte EQUATION_TYPE_LINEAR = 1;
+
+    /**
+     * Equation type code of QuadraticEquationSolver.EquationType.CONSTANT
+     * */
+    public static final byte EQUATION_TYPE_CONSTANT = 2;
+
+    /**
+     * Equation type code of QuadraticEquationSolver.EquationType.IDENTITY
+     * */
+    public static final byte EQUATION_TYPE_IDENTITY = 3;
+
+    /**
+     * Equation type code of QuadraticEquationSolver.EquationType.NON_FINITE
+     * */
+    public static final byte EQUATION_TYPE_NON_FINITE = 4;
+
+    private static final QuadraticEquationSolver.RootType [] ROOT_TYPES = {
+            QuadraticEquationSolver.RootType.REAL_AND_EQUAL,
+            QuadraticEquationSolver.RootType.REAL_AND_DISTINCT,
+            QuadraticEquationSolver.RootType.COMPLEX,
+            QuadraticEquationSolver.RootType.SINGLE_REAL,
+            null};
+
+    private static final QuadraticEquationSolver.EquationType [] EQUATION_TYPES =
+            QuadraticEquationSolver.EquationType.values();
+
+    private final int size;
+    private final int degree;
+
+    private final byte [] rootTypes;
+    private final byte [] equationTypes;
+    private final double [] rootRealParts;
+    private final double [] rootImaginaryParts;
+
+    private final double [] discriminants;
+    private final double [] sumsOfRoots;
+    private final double [] productsOfRoots;
+
+    private final double [] vertexXCoordinates;
+    private final double [] vertexYCoordinates;
+
+
+    /**
+     * Create the columns for a batch of quadratic equations
+     *
+     * @param size the number of equations (rows) the result can hold
+     * */
+    public BatchSolveResult(int size){
+        this(size, 2);
+    }
+
+
+    /**
+     * Create the columns for a batch of polynomial equations
+     *
+     * The vertex columns are only created for quadratic equations (degree 2)
+     *
+     * @param size the number of equations (rows) the result can hold
+     * @param degree the degree of the polynomial equations, from 1 to 4
+     *
+     * @throws IllegalArgumentException if the size is negative or the degree is not supported
+     * */
+    public BatchSolveResult(int size, int degree){
+
+        if (size < 0){
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+
+        if (degree < 1 || degree > PolynomialEquationSolver.MAXIMUM_DEGREE){
+            throw new IllegalArgumentException("Degree must be between 1 and "
+                    + PolynomialEquationSolver.MAXIMUM_DEGREE + ": " + degree);
+        }
+
+        this.size = size;
+        this.degree = degree;
+
+        this.rootTypes = new byte[size];
+        this.equationTypes = degree == 2 ? new byte[size] : null;
+        this.rootRealParts = new double[size * degree];
+        this.rootImaginaryParts = new double[size * degree];
+
+        this.discriminants = new double[size];
+        this.sumsOfRoots = new double[size];
+        this.productsOfRoots = new double[size];
+
+        this.vertexXCoordinates = degree == 2 ? new double[size] : null;
+        this.vertexYCoordinates = degree == 2 ? new double[size] : null;
+    }
+
+
+    /**
+     * Returns the number of equations (rows) the result can hold
+     * */
+    public int getSize() {
+        return this.size;
+    }
+
+
+    /**
+     * Returns the degree of the polynomial equations, which is also the number of
+     * roots stored per row
+     * */
+    public int getDegree() {
+        return this.degree;
+    }
+
+
+    /**
+     * Returns the root type codes, one per row (see the ROOT_TYPE_ constants)
+     * */
+    public byte[] getRootTypes() {
+        return this.rootTypes;
+    }
+
+
+    /**
+     * Returns the equation type codes, one per row (see the EQUATION_TYPE_ constants), or
+     * null if the degree is not 2
+     * */
+    public byte[] getEquationTypes() {
+        return this.equationTypes;
+    }
+
+
+    /**
+     * Returns the real parts of the roots, degree entries per row
+     * */
+    public double[] getRootRealParts() {
+        return this.rootRealParts;
+    }
+
+
+    /**
+     * Returns the imaginary parts of the roots, degree entries per row
+     * */
+    public double[] getRootImaginaryParts() {
+        return this.rootImaginaryParts;
+    }
+
+
+    /**
+     * Returns the discriminants, one per row
+     * */
+    public double[] getDiscriminants() {
+        return this.discriminants;
+    }
+
+
+    /**
+     * Returns the sums of roots, one per row
+     * */
+    public double[] getSumsOfRoots() {
+        return this.sumsOfRoots;
+    }
+
+
+    /**
+     * Returns the products of roots, one per row
+     * */
+    public double[] getProductsOfRoots() {
+        return this.productsOfRoots;
+    }
+
+
+    /**
+     * Returns the x-coordinates of the vertices, one per row, or null if the
+     * degree is not 2
+     * */
+    public double[] getVertexXCoordinates() {
+        return this.vertexXCoordinates;
+    }
+
+
+    /**
+     * Returns the y-coordinates of the vertices, one per row, or null if the
+     * degree is not 2
+     * */
+    public double[] getVertexYCoordinates() {
+        return this.vertexYCoordinates;
+    }
+
+
+    /**
+     * Returns the root type of a row, or null if the row holds ROOT_TYPE_NONE
+     *
+     * @param row the index of the equation
+     * */
+    public QuadraticEquationSolver.RootType getRootType(int row){
+        return ROOT_TYPES[this.rootTypes[row]];
+    }
+
+
+    /**
+     * Returns the equation type of a row of a quadratic result
+     *
+     * @param row the index of the equation
+     * */
+    public QuadraticEquationSolver.EquationType getEquationType(int row){
+        return EQUATION_TYPES[this.equationTypes[row]];
+    }
+
+
+    /**
+     * Returns the real part of a root of a row
+     *
+     * @param row the index of the equation
+     * @param rootIndex the index of the root within the row, from 0 to degree - 1
+     * */
+    public double getRootRealPart(int row, int rootIndex){
+        return this.rootRealParts[row * this.degree + rootIndex];
+    }
+
+
+    /**
+     * Returns the imaginary part of a root of a row
+     *
+     * @param row the index of the equation
+     * @param rootIndex the index of the root within the row, from 0 to degree - 1
+     * */
+    public double getRootImaginaryPart(int row, int rootIndex){
+        return this.rootImaginaryParts[row * this.degree + rootIndex];
+    }
+
+
+    /**
+     * Check that the result holds equations of the given degree and has enough rows
+     *
+     * @throws IllegalArgumentException if the degree differs or the result is too small
+     * */
+    void checkCapacity(int requiredDegree, int requiredSize){
+
+        if (this.degree != requiredDegree){
+            throw new IllegalArgumentException("Result holds equations of degree " + this.degree
+                    + " but degree " + requiredDegree + " was solved");
+        }
+
+        if (this.size < requiredSize){
+            throw new IllegalArgumentException("Result holds " + this.size
+                    + " rows but " + requiredSize + " are required");
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package models;
+
+
+/**
+ * Holds the extrema of a batch of quadratics y = ax^2 + bx + c over bounded intervals
+ * [lowerBound, upperBound] as primitive columns, one entry per quadratic (row)
+ *
+ * The rows with a coefficient or a bound which is not finite, or with
+ * lowerBound > upperBound, hold NaN in every column
+ *
+ * The getters of the columns return the backing arrays (not copies)
+ *
+ * Example usage:
+ * <pre>
+ *     BoundedExtremaBatchResult result = new BoundedExtremaBatchResult(coefficientsA.length);
+ *
+ *     BoundedExtremaBatchSolver.solve(coefficientsA, coefficientsB, constantsC,
+ *             lowerBounds, upperBounds, result);
+ *
+ *     double minimum = result.getMinima()[row];
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public class BoundedExtremaBatchResult {
+
+    private final int size;
+
+    private final double [] minima;
+    private final double [] argMinima;
+    private final double [] maxima;
+    private final double [] argMaxima;
+
+
+    /**
+     * Create the columns for a batch of quadratics
+     *
+     * @param size the number of quadratics (rows) the result can hold
+     *
+     * @throws IllegalArgumentException if the size is negative
+     * */
+    public BoundedExtremaBatchResult(int size){
+
+        if (size < 0){
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+
+        this.size = size;
+
+        this.minima = new double[size];
+        this.argMinima = new double[size];
+        this.maxima = new double[size];
+        this.argMaxima = new double[size];
+    }
+
+
+    /**
+     * Returns the number of quadratics (rows) the result can hold
+     * */
+    public int getSize() {
+        return this.size;
+    }
+
+
+    /**
+     * Returns the smallest value of each quadratic over its interval, one per row
+     * */
+    public double[] getMinima() {
+        return this.minima;
+    }
+
+
+    /**
+     * Returns the x where each quadratic takes its smallest value, one per row
+     * */
+    public double[] getArgMinima() {
+        return this.argMinima;
+    }
+
+
+    /**
+     * Returns the largest value of each quadratic over its interval, one per row
+     * */
+    public double[] getMaxima() {
+        return this.maxima;
+    }
+
+
+    /**
+     * Returns the x where each quadratic takes its largest value, one per row
+     * */
+    public double[] getArgMaxima() {
+        return this.argMaxima;
+    }
+
+
+    /**
+     * Check that the result has enough rows
+     *
+     * @throws IllegalArgumentException if the result is too small
+     * */
+    void checkCapacity(int requiredSize){
+
+        if (this.size < requiredSize){
+            throw new IllegalArgumentException("Result holds " + this.size
+                    + " rows but " + requiredSize + " are required");
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package models;
+
+
+/**
+ * Finds the minimum and maximum, and where they are taken, of batches of quadratics
+ * y = ax^2 + bx + c over bounded intervals [lowerBound, upperBound], given as primitive
+ * columns, without creating any object per row
+ *
+ * The extrema of a quadratic over a closed interval are taken at one of at most three
+ * candidates: the two bounds, and the vertex when it lies inside the interval. The vertex
+ * is computed with the same kernel as the solvers, its y-coordinate from the compensated
+ * discriminant, and the bounds are evaluated in Horner form, so no sample points are
+ * evaluated
+ *
+ * The vertex is a candidate for both extrema (it only wins the one the sign of a makes it),
+ * so the selection needs no branch on the sign of a. A vertex outside the interval, or a
+ * linear or constant row (a == 0), is turned into a candidate which never wins by a select,
+ * and every row runs through the same straight-line code, which the JIT can compile to
+ * SIMD code. On a tie the lower bound wins over the upper bound, and the vertex over both
+ *
+ * Example usage:
+ * <pre>
+ *     BoundedExtremaBatchResult result = new BoundedExtremaBatchResult(coefficientsA.length);
+ *
+ *     BoundedExtremaBatchSolver.solve(coefficientsA, coefficientsB, constantsC,
+ *             lowerBounds, upperBounds, result);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class BoundedExtremaBatchSolver {
+
+
+    private BoundedExtremaBatchSolver(){
+
+    }
+
+
+    /**
+     * Find the extrema of every row of the coefficient columns over its interval
+     *
+     * @param coefficientsA the coefficients a of the quadratics
+     * @param coefficientsB the coefficients b of the quadratics
+     * @param constantsC the constants c of the quadratics
+     * @param lowerBounds the lower bound of the interval of each quadratic
+     * @param upperBounds the upper bound of the interval of each quadratic
+     * @param result the result the extrema are written into
+     *
+     * @throws IllegalArgumentException if the columns differ in length, or the result is too small
+     * */
+    public static void solve(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                             double [] lowerBounds, double [] upperBounds, BoundedExtremaBatchResult result){
+
+        int size = coefficientsA.length;
+
+        if (coefficientsB.length != size || constantsC.length != size
+                || lowerBounds.length != size || upperBounds.length != size){
+
+            throw new IllegalArgumentException("Columns differ in length: " + size + ", "
+                    + coefficientsB.length + ", " + constantsC.length + ", "
+                    + lowerBounds.length + ", " + upperBounds.length);
+        }
+
+        result.checkCapacity(size);
+
+        double [] minima = result.getMinima();
+        double [] argMinima = result.getArgMinima();
+        double [] maxima = result.getMaxima();
+        double [] argMaxima = result.getArgMaxima();
+
+        for (int i = 0; i < size; i++){
+
+            double a = coefficientsA[i];
+            double b = coefficientsB[i];
+            double c = constantsC[i];
+            double lowerBound = lowerBounds[i];
+            double upperBound = upperBounds[i];
+
+            double lowerValue = QuadraticEvaluator.evaluate(a, b, c, lowerBound);
+            double upperValue = QuadraticEvaluator.evaluate(a, b, c, upperBound);
+
+            double vertexX = PolynomialRootKernels.quadraticVertexX(a, b);
+            double vertexY = vertexY(a, b, c);
+
+            boolean isVertexInside = a != 0 & vertexX >= lowerBound & vertexX <= upperBound;
+
+            //the better of the two bounds, then the vertex if it is inside and at least as good
+            boolean isLowerMinimum = lowerValue <= upperValue;
+            double minimum = isLowerMinimum ? lowerValue : upperValue;
+            double argMinimum = isLowerMinimum ? lowerBound : upperBound;
+
+            boolean isVertexMinimum = isVertexInside & vertexY <= minimum;
+            minimum = isVertexMinimum ? vertexY : minimum;
+            argMinimum = isVertexMinimum ? vertexX : argMinimum;
+
+            boolean isLowerMaximum = lowerValue >= upperValue;
+            double maximum = isLowerMaximum ? lowerValue : upperValue;
+            double argMaximum = isLowerMaximum ? lowerBound : upperBound;
+
+            boolean isVertexMaximum = isVertexInside & vertexY >= maximum;
+            maximum = isVertexMaximum ? vertexY : maximum;
+            argMaximum = isVertexMaximum ? vertexX : argMaximum;
+
+            boolean isValid = lowerBound <= upperBound
+                    & Double.isFinite(lowerValue) & Double.isFinite(upperValue);
+
+            minima[i] = isValid ? minimum : Double.NaN;
+            argMinima[i] = isValid ? argMinimum : Double.NaN;
+            maxima[i] = isValid ? maximum : Double.NaN;
+            argMaxima[i] = isValid ? argMaximum : Double.NaN;
+        }
+    }
+
+
+    /**
+     * Returns the y-coordinate of the vertex of y = ax^2 + bx + c, from the scaled
+     * discriminant for the rare rows out of the range of the compensated one
+     * */
+    private static double vertexY(double a, double b, double c){
+
+        double discriminant = PolynomialRootKernels.compensatedQuadraticDiscriminant(a, b, c);
+
+        if (discriminant == discriminant){
+            return PolynomialRootKernels.quadraticVertexY(a, discriminant);
+        }
+
+        int scaleExponent = PolynomialRootKernels.quadraticScaleExponent(a, b, c);
+
+        return PolynomialRootKernels.scaledQuadraticVertexY(a,
+                PolynomialRootKernels.scaledQuadraticDiscriminant(a, b, c, scaleExponent), scaleExponent);
+    }
+}
@@ -10,6 +10,9 @@ package models;
  *  where 4 is the real part,  3 is the imaginary part, and i representing
  *  sqrt(-1)
  *
+ * A complex number is mutable and not thread-safe, so it must not be changed while
+ * other threads read it. QuadraticEquationSolver only hands out copies
+ *
  * @author Terence Lee
  * */
 public class ComplexNumber implements IComplexNumber {
@@ -0,0 +1,149 @@
+package models;
+
+
+/**
+ * Interval arithmetic operations with emulated directed rounding
+ *
+ * Java only rounds to nearest, which is within half an ulp of the exact result, so
+ * moving a rounded lower bound one ulp down (and an upper bound one ulp up) always
+ * encloses the exact result. The methods work on the bounds as primitives, so the
+ * interval kernels do not allocate
+ *
+ * A NaN bound (e.g. from 0 * Infinity) is widened to the whole real line
+ *
+ * @author Terence Lee
+ * */
+final class DirectedRounding {
+
+
+    private DirectedRounding(){
+
+    }
+
+
+    /**
+     * Returns a lower bound of the exact value that was rounded to nearest
+     * */
+    static double down(double roundedValue){
+        return roundedValue != roundedValue ? Double.NEGATIVE_INFINITY : Math.nextDown(roundedValue);
+    }
+
+
+    /**
+     * Returns an upper bound of the exact value that was rounded to nearest
+     * */
+    static double up(double roundedValue){
+        return roundedValue != roundedValue ? Double.POSITIVE_INFINITY : Math.nextUp(roundedValue);
+    }
+
+
+    /**
+     * Returns the lower bound of [xLow, xHigh] * [yLow, yHigh]
+     * */
+    static double multiplyLow(double xLow, double xHigh, double yLow, double yHigh){
+
+        double first = xLow * yLow;
+        double second = xLow * yHigh;
+        double third = xHigh * yLow;
+        double fourth = xHigh * yHigh;
+
+        return down(minimum(first, second, third, fourth));
+    }
+
+
+    /**
+     * Returns the upper bound of [xLow, xHigh] * [yLow, yHigh]
+     * */
+    static double multiplyHigh(double xLow, double xHigh, double yLow, double yHigh){
+
+        double first = xLow * yLow;
+        double second = xLow * yHigh;
+        double third = xHigh * yLow;
+        double fourth = xHigh * yHigh;
+
+        return up(maximum(first, second, third, fourth));
+    }
+
+
+    /**
+     * Returns the lower bound of [xLow, xHigh] / [yLow, yHigh], or -Infinity if
+     * the divisor contains 0
+     * */
+    static double divideLow(double xLow, double xHigh, double yLow, double yHigh){
+
+        if (yLow <= 0 && yHigh >= 0){
+            return Double.NEGATIVE_INFINITY;
+        }
+
+        return down(minimum(xLow / yLow, xLow / yHigh, xHigh / yLow, xHigh / yHigh));
+    }
+
+
+    /**
+     * Returns the upper bound of [xLow, xHigh] / [yLow, yHigh], or Infinity if
+     * the divisor contains 0
+     * */
+    static double divideHigh(double xLow, double xHigh, double yLow, double yHigh){
+
+        if (yLow <= 0 && yHigh >= 0){
+            return Double.POSITIVE_INFINITY;
+        }
+
+        return up(maximum(xLow / yLow, xLow / yHigh, xHigh / yLow, xHigh / yHigh));
+    }
+
+
+    /**
+     * Returns the lower bound of [xLow, xHigh]^2, which is 0 if the interval contains 0
+     * */
+    static double squareLow(double xLow, double xHigh){
+
+        if (xLow >= 0){
+            return Math.max(0, down(xLow * xLow));
+        }
+
+        if (xHigh <= 0){
+            return Math.max(0, down(xHigh * xHigh));
+        }
+
+        return 0;
+    }
+
+
+    /**
+     * Returns the upper bound of [xLow, xHigh]^2
+     * */
+    static double squareHigh(double xLow, double xHigh){
+        return up(Math.max(xLow * xLow, xHigh * xHigh));
+    }
+
+
+    /**
+     * Returns the lower bound of the square root of [xLow, ...], where negative
+     * numbers are left out
+     * */
+    static double squareRootLow(double xLow){
+        return xLow <= 0 ? 0 : Math.max(0, down(Math.sqrt(xLow)));
+    }
+
+
+    /**
+     * Returns the upper bound of the square root of [..., xHigh]
+     * */
+    static double squareRootHigh(double xHigh){
+        return up(Math.sqrt(Math.max(0, xHigh)));
+    }
+
+
+    /**
+     * Math.min returns NaN if any argument is NaN, which down() then widens
+     * */
+    private static double minimum(double first, double second, double third, double fourth){
+        return Math.min(Math.min(first, second), Math.min(third, fourth));
+    }
+
+
+    private static double maximum(double first, double second, double third, double fourth){
+        return Math.max(Math.max(first, second), Math.max(third, fourth));
+    }
+}
@@ -0,0 +1,130 @@
+package models;
+
+
+/**
+ * Forward-mode dual number arithmetic over slots of a scratch array, for differentiating
+ * the solve path with respect to (a, b, c) without allocating
+ *
+ * A dual number takes WIDTH consecutive values of the array, starting at its slot: the
+ * value, then its partial derivatives with respect to a, b and c. Every operation reads
+ * its operands before writing its result, so the result slot may be an operand slot
+ *
+ * @author Terence Lee
+ * */
+final class DualNumbers {
+
+    /**
+     * The number of values of a dual number: the value and three partial derivatives
+     * */
+    static final int WIDTH = 4;
+
+
+    private DualNumbers(){
+
+    }
+
+
+    /**
+     * Set the dual number at slot out to a value with the given partial derivatives
+     * */
+    static void set(double [] duals, int out, double value,
+                    double derivativeA, double derivativeB, double derivativeC){
+
+        duals[out] = value;
+        duals[out + 1] = derivativeA;
+        duals[out + 2] = derivativeB;
+        duals[out + 3] = derivativeC;
+    }
+
+
+    /**
+     * out = x + y
+     * */
+    static void add(double [] duals, int x, int y, int out){
+
+        for (int i = 0; i < WIDTH; i++){
+            duals[out + i] = duals[x + i] + duals[y + i];
+        }
+    }
+
+
+    /**
+     * out = x - y
+     * */
+    static void subtract(double [] duals, int x, int y, int out){
+
+        for (int i = 0; i < WIDTH; i++){
+            duals[out + i] = duals[x + i] - duals[y + i];
+        }
+    }
+
+
+    /**
+     * out = factor * x, for a constant factor
+     * */
+    static void scale(double [] duals, int x, double factor, int out){
+
+        for (int i = 0; i < WIDTH; i++){
+            duals[out + i] = factor * duals[x + i];
+        }
+    }
+
+
+    /**
+     * out = x * y, with derivatives x'y + xy'
+     * */
+    static void multiply(double [] duals, int x, int y, int out){
+
+        double xValue = duals[x];
+        double yValue = duals[y];
+
+        for (int i = 1; i < WIDTH; i++){
+            duals[out + i] = xValue * duals[y + i] + duals[x + i] * yValue;
+        }
+
+        duals[out] = xValue * yValue;
+    }
+
+
+    /**
+     * out = x / y, with derivatives (x' - (x/y)y')/y
+     * */
+    static void divide(double [] duals, int x, int y, int out){
+
+        double yValue = duals[y];
+        double quotient = duals[x] / yValue;
+
+        for (int i = 1; i < WIDTH; i++){
+            duals[out + i] = (duals[x + i] - quotient * duals[y + i]) / yValue;
+        }
+
+        duals[out] = quotient;
+    }
+
+
+    /**
+     * out = sqrt(x), with derivatives x'/(2 sqrt(x)), which are not finite at x == 0
+     * */
+    static void sqrt(double [] duals, int x, int out){
+
+        double squareRoot = Math.sqrt(duals[x]);
+
+        for (int i = 1; i < WIDTH; i++){
+            duals[out + i] = duals[x + i] / (2 * squareRoot);
+        }
+
+        duals[out] = squareRoot;
+    }
+
+
+    /**
+     * Copy the three partial derivatives of the dual number at slot x to the gradient
+     * array, from index offset
+     * */
+    static void copyGradient(double [] duals, int x, double [] gradients, int offset){
+
+        gradients[offset] = duals[x + 1];
+        gradients[offset + 1] = duals[x + 2];
+        gradients[offset + 2] = duals[x + 3];
+    }
+}
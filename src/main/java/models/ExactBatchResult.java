@@ -0,0 +1,230 @@
+package models;
+
+import java.math.BigInteger;
+
+
+/**
+ * Holds the exact solutions of a batch of quadratic equations with integer coefficients
+ * as primitive columns, one entry per equation (row), see ExactQuadraticRoots for the form
+ * (p ± q√r)/s of the roots
+ *
+ * The status column tells how each row was solved, see the STATUS_ constants. The long
+ * columns are only meaningful for STATUS_EXACT rows; the rows whose discriminant overflows
+ * a long hold their BigInteger solution in getOverflowRoots() instead
+ *
+ * The getters of the columns return the backing arrays (not copies)
+ *
+ * Example usage:
+ * <pre>
+ *     ExactBatchResult result = new ExactBatchResult(coefficientsA.length);
+ *
+ *     ExactQuadraticSolver.solve(coefficientsA, coefficientsB, constantsC, result);
+ *
+ *     ExactQuadraticRoots roots = result.getRoots(row);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public class ExactBatchResult {
+
+    /**
+     * Status of the rows solved exactly with long arithmetic
+     * */
+    public static final byte STATUS_EXACT = 0;
+
+    /**
+     * Status of the rows whose discriminant overflows a long, solved with BigInteger arithmetic
+     * */
+    public static final byte STATUS_OVERFLOW = 1;
+
+    /**
+     * Status of the rows with a coefficient which is not an integer of at most 2^53
+     * */
+    public static final byte STATUS_NOT_INTEGRAL = 2;
+
+    /**
+     * Status of the rows with a == 0
+     * */
+    public static final byte STATUS_NOT_QUADRATIC = 3;
+
+    /**
+     * The number of long values written per row by ExactQuadraticSolver.solveRow()
+     * */
+    static final int LONG_COLUMNS = 6;
+
+    private final int size;
+
+    private final byte [] statuses;
+    private final long [] discriminants;
+    private final long [] squareFactors;
+    private final long [] radicands;
+    private final long [] numeratorConstants;
+    private final long [] surdCoefficients;
+    private final long [] denominators;
+
+    private final ExactQuadraticRoots [] overflowRoots;
+
+
+    /**
+     * Create the columns for a batch of equations
+     *
+     * @param size the number of equations (rows) the result can hold
+     *
+     * @throws IllegalArgumentException if the size is negative
+     * */
+    public ExactBatchResult(int size){
+
+        if (size < 0){
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+
+        this.size = size;
+
+        this.statuses = new byte[size];
+        this.discriminants = new long[size];
+        this.squareFactors = new long[size];
+        this.radicands = new long[size];
+        this.numeratorConstants = new long[size];
+        this.surdCoefficients = new long[size];
+        this.denominators = new long[size];
+
+        this.overflowRoots = new ExactQuadraticRoots[size];
+    }
+
+
+    /**
+     * Returns the number of equations (rows) the result can hold
+     * */
+    public int getSize() {
+        return this.size;
+    }
+
+
+    /**
+     * Returns the status codes, one per row (see the STATUS_ constants)
+     * */
+    public byte[] getStatuses() {
+        return this.statuses;
+    }
+
+
+    /**
+     * Returns the discriminants b^2 - 4ac, one per row
+     * */
+    public long[] getDiscriminants() {
+        return this.discriminants;
+    }
+
+
+    /**
+     * Returns the largest integers k whose square divides the discriminant, one per row
+     * */
+    public long[] getSquareFactors() {
+        return this.squareFactors;
+    }
+
+
+    /**
+     * Returns the square-free parts r of |discriminant|, one per row
+     * */
+    public long[] getRadicands() {
+        return this.radicands;
+    }
+
+
+    /**
+     * Returns the rational parts p of the numerators, one per row
+     * */
+    public long[] getNumeratorConstants() {
+        return this.numeratorConstants;
+    }
+
+
+    /**
+     * Returns the coefficients q of the surds, one per row
+     * */
+    public long[] getSurdCoefficients() {
+        return this.surdCoefficients;
+    }
+
+
+    /**
+     * Returns the positive denominators s, one per row
+     * */
+    public long[] getDenominators() {
+        return this.denominators;
+    }
+
+
+    /**
+     * Returns the BigInteger solutions of the STATUS_OVERFLOW rows, null for the other rows
+     * */
+    public ExactQuadraticRoots[] getOverflowRoots() {
+        return this.overflowRoots;
+    }
+
+
+    /**
+     * Returns the solution of a row as ExactQuadraticRoots, or null if the row was not solved
+     * exactly (STATUS_NOT_INTEGRAL or STATUS_NOT_QUADRATIC)
+     *
+     * @param row the index of the equation
+     * */
+    public ExactQuadraticRoots getRoots(int row){
+
+        if (this.statuses[row] == STATUS_OVERFLOW){
+            return this.overflowRoots[row];
+        }
+
+        if (this.statuses[row] != STATUS_EXACT){
+            return null;
+        }
+
+        return new ExactQuadraticRoots(BigInteger.valueOf(this.discriminants[row]),
+                BigInteger.valueOf(this.squareFactors[row]), BigInteger.valueOf(this.radicands[row]),
+                BigInteger.valueOf(this.numeratorConstants[row]), BigInteger.valueOf(this.surdCoefficients[row]),
+                BigInteger.valueOf(this.denominators[row]));
+    }
+
+
+    void setStatus(int row, byte status){
+
+        this.statuses[row] = status;
+        this.overflowRoots[row] = null;
+    }
+
+
+    /**
+     * Store a row written by ExactQuadraticSolver.solveRow()
+     * */
+    void setRow(int row, long [] values){
+
+        setStatus(row, STATUS_EXACT);
+
+        this.discriminants[row] = values[0];
+        this.squareFactors[row] = values[1];
+        this.radicands[row] = values[2];
+        this.numeratorConstants[row] = values[3];
+        this.surdCoefficients[row] = values[4];
+        this.denominators[row] = values[5];
+    }
+
+
+    void setOverflowRoots(int row, ExactQuadraticRoots roots){
+
+        this.statuses[row] = STATUS_OVERFLOW;
+        this.overflowRoots[row] = roots;
+    }
+
+
+    /**
+     * @throws IllegalArgumentException if the result has fewer than requiredSize rows
+     * */
+    void checkCapacity(int requiredSize){
+
+        if (this.size < requiredSize){
+            throw new IllegalArgumentException("Result holds " + this.size
+                    + " rows but " + requiredSize + " are required");
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package models;
+
+import java.math.BigInteger;
+
+
+/**
+ * The exact roots of a quadratic equation with integer coefficients, in the reduced
+ * surd form (p ± q√r)/s
+ *
+ * The first root is (p - q√r)/s and the second root is (p + q√r)/s, in the same order as
+ * QuadraticEquationSolver, so q may be negative. For complex roots √r stands for i√r
+ *
+ * The discriminant D = b^2 - 4ac is factored as D = ±k^2 * r, where the radicand r is
+ * square-free, and:
+ *      (a) s > 0, and p, q and s have no common factor
+ *      (b) r == 1 and D >= 0 --> the roots are rational, see getFirstRoot()
+ *      (c) q == 0 --> the roots are equal (D == 0)
+ *
+ * Example usage:
+ * <pre>
+ *     //2x^2 + 6x - 1 = 0
+ *     ExactQuadraticRoots roots = ExactQuadraticSolver.solve(2, 6, -1);
+ *
+ *     String exactForm = roots.toString(); // x = (-3 ± √11)/2
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class ExactQuadraticRoots {
+
+    private final BigInteger discriminant;
+    private final BigInteger squareFactor;
+    private final BigInteger radicand;
+
+    private final BigInteger numeratorConstant;
+    private final BigInteger surdCoefficient;
+    private final BigInteger denominator;
+
+
+    /**
+     * @pre the values are reduced as described in the class comment
+     * */
+    ExactQuadraticRoots(BigInteger discriminant, BigInteger squareFactor, BigInteger radicand,
+                        BigInteger numeratorConstant, BigInteger surdCoefficient, BigInteger denominator){
+
+        this.discriminant = discriminant;
+        this.squareFactor = squareFactor;
+        this.radicand = radicand;
+        this.numeratorConstant = numeratorConstant;
+        this.surdCoefficient = surdCoefficient;
+        this.denominator = denominator;
+    }
+
+
+    /**
+     * Getter for the discriminant b^2 - 4ac
+     * */
+    public BigInteger getDiscriminant(){
+        return this.discriminant;
+    }
+
+
+    /**
+     * Getter for k, the largest integer whose square divides the discriminant
+     * */
+    public BigInteger getSquareFactor(){
+        return this.squareFactor;
+    }
+
+
+    /**
+     * Getter for r, the square-free part of |discriminant|
+     * */
+    public BigInteger getRadicand(){
+        return this.radicand;
+    }
+
+
+    /**
+     * Getter for p, the rational part of the numerator
+     * */
+    public BigInteger getNumeratorConstant(){
+        return this.numeratorConstant;
+    }
+
+
+    /**
+     * Getter for q, the coefficient of the surd √r, negative if the first root is the larger one
+     * */
+    public BigInteger getSurdCoefficient(){
+        return this.surdCoefficient;
+    }
+
+
+    /**
+     * Getter for s, the positive denominator
+     * */
+    public BigInteger getDenominator(){
+        return this.denominator;
+    }
+
+
+    /**
+     * Returns true if the roots are complex (the discriminant is negative)
+     * */
+    public boolean isComplex(){
+        return this.discriminant.signum() < 0;
+    }
+
+
+    /**
+     * Returns true if the roots are rational (the discriminant is a perfect square)
+     * */
+    public boolean isRational(){
+        return !isComplex() && this.radicand.equals(BigInteger.ONE);
+    }
+
+
+    /**
+     * Returns the first root of a rational equation as a reduced fraction
+     * {numerator, denominator}, with a positive denominator
+     *
+     * @throws IllegalStateException if the roots are not rational
+     * */
+    public BigInteger[] getFirstRoot(){
+        return rationalRoot(this.surdCoefficient.negate());
+    }
+
+
+    /**
+     * Returns the second root of a rational equation as a reduced fraction
+     * {numerator, denominator}, with a positive denominator
+     *
+     * @throws IllegalStateException if the roots are not rational
+     * */
+    public BigInteger[] getSecondRoot(){
+        return rationalRoot(this.surdCoefficient);
+    }
+
+
+    /**
+     * Returns the real part of the first root, p/s for complex roots, rounded to a double
+     * */
+    public double getFirstRootRealPart(){
+        return realPart(-1);
+    }
+
+
+    /**
+     * Returns the real part of the second root, p/s for complex roots, rounded to a double
+     * */
+    public double getSecondRootRealPart(){
+        return realPart(1);
+    }
+
+
+    /**
+     * Returns the imaginary part of the first root, 0 for real roots, rounded to a double
+     * */
+    public double getFirstRootImaginaryPart(){
+        return imaginaryPart(-1);
+    }
+
+
+    /**
+     * Returns the imaginary part of the second root, 0 for real roots, rounded to a double
+     * */
+    public double getSecondRootImaginaryPart(){
+        return imaginaryPart(1);
+    }
+
+
+    /**
+     * Returns the roots in exact form, for example:
+     *      (a) x = 3/2           --> equal roots
+     *      (b) x = -7, x = 2     --> rational roots
+     *      (c) x = (-3 ± √11)/2  --> irrational roots
+     *      (d) x = -1 ± 2i√2     --> complex roots
+     * */
+    @Override
+    public String toString(){
+
+        if (this.surdCoefficient.signum() == 0){
+            return "x = " + fraction(this.numeratorConstant, this.denominator);
+        }
+
+        if (isRational()){
+
+            BigInteger [] firstRoot = getFirstRoot();
+            BigInteger [] secondRoot = getSecondRoot();
+
+            return "x = " + fraction(firstRoot[0], firstRoot[1])
+                    + ", x = " + fraction(secondRoot[0], secondRoot[1]);
+        }
+
+        return "x = " + formatRoots(this.numeratorConstant.signum() != 0 ? "± " : "±",
+                this.surdCoefficient.abs());
+    }
+
+
+    /**
+     * Returns the first root in exact form, for example (-3 - √11)/2, 3/2 or -1 - 2i√2
+     * */
+    public String formatFirstRoot(){
+        return formatRoot(this.surdCoefficient.negate());
+    }
+
+
+    /**
+     * Returns the second root in exact form, for example (-3 + √11)/2, 3/2 or -1 + 2i√2
+     * */
+    public String formatSecondRoot(){
+        return formatRoot(this.surdCoefficient);
+    }
+
+
+    /**
+     * Returns (p + signedSurdCoefficient√r)/s in exact form
+     * */
+    private String formatRoot(BigInteger signedSurdCoefficient){
+
+        if (isRational() || signedSurdCoefficient.signum() == 0){
+
+            BigInteger [] root = rationalRoot(signedSurdCoefficient);
+
+            return fraction(root[0], root[1]);
+        }
+
+        String sign = signedSurdCoefficient.signum() < 0 ? "-" : "+";
+
+        return formatRoots(this.numeratorConstant.signum() != 0 ? sign + " " : sign.replace("+", ""),
+                signedSurdCoefficient.abs());
+    }
+
+
+    /**
+     * Returns (p sign coefficient√r)/s, leaving out p when it is 0, the coefficient when it
+     * is 1, and the denominator when it is 1
+     * */
+    private String formatRoots(String sign, BigInteger coefficient){
+
+        StringBuilder numerator = new StringBuilder();
+
+        if (this.numeratorConstant.signum() != 0){
+            numerator.append(this.numeratorConstant).append(' ');
+        }
+
+        numerator.append(sign);
+
+        if (!coefficient.equals(BigInteger.ONE)){
+            numerator.append(coefficient);
+        }
+
+        if (isComplex()){
+            numerator.append('i');
+        }
+
+        if (!this.radicand.equals(BigInteger.ONE)){
+            numerator.append('√').append(this.radicand);
+        }
+
+        if (this.denominator.equals(BigInteger.ONE)){
+            return numerator.toString();
+        }
+
+        boolean needsParentheses = this.numeratorConstant.signum() != 0;
+
+        return (needsParentheses ? "(" + numerator + ")" : numerator.toString()) + "/" + this.denominator;
+    }
+
+
+    /**
+     * Returns (p + sign * q)/s reduced, for rational roots
+     * */
+    private BigInteger[] rationalRoot(BigInteger signedSurdCoefficient){
+
+        if (!isRational() && this.surdCoefficient.signum() != 0){
+            throw new IllegalStateException("The roots are not rational");
+        }
+
+        BigInteger numerator = this.numeratorConstant.add(signedSurdCoefficient);
+        BigInteger gcd = numerator.gcd(this.denominator);
+
+        return new BigInteger[]{numerator.divide(gcd), this.denominator.divide(gcd)};
+    }
+
+
+    private double realPart(int sign){
+
+        if (isComplex()){
+            return this.numeratorConstant.doubleValue() / this.denominator.doubleValue();
+        }
+
+        double surd = sign * this.surdCoefficient.doubleValue() * Math.sqrt(this.radicand.doubleValue());
+
+        return (this.numeratorConstant.doubleValue() + surd) / this.denominator.doubleValue();
+    }
+
+
+    private double imaginaryPart(int sign){
+
+        if (!isComplex()){
+            return 0;
+        }
+
+        return sign * this.surdCoefficient.doubleValue() * Math.sqrt(this.radicand.doubleValue())
+                / this.denominator.doubleValue();
+    }
+
+
+    private static String fraction(BigInteger numerator, BigInteger denominator){
+
+        return denominator.equals(BigInteger.ONE)
+                ? numerator.toString()
+                : numerator + "/" + denominator;
+    }
+}
@@ -0,0 +1,385 @@
+package models;
+
+import java.math.BigInteger;
+
+
+/**
+ * Solves quadratic equations with integer coefficients exactly, in the reduced surd form
+ * (p ± q√r)/s of ExactQuadraticRoots
+ *
+ * Coefficients are accepted as doubles holding integers (see isIntegral()), which is the
+ * fast-path check callers use to decide between this solver and the floating point ones.
+ * Everything is computed with long arithmetic and overflow checks; only the equations whose
+ * discriminant b^2 - 4ac overflows a long escalate to BigInteger
+ *
+ * The square-free part r of the discriminant is found with the shared SquareFreeFactorizer,
+ * which looks small discriminants up in a smallest-prime-factor sieve and trial divides and
+ * caches the larger ones. This is exact for every discriminant that fits in a long.
+ * Discriminants beyond that are trial divided by the primes up to
+ * TRIAL_DIVISION_LIMIT, so r is only guaranteed to be square-free when |D| < TRIAL_DIVISION_LIMIT^3;
+ * the roots are exact either way
+ *
+ * Example usage:
+ * <pre>
+ *     if (ExactQuadraticSolver.isIntegral(a, b, c) &amp;&amp; a != 0){
+ *
+ *         ExactQuadraticRoots roots = ExactQuadraticSolver.solve(a, b, c);
+ *     }
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class ExactQuadraticSolver {
+
+    /**
+     * The largest magnitude of an integral coefficient, above which doubles are not
+     * guaranteed to hold the integer that was meant
+     * */
+    public static final double MAXIMUM_COEFFICIENT = 1L << 53;
+
+    /**
+     * The bound of the prime trial divisors of discriminants which do not fit in a long, which is
+     * also the cube root of the largest long
+     * */
+    static final long TRIAL_DIVISION_LIMIT = 1L << 21;
+
+
+    private ExactQuadraticSolver(){
+
+    }
+
+
+    /**
+     * Returns true if the three coefficients are integers no larger than MAXIMUM_COEFFICIENT
+     * in magnitude
+     * */
+    public static boolean isIntegral(double coefficientA, double coefficientB, double constantC){
+
+        return isIntegral(coefficientA) & isIntegral(coefficientB) & isIntegral(constantC);
+    }
+
+
+    /**
+     * Solve ax^2 + bx + c = 0 exactly
+     *
+     * @throws IllegalArgumentException if a coefficient is not integral, or a == 0
+     * */
+    public static ExactQuadraticRoots solve(double coefficientA, double coefficientB, double constantC){
+
+        checkQuadratic(coefficientA, coefficientB, constantC);
+
+        long a = (long) coefficientA;
+        long b = (long) coefficientB;
+        long c = (long) constantC;
+
+        long [] row = new long[ExactBatchResult.LONG_COLUMNS];
+
+        if (solveRow(a, b, c, row)){
+
+            return new ExactQuadraticRoots(BigInteger.valueOf(row[0]), BigInteger.valueOf(row[1]),
+                    BigInteger.valueOf(row[2]), BigInteger.valueOf(row[3]), BigInteger.valueOf(row[4]),
+                    BigInteger.valueOf(row[5]));
+        }
+
+        return solveBig(BigInteger.valueOf(a), BigInteger.valueOf(b), BigInteger.valueOf(c));
+    }
+
+
+    /**
+     * Solve every row of the coefficient columns exactly
+     *
+     * The rows are solved with long arithmetic into the columns of the result, without
+     * allocating; only the rows marked STATUS_OVERFLOW hold a BigInteger solution
+     *
+     * @throws IllegalArgumentException if the columns differ in length, or the result is too small
+     * */
+    public static void solve(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                             ExactBatchResult result){
+
+        if (coefficientsA.length != coefficientsB.length
+                || coefficientsA.length != constantsC.length){
+
+            throw new IllegalArgumentException("Coefficient columns differ in length: "
+                    + coefficientsA.length + ", " + coefficientsB.length + ", " + constantsC.length);
+        }
+
+        result.checkCapacity(coefficientsA.length);
+
+        long [] row = new long[ExactBatchResult.LONG_COLUMNS];
+
+        for (int i = 0; i < coefficientsA.length; i++){
+
+            double coefficientA = coefficientsA[i];
+            double coefficientB = coefficientsB[i];
+            double constantC = constantsC[i];
+
+            if (!isIntegral(coefficientA, coefficientB, constantC)){
+
+                result.setStatus(i, ExactBatchResult.STATUS_NOT_INTEGRAL);
+            }
+            else if (coefficientA == 0){
+
+                result.setStatus(i, ExactBatchResult.STATUS_NOT_QUADRATIC);
+            }
+            else if (solveRow((long) coefficientA, (long) coefficientB, (long) constantC, row)){
+
+                result.setRow(i, row);
+            }
+            else{
+                result.setOverflowRoots(i, solveBig(BigInteger.valueOf((long) coefficientA),
+                        BigInteger.valueOf((long) coefficientB), BigInteger.valueOf((long) constantC)));
+            }
+        }
+    }
+
+
+    /**
+     * Solve ax^2 + bx + c = 0 with long arithmetic, writing the discriminant, k, r, p, q
+     * and s into the row
+     *
+     * @return false if the discriminant overflows a long, in which case the row is not written
+     *
+     * @pre |a|, |b| and |c| are at most MAXIMUM_COEFFICIENT, and a != 0
+     * */
+    static boolean solveRow(long a, long b, long c, long [] row){
+
+        long discriminant;
+
+        try {
+            discriminant = Math.subtractExact(Math.multiplyExact(b, b),
+                    Math.multiplyExact(Math.multiplyExact(4, a), c));
+        }
+        catch (ArithmeticException e){
+
+            return false;
+        }
+
+        //|discriminant| < 2^63, so k < 2^32 and every value below fits in a long
+        long magnitude = Math.abs(discriminant);
+        long squareFactor = magnitude == 0 ? 0 : squareFactor(magnitude);
+        long radicand = magnitude == 0 ? 1 : magnitude / squareFactor / squareFactor;
+
+        //(-b ± k√r)/(2a), with the sign of a moved into the surd coefficient
+        long numeratorConstant = -b;
+        long surdCoefficient = squareFactor;
+        long denominator = 2 * a;
+
+        if (denominator < 0){
+
+            numeratorConstant = -numeratorConstant;
+            surdCoefficient = -surdCoefficient;
+            denominator = -denominator;
+        }
+
+        long gcd = gcd(gcd(Math.abs(numeratorConstant), Math.abs(surdCoefficient)), denominator);
+
+        row[0] = discriminant;
+        row[1] = squareFactor;
+        row[2] = radicand;
+        row[3] = numeratorConstant / gcd;
+        row[4] = surdCoefficient / gcd;
+        row[5] = denominator / gcd;
+
+        return true;
+    }
+
+
+    /**
+     * Returns the largest k such that k^2 divides n
+     *
+     * @pre n >= 0
+     * */
+    static long squareFactor(long n){
+        return SquareFreeFactorizer.getDefault().squareFactor(n);
+    }
+
+
+    /**
+     * Returns the floor of the square root of n
+     *
+     * @pre n >= 0
+     * */
+    static long squareRoot(long n){
+
+        long root = (long) Math.sqrt((double) n);
+
+        //the double square root can be off by one either way for n close to 2^63
+        while (root * root > n){
+            root--;
+        }
+
+        while ((root + 1) * (root + 1) <= n && (root + 1) * (root + 1) > 0){
+            root++;
+        }
+
+        return root;
+    }
+
+
+    /**
+     * Solve ax^2 + bx + c = 0 with BigInteger arithmetic, for the equations whose
+     * discriminant overflows a long
+     * */
+    private static ExactQuadraticRoots solveBig(BigInteger a, BigInteger b, BigInteger c){
+
+        BigInteger discriminant = b.multiply(b).subtract(BigInteger.valueOf(4).multiply(a).multiply(c));
+        BigInteger magnitude = discriminant.abs();
+
+        BigInteger squareFactor = magnitude.signum() == 0 ? BigInteger.ZERO : squareFactor(magnitude);
+        BigInteger radicand = magnitude.signum() == 0 ? BigInteger.ONE
+                : magnitude.divide(squareFactor.multiply(squareFactor));
+
+        BigInteger numeratorConstant = b.negate();
+        BigInteger surdCoefficient = squareFactor;
+        BigInteger denominator = a.shiftLeft(1);
+
+        if (denominator.signum() < 0){
+
+            numeratorConstant = numeratorConstant.negate();
+            surdCoefficient = surdCoefficient.negate();
+            denominator = denominator.negate();
+        }
+
+        BigInteger gcd = numeratorConstant.gcd(surdCoefficient).gcd(denominator);
+
+        return new ExactQuadraticRoots(discriminant, squareFactor, radicand,
+                numeratorConstant.divide(gcd), surdCoefficient.divide(gcd), denominator.divide(gcd));
+    }
+
+
+    /**
+     * Returns the largest k found such that k^2 divides n, trial dividing by the primes up
+     * to TRIAL_DIVISION_LIMIT and switching to the long version as soon as n fits in a long
+     *
+     * The remainder of n by each prime is computed from the 32-bit words of n with long
+     * arithmetic, so only the primes which divide n allocate a BigInteger
+     * */
+    private static BigInteger squareFactor(BigInteger n){
+
+        BigInteger squareFactor = BigInteger.ONE;
+        int [] primes = TrialDivisionPrimesHolder.PRIMES;
+        int [] words = wordsOf(n);
+
+        for (int i = 0; i < primes.length && n.bitLength() >= Long.SIZE; i++){
+
+            if (remainder(words, primes[i]) != 0){
+                continue;
+            }
+
+            BigInteger prime = BigInteger.valueOf(primes[i]);
+            BigInteger [] quotientAndRemainder = n.divideAndRemainder(prime);
+            int exponent = 0;
+
+            while (quotientAndRemainder[1].signum() == 0){
+
+                n = quotientAndRemainder[0];
+                exponent++;
+                quotientAndRemainder = n.divideAndRemainder(prime);
+            }
+
+            squareFactor = squareFactor.multiply(prime.pow(exponent / 2));
+            words = wordsOf(n);
+        }
+
+        if (n.bitLength() < Long.SIZE){
+            return squareFactor.multiply(BigInteger.valueOf(squareFactor(n.longValue())));
+        }
+
+        //what is left is not fully factored, only a perfect square of it can be taken out
+        BigInteger root = squareRoot(n);
+
+        return root.multiply(root).equals(n) ? squareFactor.multiply(root) : squareFactor;
+    }
+
+
+    /**
+     * Returns the floor of the square root of n with Newton iterations
+     * */
+    private static BigInteger squareRoot(BigInteger n){
+
+        BigInteger root = BigInteger.ONE.shiftLeft(n.bitLength() / 2 + 1);
+
+        while (true){
+
+            BigInteger next = root.add(n.divide(root)).shiftRight(1);
+
+            if (next.compareTo(root) >= 0){
+                return root;
+            }
+
+            root = next;
+        }
+    }
+
+
+    /**
+     * Returns the 32-bit words of n >= 0, the most significant first
+     * */
+    private static int[] wordsOf(BigInteger n){
+
+        int [] words = new int[(n.bitLength() + 31) / 32];
+
+        for (int i = 0; i < words.length; i++){
+            words[words.length - 1 - i] = n.shiftRight(32 * i).intValue();
+        }
+
+        return words;
+    }
+
+
+    /**
+     * Returns the remainder of the integer with the given 32-bit words by a divisor below
+     * 2^31, which keeps every partial remainder shifted by 32 bits within a long
+     * */
+    private static long remainder(int [] words, int divisor){
+
+        long remainder = 0;
+
+        for (int word : words){
+            remainder = ((remainder << 32) | (word & 0xFFFFFFFFL)) % divisor;
+        }
+
+        return remainder;
+    }
+
+
+    private static long gcd(long x, long y){
+
+        while (y != 0){
+
+            long remainder = x % y;
+            x = y;
+            y = remainder;
+        }
+
+        return x;
+    }
+
+
+    private static boolean isIntegral(double coefficient){
+        return Math.abs(coefficient) <= MAXIMUM_COEFFICIENT && coefficient == Math.rint(coefficient);
+    }
+
+
+    private static void checkQuadratic(double coefficientA, double coefficientB, double constantC){
+
+        if (!isIntegral(coefficientA, coefficientB, constantC)){
+            throw new IllegalArgumentException("Coefficients are not integers of at most 2^53: "
+                    + coefficientA + ", " + coefficientB + ", " + constantC);
+        }
+
+        if (coefficientA == 0){
+            throw new IllegalArgumentException("Coefficient A must not be 0");
+        }
+    }
+
+
+    /**
+     * Creates the trial divisors of the discriminants beyond a long on first use, so they are
+     * only sieved when such a discriminant is solved
+     * */
+    private static final class TrialDivisionPrimesHolder {
+
+        private static final int [] PRIMES = SquareFreeFactorizer.primesUpTo((int) TRIAL_DIVISION_LIMIT);
+    }
+}
@@ -0,0 +1,178 @@
+package models;
+
+
+/**
+ * Holds the solutions of a batch of quadratic equations together with their gradients
+ * with respect to the coefficients (a, b, c), as primitive columns
+ *
+ * The values are held in a degree 2 BatchSolveResult, see getValues(). Each gradient
+ * column holds GRADIENT_WIDTH partial derivatives per value, in the order of the
+ * COEFFICIENT_ constants, so the derivative of a value with index k (row, or 2 * row +
+ * rootIndex for the roots) with respect to coefficient j is at index GRADIENT_WIDTH * k + j
+ *
+ * The gradients are NaN where the value is not differentiable or not defined: the roots of
+ * a double root (a zero discriminant), the values a linear row does not have (its second
+ * root, vertex, sum and product of roots), and every value of a row without roots
+ *
+ * The getters of the columns return the backing arrays (not copies)
+ *
+ * Example usage:
+ * <pre>
+ *     GradientBatchSolveResult result = new GradientBatchSolveResult(coefficientsA.length);
+ *
+ *     QuadraticEquationGradientBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result);
+ *
+ *     double derivative = result.getRootRealPartGradient(row, 0, GradientBatchSolveResult.COEFFICIENT_B);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public class GradientBatchSolveResult {
+
+    /**
+     * The number of partial derivatives per value
+     * */
+    public static final int GRADIENT_WIDTH = 3;
+
+    /**
+     * The index of the derivative with respect to a within a gradient
+     * */
+    public static final int COEFFICIENT_A = 0;
+
+    /**
+     * The index of the derivative with respect to b within a gradient
+     * */
+    public static final int COEFFICIENT_B = 1;
+
+    /**
+     * The index of the derivative with respect to c within a gradient
+     * */
+    public static final int COEFFICIENT_C = 2;
+
+    private final BatchSolveResult values;
+
+    private final double [] rootRealPartGradients;
+    private final double [] rootImaginaryPartGradients;
+    private final double [] discriminantGradients;
+    private final double [] vertexXCoordinateGradients;
+    private final double [] vertexYCoordinateGradients;
+    private final double [] sumOfRootsGradients;
+    private final double [] productOfRootsGradients;
+
+
+    /**
+     * Create the columns for a batch of quadratic equations
+     *
+     * @param size the number of equations (rows) the result can hold
+     *
+     * @throws IllegalArgumentException if the size is negative
+     * */
+    public GradientBatchSolveResult(int size){
+
+        this.values = new BatchSolveResult(size);
+
+        this.rootRealPartGradients = new double[2 * GRADIENT_WIDTH * size];
+        this.rootImaginaryPartGradients = new double[2 * GRADIENT_WIDTH * size];
+        this.discriminantGradients = new double[GRADIENT_WIDTH * size];
+        this.vertexXCoordinateGradients = new double[GRADIENT_WIDTH * size];
+        this.vertexYCoordinateGradients = new double[GRADIENT_WIDTH * size];
+        this.sumOfRootsGradients = new double[GRADIENT_WIDTH * size];
+        this.productOfRootsGradients = new double[GRADIENT_WIDTH * size];
+    }
+
+
+    /**
+     * Returns the number of equations (rows) the result can hold
+     * */
+    public int getSize() {
+        return this.values.getSize();
+    }
+
+
+    /**
+     * Returns the solutions, with the same values as QuadraticEquationBatchSolver
+     * */
+    public BatchSolveResult getValues() {
+        return this.values;
+    }
+
+
+    /**
+     * Returns the gradients of the real parts of the roots, two roots per row
+     * */
+    public double[] getRootRealPartGradients() {
+        return this.rootRealPartGradients;
+    }
+
+
+    /**
+     * Returns the gradients of the imaginary parts of the roots, two roots per row
+     * */
+    public double[] getRootImaginaryPartGradients() {
+        return this.rootImaginaryPartGradients;
+    }
+
+
+    /**
+     * Returns the gradients of the discriminants, one per row
+     * */
+    public double[] getDiscriminantGradients() {
+        return this.discriminantGradients;
+    }
+
+
+    /**
+     * Returns the gradients of the x-coordinates of the vertices, one per row
+     * */
+    public double[] getVertexXCoordinateGradients() {
+        return this.vertexXCoordinateGradients;
+    }
+
+
+    /**
+     * Returns the gradients of the y-coordinates of the vertices, one per row
+     * */
+    public double[] getVertexYCoordinateGradients() {
+        return this.vertexYCoordinateGradients;
+    }
+
+
+    /**
+     * Returns the gradients of the sums of roots, one per row
+     * */
+    public double[] getSumOfRootsGradients() {
+        return this.sumOfRootsGradients;
+    }
+
+
+    /**
+     * Returns the gradients of the products of roots, one per row
+     * */
+    public double[] getProductOfRootsGradients() {
+        return this.productOfRootsGradients;
+    }
+
+
+    /**
+     * Returns the derivative of the real part of a root of a row with respect to a coefficient
+     *
+     * @param row the index of the equation
+     * @param rootIndex the index of the root within the row, 0 or 1
+     * @param coefficientIndex one of the COEFFICIENT_ constants
+     * */
+    public double getRootRealPartGradient(int row, int rootIndex, int coefficientIndex){
+        return this.rootRealPartGradients[GRADIENT_WIDTH * (2 * row + rootIndex) + coefficientIndex];
+    }
+
+
+    /**
+     * Returns the derivative of the imaginary part of a root of a row with respect to a coefficient
+     *
+     * @param row the index of the equation
+     * @param rootIndex the index of the root within the row, 0 or 1
+     * @param coefficientIndex one of the COEFFICIENT_ constants
+     * */
+    public double getRootImaginaryPartGradient(int row, int rootIndex, int coefficientIndex){
+        return this.rootImaginaryPartGradients[GRADIENT_WIDTH * (2 * row + rootIndex) + coefficientIndex];
+    }
+}
@@ -0,0 +1,83 @@
+package models;
+
+
+/**
+ * An interface representing the solution of a quadratic equation
+ * ax^2 + bx + c = 0
+ *
+ * Implemented by QuadraticEquationSolver, which is immutable, and by
+ * ReusableQuadraticEquationSolver, which is solved again in place for every equation
+ *
+ * @author Terence Lee
+ * */
+public interface IQuadraticEquationSolver {
+
+    /**
+     * Getter for the coefficient a of the quadratic equation
+     * */
+    double getCoefficientA();
+
+
+    /**
+     * Getter for the coefficient b of the quadratic equation
+     * */
+    double getCoefficientB();
+
+
+    /**
+     * Getter for the constant c of the quadratic equation
+     * */
+    double getConstantC();
+
+
+    /**
+     * Getter for the discriminant b^2 - 4ac of the quadratic equation
+     * */
+    double getDiscriminant();
+
+
+    /**
+     * Getter for the equation type, which tells whether the equation is quadratic
+     * or one of its degenerate forms
+     * */
+    QuadraticEquationSolver.EquationType getEquationType();
+
+
+    /**
+     * Getter for the root type of the quadratic equation, or null for the degenerate
+     * equations without a finite set of roots
+     * */
+    QuadraticEquationSolver.RootType getRootType();
+
+
+    /**
+     * Getter for the first root: a Double object wrapper for real roots, an IComplexNumber
+     * for complex roots, or null when getRootType() is null
+     * */
+    Object getFirstRoot();
+
+
+    /**
+     * Getter for the second root: a Double object wrapper for real roots, an IComplexNumber
+     * for complex roots, or null when getRootType() is SINGLE_REAL or null
+     * */
+    Object getSecondRoot();
+
+
+    /**
+     * Getter for the vertex of the quadratic equation
+     * */
+    IVertex getVertex();
+
+
+    /**
+     * Returns the sum of roots of the quadratic equation
+     * */
+    double getSumOfRoots();
+
+
+    /**
+     * Returns the product of roots of the quadratic equation
+     * */
+    double getProductOfRoots();
+}
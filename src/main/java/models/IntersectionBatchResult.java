@@ -0,0 +1,220 @@
+package models;
+
+
+/**
+ * Holds the intersections of a batch of pairs of curves y = ax^2 + bx + c (parabolas, or
+ * lines when a == 0) as primitive columns, one entry per pair (row)
+ *
+ * The intersections of row i are the roots of the difference equation
+ * (a1 - a2)x^2 + (b1 - b2)x + (c1 - c2) = 0, whose coefficients and solution are kept in
+ * getDifferenceCoefficientsA() and the other difference columns, and the equation type of
+ * the difference tells the degenerate pairs apart:
+ *      (a) EQUATION_TYPE_QUADRATIC --> 0, 1 or 2 intersections
+ *      (b) EQUATION_TYPE_LINEAR --> the same a, 1 intersection
+ *      (c) EQUATION_TYPE_CONSTANT --> parallel curves, which only differ by c, 0 intersections
+ *      (d) EQUATION_TYPE_IDENTITY --> the same curve, INTERSECTIONS_INFINITE
+ *      (e) EQUATION_TYPE_NON_FINITE --> a coefficient is not finite, 0 intersections
+ *
+ * The x and y columns hold 2 points per row, at 2 * row and 2 * row + 1, in ascending order
+ * of x; the slots past the intersection count hold NaN
+ *
+ * The getters of the columns return the backing arrays (not copies)
+ *
+ * Example usage:
+ * <pre>
+ *     IntersectionBatchResult result = new IntersectionBatchResult(coefficientsA1.length);
+ *
+ *     IntersectionBatchSolver.intersect(coefficientsA1, coefficientsB1, constantsC1,
+ *             coefficientsA2, coefficientsB2, constantsC2, result);
+ *
+ *     int count = result.getIntersectionCount(row);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public class IntersectionBatchResult {
+
+    /**
+     * The intersection count of two equal curves
+     * */
+    public static final byte INTERSECTIONS_INFINITE = -1;
+
+    private final int size;
+
+    private final double [] differenceCoefficientsA;
+    private final double [] differenceCoefficientsB;
+    private final double [] differenceConstantsC;
+    private final BatchSolveResult differenceSolution;
+
+    private final byte [] intersectionCounts;
+    private final double [] xCoordinates;
+    private final double [] yCoordinates;
+
+
+    /**
+     * Create the columns for a batch of pairs of curves
+     *
+     * @param size the number of pairs (rows) the result can hold
+     *
+     * @throws IllegalArgumentException if the size is negative
+     * */
+    public IntersectionBatchResult(int size){
+
+        if (size < 0){
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+
+        this.size = size;
+
+        this.differenceCoefficientsA = new double[size];
+        this.differenceCoefficientsB = new double[size];
+        this.differenceConstantsC = new double[size];
+        this.differenceSolution = new BatchSolveResult(size);
+
+        this.intersectionCounts = new byte[size];
+        this.xCoordinates = new double[2 * size];
+        this.yCoordinates = new double[2 * size];
+    }
+
+
+    /**
+     * Returns the number of pairs (rows) the result can hold
+     * */
+    public int getSize() {
+        return this.size;
+    }
+
+
+    /**
+     * Returns the coefficients a1 - a2 of the difference equations, one per row
+     * */
+    public double[] getDifferenceCoefficientsA() {
+        return this.differenceCoefficientsA;
+    }
+
+
+    /**
+     * Returns the coefficients b1 - b2 of the difference equations, one per row
+     * */
+    public double[] getDifferenceCoefficientsB() {
+        return this.differenceCoefficientsB;
+    }
+
+
+    /**
+     * Returns the constants c1 - c2 of the difference equations, one per row
+     * */
+    public double[] getDifferenceConstantsC() {
+        return this.differenceConstantsC;
+    }
+
+
+    /**
+     * Returns the solution of the difference equations
+     * */
+    public BatchSolveResult getDifferenceSolution() {
+        return this.differenceSolution;
+    }
+
+
+    /**
+     * Returns the number of intersections, one per row, or INTERSECTIONS_INFINITE for the
+     * same curve
+     * */
+    public byte[] getIntersectionCounts() {
+        return this.intersectionCounts;
+    }
+
+
+    /**
+     * Returns the x-coordinates of the intersections, two per row
+     * */
+    public double[] getXCoordinates() {
+        return this.xCoordinates;
+    }
+
+
+    /**
+     * Returns the y-coordinates of the intersections, two per row
+     * */
+    public double[] getYCoordinates() {
+        return this.yCoordinates;
+    }
+
+
+    /**
+     * Returns the number of intersections of a row, or INTERSECTIONS_INFINITE for the same curve
+     *
+     * @param row the index of the pair
+     * */
+    public int getIntersectionCount(int row){
+        return this.intersectionCounts[row];
+    }
+
+
+    /**
+     * Returns the equation type of the difference equation of a row
+     *
+     * @param row the index of the pair
+     * */
+    public QuadraticEquationSolver.EquationType getEquationType(int row){
+        return this.differenceSolution.getEquationType(row);
+    }
+
+
+    /**
+     * Returns true if the two curves of a row are the same curve
+     *
+     * @param row the index of the pair
+     * */
+    public boolean isSameCurve(int row){
+        return this.differenceSolution.getEquationTypes()[row] == BatchSolveResult.EQUATION_TYPE_IDENTITY;
+    }
+
+
+    /**
+     * Returns true if the two curves of a row are parallel: distinct curves which only
+     * differ by c, and never intersect
+     *
+     * @param row the index of the pair
+     * */
+    public boolean isParallel(int row){
+        return this.differenceSolution.getEquationTypes()[row] == BatchSolveResult.EQUATION_TYPE_CONSTANT;
+    }
+
+
+    /**
+     * Returns the x-coordinate of an intersection of a row
+     *
+     * @param row the index of the pair
+     * @param intersectionIndex the index of the intersection within the row, 0 or 1
+     * */
+    public double getXCoordinate(int row, int intersectionIndex){
+        return this.xCoordinates[2 * row + intersectionIndex];
+    }
+
+
+    /**
+     * Returns the y-coordinate of an intersection of a row
+     *
+     * @param row the index of the pair
+     * @param intersectionIndex the index of the intersection within the row, 0 or 1
+     * */
+    public double getYCoordinate(int row, int intersectionIndex){
+        return this.yCoordinates[2 * row + intersectionIndex];
+    }
+
+
+    /**
+     * Check that the result has enough rows
+     *
+     * @throws IllegalArgumentException if the result is too small
+     * */
+    void checkCapacity(int requiredSize){
+
+        if (this.size < requiredSize){
+            throw new IllegalArgumentException("Result holds " + this.size
+                    + " rows but " + requiredSize + " are required");
+        }
+    }
+}
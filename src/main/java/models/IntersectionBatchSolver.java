@@ -0,0 +1,115 @@
+package models;
+
+
+/**
+ * Intersects batches of pairs of curves y = a1x^2 + b1x + c1 and y = a2x^2 + b2x + c2
+ * given as primitive coefficient columns, without creating any object per pair
+ *
+ * A curve with a == 0 is a line, so the same columns hold parabola-parabola,
+ * parabola-line and line-line pairs. Each row is subtracted into the difference columns of
+ * the IntersectionBatchResult, and the difference equation is solved with the same kernel
+ * as QuadraticEquationBatchSolver. The real roots are the x-coordinates of the
+ * intersections, and the y-coordinates are evaluated on the first curve in Horner form
+ *
+ * The intersection count is looked up from the root type of the difference,
+ * so same-curve and parallel pairs (see IntersectionBatchResult) run through the same
+ * straight-line code as the other rows
+ *
+ * Example usage:
+ * <pre>
+ *     IntersectionBatchResult result = new IntersectionBatchResult(coefficientsA1.length);
+ *
+ *     IntersectionBatchSolver.intersect(coefficientsA1, coefficientsB1, constantsC1,
+ *             coefficientsA2, coefficientsB2, constantsC2, result);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class IntersectionBatchSolver {
+
+    /**
+     * The intersection counts of the root types of the difference, where an identity (the
+     * same curve) has ROOT_TYPE_NONE and infinitely many intersections
+     * */
+    private static final byte [] INTERSECTION_COUNTS = {
+            //REAL_AND_EQUAL, REAL_AND_DISTINCT, COMPLEX, SINGLE_REAL, NONE
+            1, 2, 0, 1, 0};
+
+
+    private IntersectionBatchSolver(){
+
+    }
+
+
+    /**
+     * Intersect the curves of every row of the two sets of coefficient columns
+     *
+     * @param coefficientsA1 the coefficients a of the first curves
+     * @param coefficientsB1 the coefficients b of the first curves
+     * @param constantsC1 the constants c of the first curves
+     * @param coefficientsA2 the coefficients a of the second curves
+     * @param coefficientsB2 the coefficients b of the second curves
+     * @param constantsC2 the constants c of the second curves
+     * @param result the result the intersections are written into
+     *
+     * @throws IllegalArgumentException if the columns differ in length, or the result is too small
+     * */
+    public static void intersect(double [] coefficientsA1, double [] coefficientsB1, double [] constantsC1,
+                                 double [] coefficientsA2, double [] coefficientsB2, double [] constantsC2,
+                                 IntersectionBatchResult result){
+
+        int size = coefficientsA1.length;
+
+        if (coefficientsB1.length != size || constantsC1.length != size || coefficientsA2.length != size
+                || coefficientsB2.length != size || constantsC2.length != size){
+
+            throw new IllegalArgumentException("Coefficient columns differ in length: "
+                    + size + ", " + coefficientsB1.length + ", " + constantsC1.length + ", "
+                    + coefficientsA2.length + ", " + coefficientsB2.length + ", " + constantsC2.length);
+        }
+
+        result.checkCapacity(size);
+
+        double [] differenceCoefficientsA = result.getDifferenceCoefficientsA();
+        double [] differenceCoefficientsB = result.getDifferenceCoefficientsB();
+        double [] differenceConstantsC = result.getDifferenceConstantsC();
+        BatchSolveResult differenceSolution = result.getDifferenceSolution();
+
+        byte [] equationTypes = differenceSolution.getEquationTypes();
+        byte [] rootTypes = differenceSolution.getRootTypes();
+        double [] roots = differenceSolution.getRootRealParts();
+
+        byte [] intersectionCounts = result.getIntersectionCounts();
+        double [] xCoordinates = result.getXCoordinates();
+        double [] yCoordinates = result.getYCoordinates();
+
+        for (int i = 0; i < size; i++){
+
+            double differenceA = coefficientsA1[i] - coefficientsA2[i];
+            double differenceB = coefficientsB1[i] - coefficientsB2[i];
+            double differenceC = constantsC1[i] - constantsC2[i];
+
+            differenceCoefficientsA[i] = differenceA;
+            differenceCoefficientsB[i] = differenceB;
+            differenceConstantsC[i] = differenceC;
+
+            PolynomialRootKernels.solveQuadraticRow(differenceA, differenceB, differenceC, differenceSolution, i);
+
+            boolean isIdentity = equationTypes[i] == BatchSolveResult.EQUATION_TYPE_IDENTITY;
+            int count = isIdentity ? IntersectionBatchResult.INTERSECTIONS_INFINITE : INTERSECTION_COUNTS[rootTypes[i]];
+            intersectionCounts[i] = (byte) count;
+
+            //a single intersection (a double or a linear root) is in the first root slot
+            double firstX = count == 2 ? Math.min(roots[2 * i], roots[2 * i + 1])
+                    : count == 1 ? roots[2 * i] : Double.NaN;
+            double secondX = count == 2 ? Math.max(roots[2 * i], roots[2 * i + 1]) : Double.NaN;
+
+            xCoordinates[2 * i] = firstX;
+            xCoordinates[2 * i + 1] = secondX;
+            yCoordinates[2 * i] = QuadraticEvaluator.evaluate(coefficientsA1[i], coefficientsB1[i],
+                    constantsC1[i], firstX);
+            yCoordinates[2 * i + 1] = QuadraticEvaluator.evaluate(coefficientsA1[i], coefficientsB1[i],
+                    constantsC1[i], secondX);
+        }
+    }
+}
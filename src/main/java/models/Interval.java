@@ -0,0 +1,99 @@
+package models;
+
+
+/**
+ * An immutable closed interval [lowerBound, upperBound] of real numbers
+ *
+ * Either bound may be infinite, e.g. [-Infinity, Infinity] is the whole real line
+ *
+ * @author Terence Lee
+ * */
+public final class Interval {
+
+    private final double lowerBound;
+    private final double upperBound;
+
+
+    /**
+     * @param lowerBound the smallest number in the interval
+     * @param upperBound the largest number in the interval
+     *
+     * @throws IllegalArgumentException if either bound is NaN or lowerBound > upperBound
+     * */
+    public Interval(double lowerBound, double upperBound){
+
+        if (!(lowerBound <= upperBound)){
+            throw new IllegalArgumentException("Invalid interval [" + lowerBound + ", "
+                    + upperBound + "]");
+        }
+
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+    }
+
+
+    /**
+     * Returns the interval [value, value] holding a single number
+     * */
+    public static Interval of(double value){
+        return new Interval(value, value);
+    }
+
+
+    /**
+     * Getter for the smallest number in the interval
+     * */
+    public double getLowerBound() {
+        return this.lowerBound;
+    }
+
+
+    /**
+     * Getter for the largest number in the interval
+     * */
+    public double getUpperBound() {
+        return this.upperBound;
+    }
+
+
+    /**
+     * Returns true if the value lies within the interval
+     * */
+    public boolean contains(double value){
+        return this.lowerBound <= value && value <= this.upperBound;
+    }
+
+
+    /**
+     * Returns the width upperBound - lowerBound of the interval
+     * */
+    public double getWidth(){
+        return this.upperBound - this.lowerBound;
+    }
+
+
+    @Override
+    public boolean equals(Object other) {
+
+        if (!(other instanceof Interval)){
+            return false;
+        }
+
+        Interval otherInterval = (Interval) other;
+
+        return Double.compare(this.lowerBound, otherInterval.lowerBound) == 0
+                && Double.compare(this.upperBound, otherInterval.upperBound) == 0;
+    }
+
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.hashCode(this.lowerBound) + Double.hashCode(this.upperBound);
+    }
+
+
+    @Override
+    public String toString() {
+        return "[" + this.lowerBound + ", " + this.upperBound + "]";
+    }
+}
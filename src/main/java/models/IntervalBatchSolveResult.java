@@ -0,0 +1,162 @@
+package models;
+
+
+/**
+ * Holds the guaranteed enclosures computed by IntervalQuadraticEquationBatchSolver as
+ * primitive columns, one entry per equation (row)
+ *
+ * For every root i (0 = first, 1 = second) of row r, the real and imaginary part of that
+ * root lie within [low, high] at index 2r + i of the root columns, for every choice of
+ * coefficients within the input intervals
+ *
+ * The possible root types of a row are stored as a bitmask, with bit
+ * (1 &lt;&lt; RootType.ordinal()) set if the root type can occur. The root type is certain
+ * when exactly one bit is set, and ambiguous otherwise
+ *
+ * The getters of the columns return the backing arrays (not copies)
+ *
+ * @author Terence Lee
+ * */
+public class IntervalBatchSolveResult {
+
+    /**
+     * Bit of QuadraticEquationSolver.RootType.REAL_AND_EQUAL in the possible root types
+     * */
+    public static final byte REAL_AND_EQUAL_BIT = 1 << BatchSolveResult.ROOT_TYPE_REAL_AND_EQUAL;
+
+    /**
+     * Bit of QuadraticEquationSolver.RootType.REAL_AND_DISTINCT in the possible root types
+     * */
+    public static final byte REAL_AND_DISTINCT_BIT = 1 << BatchSolveResult.ROOT_TYPE_REAL_AND_DISTINCT;
+
+    /**
+     * Bit of QuadraticEquationSolver.RootType.COMPLEX in the possible root types
+     * */
+    public static final byte COMPLEX_BIT = 1 << BatchSolveResult.ROOT_TYPE_COMPLEX;
+
+    /**
+     * Bit of QuadraticEquationSolver.RootType.SINGLE_REAL in the possible root types, which
+     * is possible when the interval of a contains 0
+     * */
+    public static final byte SINGLE_REAL_BIT = 1 << BatchSolveResult.ROOT_TYPE_SINGLE_REAL;
+
+    private final int size;
+
+    private final double [] discriminantLowerBounds;
+    private final double [] discriminantUpperBounds;
+    private final byte [] possibleRootTypes;
+
+    private final double [] rootRealPartLowerBounds;
+    private final double [] rootRealPartUpperBounds;
+    private final double [] rootImaginaryPartLowerBounds;
+    private final double [] rootImaginaryPartUpperBounds;
+
+
+    /**
+     * @param size the number of equations (rows) the result can hold
+     *
+     * @throws IllegalArgumentException if the size is negative
+     * */
+    public IntervalBatchSolveResult(int size){
+
+        if (size < 0){
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+
+        this.size = size;
+
+        this.discriminantLowerBounds = new double[size];
+        this.discriminantUpperBounds = new double[size];
+        this.possibleRootTypes = new byte[size];
+
+        this.rootRealPartLowerBounds = new double[2 * size];
+        this.rootRealPartUpperBounds = new double[2 * size];
+        this.rootImaginaryPartLowerBounds = new double[2 * size];
+        this.rootImaginaryPartUpperBounds = new double[2 * size];
+    }
+
+
+    /**
+     * Returns the number of equations (rows) the result can hold
+     * */
+    public int getSize() {
+        return this.size;
+    }
+
+
+    /**
+     * Returns the lower bounds of the discriminants, one per row
+     * */
+    public double[] getDiscriminantLowerBounds() {
+        return this.discriminantLowerBounds;
+    }
+
+
+    /**
+     * Returns the upper bounds of the discriminants, one per row
+     * */
+    public double[] getDiscriminantUpperBounds() {
+        return this.discriminantUpperBounds;
+    }
+
+
+    /**
+     * Returns the bitmasks of the possible root types, one per row
+     * */
+    public byte[] getPossibleRootTypes() {
+        return this.possibleRootTypes;
+    }
+
+
+    /**
+     * Returns the lower bounds of the real parts of the roots, two per row
+     * */
+    public double[] getRootRealPartLowerBounds() {
+        return this.rootRealPartLowerBounds;
+    }
+
+
+    /**
+     * Returns the upper bounds of the real parts of the roots, two per row
+     * */
+    public double[] getRootRealPartUpperBounds() {
+        return this.rootRealPartUpperBounds;
+    }
+
+
+    /**
+     * Returns the lower bounds of the imaginary parts of the roots, two per row
+     * */
+    public double[] getRootImaginaryPartLowerBounds() {
+        return this.rootImaginaryPartLowerBounds;
+    }
+
+
+    /**
+     * Returns the upper bounds of the imaginary parts of the roots, two per row
+     * */
+    public double[] getRootImaginaryPartUpperBounds() {
+        return this.rootImaginaryPartUpperBounds;
+    }
+
+
+    /**
+     * Returns true if exactly one root type is possible for the row
+     *
+     * @param row the index of the equation
+     * */
+    public boolean isRootTypeCertain(int row){
+        return Integer.bitCount(this.possibleRootTypes[row]) == 1;
+    }
+
+
+    /**
+     * Returns true if the root type can occur for some coefficients of the row
+     *
+     * @param row the index of the equation
+     * @param rootType the root type of interest
+     * */
+    public boolean isRootTypePossible(int row, QuadraticEquationSolver.RootType rootType){
+        return (this.possibleRootTypes[row] & (1 << rootType.ordinal())) != 0;
+    }
+}
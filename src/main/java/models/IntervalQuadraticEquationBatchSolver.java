@@ -0,0 +1,202 @@
+package models;
+
+
+/**
+ * Solves batches of quadratic equations whose coefficients are only known to lie within
+ * intervals, computing guaranteed enclosures of the discriminant and the roots, and the
+ * set of possible root types, in a single pass per equation
+ *
+ * Row i is the quadratic equation ax^2 + bx + c = 0 for every
+ * a in [coefficientALowerBounds[i], coefficientAUpperBounds[i]] (and likewise for b and c).
+ * The enclosures are computed with interval arithmetic and emulated directed rounding
+ * (see DirectedRounding), so they hold despite rounding errors
+ *
+ * When the interval of a contains 0, the roots are unbounded and their enclosures are the
+ * whole real line, and every root type (SINGLE_REAL included) is possible
+ *
+ * Example usage:
+ * <pre>
+ *     IntervalBatchSolveResult result = new IntervalBatchSolveResult(size);
+ *
+ *     IntervalQuadraticEquationBatchSolver.solve(aLows, aHighs, bLows, bHighs,
+ *             cLows, cHighs, result);
+ *
+ *     boolean certain = result.isRootTypeCertain(0);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class IntervalQuadraticEquationBatchSolver {
+
+
+    private IntervalQuadraticEquationBatchSolver(){
+
+    }
+
+
+    /**
+     * Compute the enclosures of every row
+     *
+     * @throws IllegalArgumentException if the columns differ in length or the result is too small
+     * */
+    public static void solve(double [] coefficientALowerBounds, double [] coefficientAUpperBounds,
+                             double [] coefficientBLowerBounds, double [] coefficientBUpperBounds,
+                             double [] constantCLowerBounds, double [] constantCUpperBounds,
+                             IntervalBatchSolveResult result){
+
+        int size = coefficientALowerBounds.length;
+
+        for (double [] column : new double[][]{coefficientAUpperBounds, coefficientBLowerBounds,
+                coefficientBUpperBounds, constantCLowerBounds, constantCUpperBounds}){
+
+            if (column.length != size){
+                throw new IllegalArgumentException("Coefficient columns differ in length: "
+                        + size + ", " + column.length);
+            }
+        }
+
+        if (result.getSize() < size){
+            throw new IllegalArgumentException("Result holds " + result.getSize()
+                    + " rows but " + size + " are required");
+        }
+
+        for (int i = 0; i < size; i++){
+
+            solveRow(coefficientALowerBounds[i], coefficientAUpperBounds[i],
+                    coefficientBLowerBounds[i], coefficientBUpperBounds[i],
+                    constantCLowerBounds[i], constantCUpperBounds[i], result, i);
+        }
+    }
+
+
+    /**
+     * Compute the enclosures of one row
+     * */
+    static void solveRow(double aLow, double aHigh, double bLow, double bHigh,
+                         double cLow, double cHigh, IntervalBatchSolveResult result, int row){
+
+        //discriminant b^2 - 4ac, where 4 * x is exact
+        double acLow = DirectedRounding.multiplyLow(aLow, aHigh, cLow, cHigh);
+        double acHigh = DirectedRounding.multiplyHigh(aLow, aHigh, cLow, cHigh);
+
+        double discriminantLow =
+                DirectedRounding.down(DirectedRounding.squareLow(bLow, bHigh) - 4 * acHigh);
+        double discriminantHigh =
+                DirectedRounding.up(DirectedRounding.squareHigh(bLow, bHigh) - 4 * acLow);
+
+        result.getDiscriminantLowerBounds()[row] = discriminantLow;
+        result.getDiscriminantUpperBounds()[row] = discriminantHigh;
+
+        byte possibleRootTypes = 0;
+
+        if (discriminantLow <= 0 && discriminantHigh >= 0){
+            possibleRootTypes |= IntervalBatchSolveResult.REAL_AND_EQUAL_BIT;
+        }
+
+        if (discriminantHigh > 0){
+            possibleRootTypes |= IntervalBatchSolveResult.REAL_AND_DISTINCT_BIT;
+        }
+
+        if (discriminantLow < 0){
+            possibleRootTypes |= IntervalBatchSolveResult.COMPLEX_BIT;
+        }
+
+        result.getPossibleRootTypes()[row] = possibleRootTypes;
+
+        double [] realLows = result.getRootRealPartLowerBounds();
+        double [] realHighs = result.getRootRealPartUpperBounds();
+        double [] imaginaryLows = result.getRootImaginaryPartLowerBounds();
+        double [] imaginaryHighs = result.getRootImaginaryPartUpperBounds();
+
+        int offset = 2 * row;
+
+        //start from empty enclosures, and widen them with every possible kind of root
+        realLows[offset] = Double.POSITIVE_INFINITY;
+        realLows[offset + 1] = Double.POSITIVE_INFINITY;
+        realHighs[offset] = Double.NEGATIVE_INFINITY;
+        realHighs[offset + 1] = Double.NEGATIVE_INFINITY;
+        imaginaryLows[offset] = Double.POSITIVE_INFINITY;
+        imaginaryLows[offset + 1] = Double.POSITIVE_INFINITY;
+        imaginaryHighs[offset] = Double.NEGATIVE_INFINITY;
+        imaginaryHighs[offset + 1] = Double.NEGATIVE_INFINITY;
+
+        boolean unbounded = (aLow <= 0 && aHigh >= 0) || possibleRootTypes == 0;
+
+        if (unbounded){
+
+            //a == 0 makes the equation linear, with a single root
+            byte singleRealBit = aLow <= 0 && aHigh >= 0 ? IntervalBatchSolveResult.SINGLE_REAL_BIT : 0;
+
+            result.getPossibleRootTypes()[row] = (byte) (IntervalBatchSolveResult.REAL_AND_EQUAL_BIT
+                    | IntervalBatchSolveResult.REAL_AND_DISTINCT_BIT
+                    | IntervalBatchSolveResult.COMPLEX_BIT
+                    | singleRealBit);
+
+            for (int i = offset; i < offset + 2; i++){
+
+                realLows[i] = Double.NEGATIVE_INFINITY;
+                realHighs[i] = Double.POSITIVE_INFINITY;
+                imaginaryLows[i] = Double.NEGATIVE_INFINITY;
+                imaginaryHighs[i] = Double.POSITIVE_INFINITY;
+            }
+
+            return;
+        }
+
+        double twoALow = 2 * aLow;
+        double twoAHigh = 2 * aHigh;
+
+        if (discriminantHigh >= 0){
+
+            //real roots (-b -/+ sqrt(discriminant))/(2a) for the non-negative discriminants
+            double squareRootLow = DirectedRounding.squareRootLow(discriminantLow);
+            double squareRootHigh = DirectedRounding.squareRootHigh(discriminantHigh);
+
+            double firstNumeratorLow = DirectedRounding.down(-bHigh - squareRootHigh);
+            double firstNumeratorHigh = DirectedRounding.up(-bLow - squareRootLow);
+            double secondNumeratorLow = DirectedRounding.down(-bHigh + squareRootLow);
+            double secondNumeratorHigh = DirectedRounding.up(-bLow + squareRootHigh);
+
+            widen(realLows, realHighs, offset,
+                    DirectedRounding.divideLow(firstNumeratorLow, firstNumeratorHigh, twoALow, twoAHigh),
+                    DirectedRounding.divideHigh(firstNumeratorLow, firstNumeratorHigh, twoALow, twoAHigh));
+            widen(realLows, realHighs, offset + 1,
+                    DirectedRounding.divideLow(secondNumeratorLow, secondNumeratorHigh, twoALow, twoAHigh),
+                    DirectedRounding.divideHigh(secondNumeratorLow, secondNumeratorHigh, twoALow, twoAHigh));
+
+            widen(imaginaryLows, imaginaryHighs, offset, 0, 0);
+            widen(imaginaryLows, imaginaryHighs, offset + 1, 0, 0);
+        }
+
+        if (discriminantLow < 0){
+
+            //complex roots -b/(2a) -/+ (sqrt(-discriminant)/(2a))i for the negative discriminants
+            double realPartLow = DirectedRounding.divideLow(-bHigh, -bLow, twoALow, twoAHigh);
+            double realPartHigh = DirectedRounding.divideHigh(-bHigh, -bLow, twoALow, twoAHigh);
+
+            double squareRootLow = DirectedRounding.squareRootLow(-Math.min(discriminantHigh, 0));
+            double squareRootHigh = DirectedRounding.squareRootHigh(-discriminantLow);
+
+            double imaginaryPartLow =
+                    DirectedRounding.divideLow(squareRootLow, squareRootHigh, twoALow, twoAHigh);
+            double imaginaryPartHigh =
+                    DirectedRounding.divideHigh(squareRootLow, squareRootHigh, twoALow, twoAHigh);
+
+            widen(realLows, realHighs, offset, realPartLow, realPartHigh);
+            widen(realLows, realHighs, offset + 1, realPartLow, realPartHigh);
+
+            widen(imaginaryLows, imaginaryHighs, offset, -imaginaryPartHigh, -imaginaryPartLow);
+            widen(imaginaryLows, imaginaryHighs, offset + 1, imaginaryPartLow, imaginaryPartHigh);
+        }
+    }
+
+
+    /**
+     * Widen the enclosure at index to also contain [low, high]
+     * */
+    private static void widen(double [] lows, double [] highs, int index, double low, double high){
+
+        lows[index] = Math.min(lows[index], low);
+        highs[index] = Math.max(highs[index], high);
+    }
+}
@@ -0,0 +1,177 @@
+package models;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+
+/**
+ * A quadratic equation solver for coefficients that are only known to lie within intervals,
+ * which returns guaranteed enclosures instead of point estimates
+ *
+ *  @author Terence Lee
+ *
+ * Example usage:
+ * <pre>
+ *     //quadratic equation is ax^2 + bx + c = 0, with a in [0.99, 1.01], b = 5, c in [-14.1, -13.9]
+ *
+ *     IntervalQuadraticEquationSolver solver = new IntervalQuadraticEquationSolver(
+ *             new Interval(0.99, 1.01), Interval.of(5), new Interval(-14.1, -13.9));
+ *
+ *     Interval discriminant = solver.getDiscriminant();
+ *
+ *     if (solver.isRootTypeCertain()){
+ *         QuadraticEquationSolver.RootType rootType = solver.getRootType();
+ *     }
+ *
+ *     Interval firstRootRealPart = solver.getFirstRootRealPart();
+ * </pre>
+ *
+ * */
+public class IntervalQuadraticEquationSolver {
+
+    private final Interval coefficientA;
+    private final Interval coefficientB;
+    private final Interval constantC;
+
+    private final IntervalBatchSolveResult solution;
+
+
+    /**
+     * The constructor which takes in three intervals (a,b,c) which refer to the
+     * quadratic equations ax^2 + bx + c = 0
+     *
+     * @param coefficientA the interval of the coefficient a
+     * @param coefficientB the interval of the coefficient b
+     * @param constantC the interval of the constant c
+     * */
+    public IntervalQuadraticEquationSolver(Interval coefficientA, Interval coefficientB,
+                                           Interval constantC) {
+
+        this.coefficientA = coefficientA;
+        this.coefficientB = coefficientB;
+        this.constantC = constantC;
+
+        this.solution = new IntervalBatchSolveResult(1);
+
+        IntervalQuadraticEquationBatchSolver.solveRow(
+                coefficientA.getLowerBound(), coefficientA.getUpperBound(),
+                coefficientB.getLowerBound(), coefficientB.getUpperBound(),
+                constantC.getLowerBound(), constantC.getUpperBound(), this.solution, 0);
+    }
+
+
+    /**
+     * Getter for the interval of the coefficient a
+     * */
+    public Interval getCoefficientA() {
+        return this.coefficientA;
+    }
+
+
+    /**
+     * Getter for the interval of the coefficient b
+     * */
+    public Interval getCoefficientB() {
+        return this.coefficientB;
+    }
+
+
+    /**
+     * Getter for the interval of the constant c
+     * */
+    public Interval getConstantC() {
+        return this.constantC;
+    }
+
+
+    /**
+     * Getter for the enclosure of the discriminant (b^2 - 4ac)
+     * */
+    public Interval getDiscriminant(){
+        return new Interval(this.solution.getDiscriminantLowerBounds()[0],
+                this.solution.getDiscriminantUpperBounds()[0]);
+    }
+
+
+    /**
+     * Getter for every root type that occurs for some coefficients within the intervals
+     * */
+    public Set<QuadraticEquationSolver.RootType> getPossibleRootTypes(){
+
+        Set<QuadraticEquationSolver.RootType> possibleRootTypes =
+                EnumSet.noneOf(QuadraticEquationSolver.RootType.class);
+
+        for (QuadraticEquationSolver.RootType rootType : QuadraticEquationSolver.RootType.values()){
+
+            if (this.solution.isRootTypePossible(0, rootType)){
+                possibleRootTypes.add(rootType);
+            }
+        }
+
+        return possibleRootTypes;
+    }
+
+
+    /**
+     * Returns true if the root type is the same for all coefficients within the intervals
+     * */
+    public boolean isRootTypeCertain(){
+        return this.solution.isRootTypeCertain(0);
+    }
+
+
+    /**
+     * Getter for the root type if it is certain, or null if it is ambiguous
+     * */
+    public QuadraticEquationSolver.RootType getRootType(){
+
+        if (!isRootTypeCertain()){
+            return null;
+        }
+
+        return getPossibleRootTypes().iterator().next();
+    }
+
+
+    /**
+     * Getter for the enclosure of the real part of the first root (-b - sqrt(b^2 - 4ac))/(2a)
+     * */
+    public Interval getFirstRootRealPart(){
+        return enclosure(this.solution.getRootRealPartLowerBounds(),
+                this.solution.getRootRealPartUpperBounds(), 0);
+    }
+
+
+    /**
+     * Getter for the enclosure of the imaginary part of the first root, which is [0, 0]
+     * if the roots are certainly real
+     * */
+    public Interval getFirstRootImaginaryPart(){
+        return enclosure(this.solution.getRootImaginaryPartLowerBounds(),
+                this.solution.getRootImaginaryPartUpperBounds(), 0);
+    }
+
+
+    /**
+     * Getter for the enclosure of the real part of the second root (-b + sqrt(b^2 - 4ac))/(2a)
+     * */
+    public Interval getSecondRootRealPart(){
+        return enclosure(this.solution.getRootRealPartLowerBounds(),
+                this.solution.getRootRealPartUpperBounds(), 1);
+    }
+
+
+    /**
+     * Getter for the enclosure of the imaginary part of the second root, which is [0, 0]
+     * if the roots are certainly real
+     * */
+    public Interval getSecondRootImaginaryPart(){
+        return enclosure(this.solution.getRootImaginaryPartLowerBounds(),
+                this.solution.getRootImaginaryPartUpperBounds(), 1);
+    }
+
+
+    private static Interval enclosure(double [] lowerBounds, double [] upperBounds, int index){
+        return new Interval(lowerBounds[index], upperBounds[index]);
+    }
+}
@@ -0,0 +1,251 @@
+package models;
+
+
+/**
+ * Holds a batch of interval sets (finite unions of disjoint intervals of real numbers) as
+ * primitive columns, one set per row, such as the solution sets written by
+ * QuadraticInequalityBatchSolver
+ *
+ * Row i holds getIntervalCount(i) intervals, sorted in ascending order, which neither
+ * overlap nor touch. Interval k of the row is stored at index i * maximumIntervals + k of
+ * the bound and closedness columns:
+ *      (a) the lower and upper bounds, -Infinity and Infinity for unbounded intervals
+ *      (b) the closedness flags, LOWER_CLOSED | UPPER_CLOSED for a closed interval, 0 for
+ *          an open one. An infinite bound is always open
+ *
+ * A single point x is the closed interval [x, x], the empty set has no intervals and the
+ * whole real line is (-Infinity, Infinity)
+ *
+ * The getters of the columns return the backing arrays (not copies)
+ *
+ * @author Terence Lee
+ * */
+public class IntervalSetBatchResult {
+
+    /**
+     * The closedness flag of an interval which contains its lower bound
+     * */
+    public static final byte LOWER_CLOSED = 1;
+
+    /**
+     * The closedness flag of an interval which contains its upper bound
+     * */
+    public static final byte UPPER_CLOSED = 2;
+
+    private final int size;
+    private final int maximumIntervals;
+
+    private final byte [] intervalCounts;
+    private final double [] lowerBounds;
+    private final double [] upperBounds;
+    private final byte [] closedness;
+
+
+    /**
+     * Create the columns for a batch of interval sets
+     *
+     * @param size the number of interval sets (rows) the result can hold
+     * @param maximumIntervals the largest number of intervals of a row
+     *
+     * @throws IllegalArgumentException if the size is negative, or the maximum number of
+     *                                  intervals is not between 1 and 127
+     * */
+    public IntervalSetBatchResult(int size, int maximumIntervals){
+
+        if (size < 0){
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+
+        if (maximumIntervals < 1 || maximumIntervals > Byte.MAX_VALUE){
+            throw new IllegalArgumentException("Maximum number of intervals must be between 1 and "
+                    + Byte.MAX_VALUE + ": " + maximumIntervals);
+        }
+
+        this.size = size;
+        this.maximumIntervals = maximumIntervals;
+
+        this.intervalCounts = new byte[size];
+        this.lowerBounds = new double[size * maximumIntervals];
+        this.upperBounds = new double[size * maximumIntervals];
+        this.closedness = new byte[size * maximumIntervals];
+    }
+
+
+    /**
+     * Returns the number of interval sets (rows) the result can hold
+     * */
+    public int getSize() {
+        return this.size;
+    }
+
+
+    /**
+     * Returns the largest number of intervals of a row
+     * */
+    public int getMaximumIntervals() {
+        return this.maximumIntervals;
+    }
+
+
+    /**
+     * Returns the number of intervals, one per row
+     * */
+    public byte[] getIntervalCounts() {
+        return this.intervalCounts;
+    }
+
+
+    /**
+     * Returns the lower bounds of the intervals, maximumIntervals per row
+     * */
+    public double[] getLowerBounds() {
+        return this.lowerBounds;
+    }
+
+
+    /**
+     * Returns the upper bounds of the intervals, maximumIntervals per row
+     * */
+    public double[] getUpperBounds() {
+        return this.upperBounds;
+    }
+
+
+    /**
+     * Returns the closedness flags of the intervals, maximumIntervals per row
+     * */
+    public byte[] getClosedness() {
+        return this.closedness;
+    }
+
+
+    /**
+     * Returns the number of intervals of a row
+     *
+     * @param row the index of the interval set
+     * */
+    public int getIntervalCount(int row){
+        return this.intervalCounts[row];
+    }
+
+
+    /**
+     * Returns the lower bound of an interval of a row
+     *
+     * @param row the index of the interval set
+     * @param intervalIndex the index of the interval within the row
+     * */
+    public double getLowerBound(int row, int intervalIndex){
+        return this.lowerBounds[row * this.maximumIntervals + intervalIndex];
+    }
+
+
+    /**
+     * Returns the upper bound of an interval of a row
+     *
+     * @param row the index of the interval set
+     * @param intervalIndex the index of the interval within the row
+     * */
+    public double getUpperBound(int row, int intervalIndex){
+        return this.upperBounds[row * this.maximumIntervals + intervalIndex];
+    }
+
+
+    /**
+     * Returns true if an interval of a row contains its lower bound
+     *
+     * @param row the index of the interval set
+     * @param intervalIndex the index of the interval within the row
+     * */
+    public boolean isLowerClosed(int row, int intervalIndex){
+        return (this.closedness[row * this.maximumIntervals + intervalIndex] & LOWER_CLOSED) != 0;
+    }
+
+
+    /**
+     * Returns true if an interval of a row contains its upper bound
+     *
+     * @param row the index of the interval set
+     * @param intervalIndex the index of the interval within the row
+     * */
+    public boolean isUpperClosed(int row, int intervalIndex){
+        return (this.closedness[row * this.maximumIntervals + intervalIndex] & UPPER_CLOSED) != 0;
+    }
+
+
+    /**
+     * Returns true if the interval set of a row contains the value
+     *
+     * @param row the index of the interval set
+     * */
+    public boolean contains(int row, double value){
+
+        int offset = row * this.maximumIntervals;
+
+        for (int k = 0; k < this.intervalCounts[row]; k++){
+
+            double lowerBound = this.lowerBounds[offset + k];
+            double upperBound = this.upperBounds[offset + k];
+            byte flags = this.closedness[offset + k];
+
+            boolean isAboveLower = value > lowerBound || (value == lowerBound && (flags & LOWER_CLOSED) != 0);
+            boolean isBelowUpper = value < upperBound || (value == upperBound && (flags & UPPER_CLOSED) != 0);
+
+            if (isAboveLower && isBelowUpper){
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Returns the interval set of a row in interval notation, e.g. (-Infinity, -1) ∪ [2, 2],
+     * or ∅ for the empty set
+     *
+     * @param row the index of the interval set
+     * */
+    public String format(int row){
+
+        if (this.intervalCounts[row] == 0){
+            return "∅";
+        }
+
+        StringBuilder builder = new StringBuilder();
+
+        for (int k = 0; k < this.intervalCounts[row]; k++){
+
+            if (k > 0){
+                builder.append(" ∪ ");
+            }
+
+            builder.append(isLowerClosed(row, k) ? '[' : '(')
+                    .append(getLowerBound(row, k))
+                    .append(", ")
+                    .append(getUpperBound(row, k))
+                    .append(isUpperClosed(row, k) ? ']' : ')');
+        }
+
+        return builder.toString();
+    }
+
+
+    /**
+     * Check that the result has enough rows and intervals per row
+     *
+     * @throws IllegalArgumentException if the result is too small
+     * */
+    void checkCapacity(int requiredSize, int requiredIntervals){
+
+        if (this.size < requiredSize){
+            throw new IllegalArgumentException("Result holds " + this.size
+                    + " rows but " + requiredSize + " are required");
+        }
+
+        if (this.maximumIntervals < requiredIntervals){
+            throw new IllegalArgumentException("Result holds " + this.maximumIntervals
+                    + " intervals per row but " + requiredIntervals + " are required");
+        }
+    }
+}
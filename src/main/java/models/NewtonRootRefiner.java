@@ -0,0 +1,231 @@
+package models;
+
+
+/**
+ * An optional refinement stage for the roots of a solved quadratic batch, which applies
+ * Newton iterations x' = x - f(x)/f'(x) to the root columns in place
+ *
+ * Real roots and complex pairs go through the same straight-line complex Newton step
+ * (a real root is a complex number with an imaginary part of 0), so the loop has no
+ * branch on the root type and can be compiled to SIMD code
+ *
+ * A step is only kept if it is finite, does not move the root by more than the relative
+ * tolerance, and lowers |f(x)|. This rejects the wild steps Newton takes near equal roots,
+ * where f'(x) is close to 0
+ *
+ * Example usage:
+ * <pre>
+ *     NewtonRootRefiner refiner = new NewtonRootRefiner(2, 1e-6);
+ *
+ *     QuadraticEquationBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result);
+ *     int changedRows = refiner.refine(coefficientsA, coefficientsB, constantsC, result);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class NewtonRootRefiner {
+
+    private final int iterations;
+    private final double tolerance;
+
+
+    /**
+     * @param iterations the number of Newton iterations per root, usually 1 or 2
+     * @param tolerance the largest accepted correction relative to the magnitude of the root
+     *
+     * @throws IllegalArgumentException if iterations is less than 1, or the tolerance is
+     *                                  not a positive number
+     * */
+    public NewtonRootRefiner(int iterations, double tolerance){
+
+        if (iterations < 1){
+            throw new IllegalArgumentException("Iterations must be at least 1: " + iterations);
+        }
+
+        if (!(tolerance > 0)){
+            throw new IllegalArgumentException("Tolerance must be positive: " + tolerance);
+        }
+
+        this.iterations = iterations;
+        this.tolerance = tolerance;
+    }
+
+
+    /**
+     * Getter for the number of Newton iterations per root
+     * */
+    public int getIterations() {
+        return this.iterations;
+    }
+
+
+    /**
+     * Getter for the largest accepted correction relative to the magnitude of the root
+     * */
+    public double getTolerance() {
+        return this.tolerance;
+    }
+
+
+    /**
+     * Refine the roots of every row of a solved quadratic batch in place
+     *
+     * @param coefficientsA the coefficients a the batch was solved with
+     * @param coefficientsB the coefficients b the batch was solved with
+     * @param constantsC the constants c the batch was solved with
+     * @param result the degree 2 result holding the roots to refine
+     *
+     * @return the number of rows where at least one root changed
+     *
+     * @throws IllegalArgumentException if the columns differ in length, or the result is
+     *                                  not of degree 2 or too small
+     * */
+    public int refine(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                      BatchSolveResult result){
+
+        QuadraticEquationBatchSolver.checkColumns(coefficientsA, coefficientsB, constantsC, result);
+
+        return refineRange(coefficientsA, coefficientsB, constantsC, result, 0, coefficientsA.length);
+    }
+
+
+    /**
+     * Refine the roots of the rows [fromRow, toRow)
+     *
+     * @return the number of rows where at least one root changed
+     * */
+    int refineRange(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                    BatchSolveResult result, int fromRow, int toRow){
+
+        double [] realParts = result.getRootRealParts();
+        double [] imaginaryParts = result.getRootImaginaryParts();
+
+        int changedRows = 0;
+
+        for (int i = fromRow; i < toRow; i++){
+
+            double a = coefficientsA[i];
+            double b = coefficientsB[i];
+            double c = constantsC[i];
+
+            int offset = 2 * i;
+
+            double firstReal = realParts[offset];
+            double firstImaginary = imaginaryParts[offset];
+            double secondReal = realParts[offset + 1];
+            double secondImaginary = imaginaryParts[offset + 1];
+
+            for (int iteration = 0; iteration < this.iterations; iteration++){
+
+                double nextFirstReal = newtonStepReal(a, b, c, firstReal, firstImaginary);
+                double nextFirstImaginary = newtonStepImaginary(a, b, c, firstReal, firstImaginary);
+                double nextSecondReal = newtonStepReal(a, b, c, secondReal, secondImaginary);
+                double nextSecondImaginary = newtonStepImaginary(a, b, c, secondReal, secondImaginary);
+
+                boolean acceptFirst = isImprovement(a, b, c, firstReal, firstImaginary,
+                        nextFirstReal, nextFirstImaginary);
+                boolean acceptSecond = isImprovement(a, b, c, secondReal, secondImaginary,
+                        nextSecondReal, nextSecondImaginary);
+
+                firstReal = acceptFirst ? nextFirstReal : firstReal;
+                firstImaginary = acceptFirst ? nextFirstImaginary : firstImaginary;
+                secondReal = acceptSecond ? nextSecondReal : secondReal;
+                secondImaginary = acceptSecond ? nextSecondImaginary : secondImaginary;
+            }
+
+            //compared bit for bit, as NaN != NaN would count every degenerate row as changed
+            boolean changed = isChanged(firstReal, realParts[offset])
+                    | isChanged(firstImaginary, imaginaryParts[offset])
+                    | isChanged(secondReal, realParts[offset + 1])
+                    | isChanged(secondImaginary, imaginaryParts[offset + 1]);
+
+            realParts[offset] = firstReal;
+            imaginaryParts[offset] = firstImaginary;
+            realParts[offset + 1] = secondReal;
+            imaginaryParts[offset + 1] = secondImaginary;
+
+            changedRows += changed ? 1 : 0;
+        }
+
+        return changedRows;
+    }
+
+
+    private static boolean isChanged(double refined, double original){
+        return Double.doubleToRawLongBits(refined) != Double.doubleToRawLongBits(original);
+    }
+
+
+    /**
+     * Returns the real part of z - f(z)/f'(z) for z = x + yi, with f(z) = az^2 + bz + c
+     * */
+    private static double newtonStepReal(double a, double b, double c, double x, double y){
+
+        double valueReal = valueReal(a, b, c, x, y);
+        double valueImaginary = valueImaginary(a, b, x, y);
+        double derivativeReal = Math.fma(2 * a, x, b);
+        double derivativeImaginary = 2 * a * y;
+
+        double denominator = derivativeReal * derivativeReal + derivativeImaginary * derivativeImaginary;
+
+        return x - (valueReal * derivativeReal + valueImaginary * derivativeImaginary) / denominator;
+    }
+
+
+    /**
+     * Returns the imaginary part of z - f(z)/f'(z) for z = x + yi, with f(z) = az^2 + bz + c
+     * */
+    private static double newtonStepImaginary(double a, double b, double c, double x, double y){
+
+        double valueReal = valueReal(a, b, c, x, y);
+        double valueImaginary = valueImaginary(a, b, x, y);
+        double derivativeReal = Math.fma(2 * a, x, b);
+        double derivativeImaginary = 2 * a * y;
+
+        double denominator = derivativeReal * derivativeReal + derivativeImaginary * derivativeImaginary;
+
+        return y - (valueImaginary * derivativeReal - valueReal * derivativeImaginary) / denominator;
+    }
+
+
+    /**
+     * Returns true if the step from z to the next z is finite, within the tolerance, and
+     * lowers |f(z)|
+     * */
+    private boolean isImprovement(double a, double b, double c, double x, double y,
+                                  double nextX, double nextY){
+
+        double residual = squaredModulusOfValue(a, b, c, x, y);
+        double nextResidual = squaredModulusOfValue(a, b, c, nextX, nextY);
+
+        double step = Math.abs(nextX - x) + Math.abs(nextY - y);
+        double magnitude = Math.abs(x) + Math.abs(y);
+
+        return nextResidual < residual && step <= this.tolerance * magnitude;
+    }
+
+
+    private static double squaredModulusOfValue(double a, double b, double c, double x, double y){
+
+        double valueReal = valueReal(a, b, c, x, y);
+        double valueImaginary = valueImaginary(a, b, x, y);
+
+        return valueReal * valueReal + valueImaginary * valueImaginary;
+    }
+
+
+    /**
+     * Returns the real part of az^2 + bz + c = a(x^2 - y^2) + bx + c in Horner form
+     * */
+    private static double valueReal(double a, double b, double c, double x, double y){
+        return Math.fma(Math.fma(a, x, b), x, Math.fma(-a * y, y, c));
+    }
+
+
+    /**
+     * Returns the imaginary part of az^2 + bz + c = (2ax + b)y
+     * */
+    private static double valueImaginary(double a, double b, double x, double y){
+        return Math.fma(2 * a, x, b) * y;
+    }
+}
@@ -0,0 +1,145 @@
+package models;
+
+import java.util.stream.IntStream;
+
+
+/**
+ * Solves batches of polynomial equations of degree 1 to 4 given as primitive
+ * coefficient columns, with the closed-form kernels of PolynomialRootKernels
+ *
+ * The coefficient columns are given from the highest power down to the constant, so
+ * coefficients[k][i] is the coefficient of x^(degree - k) of row i. Three columns
+ * (a, b, c) solve quadratic equations exactly like QuadraticEquationBatchSolver
+ *
+ * There is deliberately no iterative fallback: every supported degree has a closed-form
+ * kernel, and higher degrees are rejected
+ *
+ * Example usage:
+ * <pre>
+ *     //x^3 - 6x^2 + 11x - 6 = 0 and 2x^3 + 0x^2 + 0x + 16 = 0
+ *     double [][] coefficients = {{1, 2}, {-6, 0}, {11, 0}, {-6, 16}};
+ *
+ *     BatchSolveResult result = new BatchSolveResult(2, 3);
+ *
+ *     PolynomialEquationBatchSolver.solve(coefficients, result);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class PolynomialEquationBatchSolver {
+
+
+    private PolynomialEquationBatchSolver(){
+
+    }
+
+
+    /**
+     * Solve every row of the coefficient columns
+     *
+     * The leading coefficients must not be 0
+     *
+     * @param coefficients degree + 1 columns, from the highest power down to the constant
+     * @param result the result of the same degree the solutions are written into
+     *
+     * @throws IllegalArgumentException if the degree is not supported, the columns differ
+     *                                  in length, or the result does not fit
+     * */
+    public static void solve(double [][] coefficients, BatchSolveResult result){
+
+        int size = checkColumns(coefficients, result);
+
+        solveRange(coefficients, result, 0, size);
+    }
+
+
+    /**
+     * Solve every row of the coefficient columns in parallel, in chunks of
+     * QuadraticEquationBatchSolver.PARALLEL_CHUNK_SIZE rows
+     *
+     * @see #solve(double[][], BatchSolveResult)
+     * */
+    public static void solveParallel(double [][] coefficients, BatchSolveResult result){
+
+        int size = checkColumns(coefficients, result);
+        int chunkSize = QuadraticEquationBatchSolver.PARALLEL_CHUNK_SIZE;
+        int chunks = (size + chunkSize - 1) / chunkSize;
+
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+
+            int fromRow = chunk * chunkSize;
+
+            solveRange(coefficients, result, fromRow, Math.min(size, fromRow + chunkSize));
+        });
+    }
+
+
+    /**
+     * Solve the rows [fromRow, toRow), with one loop per degree
+     * */
+    private static void solveRange(double [][] coefficients, BatchSolveResult result,
+                                   int fromRow, int toRow){
+
+        switch (coefficients.length - 1){
+
+            case 1:
+                for (int i = fromRow; i < toRow; i++){
+                    PolynomialRootKernels.solveLinearRow(coefficients[0][i], coefficients[1][i],
+                            result, i);
+                }
+                break;
+
+            case 2:
+                QuadraticEquationBatchSolver.solveRange(coefficients[0], coefficients[1],
+                        coefficients[2], result, fromRow, toRow);
+                break;
+
+            case 3:
+                for (int i = fromRow; i < toRow; i++){
+                    PolynomialRootKernels.solveCubicRow(coefficients[0][i], coefficients[1][i],
+                            coefficients[2][i], coefficients[3][i], result, i);
+                }
+                break;
+
+            default:
+                for (int i = fromRow; i < toRow; i++){
+                    PolynomialRootKernels.solveQuarticRow(coefficients[0][i], coefficients[1][i],
+                            coefficients[2][i], coefficients[3][i], coefficients[4][i], result, i);
+                }
+                break;
+        }
+    }
+
+
+    /**
+     * Check the degree and the lengths of the coefficient columns
+     *
+     * @return the number of rows
+     * @throws IllegalArgumentException if the degree is not supported, the columns differ
+     *                                  in length, or the result does not fit
+     * */
+    private static int checkColumns(double [][] coefficients, BatchSolveResult result){
+
+        int degree = coefficients.length - 1;
+
+        if (degree < 1 || degree > PolynomialEquationSolver.MAXIMUM_DEGREE){
+            throw new IllegalArgumentException("Expected 2 to "
+                    + (PolynomialEquationSolver.MAXIMUM_DEGREE + 1) + " coefficient columns but found "
+                    + coefficients.length);
+        }
+
+        int size = coefficients[0].length;
+
+        for (double [] column : coefficients){
+
+            if (column.length != size){
+                throw new IllegalArgumentException("Coefficient columns differ in length: "
+                        + size + ", " + column.length);
+            }
+        }
+
+        result.checkCapacity(degree, size);
+
+        return size;
+    }
+}
@@ -0,0 +1,179 @@
+package models;
+
+
+/**
+ * A polynomial equation solver for degrees 1 to 4, using closed-form solutions
+ *
+ *  @author Terence Lee
+ *
+ * Example usage:
+ * <pre>
+ *     //polynomial equation is x^3 - 6x^2 + 11x - 6 = 0
+ *
+ *     PolynomialEquationSolver solver = new PolynomialEquationSolver(1, -6, 11, -6);
+ *
+ *     double discriminant = solver.getDiscriminant();
+ *     double sumOfRoots = solver.getSumOfRoots();
+ *     double productOfRoots = solver.getProductOfRoots();
+ *
+ *     QuadraticEquationSolver.RootType rootType = solver.getRootType();
+ *
+ *     for (Object root : solver.getRoots()){
+ *
+ *         if (root instanceof IComplexNumber){
+ *             IComplexNumber complexRoot = (IComplexNumber) root;
+ *         }
+ *         else{
+ *             Double realRoot = (Double) root;
+ *         }
+ *     }
+ * </pre>
+ *
+ * */
+public class PolynomialEquationSolver {
+
+    /**
+     * The highest degree with a closed-form solution
+     * */
+    public static final int MAXIMUM_DEGREE = 4;
+
+    private final double [] coefficients;
+    private final BatchSolveResult solution;
+
+
+    /**
+     * The constructor which takes in the coefficients of the polynomial equation, from
+     * the highest power down to the constant. For example (1, -6, 11, -6) refers to
+     * x^3 - 6x^2 + 11x - 6 = 0
+     *
+     * @param coefficients 2 to 5 coefficients, the first (leading) one must not be 0
+     *
+     * @throws IllegalArgumentException if the degree is not supported or the leading
+     *                                  coefficient is 0
+     * */
+    public PolynomialEquationSolver(double... coefficients) {
+
+        if (coefficients.length < 2 || coefficients.length > MAXIMUM_DEGREE + 1){
+            throw new IllegalArgumentException("Expected 2 to " + (MAXIMUM_DEGREE + 1)
+                    + " coefficients but found " + coefficients.length);
+        }
+
+        if (coefficients[0] == 0){
+            throw new IllegalArgumentException("The leading coefficient must not be 0");
+        }
+
+        this.coefficients = coefficients.clone();
+        this.solution = new BatchSolveResult(1, coefficients.length - 1);
+
+        solvePolynomialEquation();
+    }
+
+
+    /**
+     * Solve the polynomial equation as a batch of one row
+     * */
+    private void solvePolynomialEquation(){
+
+        double [][] coefficientColumns = new double[this.coefficients.length][];
+
+        for (int i = 0; i < this.coefficients.length; i++){
+            coefficientColumns[i] = new double[]{this.coefficients[i]};
+        }
+
+        PolynomialEquationBatchSolver.solve(coefficientColumns, this.solution);
+    }
+
+
+    /**
+     * Getter for the degree of the polynomial equation
+     * */
+    public int getDegree(){
+        return this.solution.getDegree();
+    }
+
+
+    /**
+     * Getter for the coefficients of the polynomial equation, from the highest power
+     * down to the constant. Returns a copy
+     * */
+    public double[] getCoefficients(){
+        return this.coefficients.clone();
+    }
+
+
+    /**
+     * Getter for the discriminant of the polynomial equation
+     *
+     * Its sign matches the root type: 0 for repeated roots, and for cubics positive
+     * for distinct real roots and negative for complex roots
+     * */
+    public double getDiscriminant(){
+        return this.solution.getDiscriminants()[0];
+    }
+
+
+    /**
+     * Getter for the root type of the polynomial equation
+     *
+     * Possible Values are:
+     *      (a) REAL_AND_EQUAL --> all roots are real and at least two are equal
+     *      (b) REAL_AND_DISTINCT  --> all roots are real and distinct
+     *      (c) COMPLEX --> at least one pair of complex roots
+     *      (d) SINGLE_REAL --> the single root of a degree 1 equation
+     * */
+    public QuadraticEquationSolver.RootType getRootType(){
+        return this.solution.getRootType(0);
+    }
+
+
+    /**
+     * Getter for the roots of the polynomial equation, one per degree
+     *
+     * Real roots are returned as Double object wrappers and complex roots as IComplexNumber
+     * objects. Quadratic roots come in the same order as QuadraticEquationSolver's first and
+     * second root; for other degrees the real roots come first in ascending order, followed
+     * by the complex roots
+     * */
+    public Object[] getRoots(){
+
+        Object [] roots = new Object[getDegree()];
+
+        for (int i = 0; i < roots.length; i++){
+
+            double realPart = this.solution.getRootRealPart(0, i);
+            double imaginaryPart = this.solution.getRootImaginaryPart(0, i);
+
+            if (imaginaryPart == 0){
+
+                roots[i] = realPart;
+            }
+            else{
+                IComplexNumber complexRoot = new ComplexNumber();
+                complexRoot.setRealPart(realPart);
+                complexRoot.setImaginaryPart(imaginaryPart);
+
+                roots[i] = complexRoot;
+            }
+        }
+
+        return roots;
+    }
+
+
+    /**
+     * Returns the sum of roots of the polynomial equation, which is the negated
+     * second coefficient divided by the leading coefficient
+     * */
+    public double getSumOfRoots(){
+        return this.solution.getSumsOfRoots()[0];
+    }
+
+
+    /**
+     * Returns the product of roots of the polynomial equation, which is
+     * (-1)^degree times the constant divided by the leading coefficient
+     * */
+    public double getProductOfRoots(){
+        return this.solution.getProductsOfRoots()[0];
+    }
+}
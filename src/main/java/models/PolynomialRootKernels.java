@@ -0,0 +1,924 @@
+package models;
+
+
+/**
+ * The closed-form root kernels shared by the single-equation and batch solvers
+ *
+ * Every kernel solves one equation and writes its solution into the columns of a
+ * BatchSolveResult, so the batch solvers can call them in a loop without allocating
+ *
+ * The branches are chosen to avoid catastrophic cancellation:
+ *      (a) the discriminant b^2 - 4ac is computed with FMA error compensation. The rare rows
+ *          where b^2 or 4ac overflow or underflow are solved from the coefficients scaled by a
+ *          power of two instead, see compensatedQuadraticDiscriminant()
+ *      (b) the real quadratic roots use q = -(b + sign(b) * sqrt(discriminant)) / 2,
+ *          with roots q/a and c/q, instead of subtracting nearly equal numbers
+ *      (c) the single real cubic root uses the sign of R to avoid cancellation in Cardano's formula
+ *      (d) quartics are reduced to two quadratics (Ferrari), which are solved with (b)
+ *
+ * @author Terence Lee
+ * */
+final class PolynomialRootKernels {
+
+    private static final double TWO_PI = 2 * Math.PI;
+    private static final double HALF_SQRT_THREE = Math.sqrt(3) / 2;
+
+    /**
+     * The smallest magnitude of a product whose rounding error FMA recovers exactly: below it
+     * the error itself falls into the subnormal range and loses bits
+     * */
+    static final double MINIMUM_EXACT_PRODUCT = 0x1p-968;
+
+
+    private PolynomialRootKernels(){
+
+    }
+
+
+    /**
+     * Returns the discriminant b^2 - 4ac of a quadratic equation, which is infinite or 0
+     * when it is beyond the range of a double
+     *
+     * The sign of such a discriminant (and therefore the root type) has to be taken from
+     * scaledQuadraticDiscriminant() instead, which cannot overflow or underflow
+     * */
+    static double quadraticDiscriminant(double coefficientA, double coefficientB, double constantC){
+
+        double discriminant = compensatedQuadraticDiscriminant(coefficientA, coefficientB, constantC);
+
+        if (discriminant == discriminant){
+            return discriminant;
+        }
+
+        int scaleExponent = quadraticScaleExponent(coefficientA, coefficientB, constantC);
+
+        return unscaledQuadraticDiscriminant(
+                scaledQuadraticDiscriminant(coefficientA, coefficientB, constantC, scaleExponent), scaleExponent);
+    }
+
+
+    /**
+     * Returns the discriminant b^2 - 4ac of a quadratic equation computed from the unscaled
+     * coefficients, with the rounding errors of b^2 and 4ac recovered with FMA and added back,
+     * so the sign is correct even when b^2 and 4ac are nearly equal
+     *
+     * This is the fast path of the common rows. It returns NaN for the rows it cannot solve
+     * exactly, which have to use the scaled kernels (scaledQuadraticDiscriminant(),
+     * writeScaledQuadraticRowRoots() and scaledQuadraticVertexY()) instead:
+     *      (a) a coefficient is not finite, or b^2, 4a, 4ac or the discriminant overflows
+     *      (b) b^2 or 4ac is below MINIMUM_EXACT_PRODUCT without a zero factor, as the rounding
+     *          error of an underflowing product is lost
+     *      (c) the discriminant underflows below Double.MIN_NORMAL without being 0
+     *
+     * Within that range 2a and 4a are finite, so the roots and the vertex of the row can be
+     * computed with the plain formulas of writeQuadraticRowRoots() and quadraticVertexY()
+     * */
+    static double compensatedQuadraticDiscriminant(double coefficientA, double coefficientB, double constantC){
+
+        double fourA = 4 * coefficientA;
+        double bSquare = coefficientB * coefficientB;
+        double fourAC = fourA * constantC;
+
+        double bSquareError = Math.fma(coefficientB, coefficientB, -bSquare);
+        double fourACError = Math.fma(fourA, constantC, -fourAC);
+        double discriminant = (bSquare - fourAC) + (bSquareError - fourACError);
+
+        double absoluteFourAC = Math.abs(fourAC);
+        double absoluteDiscriminant = Math.abs(discriminant);
+
+        boolean isBSquareInRange = (bSquare >= MINIMUM_EXACT_PRODUCT & bSquare < Double.POSITIVE_INFINITY)
+                | coefficientB == 0;
+        boolean isFourACInRange = (absoluteFourAC >= MINIMUM_EXACT_PRODUCT & absoluteFourAC < Double.POSITIVE_INFINITY)
+                | (fourAC == 0 & (coefficientA == 0 | constantC == 0));
+        boolean isDiscriminantInRange = (absoluteDiscriminant >= Double.MIN_NORMAL
+                & absoluteDiscriminant < Double.POSITIVE_INFINITY) | discriminant == 0;
+
+        return isBSquareInRange & isFourACInRange & isDiscriminantInRange ? discriminant : Double.NaN;
+    }
+
+
+    /**
+     * Returns the exponent k of the power of two the coefficients are scaled by before the
+     * discriminant and the roots are computed: the larger of b 2^k and sqrt(|ac|) 2^k is
+     * between 1/2 and 2, so the scaled b^2 and 4ac neither overflow nor lose their precision
+     * to underflow unless they are too small to change the discriminant
+     * */
+    static int quadraticScaleExponent(double coefficientA, double coefficientB, double constantC){
+
+        int halfACExponent = (Math.getExponent(coefficientA) + Math.getExponent(constantC)) >> 1;
+
+        return -Math.max(Math.getExponent(coefficientB), halfACExponent);
+    }
+
+
+    /**
+     * Returns the discriminant b^2 - 4ac times 2^2k, where k is the scale exponent of
+     * quadraticScaleExponent(), so its sign is the sign of the exact discriminant even when
+     * the discriminant itself overflows or underflows
+     *
+     * b is scaled by 2^k, and ac by 2^2k with a normalized to [1, 2) and c scaled by the
+     * rest. The rounding errors of b^2 and 4ac are recovered with FMA and added back, so
+     * the sign is correct even when b^2 and 4ac are nearly equal
+     * */
+    static double scaledQuadraticDiscriminant(double coefficientA, double coefficientB, double constantC,
+                                              int scaleExponent){
+
+        int exponentA = Math.getExponent(coefficientA);
+
+        double scaledA = Math.scalb(coefficientA, -exponentA);
+        double scaledB = Math.scalb(coefficientB, scaleExponent);
+        double scaledC = Math.scalb(constantC, 2 * scaleExponent + exponentA);
+
+        double bSquare = scaledB * scaledB;
+        double fourAC = (4 * scaledA) * scaledC;
+        double discriminant = bSquare - fourAC;
+
+        double bSquareError = Math.fma(scaledB, scaledB, -bSquare);
+        double fourACError = Math.fma(4 * scaledA, scaledC, -fourAC);
+
+        //the errors are meaningless for a coefficient which is not finite
+        return Double.isFinite(bSquare) && Double.isFinite(fourAC)
+                ? discriminant + (bSquareError - fourACError)
+                : discriminant;
+    }
+
+
+    /**
+     * Returns the discriminant b^2 - 4ac from the one scaled by scaledQuadraticDiscriminant()
+     * */
+    static double unscaledQuadraticDiscriminant(double scaledDiscriminant, int scaleExponent){
+        return Math.scalb(scaledDiscriminant, -2 * scaleExponent);
+    }
+
+
+    /**
+     * Returns the root type code of a quadratic equation with the given discriminant, which
+     * may be scaled by any positive factor
+     *
+     * Written as two selects instead of an if chain, so that it compiles to conditional
+     * moves. A NaN discriminant is COMPLEX
+     * */
+    static byte quadraticRootType(double discriminant){
+
+        int notEqual = discriminant == 0 ? 0 : BatchSolveResult.ROOT_TYPE_REAL_AND_DISTINCT;
+        int complex = discriminant >= 0 ? 0 : BatchSolveResult.ROOT_TYPE_REAL_AND_DISTINCT;
+
+        return (byte) (notEqual + complex);
+    }
+
+
+    /**
+     * Returns the root type code of a row with the given equation type code, which is
+     * ROOT_TYPE_NONE for the equations without a finite set of roots. The single root of
+     * a linear equation is SINGLE_REAL, like in solveLinearRow()
+     * */
+    static byte quadraticRootType(byte equationType, double discriminant){
+
+        byte quadraticRootType = quadraticRootType(discriminant);
+        byte otherRootType = equationType == BatchSolveResult.EQUATION_TYPE_LINEAR
+                ? BatchSolveResult.ROOT_TYPE_SINGLE_REAL
+                : BatchSolveResult.ROOT_TYPE_NONE;
+
+        return equationType == BatchSolveResult.EQUATION_TYPE_QUADRATIC
+                ? quadraticRootType
+                : otherRootType;
+    }
+
+
+    /**
+     * Returns the equation type code of ax^2 + bx + c = 0:
+     *      (a) EQUATION_TYPE_QUADRATIC --> a != 0
+     *      (b) EQUATION_TYPE_LINEAR --> a == 0 and b != 0
+     *      (c) EQUATION_TYPE_CONSTANT --> a == 0, b == 0 and c != 0, there are no roots
+     *      (d) EQUATION_TYPE_IDENTITY --> a == b == c == 0, every x is a root
+     *      (e) EQUATION_TYPE_NON_FINITE --> any coefficient is NaN or infinite
+     *
+     * The code is the number of leading zero coefficients, so it is computed without branches
+     * */
+    static byte quadraticEquationType(double coefficientA, double coefficientB, double constantC){
+
+        boolean isAZero = coefficientA == 0;
+        boolean isABZero = isAZero & coefficientB == 0;
+        boolean isABCZero = isABZero & constantC == 0;
+
+        int leadingZeros = (isAZero ? 1 : 0) + (isABZero ? 1 : 0) + (isABCZero ? 1 : 0);
+
+        boolean isFinite = Double.isFinite(coefficientA) & Double.isFinite(coefficientB)
+                & Double.isFinite(constantC);
+
+        return (byte) (isFinite ? leadingZeros : BatchSolveResult.EQUATION_TYPE_NON_FINITE);
+    }
+
+
+    /**
+     * Returns the x-coordinate -b/(2a) of the vertex of a quadratic equation
+     *
+     * b is halved instead when 2a overflows, which only loses bits of a subnormal b whose
+     * quotient by such an a is 0 anyway
+     * */
+    static double quadraticVertexX(double coefficientA, double coefficientB){
+
+        double twoA = 2 * coefficientA;
+
+        return Math.abs(twoA) < Double.POSITIVE_INFINITY
+                ? -coefficientB / twoA
+                : -(0.5 * coefficientB) / coefficientA;
+    }
+
+
+    /**
+     * Returns the y-coordinate -(b^2 - 4ac)/(4a) of the vertex of a quadratic equation, which
+     * is equal to ax^2 + bx + c at the x-coordinate but reuses the compensated discriminant
+     *
+     * @param discriminant the discriminant of compensatedQuadraticDiscriminant(), which is not NaN
+     * */
+    static double quadraticVertexY(double coefficientA, double discriminant){
+        return -discriminant / (4 * coefficientA);
+    }
+
+
+    /**
+     * Returns the y-coordinate of the vertex like quadraticVertexY(), for the rows which are
+     * out of the range of compensatedQuadraticDiscriminant()
+     *
+     * a is normalized to [1, 2) first and the powers of two are applied last, so that 4a
+     * cannot overflow when the vertex itself is in range
+     *
+     * @param scaledDiscriminant the discriminant of scaledQuadraticDiscriminant()
+     * @param scaleExponent the scale exponent it was computed with
+     * */
+    static double scaledQuadraticVertexY(double coefficientA, double scaledDiscriminant, int scaleExponent){
+
+        int exponentA = Math.getExponent(coefficientA);
+
+        double quotient = -scaledDiscriminant / (4 * Math.scalb(coefficientA, -exponentA));
+
+        return Math.scalb(quotient, -2 * scaleExponent - exponentA);
+    }
+
+
+    /**
+     * Write the sensitivity of a root r of ax^2 + bx + c = 0 to its coefficients into
+     * values[0] to values[6]: the real and imaginary parts of dr/da, dr/db and dr/dc, then
+     * the condition number
+     *
+     * Differentiating ar^2 + br + c = 0 gives, with p'(r) = 2ar + b:
+     *      dr/da = -r^2/p'(r), dr/db = -r/p'(r), dr/dc = -1/p'(r)
+     * which hold for complex roots and for the root of a linear equation (a == 0) alike.
+     * The condition number (|a||r|^2 + |b||r| + |c|)/(|r||p'(r)|) bounds the relative
+     * change of r per relative change of the coefficients, so a computed root has a relative
+     * error of about its condition number times 2^-53. It is infinite for a root at 0, whose
+     * relative error is unbounded (the formula is 0/0 there, as c == 0), and for a double
+     * root, where p'(r) == 0
+     * */
+    static void writeQuadraticRootSensitivity(double coefficientA, double coefficientB, double constantC,
+                                              double rootRealPart, double rootImaginaryPart, double [] values){
+
+        double slopeRealPart = 2 * coefficientA * rootRealPart + coefficientB;
+        double slopeImaginaryPart = 2 * coefficientA * rootImaginaryPart;
+        double slopeModulusSquare = slopeRealPart * slopeRealPart + slopeImaginaryPart * slopeImaginaryPart;
+
+        //-1/p'(r) = -conj(p'(r))/|p'(r)|^2, then each derivative is r times the next one
+        double derivativeCRealPart = -slopeRealPart / slopeModulusSquare;
+        double derivativeCImaginaryPart = slopeImaginaryPart / slopeModulusSquare;
+
+        double derivativeBRealPart = rootRealPart * derivativeCRealPart - rootImaginaryPart * derivativeCImaginaryPart;
+        double derivativeBImaginaryPart = rootRealPart * derivativeCImaginaryPart + rootImaginaryPart * derivativeCRealPart;
+
+        double derivativeARealPart = rootRealPart * derivativeBRealPart - rootImaginaryPart * derivativeBImaginaryPart;
+        double derivativeAImaginaryPart = rootRealPart * derivativeBImaginaryPart + rootImaginaryPart * derivativeBRealPart;
+
+        double rootModulusSquare = rootRealPart * rootRealPart + rootImaginaryPart * rootImaginaryPart;
+        double rootModulus = Math.sqrt(rootModulusSquare);
+        double perturbation = Math.abs(coefficientA) * rootModulusSquare + Math.abs(coefficientB) * rootModulus
+                + Math.abs(constantC);
+        double conditionNumber = perturbation / (Math.sqrt(slopeModulusSquare) * rootModulus);
+
+        values[0] = derivativeARealPart;
+        values[1] = derivativeAImaginaryPart;
+        values[2] = derivativeBRealPart;
+        values[3] = derivativeBImaginaryPart;
+        values[4] = derivativeCRealPart;
+        values[5] = derivativeCImaginaryPart;
+        values[6] = slopeModulusSquare == 0 || rootModulus == 0 ? Double.POSITIVE_INFINITY : conditionNumber;
+    }
+
+
+    /**
+     * Returns quadraticValue for a quadratic equation, linearValue for a linear equation,
+     * and NaN for the other equation types
+     * */
+    static double selectByEquationType(byte equationType, double quadraticValue, double linearValue){
+
+        double otherValue = equationType == BatchSolveResult.EQUATION_TYPE_LINEAR
+                ? linearValue
+                : Double.NaN;
+
+        return equationType == BatchSolveResult.EQUATION_TYPE_QUADRATIC
+                ? quadraticValue
+                : otherValue;
+    }
+
+
+    /**
+     * Returns the first real root (-b - sqrt(discriminant))/(2a) of a quadratic equation
+     *
+     * @pre discriminant >= 0
+     * */
+    static double firstRealQuadraticRoot(double coefficientA, double coefficientB,
+                                         double constantC, double discriminant){
+
+        if (discriminant == 0){
+            return -coefficientB / (2 * coefficientA);
+        }
+
+        double q = stableQ(coefficientB, discriminant);
+
+        return coefficientB < 0 ? constantC / q : q / coefficientA;
+    }
+
+
+    /**
+     * Returns the second real root (-b + sqrt(discriminant))/(2a) of a quadratic equation
+     *
+     * @pre discriminant >= 0
+     * */
+    static double secondRealQuadraticRoot(double coefficientA, double coefficientB,
+                                          double constantC, double discriminant){
+
+        if (discriminant == 0){
+            return -coefficientB / (2 * coefficientA);
+        }
+
+        double q = stableQ(coefficientB, discriminant);
+
+        return coefficientB < 0 ? q / coefficientA : constantC / q;
+    }
+
+
+    /**
+     * Returns q = -(b + sign(b) * sqrt(discriminant)) / 2, where b and the square root never
+     * cancel out. q/a and c/q are the two real roots
+     * */
+    private static double stableQ(double coefficientB, double discriminant){
+
+        double squareRoot = Math.sqrt(discriminant);
+
+        return -0.5 * (coefficientB + (coefficientB < 0 ? -squareRoot : squareRoot));
+    }
+
+
+    /**
+     * Write the two roots of ax^2 + bx + c = 0 at offset and offset + 1 of the root columns,
+     * the first root being (-b - sqrt(discriminant))/(2a)
+     * */
+    static void writeQuadraticRoots(double coefficientA, double coefficientB, double constantC,
+                                    double discriminant, double [] realParts,
+                                    double [] imaginaryParts, int offset){
+
+        if (discriminant >= 0){
+
+            realParts[offset] =
+                    firstRealQuadraticRoot(coefficientA, coefficientB, constantC, discriminant);
+            realParts[offset + 1] =
+                    secondRealQuadraticRoot(coefficientA, coefficientB, constantC, discriminant);
+
+            imaginaryParts[offset] = 0;
+            imaginaryParts[offset + 1] = 0;
+        }
+        else{
+            double realPart = -coefficientB / (2 * coefficientA);
+            double imaginaryPart = Math.sqrt(-discriminant) / (2 * coefficientA);
+
+            realParts[offset] = realPart;
+            realParts[offset + 1] = realPart;
+
+            imaginaryParts[offset] = -imaginaryPart;
+            imaginaryParts[offset + 1] = imaginaryPart;
+        }
+    }
+
+
+    /**
+     * Write the two roots of a row of a degree 2 result at offset and offset + 1 of the root
+     * columns, with the same formulas as writeQuadraticRoots() for quadratic equations
+     *
+     * Every candidate (real pair, complex pair, vertex, linear root) is computed and the
+     * right one is selected, so there is no branch on the root or equation type and mixed
+     * batches do not pay for mispredictions. A linear equation has its root -c/b in the
+     * first slot and NaN in the second, and the other degenerate equations have NaN roots
+     *
+     * @param discriminant the discriminant of compensatedQuadraticDiscriminant(), which is not
+     *                     NaN. The other rows are written by writeScaledQuadraticRowRoots()
+     * */
+    static void writeQuadraticRowRoots(double coefficientA, double coefficientB, double constantC,
+                                       double discriminant, byte equationType,
+                                       double [] realParts, double [] imaginaryParts, int offset){
+
+        double squareRoot = Math.sqrt(Math.abs(discriminant));
+        boolean isBNegative = coefficientB < 0;
+
+        double q = -0.5 * (coefficientB + (isBNegative ? -squareRoot : squareRoot));
+        double qOverA = q / coefficientA;
+        double cOverQ = constantC / q;
+        double twoA = 2 * coefficientA;
+        double vertexX = -coefficientB / twoA;
+        double imaginaryPart = squareRoot / twoA;
+        double linearRoot = -constantC / coefficientB;
+
+        writeSelectedQuadraticRowRoots(discriminant, isBNegative, qOverA, cOverQ, vertexX, imaginaryPart,
+                linearRoot, equationType, realParts, imaginaryParts, offset);
+    }
+
+
+    /**
+     * Write the two roots of a row like writeQuadraticRowRoots(), for the rows which are out
+     * of the range of compensatedQuadraticDiscriminant()
+     *
+     * The roots are computed from the scaled discriminant: q = -(b + sign(b) * sqrt(D))/2
+     * is kept scaled by 2^k, and q/a, c/q and sqrt(-D)/(2a) are taken with a and c normalized
+     * to [1, 2) before their powers of two are applied, so no intermediate overflows or
+     * underflows when the root itself is in range
+     *
+     * @param scaledDiscriminant the discriminant of scaledQuadraticDiscriminant()
+     * @param scaleExponent the scale exponent it was computed with
+     * */
+    static void writeScaledQuadraticRowRoots(double coefficientA, double coefficientB, double constantC,
+                                             double scaledDiscriminant, int scaleExponent, byte equationType,
+                                             double [] realParts, double [] imaginaryParts, int offset){
+
+        double squareRoot = Math.sqrt(Math.abs(scaledDiscriminant));
+        boolean isBNegative = coefficientB < 0;
+
+        int exponentA = Math.getExponent(coefficientA);
+        int exponentC = Math.getExponent(constantC);
+        double normalizedA = Math.scalb(coefficientA, -exponentA);
+        double normalizedC = Math.scalb(constantC, -exponentC);
+
+        double scaledB = Math.scalb(coefficientB, scaleExponent);
+        double scaledQ = -0.5 * (scaledB + (isBNegative ? -squareRoot : squareRoot));
+        double qOverA = Math.scalb(scaledQ / normalizedA, -scaleExponent - exponentA);
+        double cOverQ = Math.scalb(normalizedC / scaledQ, scaleExponent + exponentC);
+        double vertexX = quadraticVertexX(coefficientA, coefficientB);
+        double imaginaryPart = Math.scalb(squareRoot / normalizedA, -scaleExponent - exponentA - 1);
+        double linearRoot = -constantC / coefficientB;
+
+        writeSelectedQuadraticRowRoots(scaledDiscriminant, isBNegative, qOverA, cOverQ, vertexX, imaginaryPart,
+                linearRoot, equationType, realParts, imaginaryParts, offset);
+    }
+
+
+    /**
+     * Select the roots of a row among the candidates computed by writeQuadraticRowRoots() or
+     * writeScaledQuadraticRowRoots() and write them
+     * */
+    private static void writeSelectedQuadraticRowRoots(double discriminant, boolean isBNegative,
+                                                       double qOverA, double cOverQ, double vertexX,
+                                                       double imaginaryPart, double linearRoot,
+                                                       byte equationType, double [] realParts,
+                                                       double [] imaginaryParts, int offset){
+
+        boolean isReal = discriminant > 0;
+        boolean hasImaginaryPart = !(discriminant >= 0);
+
+        double realFirst = isReal ? (isBNegative ? cOverQ : qOverA) : vertexX;
+        double realSecond = isReal ? (isBNegative ? qOverA : cOverQ) : vertexX;
+        double imaginaryFirst = hasImaginaryPart ? -imaginaryPart : 0;
+        double imaginarySecond = hasImaginaryPart ? imaginaryPart : 0;
+
+        realParts[offset] = selectByEquationType(equationType, realFirst, linearRoot);
+        realParts[offset + 1] = selectByEquationType(equationType, realSecond, Double.NaN);
+        imaginaryParts[offset] = selectByEquationType(equationType, imaginaryFirst, 0);
+        imaginaryParts[offset + 1] = selectByEquationType(equationType, imaginarySecond, Double.NaN);
+    }
+
+
+    /**
+     * Solve the quadratic equation ax^2 + bx + c = 0 into a row of a degree 2 result
+     *
+     * Degenerate equations (see quadraticEquationType()) are handled by selects rather
+     * than branches: the discriminant is always b^2 - 4ac, a linear equation has its single
+     * root -c/b as the first root, and the vertex and the sum and product of roots of every
+     * degenerate equation are NaN
+     *
+     * The only branch is the one to the scaled kernels for the rows out of the range of
+     * compensatedQuadraticDiscriminant(), which is never taken for common coefficients
+     * */
+    static void solveQuadraticRow(double coefficientA, double coefficientB, double constantC,
+                                  BatchSolveResult result, int row){
+
+        double discriminant = compensatedQuadraticDiscriminant(coefficientA, coefficientB, constantC);
+
+        if (discriminant != discriminant){
+
+            solveScaledQuadraticRow(coefficientA, coefficientB, constantC, result, row);
+            return;
+        }
+
+        byte equationType = quadraticEquationType(coefficientA, coefficientB, constantC);
+
+        result.getDiscriminants()[row] = discriminant;
+        result.getEquationTypes()[row] = equationType;
+        result.getRootTypes()[row] = quadraticRootType(equationType, discriminant);
+
+        writeQuadraticRowRoots(coefficientA, coefficientB, constantC, discriminant, equationType,
+                result.getRootRealParts(), result.getRootImaginaryParts(), 2 * row);
+
+        writeQuadraticRowValues(coefficientA, coefficientB, constantC, equationType,
+                quadraticVertexY(coefficientA, discriminant), result, row);
+    }
+
+
+    /**
+     * Solve a row like solveQuadraticRow(), from the coefficients scaled by a power of two
+     * */
+    private static void solveScaledQuadraticRow(double coefficientA, double coefficientB, double constantC,
+                                                BatchSolveResult result, int row){
+
+        int scaleExponent = quadraticScaleExponent(coefficientA, coefficientB, constantC);
+        double discriminant = scaledQuadraticDiscriminant(coefficientA, coefficientB, constantC, scaleExponent);
+        byte equationType = quadraticEquationType(coefficientA, coefficientB, constantC);
+
+        result.getDiscriminants()[row] = unscaledQuadraticDiscriminant(discriminant, scaleExponent);
+        result.getEquationTypes()[row] = equationType;
+        result.getRootTypes()[row] = quadraticRootType(equationType, discriminant);
+
+        writeScaledQuadraticRowRoots(coefficientA, coefficientB, constantC, discriminant, scaleExponent,
+                equationType, result.getRootRealParts(), result.getRootImaginaryParts(), 2 * row);
+
+        writeQuadraticRowValues(coefficientA, coefficientB, constantC, equationType,
+                scaledQuadraticVertexY(coefficientA, discriminant, scaleExponent), result, row);
+    }
+
+
+    /**
+     * Write the vertex and the sum and product of roots of a row, which are NaN for every
+     * degenerate equation
+     * */
+    private static void writeQuadraticRowValues(double coefficientA, double coefficientB, double constantC,
+                                                byte equationType, double vertexY,
+                                                BatchSolveResult result, int row){
+
+        result.getVertexXCoordinates()[row] = selectByEquationType(equationType,
+                quadraticVertexX(coefficientA, coefficientB), Double.NaN);
+        result.getVertexYCoordinates()[row] = selectByEquationType(equationType, vertexY, Double.NaN);
+
+        result.getSumsOfRoots()[row] = selectByEquationType(equationType,
+                -coefficientB / coefficientA, Double.NaN);
+        result.getProductsOfRoots()[row] = selectByEquationType(equationType,
+                constantC / coefficientA, Double.NaN);
+    }
+
+
+    /**
+     * Solve the linear equation ax + b = 0 into a row of a degree 1 result
+     *
+     * The single real root is reported as SINGLE_REAL, and the discriminant of a linear
+     * equation is 1 by convention. The sum and product of roots are -b/a, as given by the
+     * coefficients of a degree 1 polynomial
+     * */
+    static void solveLinearRow(double coefficientA, double coefficientB,
+                               BatchSolveResult result, int row){
+
+        double root = -coefficientB / coefficientA;
+
+        result.getRootRealParts()[row] = root;
+        result.getRootImaginaryParts()[row] = 0;
+
+        result.getDiscriminants()[row] = 1;
+        result.getRootTypes()[row] = BatchSolveResult.ROOT_TYPE_SINGLE_REAL;
+
+        result.getSumsOfRoots()[row] = root;
+        result.getProductsOfRoots()[row] = root;
+    }
+
+
+    /**
+     * Solve the cubic equation ax^3 + bx^2 + cx + d = 0 into a row of a degree 3 result
+     *
+     * Uses the trigonometric method when there are three distinct real roots, and Cardano's
+     * formula otherwise. The discriminant is 108a^4(Q^3 - R^2), which is equal to the usual
+     * b^2c^2 - 4ac^3 - 4b^3d - 27a^2d^2 + 18abcd, and its sign picks the branch, so the root
+     * type always agrees with the roots written
+     *
+     * The real roots are written in ascending order, followed by the complex pair
+     * (negative imaginary part first)
+     * */
+    static void solveCubicRow(double coefficientA, double coefficientB, double coefficientC,
+                              double constantD, BatchSolveResult result, int row){
+
+        double b = coefficientB / coefficientA;
+        double c = coefficientC / coefficientA;
+        double d = constantD / coefficientA;
+
+        double q = (b * b - 3 * c) / 9;
+        double r = (b * (2 * b * b - 9 * c) + 27 * d) / 54;
+        double qCube = q * q * q;
+        double rSquare = r * r;
+        double shift = b / 3;
+
+        double [] realParts = result.getRootRealParts();
+        double [] imaginaryParts = result.getRootImaginaryParts();
+        int offset = 3 * row;
+
+        imaginaryParts[offset] = 0;
+        imaginaryParts[offset + 1] = 0;
+        imaginaryParts[offset + 2] = 0;
+
+        byte rootType;
+
+        if (rSquare < qCube){
+
+            double theta = Math.acos(clampToUnitInterval(r / Math.sqrt(qCube)));
+            double scale = -2 * Math.sqrt(q);
+
+            realParts[offset] = scale * Math.cos(theta / 3) - shift;
+            realParts[offset + 1] = scale * Math.cos((theta + TWO_PI) / 3) - shift;
+            realParts[offset + 2] = scale * Math.cos((theta - TWO_PI) / 3) - shift;
+
+            rootType = BatchSolveResult.ROOT_TYPE_REAL_AND_DISTINCT;
+        }
+        else{
+            double u = -Math.copySign(Math.cbrt(Math.abs(r) + Math.sqrt(rSquare - qCube)), r);
+            double v = u == 0 ? 0 : q / u;
+
+            realParts[offset] = (u + v) - shift;
+            realParts[offset + 1] = -0.5 * (u + v) - shift;
+            realParts[offset + 2] = realParts[offset + 1];
+
+            double imaginaryPart = HALF_SQRT_THREE * (u - v);
+
+            if (imaginaryPart == 0){
+
+                rootType = BatchSolveResult.ROOT_TYPE_REAL_AND_EQUAL;
+            }
+            else{
+                imaginaryParts[offset + 1] = -Math.abs(imaginaryPart);
+                imaginaryParts[offset + 2] = Math.abs(imaginaryPart);
+
+                rootType = BatchSolveResult.ROOT_TYPE_COMPLEX;
+            }
+        }
+
+        sortRoots(realParts, imaginaryParts, offset, 3);
+
+        double aSquare = coefficientA * coefficientA;
+
+        result.getDiscriminants()[row] = 108 * aSquare * aSquare * (qCube - rSquare);
+        result.getRootTypes()[row] = rootType;
+
+        result.getSumsOfRoots()[row] = -b;
+        result.getProductsOfRoots()[row] = -d;
+    }
+
+
+    /**
+     * Solve the quartic equation ax^4 + bx^3 + cx^2 + dx + e = 0 into a row of a degree 4 result
+     *
+     * The quartic is depressed to y^4 + py^2 + qy + r = 0 (x = y - b/4a). Biquadratics (q = 0)
+     * are solved as a quadratic in y^2, otherwise the largest root m of the resolvent cubic
+     * m^3 + pm^2 + (p^2/4 - r)m - q^2/8 = 0 splits the quartic into the two quadratics
+     * y^2 -/+ sqrt(2m)y + p/2 + m +/- q/(2sqrt(2m)) = 0 (Ferrari)
+     *
+     * The root type is read off the roots written, and the discriminant is computed from
+     * them as a^6 * product of (ri - rj)^2 over i &lt; j, so both always agree with the roots
+     *
+     * The real roots are written in ascending order, followed by the complex roots
+     * */
+    static void solveQuarticRow(double coefficientA, double coefficientB, double coefficientC,
+                                double coefficientD, double constantE,
+                                BatchSolveResult result, int row){
+
+        double b = coefficientB / coefficientA;
+        double c = coefficientC / coefficientA;
+        double d = coefficientD / coefficientA;
+        double e = constantE / coefficientA;
+
+        double bSquare = b * b;
+        double p = c - 0.375 * bSquare;
+        double q = d - 0.5 * b * c + 0.125 * bSquare * b;
+        double r = e - 0.25 * b * d + 0.0625 * bSquare * c - 0.01171875 * bSquare * bSquare;
+        double shift = 0.25 * b;
+
+        double [] realParts = result.getRootRealParts();
+        double [] imaginaryParts = result.getRootImaginaryParts();
+        int offset = 4 * row;
+
+        //m is positive whenever q is not 0, unless rounding pushed it to 0 for a tiny q
+        double m = q == 0 ? 0 : largestRealRootOfMonicCubic(p, 0.25 * p * p - r, -0.125 * q * q);
+
+        if (m <= 0){
+            writeBiquadraticRoots(p, r, realParts, imaginaryParts, offset);
+        }
+        else{
+            double s = Math.sqrt(2 * m);
+            double halfPPlusM = 0.5 * p + m;
+            double qOverTwoS = q / (2 * s);
+
+            writeQuadraticRoots(1, -s, halfPPlusM + qOverTwoS,
+                    quadraticDiscriminant(1, -s, halfPPlusM + qOverTwoS),
+                    realParts, imaginaryParts, offset);
+
+            writeQuadraticRoots(1, s, halfPPlusM - qOverTwoS,
+                    quadraticDiscriminant(1, s, halfPPlusM - qOverTwoS),
+                    realParts, imaginaryParts, offset + 2);
+        }
+
+        for (int i = offset; i < offset + 4; i++){
+            realParts[i] -= shift;
+        }
+
+        sortRoots(realParts, imaginaryParts, offset, 4);
+
+        result.getRootTypes()[row] = rootTypeOfRoots(realParts, imaginaryParts, offset, 4);
+        result.getDiscriminants()[row] =
+                discriminantOfRoots(coefficientA, realParts, imaginaryParts, offset, 4);
+
+        result.getSumsOfRoots()[row] = -b;
+        result.getProductsOfRoots()[row] = e;
+    }
+
+
+    /**
+     * Write the four roots of y^4 + py^2 + r = 0, which are +/- sqrt(z) for the two roots z of
+     * z^2 + pz + r = 0
+     * */
+    private static void writeBiquadraticRoots(double p, double r, double [] realParts,
+                                              double [] imaginaryParts, int offset){
+
+        writeQuadraticRoots(1, p, r, quadraticDiscriminant(1, p, r),
+                realParts, imaginaryParts, offset);
+
+        //offset + 2 and offset + 3 receive the negated square roots
+        for (int i = 1; i >= 0; i--){
+
+            double zReal = realParts[offset + i];
+            double zImaginary = imaginaryParts[offset + i];
+
+            double modulus = Math.hypot(zReal, zImaginary);
+            double t = Math.sqrt(0.5 * (modulus + Math.abs(zReal)));
+
+            double rootReal;
+            double rootImaginary;
+
+            if (t == 0){
+                rootReal = 0;
+                rootImaginary = 0;
+            }
+            else if (zReal >= 0){
+                rootReal = t;
+                rootImaginary = zImaginary / (2 * t);
+            }
+            else{
+                rootReal = Math.abs(zImaginary) / (2 * t);
+                rootImaginary = Math.copySign(t, zImaginary);
+            }
+
+            realParts[offset + 2 * i] = rootReal;
+            imaginaryParts[offset + 2 * i] = rootImaginary;
+            realParts[offset + 2 * i + 1] = -rootReal;
+            imaginaryParts[offset + 2 * i + 1] = -rootImaginary;
+        }
+    }
+
+
+    /**
+     * Returns the largest real root of x^3 + bx^2 + cx + d = 0
+     * */
+    private static double largestRealRootOfMonicCubic(double b, double c, double d){
+
+        double q = (b * b - 3 * c) / 9;
+        double r = (b * (2 * b * b - 9 * c) + 27 * d) / 54;
+        double qCube = q * q * q;
+        double rSquare = r * r;
+        double shift = b / 3;
+
+        if (rSquare < qCube){
+
+            double theta = Math.acos(clampToUnitInterval(r / Math.sqrt(qCube)));
+            double scale = -2 * Math.sqrt(q);
+
+            //theta/3 lies in [0, pi/3], so the largest root is one of the other two
+            return Math.max(scale * Math.cos((theta + TWO_PI) / 3),
+                    scale * Math.cos((theta - TWO_PI) / 3)) - shift;
+        }
+
+        double u = -Math.copySign(Math.cbrt(Math.abs(r) + Math.sqrt(rSquare - qCube)), r);
+        double v = u == 0 ? 0 : q / u;
+
+        return Math.max((u + v) - shift, -0.5 * (u + v) - shift);
+    }
+
+
+    /**
+     * Clamp a cosine to [-1, 1], as rounding can push it slightly outside the domain of acos
+     * */
+    private static double clampToUnitInterval(double cosine){
+        return Math.max(-1, Math.min(1, cosine));
+    }
+
+
+    /**
+     * Sort count roots in place: real roots in ascending order first, then the complex
+     * roots by real part and then imaginary part
+     * */
+    static void sortRoots(double [] realParts, double [] imaginaryParts, int offset, int count){
+
+        for (int i = offset + 1; i < offset + count; i++){
+
+            double real = realParts[i];
+            double imaginary = imaginaryParts[i];
+            int j = i - 1;
+
+            while (j >= offset && comesAfter(realParts[j], imaginaryParts[j], real, imaginary)){
+
+                realParts[j + 1] = realParts[j];
+                imaginaryParts[j + 1] = imaginaryParts[j];
+                j--;
+            }
+
+            realParts[j + 1] = real;
+            imaginaryParts[j + 1] = imaginary;
+        }
+    }
+
+
+    private static boolean comesAfter(double real, double imaginary,
+                                      double otherReal, double otherImaginary){
+
+        boolean isReal = imaginary == 0;
+        boolean otherIsReal = otherImaginary == 0;
+
+        if (isReal != otherIsReal){
+            return otherIsReal;
+        }
+
+        if (real != otherReal){
+            return real > otherReal;
+        }
+
+        return imaginary > otherImaginary;
+    }
+
+
+    /**
+     * Returns COMPLEX if any root is complex, REAL_AND_EQUAL if all roots are real and
+     * two of them are equal, and REAL_AND_DISTINCT otherwise
+     *
+     * @pre the roots are sorted with sortRoots
+     * */
+    static byte rootTypeOfRoots(double [] realParts, double [] imaginaryParts,
+                                int offset, int count){
+
+        byte rootType = BatchSolveResult.ROOT_TYPE_REAL_AND_DISTINCT;
+
+        for (int i = offset; i < offset + count; i++){
+
+            if (imaginaryParts[i] != 0){
+                return BatchSolveResult.ROOT_TYPE_COMPLEX;
+            }
+
+            if (i > offset && realParts[i] == realParts[i - 1]){
+                rootType = BatchSolveResult.ROOT_TYPE_REAL_AND_EQUAL;
+            }
+        }
+
+        return rootType;
+    }
+
+
+    /**
+     * Returns a^(2n - 2) * product of (ri - rj)^2 over i &lt; j for the count roots
+     * */
+    private static double discriminantOfRoots(double leadingCoefficient, double [] realParts,
+                                              double [] imaginaryParts, int offset, int count){
+
+        double productReal = 1;
+        double productImaginary = 0;
+
+        for (int i = offset; i < offset + count; i++){
+            for (int j = i + 1; j < offset + count; j++){
+
+                double differenceReal = realParts[i] - realParts[j];
+                double differenceImaginary = imaginaryParts[i] - imaginaryParts[j];
+
+                double squareReal = differenceReal * differenceReal
+                        - differenceImaginary * differenceImaginary;
+                double squareImaginary = 2 * differenceReal * differenceImaginary;
+
+                double nextReal = productReal * squareReal - productImaginary * squareImaginary;
+                productImaginary = productReal * squareImaginary + productImaginary * squareReal;
+                productReal = nextReal;
+            }
+        }
+
+        double scale = 1;
+
+        for (int i = 0; i < 2 * count - 2; i++){
+            scale *= leadingCoefficient;
+        }
+
+        //the imaginary part cancels out for real polynomials
+        return scale * productReal;
+    }
+}
@@ -0,0 +1,371 @@
+package models;
+
+import java.util.stream.IntStream;
+
+
+/**
+ * Solves batches of quadratic equations given as primitive coefficient columns,
+ * without creating any object per equation
+ *
+ * Row i of the batch is the quadratic equation
+ * coefficientsA[i]x^2 + coefficientsB[i]x + constantsC[i] = 0, and its solution is
+ * written into row i of a degree 2 BatchSolveResult, with the same values as
+ * QuadraticEquationSolver
+ *
+ * Four paths are available:
+ *      (a) solve --> one fused pass per row
+ *      (b) solveVectorized --> straight-line column loops that the JIT can compile to SIMD code
+ *      (c) solveParallel --> (a) split into chunks over the common fork-join pool
+ *      (d) solvePartitioned --> (a) which also groups the rows by root type
+ *
+ * solve can also write the sensitivity of every root to the coefficients in the same pass,
+ * see RootSensitivityBatchResult
+ *
+ * Degenerate rows (a == 0, or coefficients which are not finite) are classified in the
+ * equation type column and handled with selects instead of branches, so a batch mixing
+ * quadratic, linear and degenerate rows runs through the same straight-line code
+ *
+ * Each path can be given a NewtonRootRefiner, which polishes the roots right after
+ * they are computed and reports how many rows it changed
+ *
+ * Example usage:
+ * <pre>
+ *     BatchSolveResult result = new BatchSolveResult(coefficientsA.length);
+ *
+ *     QuadraticEquationBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class QuadraticEquationBatchSolver {
+
+    /**
+     * The number of rows solved by one task of solveParallel
+     * */
+    static final int PARALLEL_CHUNK_SIZE = 1 << 14;
+
+    /**
+     * The number of rows processed per column loop of solveVectorized, small enough for
+     * the scratch values to stay in the L1 cache
+     * */
+    static final int VECTORIZED_BLOCK_SIZE = 512;
+
+
+    private QuadraticEquationBatchSolver(){
+
+    }
+
+
+    /**
+     * Solve every row of the coefficient columns
+     *
+     * @param coefficientsA the coefficients a of the quadratic equations
+     * @param coefficientsB the coefficients b of the quadratic equations
+     * @param constantsC the constants c of the quadratic equations
+     * @param result the degree 2 result the solutions are written into
+     *
+     * @throws IllegalArgumentException if the columns differ in length, or the result is
+     *                                  not of degree 2 or too small
+     * */
+    public static void solve(double [] coefficientsA, double [] coefficientsB,
+                             double [] constantsC, BatchSolveResult result){
+
+        checkColumns(coefficientsA, coefficientsB, constantsC, result);
+
+        solveRange(coefficientsA, coefficientsB, constantsC, result, 0, coefficientsA.length);
+    }
+
+
+    /**
+     * Solve every row of the coefficient columns, then refine the roots with Newton iterations
+     *
+     * @param refiner the refinement stage applied to the roots
+     *
+     * @return the number of rows where the refinement changed at least one root
+     *
+     * @see #solve(double[], double[], double[], BatchSolveResult)
+     * */
+    public static int solve(double [] coefficientsA, double [] coefficientsB,
+                            double [] constantsC, BatchSolveResult result,
+                            NewtonRootRefiner refiner){
+
+        solve(coefficientsA, coefficientsB, constantsC, result);
+
+        return refiner.refineRange(coefficientsA, coefficientsB, constantsC, result,
+                0, coefficientsA.length);
+    }
+
+
+    /**
+     * Solve every row of the coefficient columns, and write the sensitivity of each root to
+     * the coefficients in the same pass, while the row is still in registers
+     *
+     * @param sensitivity the result the derivatives and condition numbers of the roots are
+     *                    written into
+     *
+     * @throws IllegalArgumentException if the columns differ in length, or a result is too small
+     *
+     * @see #solve(double[], double[], double[], BatchSolveResult)
+     * */
+    public static void solve(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                             BatchSolveResult result, RootSensitivityBatchResult sensitivity){
+
+        checkColumns(coefficientsA, coefficientsB, constantsC, result);
+        sensitivity.checkCapacity(coefficientsA.length);
+
+        double [] realParts = result.getRootRealParts();
+        double [] imaginaryParts = result.getRootImaginaryParts();
+        double [] values = new double[RootSensitivity.VALUES];
+
+        for (int i = 0; i < coefficientsA.length; i++){
+
+            double a = coefficientsA[i];
+            double b = coefficientsB[i];
+            double c = constantsC[i];
+
+            PolynomialRootKernels.solveQuadraticRow(a, b, c, result, i);
+
+            for (int index = 2 * i; index < 2 * i + 2; index++){
+
+                PolynomialRootKernels.writeQuadraticRootSensitivity(a, b, c,
+                        realParts[index], imaginaryParts[index], values);
+                sensitivity.setRoot(index, values);
+            }
+        }
+    }
+
+
+    /**
+     * Solve every row of the coefficient columns in parallel, in chunks of
+     * PARALLEL_CHUNK_SIZE rows
+     *
+     * @see #solve(double[], double[], double[], BatchSolveResult)
+     * */
+    public static void solveParallel(double [] coefficientsA, double [] coefficientsB,
+                                     double [] constantsC, BatchSolveResult result){
+
+        checkColumns(coefficientsA, coefficientsB, constantsC, result);
+
+        int size = coefficientsA.length;
+        int chunks = (size + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+
+            int fromRow = chunk * PARALLEL_CHUNK_SIZE;
+            int toRow = Math.min(size, fromRow + PARALLEL_CHUNK_SIZE);
+
+            solveRange(coefficientsA, coefficientsB, constantsC, result, fromRow, toRow);
+        });
+    }
+
+
+    /**
+     * Solve and refine every row of the coefficient columns in parallel, each chunk being
+     * refined right after it is solved, while it is still in the cache
+     *
+     * @param refiner the refinement stage applied to the roots
+     *
+     * @return the number of rows where the refinement changed at least one root
+     *
+     * @see #solveParallel(double[], double[], double[], BatchSolveResult)
+     * */
+    public static int solveParallel(double [] coefficientsA, double [] coefficientsB,
+                                    double [] constantsC, BatchSolveResult result,
+                                    NewtonRootRefiner refiner){
+
+        checkColumns(coefficientsA, coefficientsB, constantsC, result);
+
+        int size = coefficientsA.length;
+        int chunks = (size + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+
+        return IntStream.range(0, chunks).parallel().map(chunk -> {
+
+            int fromRow = chunk * PARALLEL_CHUNK_SIZE;
+            int toRow = Math.min(size, fromRow + PARALLEL_CHUNK_SIZE);
+
+            solveRange(coefficientsA, coefficientsB, constantsC, result, fromRow, toRow);
+
+            return refiner.refineRange(coefficientsA, coefficientsB, constantsC, result,
+                    fromRow, toRow);
+        }).sum();
+    }
+
+
+    /**
+     * Solve every row of the coefficient columns with straight-line column loops
+     *
+     * Both the real and the complex form of the roots are computed for every row and the
+     * right one is selected, instead of branching on the root or equation type, so that the
+     * loops have no data dependent branches and can be compiled to SIMD code
+     *
+     * The loops only use the unscaled kernels. The rare rows whose b^2 or 4ac overflow or
+     * underflow are marked by a NaN compensated discriminant and solved again at the end of
+     * each block by the scaled row kernel, so their scale exponent is computed once
+     *
+     * @see #solve(double[], double[], double[], BatchSolveResult)
+     * */
+    public static void solveVectorized(double [] coefficientsA, double [] coefficientsB,
+                                       double [] constantsC, BatchSolveResult result){
+
+        checkColumns(coefficientsA, coefficientsB, constantsC, result);
+
+        double [] discriminants = result.getDiscriminants();
+        byte [] rootTypes = result.getRootTypes();
+        byte [] equationTypes = result.getEquationTypes();
+        double [] realParts = result.getRootRealParts();
+        double [] imaginaryParts = result.getRootImaginaryParts();
+        double [] vertexXCoordinates = result.getVertexXCoordinates();
+        double [] vertexYCoordinates = result.getVertexYCoordinates();
+        double [] sumsOfRoots = result.getSumsOfRoots();
+        double [] productsOfRoots = result.getProductsOfRoots();
+
+        int size = coefficientsA.length;
+
+        for (int blockStart = 0; blockStart < size; blockStart += VECTORIZED_BLOCK_SIZE){
+
+            int blockEnd = Math.min(size, blockStart + VECTORIZED_BLOCK_SIZE);
+
+            //compensated discriminants and equation types, NaN for the rows out of their range
+            for (int i = blockStart; i < blockEnd; i++){
+
+                double a = coefficientsA[i];
+                double b = coefficientsB[i];
+                double c = constantsC[i];
+
+                discriminants[i] = PolynomialRootKernels.compensatedQuadraticDiscriminant(a, b, c);
+                equationTypes[i] = PolynomialRootKernels.quadraticEquationType(a, b, c);
+            }
+
+            //vertices, sums and products of roots
+            for (int i = blockStart; i < blockEnd; i++){
+
+                double a = coefficientsA[i];
+                double b = coefficientsB[i];
+                double c = constantsC[i];
+                byte equationType = equationTypes[i];
+
+                vertexXCoordinates[i] = PolynomialRootKernels.selectByEquationType(equationType,
+                        PolynomialRootKernels.quadraticVertexX(a, b), Double.NaN);
+                vertexYCoordinates[i] = PolynomialRootKernels.selectByEquationType(equationType,
+                        PolynomialRootKernels.quadraticVertexY(a, discriminants[i]), Double.NaN);
+                sumsOfRoots[i] = PolynomialRootKernels.selectByEquationType(equationType, -b / a, Double.NaN);
+                productsOfRoots[i] = PolynomialRootKernels.selectByEquationType(equationType, c / a, Double.NaN);
+            }
+
+            //root types
+            for (int i = blockStart; i < blockEnd; i++){
+
+                rootTypes[i] = PolynomialRootKernels.quadraticRootType(equationTypes[i], discriminants[i]);
+            }
+
+            //roots
+            for (int i = blockStart; i < blockEnd; i++){
+
+                PolynomialRootKernels.writeQuadraticRowRoots(coefficientsA[i], coefficientsB[i], constantsC[i],
+                        discriminants[i], equationTypes[i], realParts, imaginaryParts, 2 * i);
+            }
+
+            //the rare rows out of the range of the compensated discriminant are solved again by
+            //the scaled row kernel, which computes their scale exponent once
+            for (int i = blockStart; i < blockEnd; i++){
+
+                if (discriminants[i] != discriminants[i]){
+                    PolynomialRootKernels.solveQuadraticRow(coefficientsA[i], coefficientsB[i], constantsC[i],
+                            result, i);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Solve every row of the coefficient columns with straight-line column loops, then
+     * refine the roots with Newton iterations
+     *
+     * @param refiner the refinement stage applied to the roots
+     *
+     * @return the number of rows where the refinement changed at least one root
+     *
+     * @see #solveVectorized(double[], double[], double[], BatchSolveResult)
+     * */
+    public static int solveVectorized(double [] coefficientsA, double [] coefficientsB,
+                                      double [] constantsC, BatchSolveResult result,
+                                      NewtonRootRefiner refiner){
+
+        solveVectorized(coefficientsA, coefficientsB, constantsC, result);
+
+        return refiner.refineRange(coefficientsA, coefficientsB, constantsC, result,
+                0, coefficientsA.length);
+    }
+
+
+    /**
+     * Solve every row of the coefficient columns and group the rows by root type
+     *
+     * The rows are counted per root type while each block is solved and still in the
+     * cache, and a stable counting sort then fills the permutation of the partition, so
+     * downstream code can process each root type over a dense, branch-free range
+     *
+     * @param partition the partition the grouped row indexes are written into
+     *
+     * @throws IllegalArgumentException if the columns differ in length, or the result or
+     *                                  the partition is too small
+     *
+     * @see #solve(double[], double[], double[], BatchSolveResult)
+     * */
+    public static void solvePartitioned(double [] coefficientsA, double [] coefficientsB,
+                                        double [] constantsC, BatchSolveResult result,
+                                        RootTypePartition partition){
+
+        checkColumns(coefficientsA, coefficientsB, constantsC, result);
+
+        byte [] rootTypes = result.getRootTypes();
+        int size = coefficientsA.length;
+
+        partition.checkSize(rootTypes, size);
+        partition.clearCounts();
+
+        for (int blockStart = 0; blockStart < size; blockStart += VECTORIZED_BLOCK_SIZE){
+
+            int blockEnd = Math.min(size, blockStart + VECTORIZED_BLOCK_SIZE);
+
+            solveRange(coefficientsA, coefficientsB, constantsC, result, blockStart, blockEnd);
+            partition.addCounts(rootTypes, blockStart, blockEnd);
+        }
+
+        partition.partitionCounted(rootTypes, size);
+    }
+
+
+    /**
+     * Solve the rows [fromRow, toRow) with one fused pass per row
+     * */
+    static void solveRange(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                           BatchSolveResult result, int fromRow, int toRow){
+
+        for (int i = fromRow; i < toRow; i++){
+
+            PolynomialRootKernels.solveQuadraticRow(coefficientsA[i], coefficientsB[i],
+                    constantsC[i], result, i);
+        }
+    }
+
+
+    /**
+     * Check that the three columns have the same length and fit into the result
+     *
+     * @throws IllegalArgumentException if they do not
+     * */
+    static void checkColumns(double [] coefficientsA, double [] coefficientsB,
+                             double [] constantsC, BatchSolveResult result){
+
+        if (coefficientsA.length != coefficientsB.length
+                || coefficientsA.length != constantsC.length){
+
+            throw new IllegalArgumentException("Coefficient columns differ in length: "
+                    + coefficientsA.length + ", " + coefficientsB.length + ", " + constantsC.length);
+        }
+
+        result.checkCapacity(2, coefficientsA.length);
+    }
+}
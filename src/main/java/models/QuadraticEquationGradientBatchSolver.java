@@ -0,0 +1,225 @@
+package models;
+
+import java.util.Arrays;
+
+
+/**
+ * Solves batches of quadratic equations given as primitive coefficient columns together
+ * with the gradients of the solutions with respect to (a, b, c), for gradient-based fitting
+ *
+ * The gradients are computed in forward mode: each row is solved a second time in
+ * DualNumbers arithmetic, with a, b and c seeded with unit derivatives, through the same
+ * operations as the batch kernel (the stable q = -(b + sign(b) * sqrt(D))/2 form of the
+ * real roots included). This gives exact derivatives in one pass, instead of the six extra
+ * solves of central differences. The values themselves are written by the batch kernel,
+ * so they are the values of QuadraticEquationBatchSolver
+ *
+ * Every row reuses one scratch array, so the solve path does not allocate
+ *
+ * Example usage:
+ * <pre>
+ *     GradientBatchSolveResult result = new GradientBatchSolveResult(coefficientsA.length);
+ *
+ *     QuadraticEquationGradientBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class QuadraticEquationGradientBatchSolver {
+
+    //the slots of the dual numbers in the scratch array
+    private static final int A = 0;
+    private static final int B = A + DualNumbers.WIDTH;
+    private static final int C = B + DualNumbers.WIDTH;
+    private static final int DISCRIMINANT = C + DualNumbers.WIDTH;
+    private static final int VERTEX_X = DISCRIMINANT + DualNumbers.WIDTH;
+    private static final int VERTEX_Y = VERTEX_X + DualNumbers.WIDTH;
+    private static final int SUM = VERTEX_Y + DualNumbers.WIDTH;
+    private static final int PRODUCT = SUM + DualNumbers.WIDTH;
+    private static final int FIRST_ROOT = PRODUCT + DualNumbers.WIDTH;
+    private static final int SECOND_ROOT = FIRST_ROOT + DualNumbers.WIDTH;
+    private static final int IMAGINARY_PART = SECOND_ROOT + DualNumbers.WIDTH;
+    private static final int TEMPORARY = IMAGINARY_PART + DualNumbers.WIDTH;
+    private static final int SLOTS = TEMPORARY + DualNumbers.WIDTH;
+
+
+    private QuadraticEquationGradientBatchSolver(){
+
+    }
+
+
+    /**
+     * Solve every row of the coefficient columns, with the gradients of the roots, the
+     * discriminant, the vertex, and the sum and product of roots
+     *
+     * @param result the result the solutions and gradients are written into
+     *
+     * @throws IllegalArgumentException if the columns differ in length, or the result is too small
+     * */
+    public static void solve(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                             GradientBatchSolveResult result){
+
+        BatchSolveResult values = result.getValues();
+
+        QuadraticEquationBatchSolver.checkColumns(coefficientsA, coefficientsB, constantsC, values);
+
+        double [] duals = new double[SLOTS];
+
+        for (int i = 0; i < coefficientsA.length; i++){
+
+            PolynomialRootKernels.solveQuadraticRow(coefficientsA[i], coefficientsB[i], constantsC[i], values, i);
+
+            writeGradients(coefficientsA[i], coefficientsB[i], constantsC[i], values.getDiscriminants()[i],
+                    values.getEquationTypes()[i], values.getRootTypes()[i], duals, result, i);
+        }
+    }
+
+
+    /**
+     * Differentiate the solution of one row, following the operations of
+     * PolynomialRootKernels.solveQuadraticRow()
+     * */
+    private static void writeGradients(double coefficientA, double coefficientB, double constantC,
+                                       double discriminant, byte equationType, byte rootType,
+                                       double [] duals, GradientBatchSolveResult result, int row){
+
+        DualNumbers.set(duals, A, coefficientA, 1, 0, 0);
+        DualNumbers.set(duals, B, coefficientB, 0, 1, 0);
+        DualNumbers.set(duals, C, constantC, 0, 0, 1);
+
+        //D = b^2 - 4ac, with the value of the compensated kernel
+        DualNumbers.multiply(duals, B, B, DISCRIMINANT);
+        DualNumbers.multiply(duals, A, C, TEMPORARY);
+        DualNumbers.scale(duals, TEMPORARY, 4, TEMPORARY);
+        DualNumbers.subtract(duals, DISCRIMINANT, TEMPORARY, DISCRIMINANT);
+        duals[DISCRIMINANT] = discriminant;
+
+        boolean isQuadratic = equationType == BatchSolveResult.EQUATION_TYPE_QUADRATIC;
+        boolean isLinear = equationType == BatchSolveResult.EQUATION_TYPE_LINEAR;
+
+        //-b/(2a) and -D/(4a)
+        DualNumbers.scale(duals, A, 2, TEMPORARY);
+        DualNumbers.scale(duals, B, -1, VERTEX_X);
+        DualNumbers.divide(duals, VERTEX_X, TEMPORARY, VERTEX_X);
+
+        DualNumbers.scale(duals, A, 4, TEMPORARY);
+        DualNumbers.scale(duals, DISCRIMINANT, -1, VERTEX_Y);
+        DualNumbers.divide(duals, VERTEX_Y, TEMPORARY, VERTEX_Y);
+
+        DualNumbers.set(duals, IMAGINARY_PART, 0, 0, 0, 0);
+
+        if (isQuadratic){
+
+            //-b/a and c/a
+            DualNumbers.scale(duals, B, -1, SUM);
+            DualNumbers.divide(duals, SUM, A, SUM);
+            DualNumbers.divide(duals, C, A, PRODUCT);
+
+            writeQuadraticRootDuals(coefficientB, rootType, duals);
+        }
+        else{
+            //-c/b is the single root of a linear equation
+            DualNumbers.scale(duals, C, -1, FIRST_ROOT);
+            DualNumbers.divide(duals, FIRST_ROOT, B, FIRST_ROOT);
+        }
+
+        int gradientOffset = GradientBatchSolveResult.GRADIENT_WIDTH * row;
+        int rootGradientOffset = 2 * gradientOffset;
+
+        DualNumbers.copyGradient(duals, DISCRIMINANT, result.getDiscriminantGradients(), gradientOffset);
+        DualNumbers.copyGradient(duals, VERTEX_X, result.getVertexXCoordinateGradients(), gradientOffset);
+        DualNumbers.copyGradient(duals, VERTEX_Y, result.getVertexYCoordinateGradients(), gradientOffset);
+        DualNumbers.copyGradient(duals, SUM, result.getSumOfRootsGradients(), gradientOffset);
+        DualNumbers.copyGradient(duals, PRODUCT, result.getProductOfRootsGradients(), gradientOffset);
+        DualNumbers.copyGradient(duals, FIRST_ROOT, result.getRootRealPartGradients(), rootGradientOffset);
+        DualNumbers.copyGradient(duals, SECOND_ROOT, result.getRootRealPartGradients(),
+                rootGradientOffset + GradientBatchSolveResult.GRADIENT_WIDTH);
+
+        //the first complex root has the negative imaginary part
+        double [] imaginaryPartGradients = result.getRootImaginaryPartGradients();
+
+        DualNumbers.copyGradient(duals, IMAGINARY_PART, imaginaryPartGradients,
+                rootGradientOffset + GradientBatchSolveResult.GRADIENT_WIDTH);
+        DualNumbers.scale(duals, IMAGINARY_PART, -1, IMAGINARY_PART);
+        DualNumbers.copyGradient(duals, IMAGINARY_PART, imaginaryPartGradients, rootGradientOffset);
+
+        if (!isQuadratic){
+
+            //a linear equation has its first root only, and no vertex, sum or product of roots,
+            //and the other degenerate equations have no solution
+            fillNaN(result.getDiscriminantGradients(), isLinear ? -1 : gradientOffset);
+            fillNaN(result.getVertexXCoordinateGradients(), gradientOffset);
+            fillNaN(result.getVertexYCoordinateGradients(), gradientOffset);
+            fillNaN(result.getSumOfRootsGradients(), gradientOffset);
+            fillNaN(result.getProductOfRootsGradients(), gradientOffset);
+            fillNaN(result.getRootRealPartGradients(), rootGradientOffset + GradientBatchSolveResult.GRADIENT_WIDTH);
+            fillNaN(imaginaryPartGradients, rootGradientOffset + GradientBatchSolveResult.GRADIENT_WIDTH);
+
+            if (!isLinear){
+
+                fillNaN(result.getRootRealPartGradients(), rootGradientOffset);
+                fillNaN(imaginaryPartGradients, rootGradientOffset);
+            }
+        }
+    }
+
+
+    /**
+     * Differentiate the roots of a quadratic row into FIRST_ROOT, SECOND_ROOT and
+     * IMAGINARY_PART, following PolynomialRootKernels.writeQuadraticRowRoots()
+     *
+     * The branch is taken on the root type rather than the discriminant, which is 0 when it
+     * underflows
+     * */
+    private static void writeQuadraticRootDuals(double coefficientB, byte rootType, double [] duals){
+
+        if (rootType == BatchSolveResult.ROOT_TYPE_REAL_AND_DISTINCT){
+
+            //q = -(b + sign(b) * sqrt(D))/2, and the roots q/a and c/q
+            DualNumbers.sqrt(duals, DISCRIMINANT, TEMPORARY);
+
+            if (coefficientB < 0){
+                DualNumbers.subtract(duals, B, TEMPORARY, TEMPORARY);
+            }
+            else{
+                DualNumbers.add(duals, B, TEMPORARY, TEMPORARY);
+            }
+
+            DualNumbers.scale(duals, TEMPORARY, -0.5, TEMPORARY);
+
+            int qOverA = coefficientB < 0 ? SECOND_ROOT : FIRST_ROOT;
+            int cOverQ = coefficientB < 0 ? FIRST_ROOT : SECOND_ROOT;
+
+            DualNumbers.divide(duals, TEMPORARY, A, qOverA);
+            DualNumbers.divide(duals, C, TEMPORARY, cOverQ);
+        }
+        else if (rootType == BatchSolveResult.ROOT_TYPE_REAL_AND_EQUAL){
+
+            //a double root does not depend smoothly on the coefficients
+            DualNumbers.set(duals, FIRST_ROOT, duals[VERTEX_X], Double.NaN, Double.NaN, Double.NaN);
+            DualNumbers.set(duals, SECOND_ROOT, duals[VERTEX_X], Double.NaN, Double.NaN, Double.NaN);
+            DualNumbers.set(duals, IMAGINARY_PART, 0, Double.NaN, Double.NaN, Double.NaN);
+        }
+        else{
+            //-b/(2a) ± sqrt(-D)/(2a) i
+            System.arraycopy(duals, VERTEX_X, duals, FIRST_ROOT, DualNumbers.WIDTH);
+            System.arraycopy(duals, VERTEX_X, duals, SECOND_ROOT, DualNumbers.WIDTH);
+
+            DualNumbers.scale(duals, DISCRIMINANT, -1, IMAGINARY_PART);
+            DualNumbers.sqrt(duals, IMAGINARY_PART, IMAGINARY_PART);
+            DualNumbers.scale(duals, A, 2, TEMPORARY);
+            DualNumbers.divide(duals, IMAGINARY_PART, TEMPORARY, IMAGINARY_PART);
+        }
+    }
+
+
+    /**
+     * Fill the gradient at offset with NaN, or do nothing for a negative offset
+     * */
+    private static void fillNaN(double [] gradients, int offset){
+
+        if (offset >= 0){
+            Arrays.fill(gradients, offset, offset + GradientBatchSolveResult.GRADIENT_WIDTH, Double.NaN);
+        }
+    }
+}
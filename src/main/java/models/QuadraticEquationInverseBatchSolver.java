@@ -0,0 +1,364 @@
+package models;
+
+
+/**
+ * Reconstructs batches of quadratic equations from their roots or from their vertex,
+ * the inverse of QuadraticEquationBatchSolver, over primitive columns
+ *
+ * The coefficients are derived from the identities QuadraticEquationSolver uses:
+ *      (a) real roots r1, r2 --> sum of roots -b/a = r1 + r2, product of roots c/a = r1 * r2
+ *      (b) complex roots p ± qi --> -b/a = 2p, c/a = p^2 + q^2
+ *      (c) vertex (h, k) and a point (x, y) --> y = a(x - h)^2 + k, so a = (y - k)/(x - h)^2,
+ *          and the vertex x-coordinate -b/(2a) = h and y-coordinate -D/(4a) = k give
+ *          b = -2ah and c = ah^2 + k
+ *
+ * The coefficients are then scaled to a Normalization. Scaling keeps the roots of the
+ * equation but not its parabola, so the vertex of (c) is only kept with Normalization.NONE
+ *
+ * Rows which have no quadratic equation (a vertex and a point with the same x-coordinate
+ * or the same y-coordinate) get NaN coefficients, which the forward solver classifies as
+ * EQUATION_TYPE_NON_FINITE. The column loops have no data dependent branches, like
+ * QuadraticEquationBatchSolver.solveVectorized, so they can be compiled to SIMD code
+ *
+ * The checkRoundTrip methods solve the reconstructed equations with the forward solver and
+ * count the rows whose roots or vertex do not match the input
+ *
+ * Example usage:
+ * <pre>
+ *     QuadraticEquationInverseBatchSolver.fromRoots(firstRoots, secondRoots,
+ *             QuadraticEquationInverseBatchSolver.Normalization.MONIC,
+ *             coefficientsA, coefficientsB, constantsC);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class QuadraticEquationInverseBatchSolver {
+
+    /**
+     * The scale the reconstructed coefficients are normalised to
+     * */
+    public enum Normalization
+    {
+        /**
+         * The coefficients as derived: a == 1 for roots, the parabola through the point for a vertex
+         * */
+        NONE,
+
+        /**
+         * a == 1
+         * */
+        MONIC,
+
+        /**
+         * a^2 + b^2 + c^2 == 1 and a > 0
+         * */
+        UNIT_NORM,
+
+        /**
+         * max(|a|, |b|, |c|) == 1 and a > 0
+         * */
+        MAX_NORM
+    }
+
+
+    private QuadraticEquationInverseBatchSolver(){
+
+    }
+
+
+    /**
+     * Reconstruct the equations whose real roots are the rows of the two root columns
+     *
+     * @param firstRoots the first real root of each equation
+     * @param secondRoots the second real root of each equation
+     * @param normalization the scale of the coefficients written
+     * @param coefficientsA the column the coefficients a are written into
+     * @param coefficientsB the column the coefficients b are written into
+     * @param constantsC the column the constants c are written into
+     *
+     * @throws IllegalArgumentException if the columns differ in length
+     * */
+    public static void fromRoots(double [] firstRoots, double [] secondRoots, Normalization normalization,
+                                 double [] coefficientsA, double [] coefficientsB, double [] constantsC){
+
+        checkColumns(firstRoots, secondRoots, coefficientsA, coefficientsB, constantsC);
+
+        for (int i = 0; i < firstRoots.length; i++){
+
+            double firstRoot = firstRoots[i];
+            double secondRoot = secondRoots[i];
+
+            coefficientsA[i] = 1;
+            coefficientsB[i] = -(firstRoot + secondRoot);
+            constantsC[i] = firstRoot * secondRoot;
+        }
+
+        normalize(normalization, coefficientsA, coefficientsB, constantsC, firstRoots.length);
+    }
+
+
+    /**
+     * Reconstruct the equations whose complex conjugate roots p ± qi are the rows of the
+     * real and imaginary part columns
+     *
+     * @param realParts the real part p of the roots of each equation
+     * @param imaginaryParts the imaginary part q of the roots of each equation, of either sign
+     *
+     * @throws IllegalArgumentException if the columns differ in length
+     *
+     * @see #fromRoots(double[], double[], Normalization, double[], double[], double[])
+     * */
+    public static void fromComplexRoots(double [] realParts, double [] imaginaryParts, Normalization normalization,
+                                        double [] coefficientsA, double [] coefficientsB, double [] constantsC){
+
+        checkColumns(realParts, imaginaryParts, coefficientsA, coefficientsB, constantsC);
+
+        for (int i = 0; i < realParts.length; i++){
+
+            double realPart = realParts[i];
+            double imaginaryPart = imaginaryParts[i];
+
+            coefficientsA[i] = 1;
+            coefficientsB[i] = -2 * realPart;
+            constantsC[i] = Math.fma(realPart, realPart, imaginaryPart * imaginaryPart);
+        }
+
+        normalize(normalization, coefficientsA, coefficientsB, constantsC, realParts.length);
+    }
+
+
+    /**
+     * Reconstruct the parabolas y = ax^2 + bx + c with the given vertex which pass through
+     * the given point
+     *
+     * @param vertexXCoordinates the x-coordinate h of the vertex of each parabola
+     * @param vertexYCoordinates the y-coordinate k of the vertex of each parabola
+     * @param pointXCoordinates the x-coordinate of a point of each parabola, other than h
+     * @param pointYCoordinates the y-coordinate of the point, other than k
+     *
+     * @throws IllegalArgumentException if the columns differ in length
+     *
+     * @see #fromRoots(double[], double[], Normalization, double[], double[], double[])
+     * */
+    public static void fromVertex(double [] vertexXCoordinates, double [] vertexYCoordinates,
+                                  double [] pointXCoordinates, double [] pointYCoordinates,
+                                  Normalization normalization,
+                                  double [] coefficientsA, double [] coefficientsB, double [] constantsC){
+
+        checkColumns(vertexXCoordinates, vertexYCoordinates, coefficientsA, coefficientsB, constantsC);
+        checkColumns(pointXCoordinates, pointYCoordinates, coefficientsA, coefficientsB, constantsC);
+
+        for (int i = 0; i < vertexXCoordinates.length; i++){
+
+            double h = vertexXCoordinates[i];
+            double k = vertexYCoordinates[i];
+            double dx = pointXCoordinates[i] - h;
+            double dy = pointYCoordinates[i] - k;
+
+            //a == 0 or an infinite a has no parabola, which is flagged as NaN with a select
+            double a = dy / (dx * dx);
+            a = a != 0 && Math.abs(a) < Double.POSITIVE_INFINITY ? a : Double.NaN;
+
+            coefficientsA[i] = a;
+            coefficientsB[i] = -2 * a * h;
+            constantsC[i] = Math.fma(a * h, h, k);
+        }
+
+        normalize(normalization, coefficientsA, coefficientsB, constantsC, vertexXCoordinates.length);
+    }
+
+
+    /**
+     * Solve the reconstructed equations and count the rows whose real roots do not match the
+     * root columns, in either order, within a relative tolerance
+     *
+     * @param tolerance the largest difference allowed, relative to the magnitude of the
+     *                  largest root of the row (or 1, if that is smaller)
+     * @param result the degree 2 result the forward solutions are written into
+     *
+     * @return the number of rows which do not round-trip
+     *
+     * @throws IllegalArgumentException if the columns differ in length, or the result is
+     *                                  not of degree 2 or too small
+     * */
+    public static int checkRoundTrip(double [] firstRoots, double [] secondRoots,
+                                     double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                                     double tolerance, BatchSolveResult result){
+
+        checkColumns(firstRoots, secondRoots, coefficientsA, coefficientsB, constantsC);
+
+        QuadraticEquationBatchSolver.solveVectorized(coefficientsA, coefficientsB, constantsC, result);
+
+        double [] realParts = result.getRootRealParts();
+        double [] imaginaryParts = result.getRootImaginaryParts();
+        int mismatches = 0;
+
+        for (int i = 0; i < firstRoots.length; i++){
+
+            double expectedSmaller = Math.min(firstRoots[i], secondRoots[i]);
+            double expectedLarger = Math.max(firstRoots[i], secondRoots[i]);
+            double smaller = Math.min(realParts[2 * i], realParts[2 * i + 1]);
+            double larger = Math.max(realParts[2 * i], realParts[2 * i + 1]);
+
+            double allowed = tolerance * Math.max(1, Math.max(Math.abs(expectedSmaller), Math.abs(expectedLarger)));
+
+            boolean matches = Math.abs(smaller - expectedSmaller) <= allowed
+                    & Math.abs(larger - expectedLarger) <= allowed
+                    & Math.abs(imaginaryParts[2 * i]) <= allowed;
+
+            mismatches += matches ? 0 : 1;
+        }
+
+        return mismatches;
+    }
+
+
+    /**
+     * Solve the reconstructed equations and count the rows whose complex roots do not match
+     * the real and imaginary part columns within a relative tolerance
+     *
+     * @see #checkRoundTrip(double[], double[], double[], double[], double[], double, BatchSolveResult)
+     * */
+    public static int checkComplexRoundTrip(double [] realParts, double [] imaginaryParts,
+                                            double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                                            double tolerance, BatchSolveResult result){
+
+        checkColumns(realParts, imaginaryParts, coefficientsA, coefficientsB, constantsC);
+
+        QuadraticEquationBatchSolver.solveVectorized(coefficientsA, coefficientsB, constantsC, result);
+
+        double [] rootRealParts = result.getRootRealParts();
+        double [] rootImaginaryParts = result.getRootImaginaryParts();
+        int mismatches = 0;
+
+        for (int i = 0; i < realParts.length; i++){
+
+            double expectedImaginaryPart = Math.abs(imaginaryParts[i]);
+            double allowed = tolerance * Math.max(1, Math.max(Math.abs(realParts[i]), expectedImaginaryPart));
+
+            boolean matches = Math.abs(rootRealParts[2 * i] - realParts[i]) <= allowed
+                    & Math.abs(rootRealParts[2 * i + 1] - realParts[i]) <= allowed
+                    & Math.abs(Math.abs(rootImaginaryParts[2 * i]) - expectedImaginaryPart) <= allowed
+                    & Math.abs(Math.abs(rootImaginaryParts[2 * i + 1]) - expectedImaginaryPart) <= allowed;
+
+            mismatches += matches ? 0 : 1;
+        }
+
+        return mismatches;
+    }
+
+
+    /**
+     * Solve the reconstructed parabolas and count the rows whose vertex does not match the
+     * vertex columns within a relative tolerance. The parabolas must have been reconstructed
+     * with Normalization.NONE
+     *
+     * @see #checkRoundTrip(double[], double[], double[], double[], double[], double, BatchSolveResult)
+     * */
+    public static int checkVertexRoundTrip(double [] vertexXCoordinates, double [] vertexYCoordinates,
+                                           double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                                           double tolerance, BatchSolveResult result){
+
+        checkColumns(vertexXCoordinates, vertexYCoordinates, coefficientsA, coefficientsB, constantsC);
+
+        QuadraticEquationBatchSolver.solveVectorized(coefficientsA, coefficientsB, constantsC, result);
+
+        double [] resultXCoordinates = result.getVertexXCoordinates();
+        double [] resultYCoordinates = result.getVertexYCoordinates();
+        int mismatches = 0;
+
+        for (int i = 0; i < vertexXCoordinates.length; i++){
+
+            double h = vertexXCoordinates[i];
+            double k = vertexYCoordinates[i];
+            double allowed = tolerance * Math.max(1, Math.max(Math.abs(h), Math.abs(k)));
+
+            boolean matches = Math.abs(resultXCoordinates[i] - h) <= allowed
+                    & Math.abs(resultYCoordinates[i] - k) <= allowed;
+
+            mismatches += matches ? 0 : 1;
+        }
+
+        return mismatches;
+    }
+
+
+    /**
+     * Scale the first size rows of the coefficient columns to the normalization
+     * */
+    private static void normalize(Normalization normalization, double [] coefficientsA,
+                                  double [] coefficientsB, double [] constantsC, int size){
+
+        switch (normalization){
+
+            case MONIC:
+                for (int i = 0; i < size; i++){
+
+                    double scale = 1 / coefficientsA[i];
+
+                    coefficientsA[i] = 1;
+                    coefficientsB[i] *= scale;
+                    constantsC[i] *= scale;
+                }
+                break;
+
+            case UNIT_NORM:
+                for (int i = 0; i < size; i++){
+
+                    double a = coefficientsA[i];
+                    double b = coefficientsB[i];
+                    double c = constantsC[i];
+
+                    //the largest magnitude is divided out first, so the squares cannot overflow
+                    double largest = Math.max(Math.abs(a), Math.max(Math.abs(b), Math.abs(c)));
+                    a /= largest;
+                    b /= largest;
+                    c /= largest;
+
+                    double scale = Math.copySign(1 / Math.sqrt(a * a + b * b + c * c), a);
+
+                    coefficientsA[i] = a * scale;
+                    coefficientsB[i] = b * scale;
+                    constantsC[i] = c * scale;
+                }
+                break;
+
+            case MAX_NORM:
+                for (int i = 0; i < size; i++){
+
+                    double a = coefficientsA[i];
+                    double scale = Math.copySign(
+                            1 / Math.max(Math.abs(a), Math.max(Math.abs(coefficientsB[i]), Math.abs(constantsC[i]))),
+                            a);
+
+                    coefficientsA[i] = a * scale;
+                    coefficientsB[i] *= scale;
+                    constantsC[i] *= scale;
+                }
+                break;
+
+            default:
+                break;
+        }
+    }
+
+
+    /**
+     * Check that the two input columns and the three coefficient columns have the same length
+     *
+     * @throws IllegalArgumentException if they do not
+     * */
+    private static void checkColumns(double [] firstColumn, double [] secondColumn,
+                                     double [] coefficientsA, double [] coefficientsB, double [] constantsC){
+
+        if (firstColumn.length != secondColumn.length
+                || firstColumn.length != coefficientsA.length
+                || firstColumn.length != coefficientsB.length
+                || firstColumn.length != constantsC.length){
+
+            throw new IllegalArgumentException("Columns differ in length: "
+                    + firstColumn.length + ", " + secondColumn.length + ", " + coefficientsA.length
+                    + ", " + coefficientsB.length + ", " + constantsC.length);
+        }
+    }
+}
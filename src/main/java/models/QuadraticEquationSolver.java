@@ -35,34 +35,77 @@ package models;
  *
  * </pre>
  *
+ * When a == 0 the equation is degenerate, see getEquationType(). A linear equation has
+ * the root type SINGLE_REAL, its root as the first root and no second root, and the other
+ * degenerate equations have no root type and no roots
+ *
+ * The solver is immutable: every field is final and assigned once in the constructor, so
+ * a solver can be shared between threads without synchronization, even when it is handed
+ * over through a plain (non-volatile) field. The mutable vertex and complex roots are
+ * returned as copies
+ *
+ * Code which solves many single equations can use ReusableQuadraticEquationSolver
+ * instead, which solves every equation into the same storage
+ *
  * */
-public class QuadraticEquationSolver {
+public class QuadraticEquationSolver implements IQuadraticEquationSolver {
+
+    private static final EquationType [] EQUATION_TYPES = EquationType.values();
+
+    //the roots are written by the row kernel into the root columns of the current thread, so
+    //that constructing a solver does not allocate them
+    private static final ThreadLocal<RootColumns> ROOT_COLUMNS = ThreadLocal.withInitial(RootColumns::new);
 
     private final double coefficientA;
     private final double coefficientB;
     private final double constantC;
 
-    private double discriminant;
+    private final double discriminant;
+
+    //the discriminant scaled by 2^(2 * scaleExponent), whose sign is exact, see PolynomialRootKernels.
+    //Only the rare equations out of the range of the compensated discriminant are scaled
+    private final boolean isScaled;
+    private final int scaleExponent;
+    private final double scaledDiscriminant;
+
+    private final EquationType equationType;
 
-    private RootType rootType;
-    private Object firstRoot;
-    private Object secondRoot;
+    private final RootType rootType;
+    private final Object firstRoot;
+    private final Object secondRoot;
 
-    private IVertex vertex;
-    private double sumOfRoots;
-    private double productOfRoots;
+    private final IVertex vertex;
+    private final double sumOfRoots;
+    private final double productOfRoots;
 
 
     /**
      * Represents the possible values of the type of roots
      * a quadratic equation has
+     *
+     * SINGLE_REAL is the single root of a linear equation (a == 0)
      * */
 
     public enum RootType
     {
         REAL_AND_EQUAL,
         REAL_AND_DISTINCT,
-        COMPLEX
+        COMPLEX,
+        SINGLE_REAL
+    }
+
+
+    /**
+     * Represents the kinds of equations ax^2 + bx + c = 0 can degenerate into
+     * */
+
+    public enum EquationType
+    {
+        QUADRATIC,
+        LINEAR,
+        CONSTANT,
+        IDENTITY,
+        NON_FINITE
     }
 
 
@@ -81,139 +124,175 @@ public class QuadraticEquationSolver {
         this.coefficientB = coefficientB;
         this.constantC = constantC;
 
-        solveQuadraticEquation();
+        //solve the quadratic equation, each step may use the results of the previous ones
+        this.equationType = calculateEquationType();
+
+        double compensatedDiscriminant =
+                PolynomialRootKernels.compensatedQuadraticDiscriminant(coefficientA, coefficientB, constantC);
+
+        this.isScaled = compensatedDiscriminant != compensatedDiscriminant;
+        this.scaleExponent = this.isScaled
+                ? PolynomialRootKernels.quadraticScaleExponent(coefficientA, coefficientB, constantC)
+                : 0;
+        this.scaledDiscriminant = this.isScaled
+                ? PolynomialRootKernels.scaledQuadraticDiscriminant(coefficientA, coefficientB, constantC,
+                        this.scaleExponent)
+                : compensatedDiscriminant;
+        this.discriminant = calculateDiscriminant();
+
+        this.rootType = calculateRootType();
+
+        RootColumns roots = calculateRoots();
+        this.firstRoot = rootObject(roots, 0);
+        this.secondRoot = rootObject(roots, 1);
+
+        this.vertex = calculateVertex();
+        this.sumOfRoots = calculateSumOfRoots();
+        this.productOfRoots = calculateProductOfRoots();
     }
 
 
     /**
-     * Solve the quadratic equation
+     * Classify the equation type, which tells whether ax^2 + bx + c = 0 is
+     * a quadratic equation or one of its degenerate forms
      * */
-    private void solveQuadraticEquation(){
-
-        calculateAndSetDiscriminant();
+    private EquationType calculateEquationType(){
 
-        calculateAndSetRootType();
-        calculateAndSetFirstRoot();
-        calculateAndSetSecondRoot();
+        return EQUATION_TYPES[
+                PolynomialRootKernels.quadraticEquationType(coefficientA, coefficientB, constantC)];
+    }
 
-        calculateAndSetVertex();
-        calculateAndSetSumOfRoots();
-        calculateAndSetProductOfRoots();
 
+    /**
+     * Returns true if the equation is linear (a == 0 and b != 0), in which case its
+     * single root is -c/b
+     * */
+    private boolean isLinear(){
+        return this.equationType == EquationType.LINEAR;
     }
 
 
     /**
-     * Calculate and set the value of the discriminant of the quadratic equation,
+     * Calculate the value of the discriminant of the quadratic equation,
      * using the formula discriminant = (b^2 - 4ac)
+     *
+     * The rounding errors of b^2 and 4ac are compensated with FMA, so that the sign (and
+     * therefore the root type) is correct even when b^2 and 4ac are nearly equal. When they
+     * overflow or underflow it is computed from the coefficients scaled by a power of two
+     * instead, and the value itself is infinite or 0 when it is beyond the range of a double
+     *
+     * @pre this.scaledDiscriminant must first be calculated and set
      * */
-    private void calculateAndSetDiscriminant(){
+    private double calculateDiscriminant(){
 
-        this.discriminant = (coefficientB * coefficientB) - (4* coefficientA * constantC);
+        return this.isScaled
+                ? PolynomialRootKernels.unscaledQuadraticDiscriminant(this.scaledDiscriminant, this.scaleExponent)
+                : this.scaledDiscriminant;
     }
 
 
     /**
-     * Determine and set the root type of the quadratic equation solutions based on the
-     * calculated discriminant
+     * Determine the root type of the quadratic equation solutions based on the
+     * sign of the scaled discriminant
+     *
+     * A linear equation has a single real root, which is SINGLE_REAL. The other
+     * degenerate equations have no root type (null)
      *
-     * @pre this.discriminant must first be calculated and set
+     * @pre this.scaledDiscriminant must first be calculated and set
      * */
-    private void calculateAndSetRootType()
+    private RootType calculateRootType()
     {
-        if (this.discriminant == 0) {
+        if (this.equationType != EquationType.QUADRATIC) {
+
+            return isLinear() ? RootType.SINGLE_REAL : null;
+        }
+        else if (this.scaledDiscriminant == 0) {
 
-            this.rootType = RootType.REAL_AND_EQUAL;
+            return RootType.REAL_AND_EQUAL;
         }
-        else if (this.discriminant > 0) {
+        else if (this.scaledDiscriminant > 0) {
 
-            this.rootType = RootType.REAL_AND_DISTINCT;
+            return RootType.REAL_AND_DISTINCT;
         }
         else{
-            this.rootType = RootType.COMPLEX;
+            return RootType.COMPLEX;
         }
     }
 
 
     /**
-     * Calculate and set the first root of the quadratic equation
-     * where firstRoot = (-b - sqrt(b^2 - 4ac))/(2a)
+     * Calculate both roots of the quadratic equation, where
+     * firstRoot = (-b - sqrt(b^2 - 4ac))/(2a) and secondRoot = (-b + sqrt(b^2 - 4ac))/(2a)
      *
-     * Depending on the value of getRootType(), sets two possible types of values for firstRoot:
+     * The roots are written by the same row kernel as the one of QuadraticEquationBatchSolver
+     * and ReusableQuadraticEquationSolver, so the three solvers return the same values. Real
+     * roots are computed as q/a or c/q, where q = -(b + sign(b) * sqrt(b^2 - 4ac))/2,
+     * which avoids the cancellation of -b and sqrt(b^2 - 4ac) when they are nearly equal
      *
-     *      (a) getRootType() == REAL_AND_EQUAL -->
-     *                      sets a Double object wrapper representing the first root
-     *      (b) getRootType() == REAL_AND_DISTINCT -->
-     *                      sets a Double object wrapper representing the first root
-     *      (c) getRootType() == COMPLEX -->
-     *                      sets a IComplex object representing the first root
+     * @return the root columns of the current thread, holding the real parts and the imaginary
+     * parts of the two roots until the next solver is constructed on the thread, see rootObject()
      *
-     *  @pre the this.discriminant value must already be calculated and set
+     * @pre the this.scaledDiscriminant value must already be calculated and set
      * */
-    private void calculateAndSetFirstRoot(){
-
-        if (this.discriminant < 0){
+    private RootColumns calculateRoots(){
 
-            double realPartOfComplexRoot = -coefficientB /(2* coefficientA);
-            double imaginaryPartOfComplexRoot =
-                    -Math.sqrt(Math.abs(this.discriminant))/(2*coefficientA);
+        RootColumns roots = ROOT_COLUMNS.get();
+        double [] realParts = roots.realParts;
+        double [] imaginaryParts = roots.imaginaryParts;
 
-            IComplexNumber complexFirstRoot = new ComplexNumber();
-            complexFirstRoot.setRealPart(realPartOfComplexRoot);
-            complexFirstRoot.setImaginaryPart(imaginaryPartOfComplexRoot);
+        byte equationType = (byte) this.equationType.ordinal();
 
-            this.firstRoot = complexFirstRoot;
+        if (this.isScaled){
+            PolynomialRootKernels.writeScaledQuadraticRowRoots(coefficientA, coefficientB, constantC,
+                    this.scaledDiscriminant, this.scaleExponent, equationType, realParts, imaginaryParts, 0);
         }
         else{
-            Double firstRootDoubleObject =
-                    (-coefficientB - Math.sqrt(this.discriminant))/(2* coefficientA);
-
-            this.firstRoot = firstRootDoubleObject;
+            PolynomialRootKernels.writeQuadraticRowRoots(coefficientA, coefficientB, constantC,
+                    this.scaledDiscriminant, equationType, realParts, imaginaryParts, 0);
         }
+
+        return roots;
     }
 
 
     /**
-     * Calculate and set the second root of the quadratic equation
-     * where secondRoot = (-b + sqrt(b^2 - 4ac))/(2a)
+     * Returns a root calculated by calculateRoots()
      *
-     * Depending on the value of getRootType(), sets two possible types of values for firstRoot:
+     * Depending on the value of getRootType(), returns these types of values:
      *
-     *      (a) getRootType() == REAL_AND_EQUAL -->
-     *                      sets a Double object wrapper representing the second root
-     *      (b) getRootType() == REAL_AND_DISTINCT -->
-     *                      sets a Double object wrapper representing the second root
-     *      (c) getRootType() == COMPLEX -->
-     *                      sets a IComplex object representing the second root
+     *      (a) getRootType() == REAL_AND_EQUAL, REAL_AND_DISTINCT or SINGLE_REAL -->
+     *                      returns a Double object wrapper representing the root
+     *      (b) getRootType() == COMPLEX -->
+     *                      returns a IComplex object representing the root
+     *      (c) getRootType() == null --> returns null
      *
-     * @pre the this.discriminant value must already be calculated and set
+     * The second root of a linear equation (SINGLE_REAL) is null
+     *
+     * @pre the this.rootType value must already be calculated and set
      * */
-    private void calculateAndSetSecondRoot(){
+    private Object rootObject(RootColumns roots, int index){
 
-        if (this.discriminant < 0){
+        if (this.rootType == null || (this.rootType == RootType.SINGLE_REAL && index == 1)){
 
-            double realPartOfComplexRoot = -coefficientB /(2* coefficientA);
-            double imaginaryPartOfComplexRoot =
-                    Math.sqrt(Math.abs(this.discriminant))/(2* coefficientA);
+            return null;
+        }
+        else if (this.rootType == RootType.COMPLEX){
 
-            IComplexNumber complexFirstRoot = new ComplexNumber();
-            complexFirstRoot.setRealPart(realPartOfComplexRoot);
-            complexFirstRoot.setImaginaryPart(imaginaryPartOfComplexRoot);
+            IComplexNumber complexRoot = new ComplexNumber();
+            complexRoot.setRealPart(roots.realParts[index]);
+            complexRoot.setImaginaryPart(roots.imaginaryParts[index]);
 
-            this.secondRoot = complexFirstRoot;
+            return complexRoot;
         }
         else{
-            Double secondRootDoubleObject =
-                    (-coefficientB + Math.sqrt(this.discriminant))/(2* coefficientA);
-
-            this.secondRoot = secondRootDoubleObject;
+            return (Double) roots.realParts[index];
         }
     }
 
 
 
     /**
-     * Calculate and set the vertex of the quadratic equation.
+     * Calculate the vertex of the quadratic equation.
      *
      * The vertex refers to the highest/lowest point on the plotted
      * graph of a quadratic equation, and is represented by a pair of
@@ -222,44 +301,64 @@ public class QuadraticEquationSolver {
      * A quadratic equation only has one vertex, and it is either the
      * highest or lowest point on a plotted graph
      *
+     * The y-coordinate is computed as -(b^2 - 4ac)/(4a), which is equal to
+     * ax^2 + bx + c at the x-coordinate but reuses the compensated discriminant
+     *
+     * A degenerate equation has no vertex, so both coordinates are NaN
+     *
+     * @pre the this.scaledDiscriminant value must already be calculated and set
      * */
-    private void calculateAndSetVertex(){
+    private IVertex calculateVertex(){
+
+        boolean isQuadratic = this.equationType == EquationType.QUADRATIC;
 
-        double xCoordinate = -coefficientB /(2* coefficientA);
-        double yCoordinate =
-                (coefficientA * xCoordinate * xCoordinate) + (coefficientB *xCoordinate) + constantC;
+        double xCoordinate = isQuadratic
+                ? PolynomialRootKernels.quadraticVertexX(coefficientA, coefficientB)
+                : Double.NaN;
+        double yCoordinate = !isQuadratic ? Double.NaN
+                : this.isScaled
+                ? PolynomialRootKernels.scaledQuadraticVertexY(coefficientA, this.scaledDiscriminant, this.scaleExponent)
+                : PolynomialRootKernels.quadraticVertexY(coefficientA, this.scaledDiscriminant);
 
         IVertex vertex = new Vertex();
         vertex.setXCoordinate(xCoordinate);
         vertex.setYCoordinate(yCoordinate);
 
-        this.vertex = vertex;
-
+        return vertex;
     }
 
 
     /**
-     * Calculate and set the this.sumOfRoots of the quadratic equation
+     * Calculate the sum of roots of the quadratic equation
      * using the formula sumOfRoots = -b/a
      *
      * where a and b are coefficients of the quadratic equation
      * ax^2 + bx + c = 0
+     *
+     * A degenerate equation has no pair of roots, so it is NaN
      * */
-    private void calculateAndSetSumOfRoots(){
+    private double calculateSumOfRoots(){
 
-        this.sumOfRoots = (-coefficientB)/ coefficientA;
+        return this.equationType == EquationType.QUADRATIC
+                ? (-coefficientB)/ coefficientA
+                : Double.NaN;
     }
 
 
     /**
-     * Calculate and set the this.productOfRoots of the quadratic equation
+     * Calculate the product of roots of the quadratic equation
      * using the formula productOfRoots = c/a
      *
      * where a and c are coefficients of the quadratic equation
      * ax^2 + bx + c = 0
+     *
+     * A degenerate equation has no pair of roots, so it is NaN
      * */
-    private void calculateAndSetProductOfRoots(){
-        this.productOfRoots = constantC / coefficientA;
+    private double calculateProductOfRoots(){
+
+        return this.equationType == EquationType.QUADRATIC
+                ? constantC / coefficientA
+                : Double.NaN;
     }
 
 
@@ -299,6 +398,21 @@ public class QuadraticEquationSolver {
     }
 
 
+    /**
+     * Getter for the equation type
+     *
+     * Possible Values are:
+     *      (a) QUADRATIC --> a != 0
+     *      (b) LINEAR --> a == 0 and b != 0, the single root is -c/b
+     *      (c) CONSTANT --> a == 0, b == 0 and c != 0, there are no roots
+     *      (d) IDENTITY --> a == b == c == 0, every x is a root
+     *      (e) NON_FINITE --> a, b or c is NaN or infinite
+     * */
+    public EquationType getEquationType(){
+        return this.equationType;
+    }
+
+
     /**
      * Getter for the root type of the quadratic equation
      *
@@ -306,6 +420,9 @@ public class QuadraticEquationSolver {
      *      (a) REAL_AND_EQUAL --> real and equal roots if discriminant == 0
      *      (b) REAL_AND_DISTINCT  --> real and distinct roots if discriminant > 0
      *      (c) COMPLEX --> complexr roots if discriminant < 0
+     *      (d) SINGLE_REAL --> the single real root of a linear equation
+     *
+     * Returns null for the other degenerate equations
      * */
     public RootType getRootType(){
         return this.rootType;
@@ -324,9 +441,12 @@ public class QuadraticEquationSolver {
      *                      returns a Double object wrapper representing the first root
      *      (c) getRootType() == COMPLEX -->
      *                      returns a IComplex object representing the first root
+     *      (d) getRootType() == SINGLE_REAL -->
+     *                      returns a Double object wrapper representing the root -c/b
+     *      (e) getRootType() == null --> returns null
      * */
     public Object getFirstRoot(){
-        return this.firstRoot;
+        return copyOfRoot(this.firstRoot);
     }
 
 
@@ -342,9 +462,83 @@ public class QuadraticEquationSolver {
      *                      returns a Double object wrapper representing the first root
      *      (c) getRootType() == COMPLEX -->
      *                      returns a IComplex object representing the first root
+     *      (d) getRootType() == SINGLE_REAL or null --> returns null
      * */
     public Object getSecondRoot(){
-        return this.secondRoot;
+        return copyOfRoot(this.secondRoot);
+    }
+
+
+    /**
+     * Returns the sensitivity of the first root to the coefficients: its partial derivatives
+     * with respect to a, b and c, and its condition number
+     *
+     * The sensitivity is computed on each call from the root, so solvers which are not asked
+     * for it do not pay for it
+     *
+     * Returns null if getRootType() == null
+     * */
+    public RootSensitivity getFirstRootSensitivity(){
+        return sensitivityOf(this.firstRoot);
+    }
+
+
+    /**
+     * Returns the sensitivity of the second root to the coefficients
+     *
+     * @see #getFirstRootSensitivity()
+     * */
+    public RootSensitivity getSecondRootSensitivity(){
+        return sensitivityOf(this.secondRoot);
+    }
+
+
+    private RootSensitivity sensitivityOf(Object root){
+
+        if (root == null){
+            return null;
+        }
+
+        if (root instanceof IComplexNumber){
+
+            IComplexNumber complexRoot = (IComplexNumber) root;
+
+            return new RootSensitivity(this.coefficientA, this.coefficientB, this.constantC,
+                    complexRoot.getRealPart(), complexRoot.getImaginaryPart());
+        }
+
+        return new RootSensitivity(this.coefficientA, this.coefficientB, this.constantC, (Double) root, 0);
+    }
+
+
+    /**
+     * Returns a copy of a complex root, so that callers cannot change the shared solution,
+     * and the root itself otherwise (Double and null are immutable)
+     * */
+    private static Object copyOfRoot(Object root){
+
+        if (root instanceof IComplexNumber){
+
+            IComplexNumber complexRoot = (IComplexNumber) root;
+
+            IComplexNumber complexRootCopy = new ComplexNumber();
+            complexRootCopy.setRealPart(complexRoot.getRealPart());
+            complexRootCopy.setImaginaryPart(complexRoot.getImaginaryPart());
+
+            return complexRootCopy;
+        }
+
+        return root;
+    }
+
+
+    /**
+     * The root columns of one thread, which calculateRoots() writes the two roots into
+     * */
+    private static final class RootColumns {
+
+        private final double [] realParts = new double[2];
+        private final double [] imaginaryParts = new double[2];
     }
 
 
@@ -0,0 +1,286 @@
+package models;
+
+import java.util.stream.IntStream;
+
+
+/**
+ * Evaluates quadratics y = ax^2 + bx + c over large grids of x values, for sampling,
+ * plotting and lookup tables
+ *
+ * Every value is computed in Horner form with two fused multiply-adds,
+ * y = fma(fma(a, x, b), x, c), which rounds once per step instead of twice and is
+ * never less accurate than ax^2 + bx + c. The loops are straight-line loops over
+ * primitive arrays, which the JIT can compile to SIMD code
+ *
+ * Three kinds of grids are available:
+ *      (a) evaluate --> one quadratic over an array of x values
+ *      (b) evaluateRange --> one quadratic over x = start + i * step for i in [0, count),
+ *          without materializing the x values
+ *      (c) evaluate with coefficient columns --> many quadratics over the same x values,
+ *          written row after row, y[row * x.length + i]
+ *
+ * Each has a parallel version which splits the values into chunks of PARALLEL_CHUNK_SIZE
+ * over the common fork-join pool
+ *
+ * Example usage:
+ * <pre>
+ *     double [] y = new double[1000];
+ *
+ *     //x = -5, -4.99, ..., 4.99
+ *     QuadraticEvaluator.evaluateRange(1, -2, -3, -5, 0.01, y.length, y);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class QuadraticEvaluator {
+
+    /**
+     * The number of values evaluated by one task of the parallel methods
+     * */
+    static final int PARALLEL_CHUNK_SIZE = 1 << 16;
+
+
+    private QuadraticEvaluator(){
+
+    }
+
+
+    /**
+     * Evaluate ax^2 + bx + c at a single x
+     * */
+    public static double evaluate(double coefficientA, double coefficientB, double constantC, double x){
+        return Math.fma(Math.fma(coefficientA, x, coefficientB), x, constantC);
+    }
+
+
+    /**
+     * Evaluate ax^2 + bx + c at every x value
+     *
+     * @param xValues the x values
+     * @param yValues the array the values are written into, at the index of their x value
+     *
+     * @throws IllegalArgumentException if yValues is shorter than xValues
+     * */
+    public static void evaluate(double coefficientA, double coefficientB, double constantC,
+                                double [] xValues, double [] yValues){
+
+        checkCapacity(yValues, xValues.length);
+
+        evaluateSpan(coefficientA, coefficientB, constantC, xValues, yValues, 0, 0, xValues.length);
+    }
+
+
+    /**
+     * Evaluate ax^2 + bx + c at every x value in parallel, in chunks of PARALLEL_CHUNK_SIZE values
+     *
+     * @see #evaluate(double, double, double, double[], double[])
+     * */
+    public static void evaluateParallel(double coefficientA, double coefficientB, double constantC,
+                                        double [] xValues, double [] yValues){
+
+        checkCapacity(yValues, xValues.length);
+
+        forEachChunk(xValues.length, (from, to) ->
+                evaluateSpan(coefficientA, coefficientB, constantC, xValues, yValues, from, from, to - from));
+    }
+
+
+    /**
+     * Evaluate ax^2 + bx + c at x = start + i * step, for i from 0 to count - 1
+     *
+     * Each x is computed from i, as fma(i, step, start), rather than by adding the step
+     * count times, so the rounding errors do not accumulate along the grid
+     *
+     * @param yValues the array the values are written into, at index i
+     *
+     * @throws IllegalArgumentException if count is negative or yValues is shorter than count
+     * */
+    public static void evaluateRange(double coefficientA, double coefficientB, double constantC,
+                                     double start, double step, int count, double [] yValues){
+
+        checkCount(count);
+        checkCapacity(yValues, count);
+
+        evaluateRangeSpan(coefficientA, coefficientB, constantC, start, step, yValues, 0, count);
+    }
+
+
+    /**
+     * Evaluate ax^2 + bx + c at x = start + i * step in parallel, in chunks of
+     * PARALLEL_CHUNK_SIZE values
+     *
+     * @see #evaluateRange(double, double, double, double, double, int, double[])
+     * */
+    public static void evaluateRangeParallel(double coefficientA, double coefficientB, double constantC,
+                                             double start, double step, int count, double [] yValues){
+
+        checkCount(count);
+        checkCapacity(yValues, count);
+
+        forEachChunk(count, (from, to) ->
+                evaluateRangeSpan(coefficientA, coefficientB, constantC, start, step, yValues, from, to));
+    }
+
+
+    /**
+     * Evaluate every quadratic of the coefficient columns at every x value
+     *
+     * @param yValues the array the values are written into, the value of row r at x value i
+     *                at index r * xValues.length + i
+     *
+     * @throws IllegalArgumentException if the columns differ in length, or yValues is
+     *                                  shorter than coefficientsA.length * xValues.length
+     * */
+    public static void evaluate(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                                double [] xValues, double [] yValues){
+
+        int cells = checkColumns(coefficientsA, coefficientsB, constantsC, xValues, yValues);
+
+        evaluateCells(coefficientsA, coefficientsB, constantsC, xValues, yValues, 0, cells);
+    }
+
+
+    /**
+     * Evaluate every quadratic of the coefficient columns at every x value in parallel, in
+     * chunks of PARALLEL_CHUNK_SIZE values, so a few quadratics over a large grid are split
+     * as well as many quadratics over a small one
+     *
+     * @see #evaluate(double[], double[], double[], double[], double[])
+     * */
+    public static void evaluateParallel(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                                        double [] xValues, double [] yValues){
+
+        int cells = checkColumns(coefficientsA, coefficientsB, constantsC, xValues, yValues);
+
+        forEachChunk(cells, (from, to) ->
+                evaluateCells(coefficientsA, coefficientsB, constantsC, xValues, yValues, from, to));
+    }
+
+
+    /**
+     * Evaluate one quadratic at the x values [fromX, fromX + count), writing the values
+     * from index fromY
+     * */
+    private static void evaluateSpan(double coefficientA, double coefficientB, double constantC,
+                                     double [] xValues, double [] yValues, int fromX, int fromY, int count){
+
+        for (int i = 0; i < count; i++){
+
+            double x = xValues[fromX + i];
+
+            yValues[fromY + i] = Math.fma(Math.fma(coefficientA, x, coefficientB), x, constantC);
+        }
+    }
+
+
+    /**
+     * Evaluate one quadratic at x = start + i * step for i in [fromIndex, toIndex)
+     * */
+    private static void evaluateRangeSpan(double coefficientA, double coefficientB, double constantC,
+                                          double start, double step, double [] yValues,
+                                          int fromIndex, int toIndex){
+
+        for (int i = fromIndex; i < toIndex; i++){
+
+            double x = Math.fma(i, step, start);
+
+            yValues[i] = Math.fma(Math.fma(coefficientA, x, coefficientB), x, constantC);
+        }
+    }
+
+
+    /**
+     * Evaluate the values [fromCell, toCell) of the row after row output, one quadratic
+     * at a time over a contiguous span of x values
+     * */
+    private static void evaluateCells(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                                      double [] xValues, double [] yValues, int fromCell, int toCell){
+
+        int width = xValues.length;
+        int cell = fromCell;
+
+        while (cell < toCell){
+
+            int row = cell / width;
+            int spanEnd = Math.min(toCell, (row + 1) * width);
+
+            evaluateSpan(coefficientsA[row], coefficientsB[row], constantsC[row], xValues, yValues,
+                    cell - row * width, cell, spanEnd - cell);
+
+            cell = spanEnd;
+        }
+    }
+
+
+    /**
+     * Run the task over [0, size) in chunks of PARALLEL_CHUNK_SIZE on the common fork-join pool
+     * */
+    private static void forEachChunk(int size, ChunkTask task){
+
+        int chunks = (int) (((long) size + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE);
+
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+
+            int from = chunk * PARALLEL_CHUNK_SIZE;
+            int to = (int) Math.min(size, (long) from + PARALLEL_CHUNK_SIZE);
+
+            task.run(from, to);
+        });
+    }
+
+
+    /**
+     * Check that the coefficient columns have the same length and that the output holds a
+     * value per quadratic and x value
+     *
+     * @return the number of values
+     *
+     * @throws IllegalArgumentException if they do not
+     * */
+    private static int checkColumns(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                                    double [] xValues, double [] yValues){
+
+        if (coefficientsA.length != coefficientsB.length
+                || coefficientsA.length != constantsC.length){
+
+            throw new IllegalArgumentException("Coefficient columns differ in length: "
+                    + coefficientsA.length + ", " + coefficientsB.length + ", " + constantsC.length);
+        }
+
+        long cells = (long) coefficientsA.length * xValues.length;
+
+        if (cells > Integer.MAX_VALUE){
+            throw new IllegalArgumentException("Too many values: " + cells);
+        }
+
+        checkCapacity(yValues, (int) cells);
+
+        return (int) cells;
+    }
+
+
+    private static void checkCapacity(double [] yValues, int requiredLength){
+
+        if (yValues.length < requiredLength){
+            throw new IllegalArgumentException("The y values hold " + yValues.length
+                    + " values, but " + requiredLength + " are required");
+        }
+    }
+
+
+    private static void checkCount(int count){
+
+        if (count < 0){
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        }
+    }
+
+
+    /**
+     * A chunk of work over the indexes [from, to)
+     * */
+    private interface ChunkTask {
+
+        void run(int from, int to);
+    }
+}
@@ -0,0 +1,444 @@
+package models;
+
+
+/**
+ * Solves batches of quadratic inequalities ax^2 + bx + c > 0 (or >= 0, < 0, <= 0) given
+ * as primitive coefficient columns, and combines their solution sets, without creating
+ * any object per row
+ *
+ * The solution set of a row is written into an IntervalSetBatchResult with at most
+ * MAXIMUM_INTERVALS intervals, e.g. for x^2 - 1:
+ *      (a) > 0  --> (-Infinity, -1) ∪ (1, Infinity)
+ *      (b) >= 0 --> (-Infinity, -1] ∪ [1, Infinity)
+ *      (c) < 0  --> (-1, 1)
+ *      (d) <= 0 --> [-1, 1]
+ *
+ * The distinct real roots split the real line into regions where the polynomial has a
+ * constant sign. The sign of the rightmost region is the sign of the leading non-zero
+ * coefficient, and it flips across each simple root but not across a double root (a zero
+ * discriminant). Linear, constant and identity rows (a == 0) are solved the same way;
+ * rows with a coefficient which is not finite have an empty solution set
+ *
+ * The roots come from the same kernel as QuadraticEquationBatchSolver, so they are the
+ * roots reported by the forward solvers
+ *
+ * intersect() and union() combine two batches of interval sets row by row, e.g. to find
+ * the values of x which satisfy several constraints at once
+ *
+ * Example usage:
+ * <pre>
+ *     IntervalSetBatchResult result = new IntervalSetBatchResult(coefficientsA.length,
+ *             QuadraticInequalityBatchSolver.MAXIMUM_INTERVALS);
+ *
+ *     QuadraticInequalityBatchSolver.solve(coefficientsA, coefficientsB, constantsC,
+ *             QuadraticInequalityBatchSolver.Comparison.GREATER_THAN, result);
+ *
+ *     boolean isFeasible = result.contains(row, x);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class QuadraticInequalityBatchSolver {
+
+    /**
+     * The largest number of intervals of the solution set of a quadratic inequality
+     * */
+    public static final int MAXIMUM_INTERVALS = 2;
+
+    /**
+     * The comparison of ax^2 + bx + c against zero
+     * */
+    public enum Comparison
+    {
+        GREATER_THAN,
+        GREATER_THAN_OR_EQUAL,
+        LESS_THAN,
+        LESS_THAN_OR_EQUAL
+    }
+
+
+    private QuadraticInequalityBatchSolver(){
+
+    }
+
+
+    /**
+     * Solve the inequality of every row of the coefficient columns
+     *
+     * @param comparison the comparison of each ax^2 + bx + c against zero
+     * @param result the result the solution sets are written into, with at least
+     *               MAXIMUM_INTERVALS intervals per row
+     *
+     * @throws IllegalArgumentException if the columns differ in length, or the result is too small
+     * */
+    public static void solve(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                             Comparison comparison, IntervalSetBatchResult result){
+
+        if (coefficientsA.length != coefficientsB.length
+                || coefficientsA.length != constantsC.length){
+
+            throw new IllegalArgumentException("Coefficient columns differ in length: "
+                    + coefficientsA.length + ", " + coefficientsB.length + ", " + constantsC.length);
+        }
+
+        result.checkCapacity(coefficientsA.length, MAXIMUM_INTERVALS);
+
+        boolean includesPositive = comparison == Comparison.GREATER_THAN
+                || comparison == Comparison.GREATER_THAN_OR_EQUAL;
+        boolean includesNegative = comparison == Comparison.LESS_THAN
+                || comparison == Comparison.LESS_THAN_OR_EQUAL;
+        boolean includesZero = comparison == Comparison.GREATER_THAN_OR_EQUAL
+                || comparison == Comparison.LESS_THAN_OR_EQUAL;
+
+        double [] realParts = new double[2];
+        double [] imaginaryParts = new double[2];
+
+        for (int i = 0; i < coefficientsA.length; i++){
+
+            solveRow(coefficientsA[i], coefficientsB[i], constantsC[i], includesPositive, includesNegative,
+                    includesZero, realParts, imaginaryParts, result, i);
+        }
+    }
+
+
+    /**
+     * Write the intersection of the interval sets of each row of the two batches
+     *
+     * @param result the result the intersections are written into, with at least
+     *               first.getMaximumIntervals() + second.getMaximumIntervals() - 1 intervals per row
+     *
+     * @throws IllegalArgumentException if the batches differ in size, or the result is too small
+     * */
+    public static void intersect(IntervalSetBatchResult first, IntervalSetBatchResult second,
+                                 IntervalSetBatchResult result){
+
+        checkOperands(first, second, result, first.getMaximumIntervals() + second.getMaximumIntervals() - 1);
+
+        for (int row = 0; row < first.getSize(); row++){
+            intersectRow(first, second, result, row);
+        }
+    }
+
+
+    /**
+     * Write the union of the interval sets of each row of the two batches
+     *
+     * @param result the result the unions are written into, with at least
+     *               first.getMaximumIntervals() + second.getMaximumIntervals() intervals per row
+     *
+     * @throws IllegalArgumentException if the batches differ in size, or the result is too small
+     * */
+    public static void union(IntervalSetBatchResult first, IntervalSetBatchResult second,
+                             IntervalSetBatchResult result){
+
+        checkOperands(first, second, result, first.getMaximumIntervals() + second.getMaximumIntervals());
+
+        for (int row = 0; row < first.getSize(); row++){
+            unionRow(first, second, result, row);
+        }
+    }
+
+
+    /**
+     * Solve the inequality of one row, walking the regions and roots from left to right and
+     * joining the consecutive pieces which satisfy it into intervals
+     * */
+    private static void solveRow(double coefficientA, double coefficientB, double constantC,
+                                 boolean includesPositive, boolean includesNegative, boolean includesZero,
+                                 double [] realParts, double [] imaginaryParts,
+                                 IntervalSetBatchResult result, int row){
+
+        byte equationType = PolynomialRootKernels.quadraticEquationType(coefficientA, coefficientB, constantC);
+
+        int rootCount;
+        boolean isDoubleRoot = false;
+        double leadingCoefficient;
+
+        switch (equationType){
+
+            case BatchSolveResult.EQUATION_TYPE_QUADRATIC:
+                double discriminant =
+                        PolynomialRootKernels.compensatedQuadraticDiscriminant(coefficientA, coefficientB, constantC);
+
+                if (discriminant == discriminant){
+                    PolynomialRootKernels.writeQuadraticRowRoots(coefficientA, coefficientB, constantC,
+                            discriminant, equationType, realParts, imaginaryParts, 0);
+                }
+                else{
+                    //only the sign of the discriminant is needed, which the scaled one has exactly
+                    int scaleExponent =
+                            PolynomialRootKernels.quadraticScaleExponent(coefficientA, coefficientB, constantC);
+
+                    discriminant = PolynomialRootKernels.scaledQuadraticDiscriminant(coefficientA, coefficientB,
+                            constantC, scaleExponent);
+
+                    PolynomialRootKernels.writeScaledQuadraticRowRoots(coefficientA, coefficientB, constantC,
+                            discriminant, scaleExponent, equationType, realParts, imaginaryParts, 0);
+                }
+
+                double smallerRoot = Math.min(realParts[0], realParts[1]);
+                double largerRoot = Math.max(realParts[0], realParts[1]);
+
+                realParts[0] = smallerRoot;
+                realParts[1] = largerRoot;
+
+                //roots which round to the same double are a double root at this resolution
+                rootCount = discriminant > 0 && smallerRoot != largerRoot ? 2 : discriminant >= 0 ? 1 : 0;
+                isDoubleRoot = rootCount == 1;
+                leadingCoefficient = coefficientA;
+                break;
+
+            case BatchSolveResult.EQUATION_TYPE_LINEAR:
+                realParts[0] = -constantC / coefficientB;
+                rootCount = 1;
+                leadingCoefficient = coefficientB;
+                break;
+
+            case BatchSolveResult.EQUATION_TYPE_NON_FINITE:
+                result.getIntervalCounts()[row] = 0;
+                return;
+
+            default:
+                rootCount = 0;
+                leadingCoefficient = constantC;
+                break;
+        }
+
+        //the sign of the leftmost region, flipped once per simple root
+        double leftmostSign = Math.signum(leadingCoefficient) * (rootCount == 1 && !isDoubleRoot ? -1 : 1);
+
+        double [] lowerBounds = result.getLowerBounds();
+        double [] upperBounds = result.getUpperBounds();
+        byte [] closedness = result.getClosedness();
+        int offset = row * result.getMaximumIntervals();
+        int count = 0;
+
+        boolean isOpen = false;
+        double lowerBound = Double.NEGATIVE_INFINITY;
+        boolean isLowerClosed = false;
+        double regionSign = leftmostSign;
+
+        for (int region = 0; region <= rootCount; region++){
+
+            double regionLowerBound = region == 0 ? Double.NEGATIVE_INFINITY : realParts[region - 1];
+            boolean isRegionIncluded = regionSign > 0 ? includesPositive
+                    : regionSign < 0 ? includesNegative
+                    : includesZero;
+
+            if (isRegionIncluded && !isOpen){
+
+                isOpen = true;
+                lowerBound = regionLowerBound;
+                isLowerClosed = false;
+            }
+            else if (!isRegionIncluded && isOpen){
+
+                //the interval ended at the included root on the left of the region
+                count = writeInterval(lowerBounds, upperBounds, closedness, offset, count,
+                        lowerBound, isLowerClosed, regionLowerBound, true);
+                isOpen = false;
+            }
+
+            if (region == rootCount){
+                break;
+            }
+
+            double root = realParts[region];
+
+            if (includesZero && !isOpen){
+
+                isOpen = true;
+                lowerBound = root;
+                isLowerClosed = true;
+            }
+            else if (!includesZero && isOpen){
+
+                count = writeInterval(lowerBounds, upperBounds, closedness, offset, count,
+                        lowerBound, isLowerClosed, root, false);
+                isOpen = false;
+            }
+
+            regionSign = isDoubleRoot ? regionSign : -regionSign;
+        }
+
+        if (isOpen){
+            count = writeInterval(lowerBounds, upperBounds, closedness, offset, count,
+                    lowerBound, isLowerClosed, Double.POSITIVE_INFINITY, false);
+        }
+
+        result.getIntervalCounts()[row] = (byte) count;
+    }
+
+
+    /**
+     * Intersect the sorted intervals of a row of the two batches with a two-pointer walk
+     * */
+    private static void intersectRow(IntervalSetBatchResult first, IntervalSetBatchResult second,
+                                     IntervalSetBatchResult result, int row){
+
+        double [] firstLowerBounds = first.getLowerBounds();
+        double [] firstUpperBounds = first.getUpperBounds();
+        byte [] firstClosedness = first.getClosedness();
+        double [] secondLowerBounds = second.getLowerBounds();
+        double [] secondUpperBounds = second.getUpperBounds();
+        byte [] secondClosedness = second.getClosedness();
+
+        int firstOffset = row * first.getMaximumIntervals();
+        int secondOffset = row * second.getMaximumIntervals();
+        int firstEnd = firstOffset + first.getIntervalCount(row);
+        int secondEnd = secondOffset + second.getIntervalCount(row);
+        int offset = row * result.getMaximumIntervals();
+        int count = 0;
+
+        int i = firstOffset;
+        int j = secondOffset;
+
+        while (i < firstEnd && j < secondEnd){
+
+            double firstLowerBound = firstLowerBounds[i];
+            double firstUpperBound = firstUpperBounds[i];
+            double secondLowerBound = secondLowerBounds[j];
+            double secondUpperBound = secondUpperBounds[j];
+            int firstFlags = firstClosedness[i];
+            int secondFlags = secondClosedness[j];
+
+            //the larger lower bound and the smaller upper bound, closed only if closed in both on a tie
+            double lowerBound = Math.max(firstLowerBound, secondLowerBound);
+            int lowerFlag = firstLowerBound > secondLowerBound ? firstFlags
+                    : secondLowerBound > firstLowerBound ? secondFlags
+                    : firstFlags & secondFlags;
+
+            double upperBound = Math.min(firstUpperBound, secondUpperBound);
+            int upperFlag = firstUpperBound < secondUpperBound ? firstFlags
+                    : secondUpperBound < firstUpperBound ? secondFlags
+                    : firstFlags & secondFlags;
+
+            boolean isLowerClosed = (lowerFlag & IntervalSetBatchResult.LOWER_CLOSED) != 0;
+            boolean isUpperClosed = (upperFlag & IntervalSetBatchResult.UPPER_CLOSED) != 0;
+
+            if (lowerBound < upperBound || (lowerBound == upperBound && isLowerClosed && isUpperClosed)){
+
+                count = writeInterval(result.getLowerBounds(), result.getUpperBounds(), result.getClosedness(),
+                        offset, count, lowerBound, isLowerClosed, upperBound, isUpperClosed);
+            }
+
+            i += firstUpperBound <= secondUpperBound ? 1 : 0;
+            j += secondUpperBound <= firstUpperBound ? 1 : 0;
+        }
+
+        result.getIntervalCounts()[row] = (byte) count;
+    }
+
+
+    /**
+     * Unite the sorted intervals of a row of the two batches, merging them in order of
+     * their lower bounds and joining the ones which overlap or touch
+     * */
+    private static void unionRow(IntervalSetBatchResult first, IntervalSetBatchResult second,
+                                 IntervalSetBatchResult result, int row){
+
+        double [] firstLowerBounds = first.getLowerBounds();
+        double [] secondLowerBounds = second.getLowerBounds();
+
+        int firstOffset = row * first.getMaximumIntervals();
+        int secondOffset = row * second.getMaximumIntervals();
+        int firstEnd = firstOffset + first.getIntervalCount(row);
+        int secondEnd = secondOffset + second.getIntervalCount(row);
+        int offset = row * result.getMaximumIntervals();
+        int count = 0;
+
+        int i = firstOffset;
+        int j = secondOffset;
+
+        boolean isOpen = false;
+        double lowerBound = 0;
+        double upperBound = 0;
+        boolean isLowerClosed = false;
+        boolean isUpperClosed = false;
+
+        while (i < firstEnd || j < secondEnd){
+
+            boolean takesFirst = j == secondEnd
+                    || (i < firstEnd && firstLowerBounds[i] <= secondLowerBounds[j]);
+
+            IntervalSetBatchResult source = takesFirst ? first : second;
+            int index = takesFirst ? i++ : j++;
+
+            double nextLowerBound = source.getLowerBounds()[index];
+            double nextUpperBound = source.getUpperBounds()[index];
+            int nextFlags = source.getClosedness()[index];
+            boolean isNextLowerClosed = (nextFlags & IntervalSetBatchResult.LOWER_CLOSED) != 0;
+            boolean isNextUpperClosed = (nextFlags & IntervalSetBatchResult.UPPER_CLOSED) != 0;
+
+            boolean joins = isOpen && (nextLowerBound < upperBound
+                    || (nextLowerBound == upperBound && (isUpperClosed || isNextLowerClosed)));
+
+            if (joins){
+
+                isLowerClosed |= nextLowerBound == lowerBound && isNextLowerClosed;
+
+                if (nextUpperBound > upperBound){
+
+                    upperBound = nextUpperBound;
+                    isUpperClosed = isNextUpperClosed;
+                }
+                else if (nextUpperBound == upperBound){
+                    isUpperClosed |= isNextUpperClosed;
+                }
+
+                continue;
+            }
+
+            if (isOpen){
+                count = writeInterval(result.getLowerBounds(), result.getUpperBounds(), result.getClosedness(),
+                        offset, count, lowerBound, isLowerClosed, upperBound, isUpperClosed);
+            }
+
+            isOpen = true;
+            lowerBound = nextLowerBound;
+            upperBound = nextUpperBound;
+            isLowerClosed = isNextLowerClosed;
+            isUpperClosed = isNextUpperClosed;
+        }
+
+        if (isOpen){
+            count = writeInterval(result.getLowerBounds(), result.getUpperBounds(), result.getClosedness(),
+                    offset, count, lowerBound, isLowerClosed, upperBound, isUpperClosed);
+        }
+
+        result.getIntervalCounts()[row] = (byte) count;
+    }
+
+
+    /**
+     * Write an interval at offset + count of the columns, with infinite bounds open
+     *
+     * @return the new number of intervals of the row
+     * */
+    private static int writeInterval(double [] lowerBounds, double [] upperBounds, byte [] closedness,
+                                     int offset, int count, double lowerBound, boolean isLowerClosed,
+                                     double upperBound, boolean isUpperClosed){
+
+        boolean isLowerFinite = lowerBound != Double.NEGATIVE_INFINITY;
+        boolean isUpperFinite = upperBound != Double.POSITIVE_INFINITY;
+
+        lowerBounds[offset + count] = lowerBound;
+        upperBounds[offset + count] = upperBound;
+        closedness[offset + count] = (byte) ((isLowerClosed && isLowerFinite ? IntervalSetBatchResult.LOWER_CLOSED : 0)
+                | (isUpperClosed && isUpperFinite ? IntervalSetBatchResult.UPPER_CLOSED : 0));
+
+        return count + 1;
+    }
+
+
+    private static void checkOperands(IntervalSetBatchResult first, IntervalSetBatchResult second,
+                                      IntervalSetBatchResult result, int requiredIntervals){
+
+        if (first.getSize() != second.getSize()){
+            throw new IllegalArgumentException("Interval set batches differ in size: "
+                    + first.getSize() + ", " + second.getSize());
+        }
+
+        result.checkCapacity(first.getSize(), requiredIntervals);
+    }
+}
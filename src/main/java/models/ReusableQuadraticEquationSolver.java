@@ -0,0 +1,303 @@
+package models;
+
+
+/**
+ * A mutable quadratic equation solver which is solved again in place for every equation,
+ * for callers which solve many single equations and cannot move to the batch API
+ *
+ * The solution is written into storage allocated once per solver, including the vertex
+ * and the complex roots, and is the same as the one of QuadraticEquationSolver. The
+ * primitive getters (getFirstRootRealPart() and so on) read it without any allocation;
+ * getFirstRoot() and getSecondRoot() box real roots into Double objects
+ *
+ * The vertex and the complex roots returned by the getters are the internal objects
+ * (not copies), which are overwritten by the next solve(). A solver is not thread-safe
+ *
+ * Solvers are taken from a small pool per thread with acquire(), and given back with close(),
+ * so legacy code only has to replace the constructor call:
+ * <pre>
+ *     //instead of QuadraticEquationSolver solver = new QuadraticEquationSolver(6, 11, -35);
+ *
+ *     try (ReusableQuadraticEquationSolver solver = ReusableQuadraticEquationSolver.acquire()){
+ *
+ *         solver.solve(6, 11, -35);
+ *
+ *         double discriminant = solver.getDiscriminant();
+ *         double firstRoot = solver.getFirstRootRealPart();
+ *     }
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class ReusableQuadraticEquationSolver implements IQuadraticEquationSolver, AutoCloseable {
+
+    /**
+     * The largest number of released solvers kept by the pool of each thread
+     * */
+    public static final int MAXIMUM_POOLED_SOLVERS = 8;
+
+    private static final ThreadLocal<Pool> POOLS = ThreadLocal.withInitial(Pool::new);
+
+    private final BatchSolveResult solution = new BatchSolveResult(1);
+    private final IComplexNumber firstComplexRoot = new ComplexNumber();
+    private final IComplexNumber secondComplexRoot = new ComplexNumber();
+    private final IVertex vertex = new Vertex();
+
+    private double coefficientA;
+    private double coefficientB;
+    private double constantC;
+
+    private boolean pooled;
+
+
+    /**
+     * Create a solver holding the solution of the identity equation 0 = 0, until
+     * solve() is called
+     * */
+    public ReusableQuadraticEquationSolver(){
+        solve(0, 0, 0);
+    }
+
+
+    /**
+     * Returns a solver from the pool of the current thread, or a new one if the pool is
+     * empty. Closing the solver gives it back to the pool
+     * */
+    public static ReusableQuadraticEquationSolver acquire(){
+
+        ReusableQuadraticEquationSolver solver = POOLS.get().take();
+        solver.pooled = false;
+
+        return solver;
+    }
+
+
+    /**
+     * Give the solver back to the pool of the current thread, unless the pool is full or
+     * the solver is already pooled. The solver must not be used afterwards
+     * */
+    @Override
+    public void close(){
+
+        if (this.pooled){
+            return;
+        }
+
+        this.pooled = true;
+        POOLS.get().give(this);
+    }
+
+
+    /**
+     * Solve the quadratic equation ax^2 + bx + c = 0, replacing the previous solution
+     *
+     * @param coefficientA the coefficient a of the quadratic equation
+     * @param coefficientB the coefficient b of the quadratic equation
+     * @param constantC the constant c of the quadratic equation
+     *
+     * @return this solver
+     * */
+    public ReusableQuadraticEquationSolver solve(double coefficientA, double coefficientB, double constantC){
+
+        this.coefficientA = coefficientA;
+        this.coefficientB = coefficientB;
+        this.constantC = constantC;
+
+        PolynomialRootKernels.solveQuadraticRow(coefficientA, coefficientB, constantC, this.solution, 0);
+
+        this.firstComplexRoot.setRealPart(getFirstRootRealPart());
+        this.firstComplexRoot.setImaginaryPart(getFirstRootImaginaryPart());
+        this.secondComplexRoot.setRealPart(getSecondRootRealPart());
+        this.secondComplexRoot.setImaginaryPart(getSecondRootImaginaryPart());
+
+        this.vertex.setXCoordinate(this.solution.getVertexXCoordinates()[0]);
+        this.vertex.setYCoordinate(this.solution.getVertexYCoordinates()[0]);
+
+        return this;
+    }
+
+
+    @Override
+    public double getCoefficientA() {
+        return this.coefficientA;
+    }
+
+
+    @Override
+    public double getCoefficientB() {
+        return this.coefficientB;
+    }
+
+
+    @Override
+    public double getConstantC() {
+        return this.constantC;
+    }
+
+
+    @Override
+    public double getDiscriminant(){
+        return this.solution.getDiscriminants()[0];
+    }
+
+
+    @Override
+    public QuadraticEquationSolver.EquationType getEquationType(){
+        return this.solution.getEquationType(0);
+    }
+
+
+    @Override
+    public QuadraticEquationSolver.RootType getRootType(){
+        return this.solution.getRootType(0);
+    }
+
+
+    /**
+     * Returns the internal complex root when the roots are complex, which is overwritten
+     * by the next solve()
+     * */
+    @Override
+    public Object getFirstRoot(){
+        return rootObject(this.firstComplexRoot);
+    }
+
+
+    /**
+     * Returns the internal complex root when the roots are complex, which is overwritten
+     * by the next solve()
+     * */
+    @Override
+    public Object getSecondRoot(){
+
+        //a linear equation has no second root
+        return getRootType() == QuadraticEquationSolver.RootType.SINGLE_REAL
+                ? null
+                : rootObject(this.secondComplexRoot);
+    }
+
+
+    /**
+     * Returns the internal vertex, which is overwritten by the next solve()
+     * */
+    @Override
+    public IVertex getVertex(){
+        return this.vertex;
+    }
+
+
+    @Override
+    public double getSumOfRoots(){
+        return this.solution.getSumsOfRoots()[0];
+    }
+
+
+    @Override
+    public double getProductOfRoots(){
+        return this.solution.getProductsOfRoots()[0];
+    }
+
+
+    /**
+     * Returns the real part of the first root, or NaN when getRootType() is null
+     * */
+    public double getFirstRootRealPart(){
+        return this.solution.getRootRealPart(0, 0);
+    }
+
+
+    /**
+     * Returns the imaginary part of the first root, which is 0 for real roots
+     * */
+    public double getFirstRootImaginaryPart(){
+        return this.solution.getRootImaginaryPart(0, 0);
+    }
+
+
+    /**
+     * Returns the real part of the second root, or NaN when getRootType() is SINGLE_REAL or null
+     * */
+    public double getSecondRootRealPart(){
+        return this.solution.getRootRealPart(0, 1);
+    }
+
+
+    /**
+     * Returns the imaginary part of the second root, which is 0 for real roots, or NaN when
+     * there is no second root
+     * */
+    public double getSecondRootImaginaryPart(){
+        return this.solution.getRootImaginaryPart(0, 1);
+    }
+
+
+    /**
+     * Returns the x-coordinate of the vertex, or NaN for a degenerate equation
+     * */
+    public double getVertexXCoordinate(){
+        return this.solution.getVertexXCoordinates()[0];
+    }
+
+
+    /**
+     * Returns the y-coordinate of the vertex, or NaN for a degenerate equation
+     * */
+    public double getVertexYCoordinate(){
+        return this.solution.getVertexYCoordinates()[0];
+    }
+
+
+    /**
+     * Returns a root in the form of QuadraticEquationSolver: the complex root, its real
+     * part boxed into a Double, or null
+     * */
+    private Object rootObject(IComplexNumber root){
+
+        QuadraticEquationSolver.RootType rootType = getRootType();
+
+        if (rootType == null){
+
+            return null;
+        }
+        else if (rootType == QuadraticEquationSolver.RootType.COMPLEX){
+
+            return root;
+        }
+        else{
+            return root.getRealPart();
+        }
+    }
+
+
+    /**
+     * The released solvers of one thread
+     * */
+    private static final class Pool {
+
+        private final ReusableQuadraticEquationSolver [] solvers =
+                new ReusableQuadraticEquationSolver[MAXIMUM_POOLED_SOLVERS];
+
+        private int count;
+
+
+        private ReusableQuadraticEquationSolver take(){
+
+            if (this.count == 0){
+                return new ReusableQuadraticEquationSolver();
+            }
+
+            ReusableQuadraticEquationSolver solver = this.solvers[--this.count];
+            this.solvers[this.count] = null;
+
+            return solver;
+        }
+
+
+        private void give(ReusableQuadraticEquationSolver solver){
+
+            if (this.count < this.solvers.length){
+                this.solvers[this.count++] = solver;
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package models;
+
+
+/**
+ * The sensitivity of a root r of ax^2 + bx + c = 0 to the coefficients: the partial
+ * derivatives dr/da, dr/db and dr/dc, and the condition number of the root
+ *
+ * The derivatives of a complex root are complex, so each has a real and an imaginary part;
+ * the imaginary parts of the derivatives of a real root are 0
+ *
+ * The condition number bounds the relative change of the root per relative change of the
+ * coefficients, so a root computed in double precision has a relative error of about
+ * getConditionNumber() * 2^-53. A double root and a root at 0 have an infinite condition
+ * number: the relative error of a root at 0 is unbounded. See
+ * PolynomialRootKernels.writeQuadraticRootSensitivity() for the formulas
+ *
+ * Example usage:
+ * <pre>
+ *     RootSensitivity sensitivity = new QuadraticEquationSolver(1, -2, 1 - 1e-10).getFirstRootSensitivity();
+ *
+ *     boolean isTrusted = sensitivity.getConditionNumber() &lt; 1e6;
+ * </pre>
+ *
+ * A RootSensitivity is immutable, and can be shared between threads
+ *
+ * @author Terence Lee
+ * */
+public final class RootSensitivity {
+
+    /**
+     * The number of values written per root by PolynomialRootKernels.writeQuadraticRootSensitivity()
+     * */
+    static final int VALUES = 7;
+
+    private final double derivativeARealPart;
+    private final double derivativeAImaginaryPart;
+    private final double derivativeBRealPart;
+    private final double derivativeBImaginaryPart;
+    private final double derivativeCRealPart;
+    private final double derivativeCImaginaryPart;
+    private final double conditionNumber;
+
+
+    /**
+     * Compute the sensitivity of a root of ax^2 + bx + c = 0
+     * */
+    RootSensitivity(double coefficientA, double coefficientB, double constantC,
+                    double rootRealPart, double rootImaginaryPart){
+
+        double [] values = new double[VALUES];
+
+        PolynomialRootKernels.writeQuadraticRootSensitivity(coefficientA, coefficientB, constantC,
+                rootRealPart, rootImaginaryPart, values);
+
+        this.derivativeARealPart = values[0];
+        this.derivativeAImaginaryPart = values[1];
+        this.derivativeBRealPart = values[2];
+        this.derivativeBImaginaryPart = values[3];
+        this.derivativeCRealPart = values[4];
+        this.derivativeCImaginaryPart = values[5];
+        this.conditionNumber = values[6];
+    }
+
+
+    /**
+     * Returns the real part of dr/da = -r^2/(2ar + b)
+     * */
+    public double getDerivativeWithRespectToA(){
+        return this.derivativeARealPart;
+    }
+
+
+    /**
+     * Returns the imaginary part of dr/da, 0 for a real root
+     * */
+    public double getImaginaryDerivativeWithRespectToA(){
+        return this.derivativeAImaginaryPart;
+    }
+
+
+    /**
+     * Returns the real part of dr/db = -r/(2ar + b)
+     * */
+    public double getDerivativeWithRespectToB(){
+        return this.derivativeBRealPart;
+    }
+
+
+    /**
+     * Returns the imaginary part of dr/db, 0 for a real root
+     * */
+    public double getImaginaryDerivativeWithRespectToB(){
+        return this.derivativeBImaginaryPart;
+    }
+
+
+    /**
+     * Returns the real part of dr/dc = -1/(2ar + b)
+     * */
+    public double getDerivativeWithRespectToC(){
+        return this.derivativeCRealPart;
+    }
+
+
+    /**
+     * Returns the imaginary part of dr/dc, 0 for a real root
+     * */
+    public double getImaginaryDerivativeWithRespectToC(){
+        return this.derivativeCImaginaryPart;
+    }
+
+
+    /**
+     * Returns the condition number (|a||r|^2 + |b||r| + |c|)/(|r||2ar + b|) of the root,
+     * which is infinite for r == 0 and for a double root
+     * */
+    public double getConditionNumber(){
+        return this.conditionNumber;
+    }
+}
@@ -0,0 +1,190 @@
+package models;
+
+
+/**
+ * Holds the sensitivity of the roots of a batch of quadratic equations to their
+ * coefficients as primitive columns, see RootSensitivity for the values
+ *
+ * Each column holds two values per row, for the first and the second root, at 2 * row
+ * and 2 * row + 1 like the root columns of BatchSolveResult. The rows without roots hold
+ * NaN
+ *
+ * The getters of the columns return the backing arrays (not copies)
+ *
+ * Example usage:
+ * <pre>
+ *     BatchSolveResult result = new BatchSolveResult(coefficientsA.length);
+ *     RootSensitivityBatchResult sensitivity = new RootSensitivityBatchResult(coefficientsA.length);
+ *
+ *     QuadraticEquationBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result, sensitivity);
+ *
+ *     boolean isTrusted = sensitivity.getConditionNumber(row) &lt; 1e6;
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public class RootSensitivityBatchResult {
+
+    private final int size;
+
+    private final double [] derivativeARealParts;
+    private final double [] derivativeAImaginaryParts;
+    private final double [] derivativeBRealParts;
+    private final double [] derivativeBImaginaryParts;
+    private final double [] derivativeCRealParts;
+    private final double [] derivativeCImaginaryParts;
+    private final double [] conditionNumbers;
+
+
+    /**
+     * Create the columns for a batch of quadratic equations
+     *
+     * @param size the number of equations (rows) the result can hold
+     *
+     * @throws IllegalArgumentException if the size is negative
+     * */
+    public RootSensitivityBatchResult(int size){
+
+        if (size < 0){
+            throw new IllegalArgumentException("Size must not be negative: " + size);
+        }
+
+        this.size = size;
+
+        this.derivativeARealParts = new double[2 * size];
+        this.derivativeAImaginaryParts = new double[2 * size];
+        this.derivativeBRealParts = new double[2 * size];
+        this.derivativeBImaginaryParts = new double[2 * size];
+        this.derivativeCRealParts = new double[2 * size];
+        this.derivativeCImaginaryParts = new double[2 * size];
+        this.conditionNumbers = new double[2 * size];
+    }
+
+
+    /**
+     * Returns the number of equations (rows) the result can hold
+     * */
+    public int getSize() {
+        return this.size;
+    }
+
+
+    /**
+     * Returns the real parts of dr/da, two per row
+     * */
+    public double[] getDerivativeARealParts() {
+        return this.derivativeARealParts;
+    }
+
+
+    /**
+     * Returns the imaginary parts of dr/da, two per row
+     * */
+    public double[] getDerivativeAImaginaryParts() {
+        return this.derivativeAImaginaryParts;
+    }
+
+
+    /**
+     * Returns the real parts of dr/db, two per row
+     * */
+    public double[] getDerivativeBRealParts() {
+        return this.derivativeBRealParts;
+    }
+
+
+    /**
+     * Returns the imaginary parts of dr/db, two per row
+     * */
+    public double[] getDerivativeBImaginaryParts() {
+        return this.derivativeBImaginaryParts;
+    }
+
+
+    /**
+     * Returns the real parts of dr/dc, two per row
+     * */
+    public double[] getDerivativeCRealParts() {
+        return this.derivativeCRealParts;
+    }
+
+
+    /**
+     * Returns the imaginary parts of dr/dc, two per row
+     * */
+    public double[] getDerivativeCImaginaryParts() {
+        return this.derivativeCImaginaryParts;
+    }
+
+
+    /**
+     * Returns the condition numbers of the roots, two per row
+     * */
+    public double[] getConditionNumbers() {
+        return this.conditionNumbers;
+    }
+
+
+    /**
+     * Returns the larger condition number of the two roots of a row, the condition number
+     * of the single root of a linear row, and NaN for a row without roots
+     *
+     * @param row the index of the equation
+     * */
+    public double getConditionNumber(int row){
+
+        double first = this.conditionNumbers[2 * row];
+        double second = this.conditionNumbers[2 * row + 1];
+
+        return Double.isNaN(second) ? first : Math.max(first, second);
+    }
+
+
+    /**
+     * Returns the number of rows among the first size whose condition number is larger
+     * than the threshold, or which have no roots, which are the rows to re-solve at a higher
+     * precision
+     *
+     * @param threshold the largest condition number trusted
+     * */
+    public int countIllConditioned(int size, double threshold){
+
+        int count = 0;
+
+        for (int row = 0; row < size; row++){
+            count += getConditionNumber(row) <= threshold ? 0 : 1;
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Store the values written by PolynomialRootKernels.writeQuadraticRootSensitivity() for
+     * the root at index 2 * row + rootIndex
+     * */
+    void setRoot(int index, double [] values){
+
+        this.derivativeARealParts[index] = values[0];
+        this.derivativeAImaginaryParts[index] = values[1];
+        this.derivativeBRealParts[index] = values[2];
+        this.derivativeBImaginaryParts[index] = values[3];
+        this.derivativeCRealParts[index] = values[4];
+        this.derivativeCImaginaryParts[index] = values[5];
+        this.conditionNumbers[index] = values[6];
+    }
+
+
+    /**
+     * Check that the result has enough rows
+     *
+     * @throws IllegalArgumentException if the result is too small
+     * */
+    void checkCapacity(int requiredSize){
+
+        if (this.size < requiredSize){
+            throw new IllegalArgumentException("Result holds " + this.size
+                    + " rows but " + requiredSize + " are required");
+        }
+    }
+}
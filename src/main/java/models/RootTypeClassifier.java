@@ -0,0 +1,204 @@
+package models;
+
+
+/**
+ * Classifies batches of quadratic equations by root type from the sign of the discriminant
+ * b^2 - 4ac alone, for the workloads which do not need the roots
+ *
+ * Row i of the batch is the quadratic equation
+ * coefficientsA[i]x^2 + coefficientsB[i]x + constantsC[i] = 0, and its root type code is
+ * the same as the one QuadraticEquationBatchSolver writes (see the ROOT_TYPE_ constants of
+ * BatchSolveResult), including ROOT_TYPE_NONE for the degenerate rows
+ *
+ * The discriminant is computed with FMA error compensation, so the sign is exact near 0.
+ * Nothing else is computed, and each loop reads the three coefficient columns once and has no
+ * data dependent branch, so it can be compiled to SIMD code and is bound by memory bandwidth
+ *
+ * Three outputs are available:
+ *      (a) classify --> one byte per row
+ *      (b) classifyPacked --> 3 bits per row, 21 rows per long
+ *      (c) count --> only the number of rows of each root type
+ *
+ * Example usage:
+ * <pre>
+ *     int [] counts = RootTypeClassifier.count(coefficientsA, coefficientsB, constantsC);
+ *
+ *     int complexRows = counts[BatchSolveResult.ROOT_TYPE_COMPLEX];
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class RootTypeClassifier {
+
+    /**
+     * The number of bits of the root type code of one row in a packed bitmap
+     * */
+    public static final int BITS_PER_ROW = 3;
+
+    /**
+     * The number of rows packed into one long of a bitmap
+     * */
+    public static final int ROWS_PER_WORD = Long.SIZE / BITS_PER_ROW;
+
+    private static final long ROW_MASK = (1L << BITS_PER_ROW) - 1;
+
+
+    private RootTypeClassifier(){
+
+    }
+
+
+    /**
+     * Write the root type code of every row of the coefficient columns
+     *
+     * @param rootTypes the column the root type codes are written into
+     *
+     * @throws IllegalArgumentException if the columns differ in length, or rootTypes is too small
+     * */
+    public static void classify(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                                byte [] rootTypes){
+
+        int size = checkColumns(coefficientsA, coefficientsB, constantsC);
+        checkOutput(rootTypes.length, size);
+
+        for (int i = 0; i < size; i++){
+            rootTypes[i] = rootType(coefficientsA[i], coefficientsB[i], constantsC[i]);
+        }
+    }
+
+
+    /**
+     * Write the root type code of every row of the coefficient columns into a bitmap, row i
+     * taking bits [3 * (i % 21), 3 * (i % 21) + 3) of word i / 21. The unused bits of each
+     * word (the top bit, and the rows past the end in the last word) are 0
+     *
+     * @param bitmap the words the codes are written into, at least packedLength(rows) long
+     *
+     * @throws IllegalArgumentException if the columns differ in length, or the bitmap is too small
+     * */
+    public static void classifyPacked(double [] coefficientsA, double [] coefficientsB,
+                                      double [] constantsC, long [] bitmap){
+
+        int size = checkColumns(coefficientsA, coefficientsB, constantsC);
+        checkOutput(bitmap.length, packedLength(size));
+
+        for (int wordStart = 0; wordStart < size; wordStart += ROWS_PER_WORD){
+
+            int wordEnd = Math.min(size, wordStart + ROWS_PER_WORD);
+            long word = 0;
+
+            for (int i = wordStart; i < wordEnd; i++){
+
+                long code = rootType(coefficientsA[i], coefficientsB[i], constantsC[i]);
+                word |= code << (BITS_PER_ROW * (i - wordStart));
+            }
+
+            bitmap[wordStart / ROWS_PER_WORD] = word;
+        }
+    }
+
+
+    /**
+     * Returns the number of rows of each root type, indexed by the root type code
+     *
+     * @throws IllegalArgumentException if the columns differ in length
+     * */
+    public static int[] count(double [] coefficientsA, double [] coefficientsB, double [] constantsC){
+
+        int size = checkColumns(coefficientsA, coefficientsB, constantsC);
+
+        //one counter per code instead of counts[code]++, which would serialize the loop
+        //on the stores to the same element
+        int realAndEqual = 0;
+        int realAndDistinct = 0;
+        int complex = 0;
+        int singleReal = 0;
+
+        for (int i = 0; i < size; i++){
+
+            byte code = rootType(coefficientsA[i], coefficientsB[i], constantsC[i]);
+
+            realAndEqual += code == BatchSolveResult.ROOT_TYPE_REAL_AND_EQUAL ? 1 : 0;
+            realAndDistinct += code == BatchSolveResult.ROOT_TYPE_REAL_AND_DISTINCT ? 1 : 0;
+            complex += code == BatchSolveResult.ROOT_TYPE_COMPLEX ? 1 : 0;
+            singleReal += code == BatchSolveResult.ROOT_TYPE_SINGLE_REAL ? 1 : 0;
+        }
+
+        int [] counts = new int[RootTypePartition.ROOT_TYPE_CODES];
+        counts[BatchSolveResult.ROOT_TYPE_REAL_AND_EQUAL] = realAndEqual;
+        counts[BatchSolveResult.ROOT_TYPE_REAL_AND_DISTINCT] = realAndDistinct;
+        counts[BatchSolveResult.ROOT_TYPE_COMPLEX] = complex;
+        counts[BatchSolveResult.ROOT_TYPE_SINGLE_REAL] = singleReal;
+        counts[BatchSolveResult.ROOT_TYPE_NONE] = size - realAndEqual - realAndDistinct - complex - singleReal;
+
+        return counts;
+    }
+
+
+    /**
+     * Returns the number of longs of a bitmap holding the codes of the given number of rows
+     * */
+    public static int packedLength(int rows){
+        return (rows + ROWS_PER_WORD - 1) / ROWS_PER_WORD;
+    }
+
+
+    /**
+     * Returns the root type code of a row of a bitmap written by classifyPacked
+     *
+     * @param bitmap the packed root type codes
+     * @param row the index of the equation
+     * */
+    public static byte getPackedRootType(long [] bitmap, int row){
+
+        long word = bitmap[row / ROWS_PER_WORD];
+
+        return (byte) ((word >>> (BITS_PER_ROW * (row % ROWS_PER_WORD))) & ROW_MASK);
+    }
+
+
+    /**
+     * Returns the root type code of ax^2 + bx + c = 0 without computing its roots
+     * */
+    static byte rootType(double coefficientA, double coefficientB, double constantC){
+
+        double discriminant =
+                PolynomialRootKernels.compensatedQuadraticDiscriminant(coefficientA, coefficientB, constantC);
+
+        //only the sign is needed, which the scaled discriminant has exactly
+        if (discriminant != discriminant){
+            discriminant = PolynomialRootKernels.scaledQuadraticDiscriminant(coefficientA, coefficientB, constantC,
+                    PolynomialRootKernels.quadraticScaleExponent(coefficientA, coefficientB, constantC));
+        }
+        byte equationType = PolynomialRootKernels.quadraticEquationType(coefficientA, coefficientB, constantC);
+
+        return PolynomialRootKernels.quadraticRootType(equationType, discriminant);
+    }
+
+
+    /**
+     * Returns the length of the coefficient columns
+     *
+     * @throws IllegalArgumentException if they differ in length
+     * */
+    private static int checkColumns(double [] coefficientsA, double [] coefficientsB, double [] constantsC){
+
+        if (coefficientsA.length != coefficientsB.length
+                || coefficientsA.length != constantsC.length){
+
+            throw new IllegalArgumentException("Coefficient columns differ in length: "
+                    + coefficientsA.length + ", " + coefficientsB.length + ", " + constantsC.length);
+        }
+
+        return coefficientsA.length;
+    }
+
+
+    private static void checkOutput(int length, int requiredLength){
+
+        if (length < requiredLength){
+            throw new IllegalArgumentException("Output holds " + length
+                    + " entries but " + requiredLength + " are required");
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package models;
+
+import java.util.Arrays;
+
+
+/**
+ * A permutation of the rows of a solved batch which groups them by root type, so that
+ * downstream loops can run over ranges holding a single root type instead of branching
+ * on the root type of every row
+ *
+ * The rows are grouped with a stable counting sort: the rows of each root type keep their
+ * original order, and the groups come in the order of the ROOT_TYPE_ codes of
+ * BatchSolveResult (REAL_AND_EQUAL, REAL_AND_DISTINCT, COMPLEX, SINGLE_REAL, then NONE)
+ *
+ * A partition holds scratch arrays which are reused by every call, so it is not
+ * thread-safe: each thread partitioning batches needs its own partition
+ *
+ * Example usage:
+ * <pre>
+ *     RootTypePartition partition = new RootTypePartition(coefficientsA.length);
+ *
+ *     QuadraticEquationBatchSolver.solvePartitioned(coefficientsA, coefficientsB, constantsC,
+ *             result, partition);
+ *
+ *     int [] rows = partition.getPermutation();
+ *
+ *     for (int i = partition.getStart(BatchSolveResult.ROOT_TYPE_COMPLEX);
+ *          i < partition.getEnd(BatchSolveResult.ROOT_TYPE_COMPLEX); i++){
+ *
+ *         double imaginaryPart = result.getRootImaginaryPart(rows[i], 1);
+ *     }
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public class RootTypePartition {
+
+    /**
+     * The number of root type codes, including ROOT_TYPE_NONE
+     * */
+    static final int ROOT_TYPE_CODES = BatchSolveResult.ROOT_TYPE_NONE + 1;
+
+    private final int [] permutation;
+    private final int [] counts;
+    private final int [] starts;
+    private final int [] nextSlots;
+
+    private int size;
+
+
+    /**
+     * Create an empty partition
+     *
+     * @param capacity the largest number of rows the partition can hold
+     *
+     * @throws IllegalArgumentException if the capacity is negative
+     * */
+    public RootTypePartition(int capacity){
+
+        if (capacity < 0){
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+
+        this.permutation = new int[capacity];
+        this.counts = new int[ROOT_TYPE_CODES];
+        this.starts = new int[ROOT_TYPE_CODES + 1];
+        this.nextSlots = new int[ROOT_TYPE_CODES];
+    }
+
+
+    /**
+     * Partition the first size rows of a root type column
+     *
+     * @param rootTypes the root type codes, see the ROOT_TYPE_ constants of BatchSolveResult
+     * @param size the number of rows to partition
+     *
+     * @throws IllegalArgumentException if the size does not fit the column or the partition
+     * */
+    public void partition(byte [] rootTypes, int size){
+
+        checkSize(rootTypes, size);
+
+        clearCounts();
+        addCounts(rootTypes, 0, size);
+
+        partitionCounted(rootTypes, size);
+    }
+
+
+    /**
+     * Partition the first size rows of a root type column, whose counts per root type
+     * have already been stored by addCounts()
+     * */
+    void partitionCounted(byte [] rootTypes, int size){
+
+        this.size = size;
+
+        //exclusive prefix sums, the next free slot of each root type
+        for (int code = 0; code < ROOT_TYPE_CODES; code++){
+
+            this.starts[code + 1] = this.starts[code] + this.counts[code];
+            this.nextSlots[code] = this.starts[code];
+        }
+
+        for (int row = 0; row < size; row++){
+            this.permutation[this.nextSlots[rootTypes[row]]++] = row;
+        }
+    }
+
+
+    /**
+     * Clear the counts per root type before they are accumulated with addCounts()
+     * */
+    void clearCounts(){
+        Arrays.fill(this.counts, 0);
+    }
+
+
+    /**
+     * Add the counts per root type of the rows [fromRow, toRow)
+     * */
+    void addCounts(byte [] rootTypes, int fromRow, int toRow){
+
+        for (int row = fromRow; row < toRow; row++){
+            this.counts[rootTypes[row]]++;
+        }
+    }
+
+
+    /**
+     * Check that size rows fit the root type column and the partition
+     *
+     * @throws IllegalArgumentException if they do not
+     * */
+    void checkSize(byte [] rootTypes, int size){
+
+        if (size < 0 || size > rootTypes.length || size > this.permutation.length){
+            throw new IllegalArgumentException("Cannot partition " + size + " rows of "
+                    + rootTypes.length + " into a partition of capacity " + this.permutation.length);
+        }
+    }
+
+
+    /**
+     * Returns the number of rows partitioned
+     * */
+    public int getSize() {
+        return this.size;
+    }
+
+
+    /**
+     * Returns the row indexes grouped by root type. The entries from getSize() onwards
+     * are unused. Returns the backing array (not a copy)
+     * */
+    public int[] getPermutation() {
+        return this.permutation;
+    }
+
+
+    /**
+     * Returns the number of rows of a root type
+     *
+     * @param rootType a root type code, see the ROOT_TYPE_ constants of BatchSolveResult
+     * */
+    public int getCount(byte rootType){
+        return this.counts[rootType];
+    }
+
+
+    /**
+     * Returns the index in the permutation of the first row of a root type
+     *
+     * @param rootType a root type code, see the ROOT_TYPE_ constants of BatchSolveResult
+     * */
+    public int getStart(byte rootType){
+        return this.starts[rootType];
+    }
+
+
+    /**
+     * Returns the index in the permutation after the last row of a root type
+     *
+     * @param rootType a root type code, see the ROOT_TYPE_ constants of BatchSolveResult
+     * */
+    public int getEnd(byte rootType){
+        return this.starts[rootType + 1];
+    }
+}
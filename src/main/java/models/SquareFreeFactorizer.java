@@ -0,0 +1,274 @@
+package models;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Splits integers into a square and a square-free part, n = k^2 * r, which simplifies the
+ * square root of a discriminant to k√r
+ *
+ * The integers up to the sieve bound are factored with a precomputed smallest-prime-factor
+ * sieve in O(log n) steps. Larger integers are trial divided by the primes of the sieve up to
+ * the cube root of what is left to factor (beyond that bound, what is left has at most two
+ * prime factors, so it is either square-free or a perfect square), and their square factors
+ * are kept in a concurrent cache. A bound of 2^16 covers every n up to 2.8 * 10^14 with
+ * primes of the sieve alone, so square roots of discriminants up to 10^12 are simplified in
+ * at most a few thousand divisions, and in one lookup when cached
+ *
+ * A factorizer is thread-safe
+ *
+ * Example usage:
+ * <pre>
+ *     SquareFreeFactorizer factorizer = SquareFreeFactorizer.getDefault();
+ *
+ *     long squareFactor = factorizer.squareFactor(180); // 6, as 180 = 6^2 * 5
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class SquareFreeFactorizer {
+
+    /**
+     * The sieve bound of the default factorizer
+     * */
+    public static final int DEFAULT_SIEVE_BOUND = 1 << 16;
+
+    /**
+     * The number of cached square factors of the default factorizer
+     * */
+    public static final int DEFAULT_CACHE_CAPACITY = 1 << 16;
+
+    private final int [] smallestPrimeFactors;
+    private final int [] primes;
+
+    private final int cacheCapacity;
+    private final ConcurrentHashMap<Long, Long> cache;
+
+
+    /**
+     * Create a factorizer and sieve the integers up to the bound
+     *
+     * @param sieveBound the largest integer of the smallest-prime-factor sieve
+     * @param cacheCapacity the largest number of square factors cached for integers above
+     *                      the bound, 0 for no cache
+     *
+     * @throws IllegalArgumentException if the bound is less than 2 or the capacity is negative
+     * */
+    public SquareFreeFactorizer(int sieveBound, int cacheCapacity){
+
+        if (sieveBound < 2 || sieveBound == Integer.MAX_VALUE){
+            throw new IllegalArgumentException("Sieve bound must be between 2 and "
+                    + (Integer.MAX_VALUE - 1) + ": " + sieveBound);
+        }
+
+        if (cacheCapacity < 0){
+            throw new IllegalArgumentException("Cache capacity must not be negative: " + cacheCapacity);
+        }
+
+        this.smallestPrimeFactors = sieve(sieveBound);
+        this.primes = primesOf(this.smallestPrimeFactors);
+
+        this.cacheCapacity = cacheCapacity;
+        this.cache = new ConcurrentHashMap<>();
+    }
+
+
+    /**
+     * Returns the factorizer shared by the exact solvers, created on first use with
+     * DEFAULT_SIEVE_BOUND and DEFAULT_CACHE_CAPACITY
+     * */
+    public static SquareFreeFactorizer getDefault(){
+        return DefaultFactorizerHolder.INSTANCE;
+    }
+
+
+    /**
+     * Getter for the largest integer of the sieve
+     * */
+    public int getSieveBound(){
+        return this.smallestPrimeFactors.length - 1;
+    }
+
+
+    /**
+     * Returns the largest k such that k^2 divides n
+     *
+     * @throws IllegalArgumentException if n is negative
+     * */
+    public long squareFactor(long n){
+
+        if (n < 0){
+            throw new IllegalArgumentException("Integer must not be negative: " + n);
+        }
+
+        if (n < this.smallestPrimeFactors.length){
+            return sievedSquareFactor((int) n);
+        }
+
+        if (this.cacheCapacity == 0){
+            return trialDividedSquareFactor(n);
+        }
+
+        Long cachedSquareFactor = this.cache.get(n);
+
+        if (cachedSquareFactor != null){
+            return cachedSquareFactor;
+        }
+
+        long squareFactor = trialDividedSquareFactor(n);
+
+        //the size is only approximate under contention, which is fine for a bound
+        if (this.cache.size() < this.cacheCapacity){
+            this.cache.put(n, squareFactor);
+        }
+
+        return squareFactor;
+    }
+
+
+    /**
+     * Returns the square-free part r of n = k^2 * r, which is 1 for n == 0
+     *
+     * @throws IllegalArgumentException if n is negative
+     * */
+    public long squareFreePart(long n){
+
+        long squareFactor = squareFactor(n);
+
+        return n == 0 ? 1 : n / squareFactor / squareFactor;
+    }
+
+
+    /**
+     * Returns the number of cached square factors
+     * */
+    public int getCachedCount(){
+        return this.cache.size();
+    }
+
+
+    private long sievedSquareFactor(int n){
+
+        long squareFactor = 1;
+
+        while (n > 1){
+
+            int prime = this.smallestPrimeFactors[n];
+            int exponent = 0;
+
+            while (n % prime == 0){
+
+                n /= prime;
+                exponent++;
+            }
+
+            for (int i = 0; i < exponent / 2; i++){
+                squareFactor *= prime;
+            }
+        }
+
+        return n == 0 ? 0 : squareFactor;
+    }
+
+
+    private long trialDividedSquareFactor(long n){
+
+        long squareFactor = 1;
+        long divisor = 2;
+        int primeIndex = 0;
+
+        //the primes of the sieve first, then every odd integer past the bound of the sieve
+        while (divisor <= n / divisor / divisor){
+
+            if (n % divisor == 0){
+
+                int exponent = 0;
+
+                while (n % divisor == 0){
+
+                    n /= divisor;
+                    exponent++;
+                }
+
+                for (int i = 0; i < exponent / 2; i++){
+                    squareFactor *= divisor;
+                }
+            }
+
+            primeIndex++;
+            divisor = primeIndex < this.primes.length ? this.primes[primeIndex] : divisor + 1 + (divisor & 1);
+        }
+
+        //every prime factor left is larger than the cube root of n, so there are at most two
+        if (n < this.smallestPrimeFactors.length){
+            return squareFactor * sievedSquareFactor((int) n);
+        }
+
+        long root = ExactQuadraticSolver.squareRoot(n);
+
+        return root * root == n ? squareFactor * root : squareFactor;
+    }
+
+
+    /**
+     * Returns the primes up to the bound in increasing order, from the same sieve as the one
+     * of a factorizer
+     * */
+    static int[] primesUpTo(int bound){
+        return primesOf(sieve(bound));
+    }
+
+
+    /**
+     * Returns the smallest prime factor of every integer from 0 to the bound, 0 for 0 and 1
+     * */
+    private static int[] sieve(int bound){
+
+        int [] smallestPrimeFactors = new int[bound + 1];
+
+        for (int i = 2; i <= bound; i++){
+
+            if (smallestPrimeFactors[i] != 0){
+                continue;
+            }
+
+            smallestPrimeFactors[i] = i;
+
+            for (long multiple = (long) i * i; multiple <= bound; multiple += i){
+
+                if (smallestPrimeFactors[(int) multiple] == 0){
+                    smallestPrimeFactors[(int) multiple] = i;
+                }
+            }
+        }
+
+        return smallestPrimeFactors;
+    }
+
+
+    private static int[] primesOf(int [] smallestPrimeFactors){
+
+        int [] primes = new int[smallestPrimeFactors.length];
+        int count = 0;
+
+        for (int i = 2; i < smallestPrimeFactors.length; i++){
+
+            if (smallestPrimeFactors[i] == i){
+                primes[count++] = i;
+            }
+        }
+
+        return Arrays.copyOf(primes, count);
+    }
+
+
+    /**
+     * Creates the default factorizer on first use, so the sieve is only built when needed
+     * */
+    private static final class DefaultFactorizerHolder {
+
+        private static final SquareFreeFactorizer INSTANCE =
+                new SquareFreeFactorizer(DEFAULT_SIEVE_BOUND, DEFAULT_CACHE_CAPACITY);
+    }
+}
@@ -8,6 +8,9 @@ package models;
  *
  * Contains simple getter and setter for x- and y- coordinates
  *
+ * A vertex is mutable and not thread-safe, so it must not be changed while
+ * other threads read it. QuadraticEquationSolver only hands out copies
+ *
  * @author Terence Lee
  * */
 public class Vertex implements IVertex{
@@ -0,0 +1,283 @@
+package runners;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+
+/**
+ * The instrumentation mode of the headless and bulk runners, which measures the memory
+ * allocated by the solve path and the garbage collections of a run
+ *
+ * Each batch of solver work is bracketed by beginBatch() and endBatch(), which sample the
+ * bytes allocated by the current thread (com.sun.management.ThreadMXBean) and emit a JFR
+ * SolveBatch event. The cost of the sampling itself is measured once and subtracted, so a
+ * solve path which does not allocate reports 0 bytes per equation
+ *
+ * The report, printed to standard error at the end of the run, looks like:
+ * <pre>
+ *     equations=1000000 batches=245 allocated-bytes=38008 bytes-per-equation=0.04 first-batch-bytes=38008
+ *     gc=G1 Young Generation count=0 collection-time-ms=0
+ *     gc=G1 Old Generation count=0 collection-time-ms=0
+ * </pre>
+ *
+ * The first batch also allocates what the JVM needs to load and initialize the solver
+ * classes, so it is reported separately: a solve path which is allocation-free in the steady
+ * state has allocated-bytes equal to first-batch-bytes
+ *
+ * The counts and collection times of the garbage collectors are the differences between the
+ * start and the end of the run. The collection time is the accumulated elapsed time of the
+ * collections as reported by GarbageCollectorMXBean, not the time the application was paused:
+ * it includes the work a concurrent collector does alongside the application. When a
+ * recording file is given, a JFR recording of the run (with the allocation and GC pause
+ * events of the default settings) is dumped there, which has the actual pauses
+ *
+ * Example usage:
+ * <pre>
+ *     java -jar quadratic-equation-solver.jar --bulk --profile-allocations --jfr-recording=run.jfr &lt; equations.txt
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class AllocationProfiler implements AutoCloseable {
+
+    /**
+     * The command line flag which enables the instrumentation mode
+     * */
+    public static final String PROFILE_FLAG = "--profile-allocations";
+
+    /**
+     * The prefix of the command line flag which names the file the JFR recording is dumped
+     * to, e.g. --jfr-recording=run.jfr. Implies PROFILE_FLAG
+     * */
+    public static final String JFR_RECORDING_FLAG_PREFIX = "--jfr-recording=";
+
+    private static final int CALIBRATION_SAMPLES = 64;
+
+    private final com.sun.management.ThreadMXBean threadMXBean;
+    private final List<GarbageCollectorMXBean> garbageCollectors;
+    private final long [] startCollectionCounts;
+    private final long [] startCollectionTimes;
+
+    private final JfrRecorder recorder;
+    private final long samplingOverheadBytes;
+
+    private long batchStartBytes;
+    private long allocatedBytes;
+    private long firstBatchBytes;
+    private long equations;
+    private int batches;
+
+
+    /**
+     * Start profiling the current thread
+     *
+     * @param recordingFile the file the JFR recording is dumped to on close(), or null
+     *                      for no recording
+     *
+     * @throws IllegalStateException if a recording is requested but the runtime has no JFR
+     * */
+    public AllocationProfiler(Path recordingFile){
+
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+        this.threadMXBean = threadMXBean instanceof com.sun.management.ThreadMXBean
+                && ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemorySupported()
+                ? (com.sun.management.ThreadMXBean) threadMXBean
+                : null;
+
+        if (this.threadMXBean != null){
+            this.threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        }
+
+        this.recorder = recordingFile != null ? startRecorder(recordingFile) : null;
+
+        this.garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans();
+        this.startCollectionCounts = new long[this.garbageCollectors.size()];
+        this.startCollectionTimes = new long[this.garbageCollectors.size()];
+
+        for (int i = 0; i < this.garbageCollectors.size(); i++){
+            this.startCollectionCounts[i] = this.garbageCollectors.get(i).getCollectionCount();
+            this.startCollectionTimes[i] = this.garbageCollectors.get(i).getCollectionTime();
+        }
+
+        this.samplingOverheadBytes = measureSamplingOverhead();
+    }
+
+
+    /**
+     * Returns a profiler if the arguments contain PROFILE_FLAG or a JFR_RECORDING_FLAG_PREFIX
+     * flag, or null otherwise
+     * */
+    public static AllocationProfiler fromArguments(String [] args){
+
+        boolean enabled = false;
+        Path recordingFile = null;
+
+        for (String arg : args){
+
+            if (PROFILE_FLAG.equals(arg)){
+                enabled = true;
+            }
+            else if (arg.startsWith(JFR_RECORDING_FLAG_PREFIX)){
+
+                enabled = true;
+                recordingFile = Paths.get(arg.substring(JFR_RECORDING_FLAG_PREFIX.length()));
+            }
+        }
+
+        return enabled ? new AllocationProfiler(recordingFile) : null;
+    }
+
+
+    /**
+     * Returns true if the argument is one of the flags of the profiler
+     * */
+    public static boolean isProfilerFlag(String arg){
+        return PROFILE_FLAG.equals(arg) || arg.startsWith(JFR_RECORDING_FLAG_PREFIX);
+    }
+
+
+    /**
+     * Mark the start of a batch of solver work on the current thread
+     * */
+    public void beginBatch(){
+
+        if (this.recorder != null){
+            this.recorder.beginBatch();
+        }
+
+        this.batchStartBytes = currentThreadAllocatedBytes();
+    }
+
+
+    /**
+     * Mark the end of the batch started by the last beginBatch() call
+     *
+     * @param batchEquations the number of equations solved by the batch
+     * */
+    public void endBatch(int batchEquations){
+
+        long batchBytes = Math.max(0,
+                currentThreadAllocatedBytes() - this.batchStartBytes - this.samplingOverheadBytes);
+
+        this.allocatedBytes += batchBytes;
+        this.firstBatchBytes = this.batches == 0 ? batchBytes : this.firstBatchBytes;
+        this.equations += batchEquations;
+        this.batches++;
+
+        if (this.recorder != null){
+            this.recorder.endBatch(batchEquations, batchBytes);
+        }
+    }
+
+
+    /**
+     * Returns the bytes allocated by the batches so far, or -1 if the JVM cannot measure
+     * the allocations of a thread
+     * */
+    public long getAllocatedBytes(){
+        return this.threadMXBean != null ? this.allocatedBytes : -1;
+    }
+
+
+    /**
+     * Returns the number of equations solved by the batches so far
+     * */
+    public long getEquations(){
+        return this.equations;
+    }
+
+
+    /**
+     * Print the allocations of the batches and the garbage collections since the profiler
+     * was created
+     * */
+    public void report(PrintStream err){
+
+        long allocatedBytes = getAllocatedBytes();
+        double bytesPerEquation = this.equations == 0 ? 0 : (double) allocatedBytes / this.equations;
+
+        if (allocatedBytes < 0){
+
+            err.printf(Locale.ROOT, "equations=%d batches=%d allocated-bytes=unsupported%n",
+                    this.equations, this.batches);
+        }
+        else{
+            err.printf(Locale.ROOT, "equations=%d batches=%d allocated-bytes=%d bytes-per-equation=%.2f"
+                            + " first-batch-bytes=%d%n",
+                    this.equations, this.batches, allocatedBytes, bytesPerEquation, this.firstBatchBytes);
+        }
+
+        for (int i = 0; i < this.garbageCollectors.size(); i++){
+
+            GarbageCollectorMXBean garbageCollector = this.garbageCollectors.get(i);
+
+            err.printf(Locale.ROOT, "gc=%s count=%d collection-time-ms=%d%n", garbageCollector.getName(),
+                    garbageCollector.getCollectionCount() - this.startCollectionCounts[i],
+                    garbageCollector.getCollectionTime() - this.startCollectionTimes[i]);
+        }
+    }
+
+
+    /**
+     * Stop the JFR recording, if any, and dump it to the recording file
+     *
+     * @throws IOException if the recording cannot be written
+     * */
+    @Override
+    public void close() throws IOException {
+
+        if (this.recorder != null){
+            this.recorder.stopAndDump();
+        }
+    }
+
+
+    /**
+     * Start a JFR recording, which is only linked when a recording is requested, so the
+     * profiler also runs on JDKs without the jdk.jfr module
+     * */
+    private static JfrRecorder startRecorder(Path recordingFile){
+
+        try {
+            return JfrRecorder.start(recordingFile);
+        }
+        catch (LinkageError e){
+
+            throw new IllegalStateException("JFR is not available in this runtime", e);
+        }
+    }
+
+
+    private long currentThreadAllocatedBytes(){
+
+        return this.threadMXBean != null
+                ? this.threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId())
+                : 0;
+    }
+
+
+    /**
+     * Returns the smallest number of bytes allocated between two samples with nothing in
+     * between, which some JDKs report because sampling allocates an array
+     * */
+    private long measureSamplingOverhead(){
+
+        long overhead = Long.MAX_VALUE;
+
+        for (int i = 0; i < CALIBRATION_SAMPLES; i++){
+
+            long start = currentThreadAllocatedBytes();
+            overhead = Math.min(overhead, currentThreadAllocatedBytes() - start);
+        }
+
+        return overhead;
+    }
+}
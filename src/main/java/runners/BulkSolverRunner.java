@@ -0,0 +1,223 @@
+package runners;
+
+import models.BatchSolveResult;
+import models.QuadraticEquationBatchSolver;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+
+/**
+ * Solves large inputs of quadratic equations with the batch solver, selected with the
+ * --bulk flag of the headless runner
+ *
+ * Reads one equation per line from standard input, like the headless runner, but collects
+ * BATCH_SIZE equations into coefficient columns and solves them with
+ * QuadraticEquationBatchSolver.solveVectorized into one reused result, so the solve path
+ * does not allocate. The solutions are printed in the same comma separated format as
+ * HeadlessSolverRunner
+ *
+ * Example usage:
+ * <pre>
+ *     java -jar quadratic-equation-solver.jar --bulk &lt; equations.txt
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class BulkSolverRunner {
+
+    /**
+     * The command line flag which selects the bulk runner
+     * */
+    public static final String BULK_FLAG = "--bulk";
+
+    /**
+     * The number of equations solved per batch
+     * */
+    static final int BATCH_SIZE = 4096;
+
+    private final PrintStream out;
+    private final AllocationProfiler profiler;
+
+    private final double [] coefficientsA = new double[BATCH_SIZE];
+    private final double [] coefficientsB = new double[BATCH_SIZE];
+    private final double [] constantsC = new double[BATCH_SIZE];
+    private final BatchSolveResult result = new BatchSolveResult(BATCH_SIZE);
+    private final StringBuilder line = new StringBuilder(160);
+
+    private int size;
+
+
+    private BulkSolverRunner(PrintStream out, AllocationProfiler profiler){
+
+        this.out = out;
+        this.profiler = profiler;
+    }
+
+
+    /**
+     * Solve every equation read from the input stream, one per line
+     *
+     * Invalid lines are reported on the error stream and skipped
+     *
+     * @param profiler the profiler the solve of each batch is reported to, or null
+     *
+     * @return 0 if every line was solved, 1 otherwise
+     * */
+    public static int run(InputStream in, PrintStream out, PrintStream err, AllocationProfiler profiler){
+
+        BulkSolverRunner runner = new BulkSolverRunner(out, profiler);
+
+        int exitCode = 0;
+        int lineNumber = 0;
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8))){
+
+            String line;
+
+            while ((line = reader.readLine()) != null){
+
+                lineNumber++;
+                line = line.trim();
+
+                if (line.isEmpty() || line.startsWith("#")){
+                    continue;
+                }
+
+                String [] coefficients = HeadlessSolverRunner.COEFFICIENT_SEPARATOR.split(line);
+
+                if (coefficients.length != 3){
+
+                    err.println("Line " + lineNumber + ": expected 3 coefficients but found "
+                            + coefficients.length);
+                    exitCode = 1;
+                    continue;
+                }
+
+                try{
+                    runner.add(HeadlessSolverRunner.parseCoefficient(coefficients[0], "Coefficient A"),
+                            HeadlessSolverRunner.parseCoefficient(coefficients[1], "Coefficient B"),
+                            HeadlessSolverRunner.parseCoefficient(coefficients[2], "Constant C"));
+                }
+                catch (NumberFormatException e){
+
+                    err.println("Line " + lineNumber + ": " + e.getMessage());
+                    exitCode = 1;
+                }
+            }
+        }
+        catch (IOException e){
+
+            err.println("Unable to read equations: " + e.getMessage());
+            return 1;
+        }
+
+        runner.solveAndPrint();
+
+        out.flush();
+        return exitCode;
+    }
+
+
+    /**
+     * Add an equation to the current batch, solving the batch once it is full
+     * */
+    private void add(double coefficientA, double coefficientB, double constantC){
+
+        this.coefficientsA[this.size] = coefficientA;
+        this.coefficientsB[this.size] = coefficientB;
+        this.constantsC[this.size] = constantC;
+        this.size++;
+
+        if (this.size == BATCH_SIZE){
+            solveAndPrint();
+        }
+    }
+
+
+    /**
+     * Solve and print the equations of the current batch, and start a new batch
+     * */
+    private void solveAndPrint(){
+
+        if (this.size == 0){
+            return;
+        }
+
+        //the last batch is usually not full, and the columns must match the batch size
+        double [] coefficientsA = this.size == BATCH_SIZE ? this.coefficientsA
+                : Arrays.copyOf(this.coefficientsA, this.size);
+        double [] coefficientsB = this.size == BATCH_SIZE ? this.coefficientsB
+                : Arrays.copyOf(this.coefficientsB, this.size);
+        double [] constantsC = this.size == BATCH_SIZE ? this.constantsC
+                : Arrays.copyOf(this.constantsC, this.size);
+
+        if (this.profiler != null){
+            this.profiler.beginBatch();
+        }
+
+        QuadraticEquationBatchSolver.solveVectorized(coefficientsA, coefficientsB, constantsC, this.result);
+
+        if (this.profiler != null){
+            this.profiler.endBatch(this.size);
+        }
+
+        for (int row = 0; row < this.size; row++){
+
+            this.line.setLength(0);
+            formatRow(this.line, coefficientsA[row], coefficientsB[row], constantsC[row], this.result, row);
+            this.out.println(this.line);
+        }
+
+        this.size = 0;
+    }
+
+
+    /**
+     * Format a row of a solved quadratic batch like HeadlessSolverRunner.formatSolution()
+     * */
+    static void formatRow(StringBuilder builder, double coefficientA, double coefficientB,
+                          double constantC, BatchSolveResult result, int row){
+
+        builder.append(coefficientA).append(',')
+                .append(coefficientB).append(',')
+                .append(constantC).append(',')
+                .append(HeadlessSolverRunner.rootTypeName(result.getRootType(row))).append(',');
+
+        appendRoot(builder, result, row, 0);
+        builder.append(',');
+        appendRoot(builder, result, row, 1);
+
+        builder.append(',').append(result.getDiscriminants()[row])
+                .append(',').append(result.getVertexXCoordinates()[row])
+                .append(',').append(result.getVertexYCoordinates()[row])
+                .append(',').append(result.getSumsOfRoots()[row])
+                .append(',').append(result.getProductsOfRoots()[row])
+                .append(',').append(result.getEquationType(row));
+    }
+
+
+    /**
+     * Append a root of a row, written as x+yi when the roots are complex
+     * */
+    private static void appendRoot(StringBuilder builder, BatchSolveResult result, int row, int rootIndex){
+
+        double realPart = result.getRootRealPart(row, rootIndex);
+        builder.append(realPart);
+
+        if (result.getRootTypes()[row] == BatchSolveResult.ROOT_TYPE_COMPLEX){
+
+            double imaginaryPart = result.getRootImaginaryPart(row, rootIndex);
+
+            builder.append(imaginaryPart < 0 ? "-" : "+")
+                    .append(Math.abs(imaginaryPart))
+                    .append('i');
+        }
+    }
+}
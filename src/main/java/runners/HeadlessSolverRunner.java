@@ -0,0 +1,345 @@
+package runners;
+
+import models.IComplexNumber;
+import models.IQuadraticEquationSolver;
+import models.IVertex;
+import models.QuadraticEquationSolver;
+import models.ReusableQuadraticEquationSolver;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+
+/**
+ * Solves quadratic equations without loading any of the Swing user interface
+ *
+ * Either solves the single equation given as three command line arguments (a b c), or
+ * reads one equation per line from standard input, where the coefficients of each line
+ * are separated by whitespace or commas. Blank lines and lines starting with '#' are skipped
+ *
+ * Each solution is printed as one comma separated line:
+ * <pre>
+ *     a,b,c,rootType,firstRoot,secondRoot,discriminant,vertexX,vertexY,sumOfRoots,productOfRoots,equationType
+ * </pre>
+ *
+ * Degenerate equations without a root type (see QuadraticEquationSolver.EquationType) are
+ * printed with the root type NONE and NaN roots
+ *
+ * Example usage:
+ * <pre>
+ *     java -jar quadratic-equation-solver.jar 6 11 -35
+ *
+ *     java -jar quadratic-equation-solver.jar --headless &lt; equations.txt
+ * </pre>
+ *
+ * The --bulk flag solves the equations of standard input in batches with BulkSolverRunner
+ * instead, and the AllocationProfiler flags (--profile-allocations, --jfr-recording=file)
+ * can be added to either mode to report the allocations and garbage collections of the run
+ *
+ * @author Terence Lee
+ * */
+public class HeadlessSolverRunner {
+
+    /**
+     * The command line flag which selects reading equations from standard input
+     * */
+    public static final String HEADLESS_FLAG = "--headless";
+
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+
+    static final Pattern COEFFICIENT_SEPARATOR = Pattern.compile("[\\s,]+");
+
+
+    private HeadlessSolverRunner(){
+
+    }
+
+
+    public static void main(String [] args){
+
+        //System.out flushes on every line, which dominates the cost of large batches
+        PrintStream out = new PrintStream(new BufferedOutputStream(
+                new FileOutputStream(FileDescriptor.out), OUTPUT_BUFFER_SIZE), false);
+
+        int exitCode = run(args, System.in, out, System.err);
+        out.flush();
+
+        if (exitCode != 0){
+            System.exit(exitCode);
+        }
+    }
+
+
+    /**
+     * Run the headless solver
+     *
+     * @param args either three coefficients (a b c), the --headless flag to read
+     *             equations from the input stream, or the --bulk flag to read and solve
+     *             them in batches, optionally followed by the flags of AllocationProfiler
+     * @param in the stream to read equations from when no coefficients are given
+     * @param out the stream the solutions are written to
+     * @param err the stream error messages and the profiling report are written to
+     *
+     * @return the process exit code, 0 if every equation was solved
+     * */
+    public static int run(String [] args, InputStream in, PrintStream out, PrintStream err){
+
+        AllocationProfiler profiler;
+
+        try {
+            profiler = AllocationProfiler.fromArguments(args);
+        }
+        catch (IllegalStateException e){
+
+            err.println(e.getMessage());
+            return 2;
+        }
+
+        String [] solverArgs = Arrays.stream(args)
+                .filter(arg -> !AllocationProfiler.isProfilerFlag(arg))
+                .toArray(String[]::new);
+
+        int exitCode = runSolver(solverArgs, in, out, err, profiler);
+
+        if (profiler != null){
+
+            profiler.report(err);
+
+            try {
+                profiler.close();
+            }
+            catch (IOException e){
+
+                err.println("Unable to write the JFR recording: " + e.getMessage());
+                exitCode = Math.max(exitCode, 1);
+            }
+        }
+
+        return exitCode;
+    }
+
+
+    /**
+     * Run the solver selected by the arguments, without the profiler flags
+     * */
+    private static int runSolver(String [] args, InputStream in, PrintStream out, PrintStream err,
+                                 AllocationProfiler profiler){
+
+        if (args.length == 3){
+
+            try{
+                out.println(solveAndFormat(args[0], args[1], args[2], profiler));
+                return 0;
+            }
+            catch (NumberFormatException e){
+
+                err.println(e.getMessage());
+                return 1;
+            }
+        }
+
+        if (args.length == 1 && BulkSolverRunner.BULK_FLAG.equals(args[0])){
+
+            return BulkSolverRunner.run(in, out, err, profiler);
+        }
+
+        if (args.length == 0 || (args.length == 1 && HEADLESS_FLAG.equals(args[0]))){
+
+            return solveAllLines(in, out, err, profiler);
+        }
+
+        err.println("Usage: java -jar quadratic-equation-solver.jar [a b c | " + HEADLESS_FLAG
+                + " | " + BulkSolverRunner.BULK_FLAG + "] [" + AllocationProfiler.PROFILE_FLAG
+                + "] [" + AllocationProfiler.JFR_RECORDING_FLAG_PREFIX + "file]");
+        return 2;
+    }
+
+
+    /**
+     * Solve every equation read from the input stream, one per line
+     *
+     * Invalid lines are reported on the error stream and skipped
+     *
+     * @return 0 if every line was solved, 1 otherwise
+     * */
+    private static int solveAllLines(InputStream in, PrintStream out, PrintStream err,
+                                     AllocationProfiler profiler){
+
+        int exitCode = 0;
+        int lineNumber = 0;
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8))){
+
+            String line;
+
+            while ((line = reader.readLine()) != null){
+
+                lineNumber++;
+                line = line.trim();
+
+                if (line.isEmpty() || line.startsWith("#")){
+                    continue;
+                }
+
+                String [] coefficients = COEFFICIENT_SEPARATOR.split(line);
+
+                if (coefficients.length != 3){
+
+                    err.println("Line " + lineNumber + ": expected 3 coefficients but found "
+                            + coefficients.length);
+                    exitCode = 1;
+                    continue;
+                }
+
+                try{
+                    out.println(solveAndFormat(coefficients[0], coefficients[1], coefficients[2], profiler));
+                }
+                catch (NumberFormatException e){
+
+                    err.println("Line " + lineNumber + ": " + e.getMessage());
+                    exitCode = 1;
+                }
+            }
+        }
+        catch (IOException e){
+
+            err.println("Unable to read equations: " + e.getMessage());
+            return 1;
+        }
+
+        out.flush();
+        return exitCode;
+    }
+
+
+    /**
+     * Parse the three coefficients, solve the quadratic equation and format the solution
+     *
+     * @throws NumberFormatException if either of the coefficients is not a valid number
+     * */
+    static String solveAndFormat(String coefficientAString, String coefficientBString,
+                                 String constantCString){
+
+        return solveAndFormat(coefficientAString, coefficientBString, constantCString, null);
+    }
+
+
+    /**
+     * Parse the three coefficients, solve the quadratic equation and format the solution,
+     * reporting the solve to the profiler (if not null) as a batch of one equation
+     *
+     * @throws NumberFormatException if either of the coefficients is not a valid number
+     * */
+    static String solveAndFormat(String coefficientAString, String coefficientBString,
+                                 String constantCString, AllocationProfiler profiler){
+
+        double coefficientA = parseCoefficient(coefficientAString, "Coefficient A");
+        double coefficientB = parseCoefficient(coefficientBString, "Coefficient B");
+        double constantC = parseCoefficient(constantCString, "Constant C");
+
+        String solution;
+
+        try (ReusableQuadraticEquationSolver solver = ReusableQuadraticEquationSolver.acquire()){
+
+            if (profiler != null){
+                profiler.beginBatch();
+            }
+
+            solver.solve(coefficientA, coefficientB, constantC);
+
+            if (profiler != null){
+                profiler.endBatch(1);
+            }
+
+            solution = formatSolution(solver);
+        }
+
+        StartupBenchmark.reportTimeToFirstSolve("headless");
+
+        return solution;
+    }
+
+
+    /**
+     * Format the solution of a quadratic equation as one comma separated line
+     *
+     * @param solver instance of IQuadraticEquationSolver containing the
+     *               solution of the quadratic equation
+     * */
+    public static String formatSolution(IQuadraticEquationSolver solver){
+
+        IVertex vertex = solver.getVertex();
+
+        StringBuilder builder = new StringBuilder(160);
+
+        builder.append(solver.getCoefficientA()).append(',')
+                .append(solver.getCoefficientB()).append(',')
+                .append(solver.getConstantC()).append(',')
+                .append(rootTypeName(solver.getRootType())).append(',');
+
+        appendRoot(builder, solver.getFirstRoot());
+        builder.append(',');
+        appendRoot(builder, solver.getSecondRoot());
+
+        builder.append(',').append(solver.getDiscriminant())
+                .append(',').append(vertex.getXCoordinate())
+                .append(',').append(vertex.getYCoordinate())
+                .append(',').append(solver.getSumOfRoots())
+                .append(',').append(solver.getProductOfRoots())
+                .append(',').append(solver.getEquationType());
+
+        return builder.toString();
+    }
+
+
+    /**
+     * Append a root, which is either a Double or an IComplexNumber (written as x+yi)
+     * */
+    private static void appendRoot(StringBuilder builder, Object root){
+
+        if (root instanceof IComplexNumber){
+
+            IComplexNumber complexRoot = (IComplexNumber) root;
+            double imaginaryPart = complexRoot.getImaginaryPart();
+
+            builder.append(complexRoot.getRealPart())
+                    .append(imaginaryPart < 0 ? "-" : "+")
+                    .append(Math.abs(imaginaryPart))
+                    .append('i');
+        }
+        else if (root == null){
+            builder.append(Double.NaN);
+        }
+        else{
+            builder.append(root);
+        }
+    }
+
+
+    static String rootTypeName(QuadraticEquationSolver.RootType rootType){
+        return rootType == null ? "NONE" : rootType.name();
+    }
+
+
+    static double parseCoefficient(String coefficientString, String coefficientName){
+
+        try{
+            return Double.parseDouble(coefficientString.trim());
+        }
+        catch (NumberFormatException e){
+
+            throw new NumberFormatException(coefficientName + " is not a valid number: "
+                    + coefficientString);
+        }
+    }
+}
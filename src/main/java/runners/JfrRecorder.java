@@ -0,0 +1,116 @@
+package runners;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+
+/**
+ * The JFR part of AllocationProfiler: a recording of the run with the default settings,
+ * and one SolveBatch event per batch of solver work
+ *
+ * Kept in its own class so that the jdk.jfr module is only needed when a recording is
+ * requested
+ *
+ * @author Terence Lee
+ * */
+final class JfrRecorder {
+
+    private final Recording recording;
+    private final Path recordingFile;
+
+    private SolveBatchEvent event;
+
+
+    private JfrRecorder(Recording recording, Path recordingFile){
+
+        this.recording = recording;
+        this.recordingFile = recordingFile;
+    }
+
+
+    /**
+     * Start a recording with the default settings of the JDK, which include the GC pause
+     * and allocation sample events
+     *
+     * @throws IllegalStateException if the default settings cannot be read
+     * */
+    static JfrRecorder start(Path recordingFile){
+
+        Recording recording;
+
+        try {
+            recording = new Recording(jdk.jfr.Configuration.getConfiguration("default"));
+        }
+        catch (IOException | ParseException e){
+
+            throw new IllegalStateException("Unable to read the default JFR settings", e);
+        }
+
+        recording.setName("quadratic-equation-solver");
+        recording.enable(SolveBatchEvent.class);
+        recording.start();
+
+        return new JfrRecorder(recording, recordingFile);
+    }
+
+
+    void beginBatch(){
+
+        this.event = new SolveBatchEvent();
+        this.event.begin();
+    }
+
+
+    void endBatch(int equations, long allocatedBytes){
+
+        this.event.end();
+        this.event.equations = equations;
+        this.event.allocatedBytes = allocatedBytes;
+        this.event.commit();
+        this.event = null;
+    }
+
+
+    /**
+     * Stop the recording and write it to the recording file
+     *
+     * @throws IOException if the file cannot be written
+     * */
+    void stopAndDump() throws IOException {
+
+        this.recording.stop();
+
+        try {
+            this.recording.dump(this.recordingFile);
+        }
+        finally {
+            this.recording.close();
+        }
+    }
+
+
+    /**
+     * One batch of solver work of a profiled run
+     * */
+    @Name("quadratic.SolveBatch")
+    @Label("Solve Batch")
+    @Category("Quadratic Equation Solver")
+    @Description("A batch of equations solved by the headless or bulk runner")
+    static final class SolveBatchEvent extends Event {
+
+        @Label("Equations")
+        int equations;
+
+        @Label("Allocated Bytes")
+        @Description("Bytes allocated by the solving thread during the batch")
+        long allocatedBytes;
+    }
+}
@@ -0,0 +1,74 @@
+package runners;
+
+import java.lang.management.ManagementFactory;
+
+
+/**
+ * Reports the time from JVM start to the first solved equation, used by
+ * benchmarks/startup-benchmark.sh to compare the GUI and headless start up paths
+ *
+ * The report is only printed when the system property
+ * {@value #TIME_TO_FIRST_SOLVE_PROPERTY} is set to true
+ *
+ * @author Terence Lee
+ * */
+public final class StartupBenchmark {
+
+    /**
+     * When set to true, the application prints the time to first solve to standard error,
+     * and the GUI exits right after the first equation is solved
+     * */
+    public static final String TIME_TO_FIRST_SOLVE_PROPERTY = "startup.benchmark";
+
+    private static final boolean ENABLED = Boolean.getBoolean(TIME_TO_FIRST_SOLVE_PROPERTY);
+
+    private static boolean firstSolveReported;
+
+
+    private StartupBenchmark(){
+
+    }
+
+
+    /**
+     * Returns true if the application was started in start up benchmark mode
+     * */
+    public static boolean isEnabled(){
+        return ENABLED;
+    }
+
+
+    /**
+     * Print the milliseconds elapsed since the JVM started to standard error, as
+     * time-to-first-solve-ms=&lt;millis&gt;
+     *
+     * The current time is taken before the management classes are loaded, so that
+     * loading them is not part of the measurement
+     *
+     * Only the first call prints anything, and only in start up benchmark mode
+     *
+     * @param path the start up path being measured, e.g. gui or headless
+     * */
+    public static void reportTimeToFirstSolve(String path){
+
+        if (!ENABLED){
+            return;
+        }
+
+        long firstSolveTimeMillis = System.currentTimeMillis();
+
+        synchronized (StartupBenchmark.class){
+
+            if (firstSolveReported){
+                return;
+            }
+
+            firstSolveReported = true;
+        }
+
+        long jvmStartTimeMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+
+        System.err.println("path=" + path + " time-to-first-solve-ms="
+                + (firstSolveTimeMillis - jvmStartTimeMillis));
+    }
+}
@@ -0,0 +1,247 @@
+package runners;
+
+import models.BatchSolveResult;
+import models.QuadraticEquationBatchSolver;
+import models.QuadraticEquationSolver;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+
+/**
+ * Measures how the solve throughput scales from 1 to N threads, used by
+ * benchmarks/throughput-benchmark.sh
+ *
+ * Every thread solves its own slice of one shared set of pseudo random equations, either
+ * with one QuadraticEquationSolver per equation (scalar path) or with
+ * QuadraticEquationBatchSolver.solveVectorized into a result of its own (batch path).
+ * For each thread count one line is printed:
+ * <pre>
+ *     path=batch threads=4 equations-per-second=123456789 speedup=3.71
+ * </pre>
+ *
+ * where the speedup is relative to the same path on 1 thread. Each measurement is the
+ * best of several rounds, after warm up rounds which let the JIT compile the solvers
+ *
+ * Usage: ThroughputBenchmark [maximum threads] [equations] [rounds]
+ *
+ * @author Terence Lee
+ * */
+public final class ThroughputBenchmark {
+
+    private static final int WARM_UP_ROUNDS = 3;
+
+    private final double [] coefficientsA;
+    private final double [] coefficientsB;
+    private final double [] constantsC;
+
+    /**
+     * Sum of results read back from the solves, so the JIT cannot drop them as dead code
+     * */
+    private volatile double sink;
+
+
+    private ThroughputBenchmark(int equations){
+
+        Random random = new Random(42);
+
+        this.coefficientsA = new double[equations];
+        this.coefficientsB = new double[equations];
+        this.constantsC = new double[equations];
+
+        for (int i = 0; i < equations; i++){
+            this.coefficientsA[i] = random.nextDouble() * 200 - 100;
+            this.coefficientsB[i] = random.nextDouble() * 200 - 100;
+            this.constantsC[i] = random.nextDouble() * 200 - 100;
+        }
+    }
+
+
+    public static void main(String [] args) throws Exception {
+
+        int maximumThreads = args.length > 0 ? Integer.parseInt(args[0])
+                : Runtime.getRuntime().availableProcessors();
+        int equations = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 22;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        if (maximumThreads < 1 || equations < 1 || rounds < 1){
+            throw new IllegalArgumentException("Threads, equations and rounds must be positive");
+        }
+
+        ThroughputBenchmark benchmark = new ThroughputBenchmark(equations);
+
+        for (boolean batch : new boolean[]{false, true}){
+
+            double singleThreadedThroughput = 0;
+
+            for (int threads = 1; threads <= maximumThreads; threads = nextThreadCount(threads, maximumThreads)){
+
+                double throughput = benchmark.measure(threads, batch, rounds);
+
+                if (threads == 1){
+                    singleThreadedThroughput = throughput;
+                }
+
+                System.out.printf("path=%s threads=%d equations-per-second=%.0f speedup=%.2f%n",
+                        batch ? "batch" : "scalar", threads, throughput,
+                        throughput / singleThreadedThroughput);
+            }
+        }
+    }
+
+
+    /**
+     * Returns the next thread count to measure: the powers of two, then the maximum itself
+     * when it is not a power of two
+     * */
+    private static int nextThreadCount(int threads, int maximumThreads){
+
+        if (threads == maximumThreads){
+            return maximumThreads + 1;
+        }
+
+        return Math.min(threads * 2, maximumThreads);
+    }
+
+
+    /**
+     * Returns the best throughput, in equations per second, of the given number of threads
+     * */
+    private double measure(int threads, boolean batch, int rounds) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        BatchSlice [] slices = new BatchSlice[threads];
+
+        for (int thread = 0; thread < threads; thread++){
+            slices[thread] = batch ? new BatchSlice(this, fromRow(thread, threads), fromRow(thread + 1, threads))
+                    : null;
+        }
+
+        try {
+            double bestThroughput = 0;
+
+            for (int round = 0; round < WARM_UP_ROUNDS + rounds; round++){
+
+                double throughput = runRound(executor, threads, slices);
+
+                if (round >= WARM_UP_ROUNDS){
+                    bestThroughput = Math.max(bestThroughput, throughput);
+                }
+            }
+
+            return bestThroughput;
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+
+    /**
+     * Solve every equation once, split into one slice per thread, and return the throughput
+     * */
+    private double runRound(ExecutorService executor, int threads, BatchSlice [] slices) throws Exception {
+
+        int equations = this.coefficientsA.length;
+        CyclicBarrier start = new CyclicBarrier(threads + 1);
+        Future<?> [] futures = new Future<?>[threads];
+
+        for (int thread = 0; thread < threads; thread++){
+
+            int fromRow = fromRow(thread, threads);
+            int toRow = fromRow(thread + 1, threads);
+            BatchSlice batchSlice = slices[thread];
+
+            Callable<Double> slice = batchSlice != null ? batchSlice::solve
+                    : () -> solveScalar(fromRow, toRow);
+
+            futures[thread] = executor.submit(() -> {
+                start.await();
+                return slice.call();
+            });
+        }
+
+        start.await();
+        long startTime = System.nanoTime();
+
+        double sum = 0;
+
+        for (Future<?> future : futures){
+            sum += (Double) future.get();
+        }
+
+        long elapsedNanos = System.nanoTime() - startTime;
+        this.sink += sum;
+
+        return equations * 1e9 / elapsedNanos;
+    }
+
+
+    private double solveScalar(int fromRow, int toRow){
+
+        double sum = 0;
+
+        for (int i = fromRow; i < toRow; i++){
+
+            QuadraticEquationSolver solver = new QuadraticEquationSolver(
+                    this.coefficientsA[i], this.coefficientsB[i], this.constantsC[i]);
+
+            sum += solver.getDiscriminant();
+        }
+
+        return sum;
+    }
+
+
+    /**
+     * Returns the first row of the slice of a thread, which is also the end of the slice
+     * of the previous thread
+     * */
+    private int fromRow(int thread, int threads){
+        return (int) ((long) this.coefficientsA.length * thread / threads);
+    }
+
+
+    /**
+     * The coefficient columns and the result of the slice of one thread on the batch path,
+     * created before the measurement so that the rounds only time the solves
+     * */
+    private static final class BatchSlice {
+
+        private final double [] coefficientsA;
+        private final double [] coefficientsB;
+        private final double [] constantsC;
+        private final BatchSolveResult result;
+
+
+        private BatchSlice(ThroughputBenchmark benchmark, int fromRow, int toRow){
+
+            int size = toRow - fromRow;
+
+            this.coefficientsA = Arrays.copyOfRange(benchmark.coefficientsA, fromRow, toRow);
+            this.coefficientsB = Arrays.copyOfRange(benchmark.coefficientsB, fromRow, toRow);
+            this.constantsC = Arrays.copyOfRange(benchmark.constantsC, fromRow, toRow);
+            this.result = new BatchSolveResult(size);
+        }
+
+
+        private double solve(){
+
+            QuadraticEquationBatchSolver.solveVectorized(this.coefficientsA, this.coefficientsB,
+                    this.constantsC, this.result);
+
+            double sum = 0;
+
+            for (double discriminant : this.result.getDiscriminants()){
+                sum += discriminant;
+            }
+
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package storage;
+
+
+/**
+ * Reads values of 1 to 64 bits from a bit stream written by BitWriter
+ *
+ * @author Terence Lee
+ * */
+final class BitReader {
+
+    private final long [] words;
+    private long bitPosition;
+
+
+    BitReader(byte [] bytes){
+
+        //one spare word, so a read never has to check for the end of the stream
+        this.words = new long[((bytes.length + 7) >>> 3) + 1];
+
+        for (int i = 0; i < bytes.length; i++){
+            this.words[i >>> 3] |= (bytes[i] & 0xFFL) << (56 - 8 * (i & 7));
+        }
+    }
+
+
+    /**
+     * Read the next bitCount bits
+     *
+     * @param bitCount the number of bits, from 1 to 64
+     * */
+    long readBits(int bitCount){
+
+        int word = (int) (this.bitPosition >>> 6);
+        int freeBits = 64 - (int) (this.bitPosition & 63);
+
+        this.bitPosition += bitCount;
+
+        if (bitCount <= freeBits){
+
+            long bits = this.words[word] >>> (freeBits - bitCount);
+
+            return bitCount == 64 ? bits : bits & ((1L << bitCount) - 1);
+        }
+
+        int overflowBits = bitCount - freeBits;
+        long highBits = this.words[word] & ((1L << freeBits) - 1);
+
+        return (highBits << overflowBits) | (this.words[word + 1] >>> (64 - overflowBits));
+    }
+
+
+    boolean readBit(){
+        return readBits(1) != 0;
+    }
+}
@@ -0,0 +1,71 @@
+package storage;
+
+import java.util.Arrays;
+
+
+/**
+ * Appends values of 1 to 64 bits to a growing bit stream, most significant bit first
+ *
+ * @author Terence Lee
+ * */
+final class BitWriter {
+
+    private long [] words;
+    private long bitCount;
+
+
+    BitWriter(int expectedBits){
+        this.words = new long[Math.max(1, (expectedBits + 63) >>> 6)];
+    }
+
+
+    /**
+     * Append the lowest bitCount bits of a value
+     *
+     * @param value the bits to append, in the lowest bitCount bits
+     * @param bitCount the number of bits, from 1 to 64
+     * */
+    void writeBits(long value, int bitCount){
+
+        int word = (int) (this.bitCount >>> 6);
+        int freeBits = 64 - (int) (this.bitCount & 63);
+
+        if (word + 1 >= this.words.length){
+            this.words = Arrays.copyOf(this.words, this.words.length * 2 + 2);
+        }
+
+        long bits = bitCount == 64 ? value : value & ((1L << bitCount) - 1);
+
+        if (bitCount <= freeBits){
+            this.words[word] |= bits << (freeBits - bitCount);
+        }
+        else{
+            int overflowBits = bitCount - freeBits;
+
+            this.words[word] |= bits >>> overflowBits;
+            this.words[word + 1] |= bits << (64 - overflowBits);
+        }
+
+        this.bitCount += bitCount;
+    }
+
+
+    void writeBit(boolean bit){
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+
+    /**
+     * Returns the bit stream as bytes, padded with 0 bits to a whole byte
+     * */
+    byte[] toByteArray(){
+
+        byte [] bytes = new byte[(int) ((this.bitCount + 7) >>> 3)];
+
+        for (int i = 0; i < bytes.length; i++){
+            bytes[i] = (byte) (this.words[i >>> 3] >>> (56 - 8 * (i & 7)));
+        }
+
+        return bytes;
+    }
+}
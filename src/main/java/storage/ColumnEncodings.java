@@ -0,0 +1,157 @@
+package storage;
+
+
+/**
+ * The encodings of the column chunks of the columnar result format
+ *
+ *      (a) Gorilla XOR encoding for double columns: the first value is stored as is, and
+ *          every next value as the XOR with the previous one. A XOR of 0 (a repeated value)
+ *          takes 1 bit, and otherwise only the meaningful bits between the leading and
+ *          trailing zeros are stored, reusing the previous window when they fit into it
+ *      (b) bit packing for code columns such as the root types, bitsPerValue bits per row
+ *
+ * The raw bits of the doubles are stored, so NaN payloads and -0.0 survive a round trip
+ *
+ * @author Terence Lee
+ * */
+final class ColumnEncodings {
+
+    private static final int LEADING_ZEROS_BITS = 5;
+    private static final int MAXIMUM_LEADING_ZEROS = (1 << LEADING_ZEROS_BITS) - 1;
+    private static final int MEANINGFUL_BITS_BITS = 6;
+
+
+    private ColumnEncodings(){
+
+    }
+
+
+    /**
+     * Encode count values of a double column, starting at offset
+     * */
+    static byte[] encodeDoubles(double [] values, int offset, int count){
+
+        BitWriter writer = new BitWriter(count * 16);
+
+        if (count == 0){
+            return writer.toByteArray();
+        }
+
+        long previous = Double.doubleToRawLongBits(values[offset]);
+        writer.writeBits(previous, 64);
+
+        int windowLeadingZeros = -1;
+        int windowTrailingZeros = 0;
+
+        for (int i = offset + 1; i < offset + count; i++){
+
+            long current = Double.doubleToRawLongBits(values[i]);
+            long xor = current ^ previous;
+
+            previous = current;
+
+            if (xor == 0){
+
+                writer.writeBit(false);
+                continue;
+            }
+
+            writer.writeBit(true);
+
+            int leadingZeros = Math.min(Long.numberOfLeadingZeros(xor), MAXIMUM_LEADING_ZEROS);
+            int trailingZeros = Long.numberOfTrailingZeros(xor);
+
+            if (windowLeadingZeros >= 0 && leadingZeros >= windowLeadingZeros
+                    && trailingZeros >= windowTrailingZeros){
+
+                writer.writeBit(false);
+                writer.writeBits(xor >>> windowTrailingZeros,
+                        64 - windowLeadingZeros - windowTrailingZeros);
+            }
+            else{
+                int meaningfulBits = 64 - leadingZeros - trailingZeros;
+
+                writer.writeBit(true);
+                writer.writeBits(leadingZeros, LEADING_ZEROS_BITS);
+
+                //64 meaningful bits are stored as 0, since 0 meaningful bits never occur
+                writer.writeBits(meaningfulBits & 63, MEANINGFUL_BITS_BITS);
+                writer.writeBits(xor >>> trailingZeros, meaningfulBits);
+
+                windowLeadingZeros = leadingZeros;
+                windowTrailingZeros = trailingZeros;
+            }
+        }
+
+        return writer.toByteArray();
+    }
+
+
+    /**
+     * Decode count values of a double column chunk into target, starting at offset
+     * */
+    static void decodeDoubles(byte [] chunk, int count, double [] target, int offset){
+
+        if (count == 0){
+            return;
+        }
+
+        BitReader reader = new BitReader(chunk);
+
+        long previous = reader.readBits(64);
+        target[offset] = Double.longBitsToDouble(previous);
+
+        int windowLeadingZeros = 0;
+        int windowTrailingZeros = 0;
+
+        for (int i = offset + 1; i < offset + count; i++){
+
+            if (reader.readBit()){
+
+                if (reader.readBit()){
+
+                    windowLeadingZeros = (int) reader.readBits(LEADING_ZEROS_BITS);
+
+                    int meaningfulBits = (int) reader.readBits(MEANINGFUL_BITS_BITS);
+                    meaningfulBits = meaningfulBits == 0 ? 64 : meaningfulBits;
+
+                    windowTrailingZeros = 64 - windowLeadingZeros - meaningfulBits;
+                }
+
+                int meaningfulBits = 64 - windowLeadingZeros - windowTrailingZeros;
+
+                previous ^= reader.readBits(meaningfulBits) << windowTrailingZeros;
+            }
+
+            target[i] = Double.longBitsToDouble(previous);
+        }
+    }
+
+
+    /**
+     * Pack count codes of a byte column, starting at offset, into bitsPerValue bits each
+     * */
+    static byte[] encodeCodes(byte [] codes, int offset, int count, int bitsPerValue){
+
+        BitWriter writer = new BitWriter(count * bitsPerValue);
+
+        for (int i = offset; i < offset + count; i++){
+            writer.writeBits(codes[i], bitsPerValue);
+        }
+
+        return writer.toByteArray();
+    }
+
+
+    /**
+     * Unpack count codes of bitsPerValue bits each into target, starting at offset
+     * */
+    static void decodeCodes(byte [] chunk, int count, int bitsPerValue, byte [] target, int offset){
+
+        BitReader reader = new BitReader(chunk);
+
+        for (int i = offset; i < offset + count; i++){
+            target[i] = (byte) reader.readBits(bitsPerValue);
+        }
+    }
+}
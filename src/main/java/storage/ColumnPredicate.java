@@ -0,0 +1,146 @@
+package storage;
+
+
+/**
+ * A range condition on a double column of stored results, such as vertex y &lt; 0
+ *
+ * NaN values never match. Predicates are immutable and are created with the static
+ * factory methods
+ *
+ * Example usage:
+ * <pre>
+ *     ColumnPredicate belowAxis = ColumnPredicate.lessThan(ResultColumn.VERTEX_Y, 0);
+ *     ColumnPredicate smallDiscriminant = ColumnPredicate.between(ResultColumn.DISCRIMINANT, -1, 1);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class ColumnPredicate {
+
+    private final ResultColumn column;
+
+    private final double lowerBound;
+    private final boolean lowerInclusive;
+    private final double upperBound;
+    private final boolean upperInclusive;
+
+
+    private ColumnPredicate(ResultColumn column, double lowerBound, boolean lowerInclusive,
+                            double upperBound, boolean upperInclusive){
+
+        if (column.isCodeColumn()){
+            throw new IllegalArgumentException(column + " is not a double column");
+        }
+
+        if (Double.isNaN(lowerBound) || Double.isNaN(upperBound)){
+            throw new IllegalArgumentException("Bounds must not be NaN");
+        }
+
+        this.column = column;
+        this.lowerBound = lowerBound;
+        this.lowerInclusive = lowerInclusive;
+        this.upperBound = upperBound;
+        this.upperInclusive = upperInclusive;
+    }
+
+
+    /**
+     * Returns a predicate matching the values below the bound
+     * */
+    public static ColumnPredicate lessThan(ResultColumn column, double bound){
+        return new ColumnPredicate(column, Double.NEGATIVE_INFINITY, true, bound, false);
+    }
+
+
+    /**
+     * Returns a predicate matching the values below or equal to the bound
+     * */
+    public static ColumnPredicate lessThanOrEqual(ResultColumn column, double bound){
+        return new ColumnPredicate(column, Double.NEGATIVE_INFINITY, true, bound, true);
+    }
+
+
+    /**
+     * Returns a predicate matching the values above the bound
+     * */
+    public static ColumnPredicate greaterThan(ResultColumn column, double bound){
+        return new ColumnPredicate(column, bound, false, Double.POSITIVE_INFINITY, true);
+    }
+
+
+    /**
+     * Returns a predicate matching the values above or equal to the bound
+     * */
+    public static ColumnPredicate greaterThanOrEqual(ResultColumn column, double bound){
+        return new ColumnPredicate(column, bound, true, Double.POSITIVE_INFINITY, true);
+    }
+
+
+    /**
+     * Returns a predicate matching the values within [lowerBound, upperBound]
+     * */
+    public static ColumnPredicate between(ResultColumn column, double lowerBound, double upperBound){
+        return new ColumnPredicate(column, lowerBound, true, upperBound, true);
+    }
+
+
+    /**
+     * Getter for the column the predicate applies to
+     * */
+    public ResultColumn getColumn() {
+        return this.column;
+    }
+
+
+    /**
+     * Returns true if the value matches
+     * */
+    public boolean matches(double value){
+
+        boolean aboveLowerBound = this.lowerInclusive ? value >= this.lowerBound : value > this.lowerBound;
+        boolean belowUpperBound = this.upperInclusive ? value <= this.upperBound : value < this.upperBound;
+
+        return aboveLowerBound & belowUpperBound;
+    }
+
+
+    /**
+     * Returns false if no value of a row group can match, according to its zone map
+     * */
+    boolean mayMatch(ZoneMap zoneMap){
+
+        double minimum = zoneMap.getMinimum(this.column);
+        double maximum = zoneMap.getMaximum(this.column);
+
+        if (minimum > maximum){
+            //every value is NaN
+            return false;
+        }
+
+        boolean maximumAboveLowerBound =
+                this.lowerInclusive ? maximum >= this.lowerBound : maximum > this.lowerBound;
+        boolean minimumBelowUpperBound =
+                this.upperInclusive ? minimum <= this.upperBound : minimum < this.upperBound;
+
+        return maximumAboveLowerBound && minimumBelowUpperBound;
+    }
+
+
+    /**
+     * Returns true if every value of a row group matches, according to its zone map
+     * */
+    boolean matchesAll(ZoneMap zoneMap){
+
+        return zoneMap.getNanCount(this.column) == 0
+                && matches(zoneMap.getMinimum(this.column))
+                && matches(zoneMap.getMaximum(this.column));
+    }
+
+
+    @Override
+    public String toString(){
+
+        return (this.lowerInclusive ? "[" : "(") + this.lowerBound + ", " + this.upperBound
+                + (this.upperInclusive ? "]" : ")") + " on " + this.column;
+    }
+}
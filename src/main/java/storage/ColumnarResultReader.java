@@ -0,0 +1,357 @@
+package storage;
+
+import models.BatchSolveResult;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * Reads files written by ColumnarResultWriter
+ *
+ * Only the footer is read when the file is opened. Every read then fetches and decodes
+ * just the chunks of the requested column, so reading the discriminants of a file does
+ * not touch the bytes of the roots or the vertices
+ *
+ * Example usage:
+ * <pre>
+ *     try (ColumnarResultReader reader = new ColumnarResultReader(path)){
+ *
+ *         double [] discriminants = reader.readDoubleColumn(ResultColumn.DISCRIMINANT);
+ *         byte [] rootTypes = reader.readCodeColumn(ResultColumn.ROOT_TYPE);
+ *     }
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public class ColumnarResultReader implements Closeable {
+
+    private static final int TRAILER_LENGTH = 2 * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final RowGroupMetadata [] rowGroups;
+    private final long [] firstRows;
+    private final int rowCount;
+
+
+    /**
+     * Open a file and read its footer
+     *
+     * @throws IOException if the file cannot be read or is not in the columnar result format
+     * */
+    public ColumnarResultReader(Path path) throws IOException {
+
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try{
+            this.rowGroups = readFooter();
+        }
+        catch (IOException | RuntimeException e){
+
+            this.channel.close();
+            throw e;
+        }
+
+        this.firstRows = new long[this.rowGroups.length + 1];
+
+        for (int i = 0; i < this.rowGroups.length; i++){
+            this.firstRows[i + 1] = this.firstRows[i] + this.rowGroups[i].getRowCount();
+        }
+
+        if (this.firstRows[this.rowGroups.length] > Integer.MAX_VALUE){
+
+            this.channel.close();
+            throw new IOException("File holds more rows than fit into one array: "
+                    + this.firstRows[this.rowGroups.length]);
+        }
+
+        this.rowCount = (int) this.firstRows[this.rowGroups.length];
+    }
+
+
+    private RowGroupMetadata[] readFooter() throws IOException {
+
+        long fileSize = this.channel.size();
+
+        if (fileSize < Integer.BYTES + TRAILER_LENGTH){
+            throw new IOException("File is too short to be a columnar result file");
+        }
+
+        ByteBuffer header = read(0, Integer.BYTES);
+        ByteBuffer trailer = read(fileSize - TRAILER_LENGTH, TRAILER_LENGTH);
+
+        int footerLength = trailer.getInt();
+
+        if (header.getInt() != ColumnarResultWriter.MAGIC
+                || trailer.getInt() != ColumnarResultWriter.MAGIC){
+
+            throw new IOException("Not a columnar result file");
+        }
+
+        if (footerLength < 3 * Integer.BYTES
+                || footerLength > fileSize - Integer.BYTES - TRAILER_LENGTH){
+
+            throw new IOException("Corrupt footer length: " + footerLength);
+        }
+
+        ByteBuffer footer = read(fileSize - TRAILER_LENGTH - footerLength, footerLength);
+
+        int version = footer.getInt();
+        int columnCount = footer.getInt();
+        int rowGroupCount = footer.getInt();
+
+        if (version != ColumnarResultWriter.VERSION){
+            throw new IOException("Unsupported version: " + version);
+        }
+
+        if (columnCount != ResultColumn.values().length){
+            throw new IOException("Unexpected column count: " + columnCount);
+        }
+
+        RowGroupMetadata [] rowGroupMetadata = new RowGroupMetadata[rowGroupCount];
+
+        for (int group = 0; group < rowGroupCount; group++){
+
+            int rows = footer.getInt();
+            long [] chunkOffsets = new long[columnCount];
+            int [] chunkLengths = new int[columnCount];
+
+            for (int column = 0; column < columnCount; column++){
+
+                chunkOffsets[column] = footer.getLong();
+                chunkLengths[column] = footer.getInt();
+            }
+
+            rowGroupMetadata[group] = new RowGroupMetadata(rows, chunkOffsets, chunkLengths, readZoneMap(footer));
+        }
+
+        return rowGroupMetadata;
+    }
+
+
+    private static ZoneMap readZoneMap(ByteBuffer footer){
+
+        ZoneMap zoneMap = new ZoneMap();
+
+        for (ResultColumn column : ResultColumn.values()){
+
+            if (!column.isCodeColumn()){
+                zoneMap.setDoubleStatistics(column, footer.getDouble(), footer.getDouble(),
+                        footer.getInt());
+            }
+        }
+
+        for (int rootType = 0; rootType < ZoneMap.ROOT_TYPE_CODES; rootType++){
+            zoneMap.setRootTypeCount(rootType, footer.getInt());
+        }
+
+        return zoneMap;
+    }
+
+
+    /**
+     * Returns the number of rows in the file
+     * */
+    public int getRowCount() {
+        return this.rowCount;
+    }
+
+
+    /**
+     * Returns the number of row groups in the file
+     * */
+    public int getRowGroupCount() {
+        return this.rowGroups.length;
+    }
+
+
+    /**
+     * Returns the number of rows of a row group
+     * */
+    public int getRowGroupRowCount(int rowGroup) {
+        return this.rowGroups[rowGroup].getRowCount();
+    }
+
+
+    /**
+     * Returns the index of the first row of a row group
+     * */
+    public int getRowGroupFirstRow(int rowGroup) {
+        return (int) this.firstRows[rowGroup];
+    }
+
+
+    /**
+     * Returns the zone map of a row group
+     * */
+    ZoneMap getZoneMap(int rowGroup) {
+        return this.rowGroups[rowGroup].getZoneMap();
+    }
+
+
+    /**
+     * Returns the number of bytes the chunks of a column take in the file
+     * */
+    public long getCompressedSize(ResultColumn column) {
+
+        long compressedSize = 0;
+
+        for (RowGroupMetadata rowGroup : this.rowGroups){
+            compressedSize += rowGroup.getChunkLength(column);
+        }
+
+        return compressedSize;
+    }
+
+
+    /**
+     * Read and decode every row of a double column
+     *
+     * @throws IllegalArgumentException if the column holds codes
+     * @throws IOException if the file cannot be read
+     * */
+    public double[] readDoubleColumn(ResultColumn column) throws IOException {
+
+        double [] values = new double[this.rowCount];
+
+        for (int group = 0; group < this.rowGroups.length; group++){
+            readDoubleColumn(column, group, values, (int) this.firstRows[group]);
+        }
+
+        return values;
+    }
+
+
+    /**
+     * Read and decode the rows of one row group of a double column into target
+     *
+     * @throws IllegalArgumentException if the column holds codes
+     * @throws IOException if the file cannot be read
+     * */
+    public void readDoubleColumn(ResultColumn column, int rowGroup, double [] target, int offset)
+            throws IOException {
+
+        if (column.isCodeColumn()){
+            throw new IllegalArgumentException(column + " is not a double column");
+        }
+
+        RowGroupMetadata metadata = this.rowGroups[rowGroup];
+
+        ColumnEncodings.decodeDoubles(readChunk(metadata, column), metadata.getRowCount(),
+                target, offset);
+    }
+
+
+    /**
+     * Read and decode every row of a code column (ROOT_TYPE or EQUATION_TYPE)
+     *
+     * @throws IllegalArgumentException if the column holds doubles
+     * @throws IOException if the file cannot be read
+     * */
+    public byte[] readCodeColumn(ResultColumn column) throws IOException {
+
+        byte [] codes = new byte[this.rowCount];
+
+        for (int group = 0; group < this.rowGroups.length; group++){
+            readCodeColumn(column, group, codes, (int) this.firstRows[group]);
+        }
+
+        return codes;
+    }
+
+
+    /**
+     * Read and decode the rows of one row group of a code column into target
+     *
+     * @throws IllegalArgumentException if the column holds doubles
+     * @throws IOException if the file cannot be read
+     * */
+    public void readCodeColumn(ResultColumn column, int rowGroup, byte [] target, int offset)
+            throws IOException {
+
+        if (!column.isCodeColumn()){
+            throw new IllegalArgumentException(column + " is not a code column");
+        }
+
+        RowGroupMetadata metadata = this.rowGroups[rowGroup];
+
+        ColumnEncodings.decodeCodes(readChunk(metadata, column), metadata.getRowCount(),
+                column.getBitsPerCode(), target, offset);
+    }
+
+
+    /**
+     * Read every column of the file into a new degree 2 result
+     *
+     * @throws IOException if the file cannot be read
+     * */
+    public BatchSolveResult readAll() throws IOException {
+
+        BatchSolveResult result = new BatchSolveResult(this.rowCount);
+        double [] rootScratch = new double[this.rowCount];
+
+        for (ResultColumn column : ResultColumn.values()){
+
+            if (column.isCodeColumn()){
+
+                byte [] codes = readCodeColumn(column);
+                System.arraycopy(codes, 0, column.codesOf(result), 0, codes.length);
+                continue;
+            }
+
+            int rootIndex = column.rootIndex();
+            double [] target = column.doublesOf(result);
+
+            if (rootIndex < 0){
+
+                for (int group = 0; group < this.rowGroups.length; group++){
+                    readDoubleColumn(column, group, target, (int) this.firstRows[group]);
+                }
+            }
+            else{
+                for (int group = 0; group < this.rowGroups.length; group++){
+                    readDoubleColumn(column, group, rootScratch, (int) this.firstRows[group]);
+                }
+
+                for (int row = 0; row < this.rowCount; row++){
+                    target[2 * row + rootIndex] = rootScratch[row];
+                }
+            }
+        }
+
+        return result;
+    }
+
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+
+    private byte[] readChunk(RowGroupMetadata metadata, ResultColumn column) throws IOException {
+        return read(metadata.getChunkOffset(column), metadata.getChunkLength(column)).array();
+    }
+
+
+    private ByteBuffer read(long position, int length) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+
+        while (buffer.hasRemaining()){
+
+            if (this.channel.read(buffer, position + buffer.position()) < 0){
+                throw new EOFException("Unexpected end of file at " + (position + buffer.position()));
+            }
+        }
+
+        buffer.flip();
+
+        return buffer;
+    }
+}
@@ -0,0 +1,297 @@
+package storage;
+
+import models.BatchSolveResult;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Writes the rows of degree 2 BatchSolveResults into the columnar result format
+ *
+ * The rows are collected into row groups of rowGroupSize rows, and every row group is
+ * written as one chunk per ResultColumn, each chunk being encoded on its own (see
+ * ColumnEncodings). The file layout is:
+ * <pre>
+ *     magic
+ *     row group 0: chunk of column 0, chunk of column 1, ...
+ *     row group 1: ...
+ *     footer: version, column count, row group count,
+ *             per row group: row count, per column: chunk offset and length,
+ *                            per double column: minimum, maximum and NaN count,
+ *                            per root type: row count
+ *     footer length, magic
+ * </pre>
+ *
+ * so a reader finds every chunk from the footer and can decode a single column without
+ * reading the others. The minimums, maximums and counts (the zone map of the row group)
+ * let a scan skip row groups which cannot match, see ResultScanner
+ *
+ * Example usage:
+ * <pre>
+ *     try (ColumnarResultWriter writer = new ColumnarResultWriter(outputStream)){
+ *
+ *         writer.write(result, 0, result.getSize());
+ *     }
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public class ColumnarResultWriter implements Closeable {
+
+    /**
+     * The default number of rows per row group
+     * */
+    public static final int DEFAULT_ROW_GROUP_SIZE = 1 << 16;
+
+    static final int MAGIC = 0x51455352;
+    static final int VERSION = 1;
+
+    private static final ResultColumn [] COLUMNS = ResultColumn.values();
+
+    private final DataOutputStream out;
+    private final int rowGroupSize;
+
+    private final BatchSolveResult rowGroup;
+    private final double [] rootScratch;
+    private final List<RowGroupMetadata> rowGroups = new ArrayList<>();
+
+    private int bufferedRows;
+    private long position;
+    private boolean closed;
+
+
+    /**
+     * Create a writer with row groups of DEFAULT_ROW_GROUP_SIZE rows
+     *
+     * @throws IOException if the header cannot be written
+     * */
+    public ColumnarResultWriter(OutputStream out) throws IOException {
+        this(out, DEFAULT_ROW_GROUP_SIZE);
+    }
+
+
+    /**
+     * @param out the stream the file is written to, closed by close()
+     * @param rowGroupSize the number of rows per row group, the last one may be smaller
+     *
+     * @throws IllegalArgumentException if the row group size is less than 1
+     * @throws IOException if the header cannot be written
+     * */
+    public ColumnarResultWriter(OutputStream out, int rowGroupSize) throws IOException {
+
+        if (rowGroupSize < 1){
+            throw new IllegalArgumentException("Row group size must be at least 1: " + rowGroupSize);
+        }
+
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 1 << 16));
+        this.rowGroupSize = rowGroupSize;
+
+        this.rowGroup = new BatchSolveResult(rowGroupSize);
+        this.rootScratch = new double[rowGroupSize];
+
+        this.out.writeInt(MAGIC);
+        this.position = Integer.BYTES;
+    }
+
+
+    /**
+     * Append the rows [fromRow, toRow) of a result
+     *
+     * @param result a degree 2 result
+     *
+     * @throws IllegalArgumentException if the result is not of degree 2 or the rows are
+     *                                  out of its range
+     * @throws IOException if a row group cannot be written
+     * */
+    public void write(BatchSolveResult result, int fromRow, int toRow) throws IOException {
+
+        if (result.getDegree() != 2){
+            throw new IllegalArgumentException("Only degree 2 results can be written: "
+                    + result.getDegree());
+        }
+
+        if (fromRow < 0 || toRow > result.getSize() || fromRow > toRow){
+            throw new IllegalArgumentException("Rows [" + fromRow + ", " + toRow
+                    + ") are out of the range of a result of " + result.getSize() + " rows");
+        }
+
+        if (this.closed){
+            throw new IOException("Writer is closed");
+        }
+
+        int row = fromRow;
+
+        while (row < toRow){
+
+            int rows = Math.min(toRow - row, this.rowGroupSize - this.bufferedRows);
+
+            copyRows(result, row, rows);
+
+            row += rows;
+            this.bufferedRows += rows;
+
+            if (this.bufferedRows == this.rowGroupSize){
+                writeRowGroup();
+            }
+        }
+    }
+
+
+    /**
+     * Write the last row group and the footer, then close the stream
+     * */
+    @Override
+    public void close() throws IOException {
+
+        if (this.closed){
+            return;
+        }
+
+        this.closed = true;
+
+        if (this.bufferedRows > 0){
+            writeRowGroup();
+        }
+
+        writeFooter();
+
+        this.out.close();
+    }
+
+
+    /**
+     * Copy rows of a result into the buffered row group
+     * */
+    private void copyRows(BatchSolveResult result, int fromRow, int rows){
+
+        int toIndex = this.bufferedRows;
+
+        System.arraycopy(result.getRootTypes(), fromRow, this.rowGroup.getRootTypes(), toIndex, rows);
+        System.arraycopy(result.getEquationTypes(), fromRow, this.rowGroup.getEquationTypes(),
+                toIndex, rows);
+
+        System.arraycopy(result.getRootRealParts(), 2 * fromRow, this.rowGroup.getRootRealParts(),
+                2 * toIndex, 2 * rows);
+        System.arraycopy(result.getRootImaginaryParts(), 2 * fromRow,
+                this.rowGroup.getRootImaginaryParts(), 2 * toIndex, 2 * rows);
+
+        for (ResultColumn column : COLUMNS){
+
+            if (!column.isCodeColumn() && column.rootIndex() < 0){
+                System.arraycopy(column.doublesOf(result), fromRow, column.doublesOf(this.rowGroup),
+                        toIndex, rows);
+            }
+        }
+    }
+
+
+    private void writeRowGroup() throws IOException {
+
+        int rows = this.bufferedRows;
+        long [] chunkOffsets = new long[COLUMNS.length];
+        int [] chunkLengths = new int[COLUMNS.length];
+        ZoneMap zoneMap = new ZoneMap();
+
+        zoneMap.addRootTypes(this.rowGroup.getRootTypes(), rows);
+
+        for (ResultColumn column : COLUMNS){
+
+            byte [] chunk = encodeChunk(column, rows, zoneMap);
+
+            chunkOffsets[column.ordinal()] = this.position;
+            chunkLengths[column.ordinal()] = chunk.length;
+
+            this.out.write(chunk);
+            this.position += chunk.length;
+        }
+
+        this.rowGroups.add(new RowGroupMetadata(rows, chunkOffsets, chunkLengths, zoneMap));
+        this.bufferedRows = 0;
+    }
+
+
+    /**
+     * Encode the chunk of a column of the buffered row group, and record the statistics
+     * of a double column in the zone map
+     * */
+    private byte[] encodeChunk(ResultColumn column, int rows, ZoneMap zoneMap){
+
+        if (column.isCodeColumn()){
+            return ColumnEncodings.encodeCodes(column.codesOf(this.rowGroup), 0, rows,
+                    column.getBitsPerCode());
+        }
+
+        double [] values = column.doublesOf(this.rowGroup);
+        int rootIndex = column.rootIndex();
+
+        if (rootIndex >= 0){
+
+            for (int row = 0; row < rows; row++){
+                this.rootScratch[row] = values[2 * row + rootIndex];
+            }
+
+            values = this.rootScratch;
+        }
+
+        zoneMap.addDoubles(column, values, rows);
+
+        return ColumnEncodings.encodeDoubles(values, 0, rows);
+    }
+
+
+    private void writeFooter() throws IOException {
+
+        int doubleColumns = 0;
+
+        for (ResultColumn column : COLUMNS){
+            doubleColumns += column.isCodeColumn() ? 0 : 1;
+        }
+
+        int rowGroupLength = Integer.BYTES
+                + COLUMNS.length * (Long.BYTES + Integer.BYTES)
+                + doubleColumns * (2 * Double.BYTES + Integer.BYTES)
+                + ZoneMap.ROOT_TYPE_CODES * Integer.BYTES;
+
+        int footerLength = 3 * Integer.BYTES + this.rowGroups.size() * rowGroupLength;
+
+        this.out.writeInt(VERSION);
+        this.out.writeInt(COLUMNS.length);
+        this.out.writeInt(this.rowGroups.size());
+
+        for (RowGroupMetadata rowGroupMetadata : this.rowGroups){
+
+            this.out.writeInt(rowGroupMetadata.getRowCount());
+
+            for (ResultColumn column : COLUMNS){
+
+                this.out.writeLong(rowGroupMetadata.getChunkOffset(column));
+                this.out.writeInt(rowGroupMetadata.getChunkLength(column));
+            }
+
+            ZoneMap zoneMap = rowGroupMetadata.getZoneMap();
+
+            for (ResultColumn column : COLUMNS){
+
+                if (!column.isCodeColumn()){
+
+                    this.out.writeDouble(zoneMap.getMinimum(column));
+                    this.out.writeDouble(zoneMap.getMaximum(column));
+                    this.out.writeInt(zoneMap.getNanCount(column));
+                }
+            }
+
+            for (int rootType = 0; rootType < ZoneMap.ROOT_TYPE_CODES; rootType++){
+                this.out.writeInt(zoneMap.getRootTypeCount(rootType));
+            }
+        }
+
+        this.out.writeInt(footerLength);
+        this.out.writeInt(MAGIC);
+    }
+}
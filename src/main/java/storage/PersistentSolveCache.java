@@ -0,0 +1,624 @@
+package storage;
+
+import models.BatchSolveResult;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+
+/**
+ * A memory-mapped cache of quadratic solutions, kept in a file so that it survives
+ * process restarts and is warm as soon as the file is mapped
+ *
+ * The file is a fixed number of slots, so the cache has a bounded size. Each key
+ * (the bit patterns of a, b and c) hashes to a window of PROBE_WINDOW consecutive slots,
+ * and is stored in one of them. When every slot of the window is taken, the clock
+ * algorithm picks the victim: slots read since the hand last passed get a second chance.
+ * This is an approximation of the clock: one hand, an offset into the window, is shared
+ * by all windows, so the hand of a window moves when other windows evict as well
+ *
+ * Every slot holds a compact result row:
+ * <pre>
+ *     0    version (even when stable, odd while being written)
+ *     8    CRC32C of bytes 16 to 120
+ *     12   reference bit of the clock
+ *     16   bit patterns of a, b and c
+ *     40   root type, equation type, occupied flag
+ *     48   roots (real and imaginary part of both), discriminant, vertex x and y,
+ *          sum and product of roots
+ * </pre>
+ *
+ * Readers never lock: they read the version, copy the slot and read the version again,
+ * and retry if a write happened in between (a sequence lock). A slot with an odd
+ * version or a wrong checksum, such as one torn by a crash in the middle of a write,
+ * reads as a miss and is overwritten by the next put into its window. The header records
+ * whether the last writer closed the file; only when it did not are the torn slots
+ * cleared on the next open for writing, so opening a cleanly closed file does not read
+ * the slots
+ *
+ * Writes are serialized within the process, and only one process can open the file
+ * for writing at a time. Other processes may open it read-only at the same time
+ *
+ * Example usage:
+ * <pre>
+ *     try (PersistentSolveCache cache = PersistentSolveCache.open(path, 1 &lt;&lt; 20)){
+ *
+ *         if (!cache.get(a, b, c, result, 0)){
+ *
+ *             QuadraticEquationBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result);
+ *             cache.put(a, b, c, result, 0);
+ *         }
+ *     }
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public class PersistentSolveCache implements Closeable {
+
+    /**
+     * The number of slots a key can be stored in
+     * */
+    public static final int PROBE_WINDOW = 8;
+
+    static final int MAGIC = 0x51455343;
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = 64;
+    static final int SLOT_SIZE = 128;
+
+    //header field telling whether the last writer closed the file
+    static final int STATE_OFFSET = 16;
+    static final int STATE_OPEN = 0;
+    static final int STATE_CLOSED = 1;
+
+    private static final int VERSION_OFFSET = 0;
+    private static final int CHECKSUM_OFFSET = 8;
+    private static final int REFERENCE_OFFSET = 12;
+    private static final int PAYLOAD_OFFSET = 16;
+    private static final int PAYLOAD_SIZE = 104;
+
+    //offsets within the payload
+    private static final int KEY_OFFSET = 0;
+    private static final int ROOT_TYPE_OFFSET = 24;
+    private static final int EQUATION_TYPE_OFFSET = 25;
+    private static final int OCCUPIED_OFFSET = 26;
+    private static final int VALUES_OFFSET = 32;
+
+    /**
+     * The largest number of slots which fit into one mapping
+     * */
+    static final int MAXIMUM_SLOT_COUNT = (Integer.MAX_VALUE - HEADER_SIZE) / SLOT_SIZE;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final FileChannel channel;
+    private final FileLock writerLock;
+    private final MappedByteBuffer buffer;
+    private final boolean writable;
+    private final int slotCount;
+
+    private final ThreadLocal<SlotScratch> scratches;
+    private final SlotScratch writerScratch;
+
+    //the offset into the window of the next clock victim, shared by every window
+    private int clockHand;
+
+
+    private PersistentSolveCache(FileChannel channel, FileLock writerLock, MappedByteBuffer buffer,
+                                 boolean writable, int slotCount){
+
+        this.channel = channel;
+        this.writerLock = writerLock;
+        this.buffer = buffer;
+        this.writable = writable;
+        this.slotCount = slotCount;
+
+        this.scratches = ThreadLocal.withInitial(() -> new SlotScratch(buffer));
+        this.writerScratch = new SlotScratch(buffer);
+    }
+
+
+    /**
+     * Open a cache file for reading and writing, creating it if it does not exist
+     *
+     * An existing file keeps its own number of slots. When the file was not closed by its
+     * last writer, the slots torn by the crash are cleared, which reads the whole file
+     *
+     * @param slotCount the number of slots of a new file, rounded up to a power of two
+     *                  of at least PROBE_WINDOW
+     *
+     * @throws IllegalArgumentException if the slot count is not positive or too large
+     * @throws IOException if the file cannot be mapped, is not a cache file, or is already
+     *                     open for writing in another process
+     * */
+    public static PersistentSolveCache open(Path path, int slotCount) throws IOException {
+
+        if (slotCount < 1 || slotCount > MAXIMUM_SLOT_COUNT){
+            throw new IllegalArgumentException("Slot count must be between 1 and "
+                    + MAXIMUM_SLOT_COUNT + ": " + slotCount);
+        }
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try{
+            FileLock writerLock;
+
+            try{
+                writerLock = channel.tryLock(0, 1, false);
+            }
+            catch (OverlappingFileLockException e){
+                //held by this process
+                writerLock = null;
+            }
+
+            if (writerLock == null){
+                throw new IOException("Cache is already open for writing: " + path);
+            }
+
+            boolean isNew = channel.size() == 0;
+            int slots = isNew ? roundUpSlotCount(slotCount) : readHeader(channel);
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    HEADER_SIZE + (long) slots * SLOT_SIZE);
+
+            if (isNew){
+
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, slots);
+                buffer.putInt(12, SLOT_SIZE);
+            }
+
+            PersistentSolveCache cache = new PersistentSolveCache(channel, writerLock, buffer, true, slots);
+
+            if (!isNew && buffer.getInt(STATE_OFFSET) != STATE_CLOSED){
+                cache.clearTornSlots();
+            }
+
+            //the open state must reach the disk before any slot written from now on
+            buffer.putInt(STATE_OFFSET, STATE_OPEN);
+            buffer.force();
+
+            return cache;
+        }
+        catch (IOException | RuntimeException e){
+
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    /**
+     * Open an existing cache file for reading only
+     *
+     * @throws IOException if the file cannot be mapped or is not a cache file
+     * */
+    public static PersistentSolveCache openReadOnly(Path path) throws IOException {
+
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try{
+            int slots = readHeader(channel);
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    HEADER_SIZE + (long) slots * SLOT_SIZE);
+
+            return new PersistentSolveCache(channel, null, buffer, false, slots);
+        }
+        catch (IOException | RuntimeException e){
+
+            channel.close();
+            throw e;
+        }
+    }
+
+
+    private static int roundUpSlotCount(int slotCount){
+
+        int slots = Math.max(PROBE_WINDOW, Integer.highestOneBit(slotCount - 1) << 1);
+
+        return slots > MAXIMUM_SLOT_COUNT ? Integer.highestOneBit(MAXIMUM_SLOT_COUNT) : slots;
+    }
+
+
+    private static int readHeader(FileChannel channel) throws IOException {
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+        while (header.hasRemaining() && channel.read(header, header.position()) >= 0){
+            //read until the header is complete or the file ends
+        }
+
+        header.flip();
+
+        if (header.remaining() < HEADER_SIZE || header.getInt(0) != MAGIC){
+            throw new IOException("Not a solve cache file");
+        }
+
+        int version = header.getInt(4);
+        int slots = header.getInt(8);
+
+        if (version != VERSION || header.getInt(12) != SLOT_SIZE){
+            throw new IOException("Unsupported solve cache version: " + version);
+        }
+
+        if (slots < PROBE_WINDOW || slots > MAXIMUM_SLOT_COUNT || Integer.bitCount(slots) != 1
+                || channel.size() < HEADER_SIZE + (long) slots * SLOT_SIZE){
+
+            throw new IOException("Corrupt solve cache header, slot count " + slots);
+        }
+
+        return slots;
+    }
+
+
+    /**
+     * Getter for the number of slots, the most entries the cache can hold
+     * */
+    public int getSlotCount() {
+        return this.slotCount;
+    }
+
+
+    /**
+     * Look up the solution of ax^2 + bx + c = 0, and write it into a row of a degree 2
+     * result on a hit. The row is left untouched on a miss
+     *
+     * @return true on a hit
+     * */
+    public boolean get(double coefficientA, double coefficientB, double constantC,
+                       BatchSolveResult result, int row){
+
+        long keyA = Double.doubleToRawLongBits(coefficientA);
+        long keyB = Double.doubleToRawLongBits(coefficientB);
+        long keyC = Double.doubleToRawLongBits(constantC);
+
+        SlotScratch scratch = this.scratches.get();
+        int firstSlot = firstSlotOf(keyA, keyB, keyC);
+
+        for (int probe = 0; probe < PROBE_WINDOW; probe++){
+
+            int slotOffset = slotOffset((firstSlot + probe) & (this.slotCount - 1));
+
+            if (readSlot(slotOffset, scratch) && scratch.hasKey(keyA, keyB, keyC)){
+
+                if (this.writable){
+                    this.buffer.put(slotOffset + REFERENCE_OFFSET, (byte) 1);
+                }
+
+                scratch.copyTo(result, row);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Store the solution of ax^2 + bx + c = 0, read from a row of a degree 2 result
+     *
+     * @throws IllegalStateException if the cache was opened read-only
+     * */
+    public void put(double coefficientA, double coefficientB, double constantC,
+                    BatchSolveResult result, int row){
+
+        if (!this.writable){
+            throw new IllegalStateException("Cache was opened read-only");
+        }
+
+        long keyA = Double.doubleToRawLongBits(coefficientA);
+        long keyB = Double.doubleToRawLongBits(coefficientB);
+        long keyC = Double.doubleToRawLongBits(constantC);
+
+        synchronized (this.writerScratch){
+
+            int slotOffset = chooseSlot(keyA, keyB, keyC);
+
+            this.writerScratch.fill(keyA, keyB, keyC, result, row);
+            writeSlot(slotOffset, this.writerScratch);
+        }
+    }
+
+
+    /**
+     * Write every change to the storage device
+     * */
+    public void force(){
+        this.buffer.force();
+    }
+
+
+    @Override
+    public void close() throws IOException {
+
+        if (this.writable){
+
+            //every slot must reach the disk before the file is marked as closed
+            force();
+            this.buffer.putInt(STATE_OFFSET, STATE_CLOSED);
+            force();
+        }
+
+        if (this.writerLock != null){
+            this.writerLock.release();
+        }
+
+        this.channel.close();
+    }
+
+
+    /**
+     * Returns the slot a key is stored in: the slot already holding it, else an empty
+     * slot of its window, else the victim of the clock
+     * */
+    private int chooseSlot(long keyA, long keyB, long keyC){
+
+        int firstSlot = firstSlotOf(keyA, keyB, keyC);
+        int emptySlotOffset = -1;
+
+        for (int probe = 0; probe < PROBE_WINDOW; probe++){
+
+            int slotOffset = slotOffset((firstSlot + probe) & (this.slotCount - 1));
+
+            if (!readSlot(slotOffset, this.writerScratch)){
+
+                emptySlotOffset = emptySlotOffset < 0 ? slotOffset : emptySlotOffset;
+            }
+            else if (this.writerScratch.hasKey(keyA, keyB, keyC)){
+                return slotOffset;
+            }
+        }
+
+        if (emptySlotOffset >= 0){
+            return emptySlotOffset;
+        }
+
+        //second chance: clear reference bits until a slot without one comes up. The windows
+        //overlap and share the hand, as a hand per window would cost a counter per slot
+        while (true){
+
+            int probe = this.clockHand;
+            this.clockHand = (this.clockHand + 1) & (PROBE_WINDOW - 1);
+
+            int slotOffset = slotOffset((firstSlot + probe) & (this.slotCount - 1));
+
+            if (this.buffer.get(slotOffset + REFERENCE_OFFSET) == 0){
+                return slotOffset;
+            }
+
+            this.buffer.put(slotOffset + REFERENCE_OFFSET, (byte) 0);
+        }
+    }
+
+
+    /**
+     * Copy a slot into the scratch, following the sequence lock
+     *
+     * @return true if the slot holds a stable, occupied entry with a valid checksum
+     * */
+    private boolean readSlot(int slotOffset, SlotScratch scratch){
+
+        for (int attempt = 0; attempt < 4; attempt++){
+
+            long versionBefore = (long) LONGS.getAcquire(this.buffer, slotOffset + VERSION_OFFSET);
+
+            if ((versionBefore & 1) != 0){
+                Thread.onSpinWait();
+                continue;
+            }
+
+            int checksum = this.buffer.getInt(slotOffset + CHECKSUM_OFFSET);
+            scratch.load(slotOffset + PAYLOAD_OFFSET);
+
+            VarHandle.acquireFence();
+
+            long versionAfter = (long) LONGS.getVolatile(this.buffer, slotOffset + VERSION_OFFSET);
+
+            if (versionBefore == versionAfter){
+                return scratch.isOccupied() && scratch.checksum() == checksum;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Write the scratch into a slot, following the sequence lock
+     * */
+    private void writeSlot(int slotOffset, SlotScratch scratch){
+
+        long version = (long) LONGS.getVolatile(this.buffer, slotOffset + VERSION_OFFSET);
+        long stableVersion = (version & 1) == 0 ? version : version + 1;
+
+        LONGS.setVolatile(this.buffer, slotOffset + VERSION_OFFSET, stableVersion + 1);
+
+        scratch.store(slotOffset + PAYLOAD_OFFSET);
+        this.buffer.putInt(slotOffset + CHECKSUM_OFFSET, scratch.checksum());
+        this.buffer.put(slotOffset + REFERENCE_OFFSET, (byte) (scratch.isOccupied() ? 1 : 0));
+
+        LONGS.setRelease(this.buffer, slotOffset + VERSION_OFFSET, stableVersion + 2);
+    }
+
+
+    /**
+     * Clear the slots left with an odd version or a wrong checksum, such as those torn
+     * by a crash during a write
+     * */
+    private void clearTornSlots(){
+
+        for (int slot = 0; slot < this.slotCount; slot++){
+
+            int slotOffset = slotOffset(slot);
+            long version = (long) LONGS.getVolatile(this.buffer, slotOffset + VERSION_OFFSET);
+
+            this.writerScratch.load(slotOffset + PAYLOAD_OFFSET);
+
+            boolean torn = (version & 1) != 0 || (this.writerScratch.isOccupied()
+                    && this.writerScratch.checksum() != this.buffer.getInt(slotOffset + CHECKSUM_OFFSET));
+
+            if (torn){
+
+                this.writerScratch.clear();
+                writeSlot(slotOffset, this.writerScratch);
+            }
+        }
+    }
+
+
+    private int firstSlotOf(long keyA, long keyB, long keyC){
+
+        long hash = mix(keyA);
+        hash = mix(hash ^ keyB);
+        hash = mix(hash ^ keyC);
+
+        return (int) hash & (this.slotCount - 1);
+    }
+
+
+    /**
+     * The finalizer of MurmurHash3, which spreads every input bit over the whole hash
+     * */
+    private static long mix(long value){
+
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+
+        return value;
+    }
+
+
+    private static int slotOffset(int slot){
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+
+
+    /**
+     * A per-thread copy of a slot payload, so that reads and checksums allocate nothing
+     * */
+    private static final class SlotScratch {
+
+        private final ByteBuffer mapped;
+        private final byte [] bytes = new byte[PAYLOAD_SIZE];
+        private final ByteBuffer payload = ByteBuffer.wrap(this.bytes);
+        private final CRC32C crc = new CRC32C();
+
+
+        private SlotScratch(ByteBuffer mapped){
+
+            //a duplicate has its own position, so threads do not disturb each other
+            this.mapped = mapped.duplicate();
+        }
+
+
+        void load(int payloadOffset){
+
+            this.mapped.position(payloadOffset);
+            this.mapped.get(this.bytes);
+        }
+
+
+        void store(int payloadOffset){
+
+            this.mapped.position(payloadOffset);
+            this.mapped.put(this.bytes);
+        }
+
+
+        int checksum(){
+
+            this.crc.reset();
+            this.crc.update(this.bytes, 0, PAYLOAD_SIZE);
+
+            return (int) this.crc.getValue();
+        }
+
+
+        boolean isOccupied(){
+            return this.bytes[OCCUPIED_OFFSET] != 0;
+        }
+
+
+        boolean hasKey(long keyA, long keyB, long keyC){
+
+            return this.payload.getLong(KEY_OFFSET) == keyA
+                    && this.payload.getLong(KEY_OFFSET + 8) == keyB
+                    && this.payload.getLong(KEY_OFFSET + 16) == keyC;
+        }
+
+
+        void clear(){
+            Arrays.fill(this.bytes, (byte) 0);
+        }
+
+
+        void fill(long keyA, long keyB, long keyC, BatchSolveResult result, int row){
+
+            clear();
+
+            this.payload.putLong(KEY_OFFSET, keyA);
+            this.payload.putLong(KEY_OFFSET + 8, keyB);
+            this.payload.putLong(KEY_OFFSET + 16, keyC);
+
+            this.payload.put(ROOT_TYPE_OFFSET, result.getRootTypes()[row]);
+            this.payload.put(EQUATION_TYPE_OFFSET, result.getEquationTypes()[row]);
+            this.payload.put(OCCUPIED_OFFSET, (byte) 1);
+
+            putValue(0, result.getRootRealParts()[2 * row]);
+            putValue(1, result.getRootImaginaryParts()[2 * row]);
+            putValue(2, result.getRootRealParts()[2 * row + 1]);
+            putValue(3, result.getRootImaginaryParts()[2 * row + 1]);
+            putValue(4, result.getDiscriminants()[row]);
+            putValue(5, result.getVertexXCoordinates()[row]);
+            putValue(6, result.getVertexYCoordinates()[row]);
+            putValue(7, result.getSumsOfRoots()[row]);
+            putValue(8, result.getProductsOfRoots()[row]);
+        }
+
+
+        void copyTo(BatchSolveResult result, int row){
+
+            result.getRootTypes()[row] = this.payload.get(ROOT_TYPE_OFFSET);
+            result.getEquationTypes()[row] = this.payload.get(EQUATION_TYPE_OFFSET);
+
+            result.getRootRealParts()[2 * row] = value(0);
+            result.getRootImaginaryParts()[2 * row] = value(1);
+            result.getRootRealParts()[2 * row + 1] = value(2);
+            result.getRootImaginaryParts()[2 * row + 1] = value(3);
+            result.getDiscriminants()[row] = value(4);
+            result.getVertexXCoordinates()[row] = value(5);
+            result.getVertexYCoordinates()[row] = value(6);
+            result.getSumsOfRoots()[row] = value(7);
+            result.getProductsOfRoots()[row] = value(8);
+        }
+
+
+        private void putValue(int index, double value){
+            this.payload.putDouble(VALUES_OFFSET + Double.BYTES * index, value);
+        }
+
+
+        private double value(int index){
+            return this.payload.getDouble(VALUES_OFFSET + Double.BYTES * index);
+        }
+    }
+}
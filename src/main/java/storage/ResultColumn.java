@@ -0,0 +1,118 @@
+package storage;
+
+import models.BatchSolveResult;
+
+
+/**
+ * The columns of the columnar result format, one per field of a degree 2 BatchSolveResult
+ *
+ * The root types and equation types are bit-packed codes, and every other column holds
+ * doubles in Gorilla XOR encoding. The roots are split into one column per root and part,
+ * which keeps similar values next to each other and compresses better
+ *
+ * @author Terence Lee
+ * */
+public enum ResultColumn {
+
+    ROOT_TYPE(3),
+    EQUATION_TYPE(3),
+    FIRST_ROOT_REAL_PART(0),
+    FIRST_ROOT_IMAGINARY_PART(0),
+    SECOND_ROOT_REAL_PART(0),
+    SECOND_ROOT_IMAGINARY_PART(0),
+    DISCRIMINANT(0),
+    VERTEX_X(0),
+    VERTEX_Y(0),
+    SUM_OF_ROOTS(0),
+    PRODUCT_OF_ROOTS(0);
+
+    private final int bitsPerCode;
+
+
+    ResultColumn(int bitsPerCode){
+        this.bitsPerCode = bitsPerCode;
+    }
+
+
+    /**
+     * Returns true if the column holds bit-packed codes, false if it holds doubles
+     * */
+    public boolean isCodeColumn(){
+        return this.bitsPerCode > 0;
+    }
+
+
+    /**
+     * Returns the number of bits per row of a code column
+     * */
+    int getBitsPerCode(){
+        return this.bitsPerCode;
+    }
+
+
+    /**
+     * Returns the backing array of a code column of a result
+     * */
+    byte[] codesOf(BatchSolveResult result){
+        return this == ROOT_TYPE ? result.getRootTypes() : result.getEquationTypes();
+    }
+
+
+    /**
+     * Returns the backing array of a double column of a result. The root columns share
+     * their array with the other root of the row, see rootIndex()
+     * */
+    double[] doublesOf(BatchSolveResult result){
+
+        switch (this){
+
+            case FIRST_ROOT_REAL_PART:
+            case SECOND_ROOT_REAL_PART:
+                return result.getRootRealParts();
+
+            case FIRST_ROOT_IMAGINARY_PART:
+            case SECOND_ROOT_IMAGINARY_PART:
+                return result.getRootImaginaryParts();
+
+            case DISCRIMINANT:
+                return result.getDiscriminants();
+
+            case VERTEX_X:
+                return result.getVertexXCoordinates();
+
+            case VERTEX_Y:
+                return result.getVertexYCoordinates();
+
+            case SUM_OF_ROOTS:
+                return result.getSumsOfRoots();
+
+            case PRODUCT_OF_ROOTS:
+                return result.getProductsOfRoots();
+
+            default:
+                throw new IllegalStateException(this + " is not a double column");
+        }
+    }
+
+
+    /**
+     * Returns the index of a root within its row for the root columns, or -1 for the
+     * columns holding one value per row
+     * */
+    int rootIndex(){
+
+        switch (this){
+
+            case FIRST_ROOT_REAL_PART:
+            case FIRST_ROOT_IMAGINARY_PART:
+                return 0;
+
+            case SECOND_ROOT_REAL_PART:
+            case SECOND_ROOT_IMAGINARY_PART:
+                return 1;
+
+            default:
+                return -1;
+        }
+    }
+}
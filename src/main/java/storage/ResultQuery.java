@@ -0,0 +1,121 @@
+package storage;
+
+import models.BatchSolveResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * A filter and aggregate query over stored results, run by ResultScanner
+ *
+ * A row matches if its root type is one of the selected root types (all of them by
+ * default) and every predicate matches. The query counts the matching rows, and if an
+ * aggregate column is set, also sums the column over them and finds its minimum and maximum
+ *
+ * Example usage:
+ * <pre>
+ *     //how many complex rows have a vertex below the x-axis, and what is their mean discriminant
+ *     ResultQuery query = new ResultQuery()
+ *             .withRootTypes(BatchSolveResult.ROOT_TYPE_COMPLEX)
+ *             .where(ColumnPredicate.lessThan(ResultColumn.VERTEX_Y, 0))
+ *             .aggregate(ResultColumn.DISCRIMINANT);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public class ResultQuery {
+
+    private static final int ALL_ROOT_TYPES = (1 << (BatchSolveResult.ROOT_TYPE_NONE + 1)) - 1;
+
+    private int rootTypeMask = ALL_ROOT_TYPES;
+    private final List<ColumnPredicate> predicates = new ArrayList<>();
+    private ResultColumn aggregateColumn;
+
+
+    /**
+     * Only match rows of the given root types
+     *
+     * @param rootTypes root type codes, see the ROOT_TYPE_ constants of BatchSolveResult
+     *
+     * @throws IllegalArgumentException if a code is not a root type code
+     * */
+    public ResultQuery withRootTypes(byte... rootTypes){
+
+        int mask = 0;
+
+        for (byte rootType : rootTypes){
+
+            if (rootType < 0 || rootType > BatchSolveResult.ROOT_TYPE_NONE){
+                throw new IllegalArgumentException("Not a root type code: " + rootType);
+            }
+
+            mask |= 1 << rootType;
+        }
+
+        this.rootTypeMask = mask;
+
+        return this;
+    }
+
+
+    /**
+     * Only match rows for which the predicate matches, in addition to the previous predicates
+     * */
+    public ResultQuery where(ColumnPredicate predicate){
+
+        this.predicates.add(predicate);
+
+        return this;
+    }
+
+
+    /**
+     * Sum the column over the matching rows and find its minimum and maximum
+     *
+     * @throws IllegalArgumentException if the column holds codes
+     * */
+    public ResultQuery aggregate(ResultColumn column){
+
+        if (column.isCodeColumn()){
+            throw new IllegalArgumentException(column + " is not a double column");
+        }
+
+        this.aggregateColumn = column;
+
+        return this;
+    }
+
+
+    /**
+     * Returns true if rows of the root type can match
+     * */
+    public boolean selectsRootType(int rootType){
+        return (this.rootTypeMask & (1 << rootType)) != 0;
+    }
+
+
+    /**
+     * Returns true if rows of every root type can match
+     * */
+    public boolean selectsAllRootTypes(){
+        return this.rootTypeMask == ALL_ROOT_TYPES;
+    }
+
+
+    /**
+     * Getter for the predicates, which all have to match. Returns an unmodifiable view
+     * */
+    public List<ColumnPredicate> getPredicates() {
+        return Collections.unmodifiableList(this.predicates);
+    }
+
+
+    /**
+     * Getter for the aggregate column, or null if the query only counts rows
+     * */
+    public ResultColumn getAggregateColumn() {
+        return this.aggregateColumn;
+    }
+}
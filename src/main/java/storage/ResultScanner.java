@@ -0,0 +1,179 @@
+package storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+
+/**
+ * Runs ResultQuery filters and aggregates over a file of stored results, one row group
+ * at a time and in parallel across row groups
+ *
+ * The zone map of each row group is checked first:
+ *      (a) if it holds no row of the selected root types, or a predicate cannot match its
+ *          minimum and maximum, the row group is skipped without reading any chunk
+ *      (b) if every predicate matches its whole range and the query only counts rows, the
+ *          count is taken from the root type counts, again without reading any chunk
+ *      (c) otherwise only the chunks of the root type column (if the query filters on it),
+ *          the predicate columns and the aggregate column are decoded
+ *
+ * Example usage:
+ * <pre>
+ *     try (ColumnarResultReader reader = new ColumnarResultReader(path)){
+ *
+ *         ScanResult scanResult = new ResultScanner(reader).scan(query);
+ *         long complexRowsBelowAxis = scanResult.getMatchingRows();
+ *     }
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public class ResultScanner {
+
+    private final ColumnarResultReader reader;
+
+
+    public ResultScanner(ColumnarResultReader reader){
+        this.reader = reader;
+    }
+
+
+    /**
+     * Run a query over every row group of the file, in parallel
+     *
+     * @throws IOException if a chunk cannot be read
+     * */
+    public ScanResult scan(ResultQuery query) throws IOException {
+
+        try{
+            return IntStream.range(0, this.reader.getRowGroupCount()).parallel()
+                    .mapToObj(rowGroup -> scanRowGroup(query, rowGroup))
+                    .reduce(new ScanResult(0, 0, 0, Double.POSITIVE_INFINITY,
+                            Double.NEGATIVE_INFINITY, 0, 0), ScanResult::merge);
+        }
+        catch (UncheckedIOException e){
+            throw e.getCause();
+        }
+    }
+
+
+    private ScanResult scanRowGroup(ResultQuery query, int rowGroup){
+
+        ZoneMap zoneMap = this.reader.getZoneMap(rowGroup);
+        List<ColumnPredicate> predicates = query.getPredicates();
+        int rowCount = this.reader.getRowGroupRowCount(rowGroup);
+
+        int selectedRows = 0;
+
+        for (int rootType = 0; rootType < ZoneMap.ROOT_TYPE_CODES; rootType++){
+            selectedRows += query.selectsRootType(rootType) ? zoneMap.getRootTypeCount(rootType) : 0;
+        }
+
+        boolean matchesAll = true;
+
+        for (ColumnPredicate predicate : predicates){
+
+            if (!predicate.mayMatch(zoneMap)){
+                return ScanResult.skipped();
+            }
+
+            matchesAll &= predicate.matchesAll(zoneMap);
+        }
+
+        if (selectedRows == 0 || (matchesAll && query.getAggregateColumn() == null)){
+
+            return new ScanResult(selectedRows, 0, 0, Double.POSITIVE_INFINITY,
+                    Double.NEGATIVE_INFINITY, 0, 1);
+        }
+
+        try{
+            return scanRows(query, rowGroup, rowCount);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+
+    /**
+     * Decode the columns the query needs and test every row of a row group
+     * */
+    private ScanResult scanRows(ResultQuery query, int rowGroup, int rowCount) throws IOException {
+
+        Map<ResultColumn, double []> decodedColumns = new EnumMap<>(ResultColumn.class);
+
+        for (ColumnPredicate predicate : query.getPredicates()){
+            decodeColumn(decodedColumns, predicate.getColumn(), rowGroup, rowCount);
+        }
+
+        ResultColumn aggregateColumn = query.getAggregateColumn();
+        double [] aggregateValues = aggregateColumn == null
+                ? null
+                : decodeColumn(decodedColumns, aggregateColumn, rowGroup, rowCount);
+
+        byte [] rootTypes = null;
+
+        if (!query.selectsAllRootTypes()){
+
+            rootTypes = new byte[rowCount];
+            this.reader.readCodeColumn(ResultColumn.ROOT_TYPE, rowGroup, rootTypes, 0);
+        }
+
+        List<ColumnPredicate> predicates = query.getPredicates();
+
+        long matchingRows = 0;
+        long aggregatedValues = 0;
+        double sum = 0;
+        double minimum = Double.POSITIVE_INFINITY;
+        double maximum = Double.NEGATIVE_INFINITY;
+
+        for (int row = 0; row < rowCount; row++){
+
+            boolean matches = rootTypes == null || query.selectsRootType(rootTypes[row]);
+
+            for (int i = 0; matches && i < predicates.size(); i++){
+
+                ColumnPredicate predicate = predicates.get(i);
+                matches = predicate.matches(decodedColumns.get(predicate.getColumn())[row]);
+            }
+
+            if (!matches){
+                continue;
+            }
+
+            matchingRows++;
+
+            if (aggregateValues != null && !Double.isNaN(aggregateValues[row])){
+
+                double value = aggregateValues[row];
+
+                aggregatedValues++;
+                sum += value;
+                minimum = Math.min(minimum, value);
+                maximum = Math.max(maximum, value);
+            }
+        }
+
+        return new ScanResult(matchingRows, aggregatedValues, sum, minimum, maximum, 1, 0);
+    }
+
+
+    private double[] decodeColumn(Map<ResultColumn, double []> decodedColumns, ResultColumn column,
+                                  int rowGroup, int rowCount) throws IOException {
+
+        double [] values = decodedColumns.get(column);
+
+        if (values == null){
+
+            values = new double[rowCount];
+            this.reader.readDoubleColumn(column, rowGroup, values, 0);
+
+            decodedColumns.put(column, values);
+        }
+
+        return values;
+    }
+}
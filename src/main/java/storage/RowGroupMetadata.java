@@ -0,0 +1,45 @@
+package storage;
+
+
+/**
+ * The footer entry of a row group: its number of rows, the position and length of
+ * each of its column chunks in the file, indexed by ResultColumn ordinal, and its zone map
+ *
+ * @author Terence Lee
+ * */
+final class RowGroupMetadata {
+
+    private final int rowCount;
+    private final long [] chunkOffsets;
+    private final int [] chunkLengths;
+    private final ZoneMap zoneMap;
+
+
+    RowGroupMetadata(int rowCount, long [] chunkOffsets, int [] chunkLengths, ZoneMap zoneMap){
+
+        this.rowCount = rowCount;
+        this.chunkOffsets = chunkOffsets;
+        this.chunkLengths = chunkLengths;
+        this.zoneMap = zoneMap;
+    }
+
+
+    int getRowCount() {
+        return this.rowCount;
+    }
+
+
+    long getChunkOffset(ResultColumn column) {
+        return this.chunkOffsets[column.ordinal()];
+    }
+
+
+    int getChunkLength(ResultColumn column) {
+        return this.chunkLengths[column.ordinal()];
+    }
+
+
+    ZoneMap getZoneMap() {
+        return this.zoneMap;
+    }
+}
@@ -0,0 +1,125 @@
+package storage;
+
+
+/**
+ * The answer of a ResultQuery, and how much of the file the scan had to read
+ *
+ * NaN values of the aggregate column are left out of the sum, minimum and maximum
+ *
+ * @author Terence Lee
+ * */
+public final class ScanResult {
+
+    private final long matchingRows;
+    private final long aggregatedValues;
+    private final double sum;
+    private final double minimum;
+    private final double maximum;
+
+    private final int rowGroupsScanned;
+    private final int rowGroupsSkipped;
+
+
+    ScanResult(long matchingRows, long aggregatedValues, double sum, double minimum, double maximum,
+               int rowGroupsScanned, int rowGroupsSkipped){
+
+        this.matchingRows = matchingRows;
+        this.aggregatedValues = aggregatedValues;
+        this.sum = sum;
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.rowGroupsScanned = rowGroupsScanned;
+        this.rowGroupsSkipped = rowGroupsSkipped;
+    }
+
+
+    /**
+     * Returns the result of a row group skipped by its zone map
+     * */
+    static ScanResult skipped(){
+        return new ScanResult(0, 0, 0, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, 0, 1);
+    }
+
+
+    /**
+     * Combine the results of two disjoint sets of row groups
+     * */
+    ScanResult merge(ScanResult other){
+
+        return new ScanResult(this.matchingRows + other.matchingRows,
+                this.aggregatedValues + other.aggregatedValues,
+                this.sum + other.sum,
+                Math.min(this.minimum, other.minimum),
+                Math.max(this.maximum, other.maximum),
+                this.rowGroupsScanned + other.rowGroupsScanned,
+                this.rowGroupsSkipped + other.rowGroupsSkipped);
+    }
+
+
+    /**
+     * Returns the number of rows matching the query
+     * */
+    public long getMatchingRows() {
+        return this.matchingRows;
+    }
+
+
+    /**
+     * Returns the number of non-NaN values of the aggregate column over the matching rows
+     * */
+    public long getAggregatedValues() {
+        return this.aggregatedValues;
+    }
+
+
+    /**
+     * Returns the sum of the aggregate column over the matching rows
+     * */
+    public double getSum() {
+        return this.sum;
+    }
+
+
+    /**
+     * Returns the mean of the aggregate column over the matching rows, or NaN if there
+     * are no values
+     * */
+    public double getMean() {
+        return this.aggregatedValues == 0 ? Double.NaN : this.sum / this.aggregatedValues;
+    }
+
+
+    /**
+     * Returns the minimum of the aggregate column over the matching rows, or +Infinity if
+     * there are no values
+     * */
+    public double getMinimum() {
+        return this.minimum;
+    }
+
+
+    /**
+     * Returns the maximum of the aggregate column over the matching rows, or -Infinity if
+     * there are no values
+     * */
+    public double getMaximum() {
+        return this.maximum;
+    }
+
+
+    /**
+     * Returns the number of row groups whose chunks were read
+     * */
+    public int getRowGroupsScanned() {
+        return this.rowGroupsScanned;
+    }
+
+
+    /**
+     * Returns the number of row groups answered from their zone map alone, without
+     * reading any chunk
+     * */
+    public int getRowGroupsSkipped() {
+        return this.rowGroupsSkipped;
+    }
+}
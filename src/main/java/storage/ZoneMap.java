@@ -0,0 +1,108 @@
+package storage;
+
+import models.BatchSolveResult;
+
+import java.util.Arrays;
+
+
+/**
+ * The statistics of a row group kept in the footer, so that a scan can tell from the
+ * footer alone whether a row group can hold matching rows:
+ *      (a) the minimum and maximum of every double column, ignoring NaN
+ *      (b) the number of NaN values of every double column
+ *      (c) the number of rows of every root type
+ *
+ * A column whose values are all NaN has a minimum of +Infinity and a maximum of -Infinity
+ *
+ * @author Terence Lee
+ * */
+final class ZoneMap {
+
+    static final int ROOT_TYPE_CODES = BatchSolveResult.ROOT_TYPE_NONE + 1;
+
+    private final double [] minimums;
+    private final double [] maximums;
+    private final int [] nanCounts;
+    private final int [] rootTypeCounts;
+
+
+    ZoneMap(){
+
+        int columns = ResultColumn.values().length;
+
+        this.minimums = new double[columns];
+        this.maximums = new double[columns];
+        this.nanCounts = new int[columns];
+        this.rootTypeCounts = new int[ROOT_TYPE_CODES];
+
+        Arrays.fill(this.minimums, Double.POSITIVE_INFINITY);
+        Arrays.fill(this.maximums, Double.NEGATIVE_INFINITY);
+    }
+
+
+    /**
+     * Record the values of a double column
+     * */
+    void addDoubles(ResultColumn column, double [] values, int count){
+
+        double minimum = Double.POSITIVE_INFINITY;
+        double maximum = Double.NEGATIVE_INFINITY;
+        int nanCount = 0;
+
+        for (int i = 0; i < count; i++){
+
+            double value = values[i];
+
+            //Math.min and Math.max would spread NaN
+            minimum = value < minimum ? value : minimum;
+            maximum = value > maximum ? value : maximum;
+            nanCount += value != value ? 1 : 0;
+        }
+
+        setDoubleStatistics(column, minimum, maximum, nanCount);
+    }
+
+
+    /**
+     * Record the root type codes of a row group
+     * */
+    void addRootTypes(byte [] rootTypes, int count){
+
+        for (int i = 0; i < count; i++){
+            this.rootTypeCounts[rootTypes[i]]++;
+        }
+    }
+
+
+    void setDoubleStatistics(ResultColumn column, double minimum, double maximum, int nanCount){
+
+        this.minimums[column.ordinal()] = minimum;
+        this.maximums[column.ordinal()] = maximum;
+        this.nanCounts[column.ordinal()] = nanCount;
+    }
+
+
+    void setRootTypeCount(int rootType, int count){
+        this.rootTypeCounts[rootType] = count;
+    }
+
+
+    double getMinimum(ResultColumn column){
+        return this.minimums[column.ordinal()];
+    }
+
+
+    double getMaximum(ResultColumn column){
+        return this.maximums[column.ordinal()];
+    }
+
+
+    int getNanCount(ResultColumn column){
+        return this.nanCounts[column.ordinal()];
+    }
+
+
+    int getRootTypeCount(int rootType){
+        return this.rootTypeCounts[rootType];
+    }
+}
@@ -0,0 +1,89 @@
+package streams;
+
+
+/**
+ * A chunk of quadratic equations given as primitive coefficient columns, the item
+ * type consumed by QuadraticEquationSolverProcessor
+ *
+ * Row i of the chunk is the quadratic equation
+ * coefficientsA[i]x^2 + coefficientsB[i]x + constantsC[i] = 0. The columns are not
+ * copied, so they must not be changed after the chunk is published
+ *
+ * Example usage:
+ * <pre>
+ *     CoefficientChunk chunk = new CoefficientChunk(coefficientsA, coefficientsB, constantsC);
+ *
+ *     CoefficientChunk singleEquation = CoefficientChunk.of(6, 11, -35);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public final class CoefficientChunk {
+
+    private final double [] coefficientsA;
+    private final double [] coefficientsB;
+    private final double [] constantsC;
+
+
+    /**
+     * @param coefficientsA the coefficients a of the quadratic equations
+     * @param coefficientsB the coefficients b of the quadratic equations
+     * @param constantsC the constants c of the quadratic equations
+     *
+     * @throws IllegalArgumentException if the columns differ in length
+     * */
+    public CoefficientChunk(double [] coefficientsA, double [] coefficientsB, double [] constantsC){
+
+        if (coefficientsA.length != coefficientsB.length
+                || coefficientsA.length != constantsC.length){
+
+            throw new IllegalArgumentException("Coefficient columns differ in length: "
+                    + coefficientsA.length + ", " + coefficientsB.length + ", " + constantsC.length);
+        }
+
+        this.coefficientsA = coefficientsA;
+        this.coefficientsB = coefficientsB;
+        this.constantsC = constantsC;
+    }
+
+
+    /**
+     * Returns a chunk holding the single quadratic equation ax^2 + bx + c = 0
+     * */
+    public static CoefficientChunk of(double coefficientA, double coefficientB, double constantC){
+        return new CoefficientChunk(new double[]{coefficientA}, new double[]{coefficientB},
+                new double[]{constantC});
+    }
+
+
+    /**
+     * Returns the number of equations (rows) in the chunk
+     * */
+    public int getSize() {
+        return this.coefficientsA.length;
+    }
+
+
+    /**
+     * Returns the coefficients a, the backing array (not a copy)
+     * */
+    public double[] getCoefficientsA() {
+        return this.coefficientsA;
+    }
+
+
+    /**
+     * Returns the coefficients b, the backing array (not a copy)
+     * */
+    public double[] getCoefficientsB() {
+        return this.coefficientsB;
+    }
+
+
+    /**
+     * Returns the constants c, the backing array (not a copy)
+     * */
+    public double[] getConstantsC() {
+        return this.constantsC;
+    }
+}
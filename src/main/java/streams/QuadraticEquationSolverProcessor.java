@@ -0,0 +1,426 @@
+package streams;
+
+import models.BatchSolveResult;
+import models.QuadraticEquationBatchSolver;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+
+/**
+ * A reactive streams operator which solves chunks of quadratic equations and emits
+ * their solutions, with backpressure in both directions
+ *
+ * Every chunk received from upstream is solved with QuadraticEquationBatchSolver on the
+ * executor, so several chunks are solved in parallel. The chunks received but not yet
+ * emitted are held in a buffer of bufferSize chunks: bufferSize chunks are requested from
+ * upstream at the start, and one more each time a solution is emitted downstream. A slow
+ * subscriber therefore slows down the publisher instead of growing the buffer
+ *
+ * By default the solutions are emitted in the order of their chunks. In unordered mode a
+ * solution is emitted as soon as it is ready, so one slow chunk does not hold back the
+ * others; SolvedChunk.getSequenceNumber() still tells which chunk it belongs to
+ *
+ * Only one subscriber is supported. An error from upstream, from the executor, or an
+ * invalid request from downstream is passed on to the subscriber right away, and the
+ * solutions still in the buffer are dropped
+ *
+ * Example usage:
+ * <pre>
+ *     QuadraticEquationSolverProcessor processor = new QuadraticEquationSolverProcessor();
+ *
+ *     publisher.subscribe(processor);
+ *     processor.subscribe(subscriber);
+ * </pre>
+ *
+ * @author Terence Lee
+ * */
+public class QuadraticEquationSolverProcessor implements Flow.Processor<CoefficientChunk, SolvedChunk> {
+
+    /**
+     * The default number of chunks held between upstream and downstream
+     * */
+    public static final int DEFAULT_BUFFER_SIZE = 16;
+
+    private final Executor executor;
+    private final int bufferSize;
+    private final boolean ordered;
+
+    //solutions waiting to be emitted, by sequence number in ordered mode
+    private final AtomicReferenceArray<SolvedChunk> orderedSlots;
+    private final ConcurrentLinkedQueue<SolvedChunk> unorderedChunks;
+
+    private final AtomicReference<Flow.Subscriber<? super SolvedChunk>> downstream =
+            new AtomicReference<>();
+    private final AtomicReference<Throwable> error = new AtomicReference<>();
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger bufferedChunks = new AtomicInteger();
+    private final AtomicInteger workInProgress = new AtomicInteger();
+
+    private volatile Flow.Subscription upstream;
+    private volatile boolean upstreamDone;
+    private volatile boolean cancelled;
+
+    //only used by the thread calling onNext
+    private long receivedChunks;
+
+    //only used by the thread holding workInProgress
+    private long nextSequenceNumber;
+    private boolean terminated;
+
+
+    /**
+     * Create an ordered processor solving on the common fork-join pool, with a buffer of
+     * DEFAULT_BUFFER_SIZE chunks
+     * */
+    public QuadraticEquationSolverProcessor(){
+        this(ForkJoinPool.commonPool(), DEFAULT_BUFFER_SIZE, true);
+    }
+
+
+    /**
+     * @param executor the executor the chunks are solved on
+     * @param bufferSize the largest number of chunks received but not yet emitted
+     * @param ordered true to emit the solutions in the order of their chunks, false to
+     *                emit each solution as soon as it is ready
+     *
+     * @throws IllegalArgumentException if the buffer size is less than 1
+     * */
+    public QuadraticEquationSolverProcessor(Executor executor, int bufferSize, boolean ordered){
+
+        if (bufferSize < 1){
+            throw new IllegalArgumentException("Buffer size must be at least 1: " + bufferSize);
+        }
+
+        this.executor = Objects.requireNonNull(executor);
+        this.bufferSize = bufferSize;
+        this.ordered = ordered;
+
+        this.orderedSlots = ordered ? new AtomicReferenceArray<>(bufferSize) : null;
+        this.unorderedChunks = ordered ? null : new ConcurrentLinkedQueue<>();
+    }
+
+
+    /**
+     * Getter for the largest number of chunks received but not yet emitted
+     * */
+    public int getBufferSize() {
+        return this.bufferSize;
+    }
+
+
+    /**
+     * Returns true if the solutions are emitted in the order of their chunks
+     * */
+    public boolean isOrdered() {
+        return this.ordered;
+    }
+
+
+    /**
+     * Returns the number of chunks received but not yet emitted, either being solved
+     * or waiting for demand
+     * */
+    public int getBufferedChunkCount() {
+        return this.bufferedChunks.get();
+    }
+
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super SolvedChunk> subscriber){
+
+        Objects.requireNonNull(subscriber);
+
+        if (!this.downstream.compareAndSet(null, subscriber)){
+
+            subscriber.onSubscribe(new RejectedSubscription());
+            subscriber.onError(new IllegalStateException("Only one subscriber is supported"));
+            return;
+        }
+
+        subscriber.onSubscribe(new DownstreamSubscription());
+
+        drain();
+    }
+
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription){
+
+        Objects.requireNonNull(subscription);
+
+        if (this.upstream != null || this.cancelled){
+
+            subscription.cancel();
+            return;
+        }
+
+        this.upstream = subscription;
+
+        subscription.request(this.bufferSize);
+    }
+
+
+    @Override
+    public void onNext(CoefficientChunk chunk){
+
+        Objects.requireNonNull(chunk);
+
+        long sequenceNumber = this.receivedChunks++;
+
+        this.bufferedChunks.incrementAndGet();
+
+        try{
+            this.executor.execute(() -> solve(sequenceNumber, chunk));
+        }
+        catch (RejectedExecutionException e){
+            fail(e);
+        }
+    }
+
+
+    @Override
+    public void onError(Throwable throwable){
+
+        this.error.compareAndSet(null, Objects.requireNonNull(throwable));
+        this.upstreamDone = true;
+
+        drain();
+    }
+
+
+    @Override
+    public void onComplete(){
+
+        this.upstreamDone = true;
+
+        drain();
+    }
+
+
+    /**
+     * Solve a chunk on the executor and hand its solution to the buffer
+     * */
+    private void solve(long sequenceNumber, CoefficientChunk chunk){
+
+        BatchSolveResult result = new BatchSolveResult(chunk.getSize());
+
+        try{
+            QuadraticEquationBatchSolver.solve(chunk.getCoefficientsA(), chunk.getCoefficientsB(),
+                    chunk.getConstantsC(), result);
+        }
+        catch (RuntimeException e){
+
+            fail(e);
+            return;
+        }
+
+        SolvedChunk solvedChunk = new SolvedChunk(sequenceNumber, chunk, result);
+
+        if (this.ordered){
+            this.orderedSlots.set((int) (sequenceNumber % this.bufferSize), solvedChunk);
+        }
+        else{
+            this.unorderedChunks.offer(solvedChunk);
+        }
+
+        drain();
+    }
+
+
+    /**
+     * Record the first failure, stop the upstream and pass the failure on
+     * */
+    private void fail(Throwable throwable){
+
+        this.error.compareAndSet(null, throwable);
+
+        cancelUpstream();
+        drain();
+    }
+
+
+    private void cancelUpstream(){
+
+        Flow.Subscription subscription = this.upstream;
+
+        if (subscription != null){
+            subscription.cancel();
+        }
+    }
+
+
+    /**
+     * Emit as many solutions as the demand allows, and the terminal signal once everything
+     * is emitted. Only one thread drains at a time, and a thread arriving while another
+     * one drains makes it loop once more instead of waiting
+     * */
+    private void drain(){
+
+        if (this.workInProgress.getAndIncrement() != 0){
+            return;
+        }
+
+        int missed = 1;
+
+        do{
+            Flow.Subscriber<? super SolvedChunk> subscriber = this.downstream.get();
+
+            if (subscriber != null && !this.terminated){
+                drainTo(subscriber);
+            }
+
+            missed = this.workInProgress.addAndGet(-missed);
+        }
+        while (missed != 0);
+    }
+
+
+    private void drainTo(Flow.Subscriber<? super SolvedChunk> subscriber){
+
+        while (true){
+
+            if (this.cancelled){
+
+                this.terminated = true;
+                clearBuffer();
+                return;
+            }
+
+            Throwable failure = this.error.get();
+
+            if (failure != null){
+
+                this.terminated = true;
+                clearBuffer();
+                subscriber.onError(failure);
+                return;
+            }
+
+            if (this.demand.get() == 0){
+                break;
+            }
+
+            SolvedChunk solvedChunk = pollSolvedChunk();
+
+            if (solvedChunk == null){
+                break;
+            }
+
+            if (this.demand.get() != Long.MAX_VALUE){
+                this.demand.decrementAndGet();
+            }
+
+            this.bufferedChunks.decrementAndGet();
+
+            subscriber.onNext(solvedChunk);
+
+            Flow.Subscription subscription = this.upstream;
+
+            if (subscription != null && !this.upstreamDone){
+                subscription.request(1);
+            }
+        }
+
+        //every onNext happens before onComplete, so no chunk can arrive after this check
+        if (this.upstreamDone && this.bufferedChunks.get() == 0){
+
+            this.terminated = true;
+            subscriber.onComplete();
+        }
+    }
+
+
+    /**
+     * Returns the next solution to emit, or null if it is not ready yet
+     * */
+    private SolvedChunk pollSolvedChunk(){
+
+        if (!this.ordered){
+            return this.unorderedChunks.poll();
+        }
+
+        int slot = (int) (this.nextSequenceNumber % this.bufferSize);
+        SolvedChunk solvedChunk = this.orderedSlots.get(slot);
+
+        if (solvedChunk == null){
+            return null;
+        }
+
+        this.orderedSlots.set(slot, null);
+        this.nextSequenceNumber++;
+
+        return solvedChunk;
+    }
+
+
+    private void clearBuffer(){
+
+        if (this.ordered){
+
+            for (int slot = 0; slot < this.bufferSize; slot++){
+                this.orderedSlots.set(slot, null);
+            }
+        }
+        else{
+            this.unorderedChunks.clear();
+        }
+    }
+
+
+    /**
+     * The subscription given to the downstream subscriber
+     * */
+    private final class DownstreamSubscription implements Flow.Subscription {
+
+        @Override
+        public void request(long n){
+
+            if (n <= 0){
+
+                fail(new IllegalArgumentException("Requested a non-positive number of items: " + n));
+                return;
+            }
+
+            demand.getAndUpdate(current -> current + n < 0 ? Long.MAX_VALUE : current + n);
+
+            drain();
+        }
+
+
+        @Override
+        public void cancel(){
+
+            cancelled = true;
+
+            cancelUpstream();
+            drain();
+        }
+    }
+
+
+    /**
+     * The subscription given to a second subscriber right before it is rejected
+     * */
+    private static final class RejectedSubscription implements Flow.Subscription {
+
+        @Override
+        public void request(long n){
+
+        }
+
+
+        @Override
+        public void cancel(){
+
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package streams;
+
+import models.BatchSolveResult;
+
+
+/**
+ * The solution of a CoefficientChunk, the item type emitted by
+ * QuadraticEquationSolverProcessor
+ *
+ * The sequence number is the position of the chunk in the input stream, starting at 0,
+ * so that results emitted out of order can still be matched with their input
+ *
+ * @author Terence Lee
+ * */
+public final class SolvedChunk {
+
+    private final long sequenceNumber;
+    private final CoefficientChunk coefficients;
+    private final BatchSolveResult result;
+
+
+    SolvedChunk(long sequenceNumber, CoefficientChunk coefficients, BatchSolveResult result){
+
+        this.sequenceNumber = sequenceNumber;
+        this.coefficients = coefficients;
+        this.result = result;
+    }
+
+
+    /**
+     * Returns the position of the chunk in the input stream, starting at 0
+     * */
+    public long getSequenceNumber() {
+        return this.sequenceNumber;
+    }
+
+
+    /**
+     * Returns the chunk that was solved
+     * */
+    public CoefficientChunk getCoefficients() {
+        return this.coefficients;
+    }
+
+
+    /**
+     * Returns the solutions of the chunk, one row per equation
+     * */
+    public BatchSolveResult getResult() {
+        return this.result;
+    }
+}
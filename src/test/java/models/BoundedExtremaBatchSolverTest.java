@@ -0,0 +1,121 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the BoundedExtremaBatchSolver class
+ * */
+public class BoundedExtremaBatchSolverTest {
+
+
+    private static final double DELTA = 1e-9;
+
+
+    @Test
+    public void testExtrema() {
+
+        //x^2 - 2x - 3 on [-2, 2] and [2, 4], -x^2 + 4 on [-1, 3], 2x + 1 on [0, 1],
+        //5 on [-1, 1], and an empty interval
+        double [] coefficientsA = {1, 1, -1, 0, 0, 1};
+        double [] coefficientsB = {-2, -2, 0, 2, 0, 0};
+        double [] constantsC = {-3, -3, 4, 1, 5, 0};
+        double [] lowerBounds = {-2, 2, -1, 0, -1, 1};
+        double [] upperBounds = {2, 4, 3, 1, 1, 0};
+
+        BoundedExtremaBatchResult result = new BoundedExtremaBatchResult(coefficientsA.length);
+
+        BoundedExtremaBatchSolver.solve(coefficientsA, coefficientsB, constantsC, lowerBounds, upperBounds, result);
+
+        assertExtrema(result, 0, -4, 1, 5, -2);
+        assertExtrema(result, 1, -3, 2, 5, 4);
+        assertExtrema(result, 2, -5, 3, 4, 0);
+        assertExtrema(result, 3, 1, 0, 3, 1);
+        assertExtrema(result, 4, 5, -1, 5, -1);
+
+        Assertions.assertTrue(Double.isNaN(result.getMinima()[5]));
+        Assertions.assertTrue(Double.isNaN(result.getArgMaxima()[5]));
+    }
+
+
+    @Test
+    public void testExtremaMatchSampling() {
+
+        int size = 5_000;
+        int samples = 2_000;
+        Random random = new Random(29);
+
+        double [] coefficientsA = new double[size];
+        double [] coefficientsB = new double[size];
+        double [] constantsC = new double[size];
+        double [] lowerBounds = new double[size];
+        double [] upperBounds = new double[size];
+
+        for (int i = 0; i < size; i++){
+
+            coefficientsA[i] = (random.nextDouble() - 0.5) * 10;
+            coefficientsB[i] = (random.nextDouble() - 0.5) * 10;
+            constantsC[i] = (random.nextDouble() - 0.5) * 10;
+            lowerBounds[i] = (random.nextDouble() - 0.5) * 10;
+            upperBounds[i] = lowerBounds[i] + random.nextDouble() * 5;
+        }
+
+        BoundedExtremaBatchResult result = new BoundedExtremaBatchResult(size);
+
+        BoundedExtremaBatchSolver.solve(coefficientsA, coefficientsB, constantsC, lowerBounds, upperBounds, result);
+
+        for (int row = 0; row < size; row++){
+
+            double step = (upperBounds[row] - lowerBounds[row]) / samples;
+            double sampledMinimum = Double.POSITIVE_INFINITY;
+            double sampledMaximum = Double.NEGATIVE_INFINITY;
+
+            for (int k = 0; k <= samples; k++){
+
+                double y = QuadraticEvaluator.evaluate(coefficientsA[row], coefficientsB[row], constantsC[row],
+                        lowerBounds[row] + k * step);
+
+                sampledMinimum = Math.min(sampledMinimum, y);
+                sampledMaximum = Math.max(sampledMaximum, y);
+            }
+
+            double minimum = result.getMinima()[row];
+            double maximum = result.getMaxima()[row];
+
+            //the exact extrema are never worse than a sample, and a sample is close to them
+            Assertions.assertTrue(minimum <= sampledMinimum + DELTA);
+            Assertions.assertTrue(maximum >= sampledMaximum - DELTA);
+            Assertions.assertEquals(sampledMinimum, minimum, 1e-3);
+            Assertions.assertEquals(sampledMaximum, maximum, 1e-3);
+
+            Assertions.assertEquals(minimum, QuadraticEvaluator.evaluate(coefficientsA[row], coefficientsB[row],
+                    constantsC[row], result.getArgMinima()[row]), DELTA);
+            Assertions.assertEquals(maximum, QuadraticEvaluator.evaluate(coefficientsA[row], coefficientsB[row],
+                    constantsC[row], result.getArgMaxima()[row]), DELTA);
+        }
+    }
+
+
+    @Test
+    public void testColumnsDifferInLength() {
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> BoundedExtremaBatchSolver.solve(new double[2], new double[2], new double[2],
+                        new double[2], new double[1], new BoundedExtremaBatchResult(2)));
+    }
+
+
+    private static void assertExtrema(BoundedExtremaBatchResult result, int row, double minimum,
+                                      double argMinimum, double maximum, double argMaximum){
+
+        Assertions.assertEquals(minimum, result.getMinima()[row], DELTA);
+        Assertions.assertEquals(argMinimum, result.getArgMinima()[row], DELTA);
+        Assertions.assertEquals(maximum, result.getMaxima()[row], DELTA);
+        Assertions.assertEquals(argMaximum, result.getArgMaxima()[row], DELTA);
+    }
+}
@@ -0,0 +1,140 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the ExactQuadraticSolver and ExactQuadraticRoots classes
+ * */
+public class ExactQuadraticSolverTest {
+
+
+    private static final double DELTA = 1e-9;
+
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "1;5;-14;x = -7, x = 2",
+            "4;-12;9;x = 3/2",
+            "2;6;-1;x = (-3 ± √11)/2",
+            "-2;-6;1;x = (-3 ± √11)/2",
+            "8;12;-1;x = (-3 ± √11)/4",
+            "1;0;-8;x = ±2√2",
+            "1;2;9;x = -1 ± 2i√2",
+            "1;0;1;x = ±i",
+            "6;11;-35;x = -7/2, x = 5/3"})
+    public void testExactForm(double coefficientA, double coefficientB, double constantC, String expected) {
+
+        Assertions.assertEquals(expected, ExactQuadraticSolver.solve(coefficientA, coefficientB, constantC).toString());
+    }
+
+
+    @Test
+    public void testRootsMatchQuadraticEquationSolver() {
+
+        Random random = new Random(3);
+
+        for (int i = 0; i < 10_000; i++){
+
+            double coefficientA = random.nextInt(2001) - 1000;
+            double coefficientB = random.nextInt(2001) - 1000;
+            double constantC = random.nextInt(2001) - 1000;
+
+            if (coefficientA == 0){
+                continue;
+            }
+
+            ExactQuadraticRoots roots = ExactQuadraticSolver.solve(coefficientA, coefficientB, constantC);
+            QuadraticEquationSolver solver = new QuadraticEquationSolver(coefficientA, coefficientB, constantC);
+
+            Assertions.assertEquals(solver.getDiscriminant(), roots.getDiscriminant().doubleValue());
+
+            BigInteger squareFactor = roots.getSquareFactor();
+            Assertions.assertEquals(roots.getDiscriminant().abs(),
+                    squareFactor.multiply(squareFactor).multiply(roots.getRadicand()));
+
+            if (solver.getRootType() == QuadraticEquationSolver.RootType.COMPLEX){
+
+                IComplexNumber firstRoot = (IComplexNumber) solver.getFirstRoot();
+
+                Assertions.assertTrue(roots.isComplex());
+                Assertions.assertEquals(firstRoot.getRealPart(), roots.getFirstRootRealPart(), DELTA);
+                Assertions.assertEquals(firstRoot.getImaginaryPart(), roots.getFirstRootImaginaryPart(), DELTA);
+            }
+            else{
+                Assertions.assertEquals((Double) solver.getFirstRoot(), roots.getFirstRootRealPart(), DELTA);
+                Assertions.assertEquals((Double) solver.getSecondRoot(), roots.getSecondRootRealPart(), DELTA);
+            }
+        }
+    }
+
+
+    @Test
+    public void testSquareFactorOfLargeDiscriminants() {
+
+        //2^2 * 3^4 * 1000003^2 * 7, the last prime square is above the cube root bound
+        long n = 4L * 81 * 1_000_003L * 1_000_003L * 7;
+
+        Assertions.assertEquals(2L * 9 * 1_000_003L, ExactQuadraticSolver.squareFactor(n));
+        Assertions.assertEquals(1, ExactQuadraticSolver.squareFactor(1_000_003L * 999_983L));
+        Assertions.assertEquals(3_037_000_499L, ExactQuadraticSolver.squareRoot(Long.MAX_VALUE));
+    }
+
+
+    @Test
+    public void testOverflowEscalatesToBigInteger() {
+
+        double coefficient = ExactQuadraticSolver.MAXIMUM_COEFFICIENT;
+
+        double [] coefficientsA = {1, coefficient, 0, 0.5};
+        double [] coefficientsB = {5, coefficient, 1, 1};
+        double [] constantsC = {-14, -coefficient, 1, 1};
+
+        ExactBatchResult result = new ExactBatchResult(4);
+        ExactQuadraticSolver.solve(coefficientsA, coefficientsB, constantsC, result);
+
+        Assertions.assertArrayEquals(new byte[]{ExactBatchResult.STATUS_EXACT, ExactBatchResult.STATUS_OVERFLOW,
+                ExactBatchResult.STATUS_NOT_QUADRATIC, ExactBatchResult.STATUS_NOT_INTEGRAL}, result.getStatuses());
+
+        Assertions.assertEquals("x = -7, x = 2", result.getRoots(0).toString());
+        Assertions.assertNull(result.getRoots(2));
+
+        //2^53 x^2 + 2^53 x - 2^53 = 0 is x^2 + x - 1 = 0
+        ExactQuadraticRoots roots = result.getRoots(1);
+
+        Assertions.assertEquals("x = (-1 ± √5)/2", roots.toString());
+        Assertions.assertEquals(BigInteger.valueOf(5).shiftLeft(106), roots.getDiscriminant());
+        Assertions.assertEquals(roots.toString(), ExactQuadraticSolver.solve(coefficient, coefficient, -coefficient).toString());
+    }
+
+
+    @Test
+    public void testOverflowedDiscriminantIsTrialDividedByLargePrimes() {
+
+        //D = 4 * 999983^2 * 1000003 * 1999993, where 999983 is a prime beyond the sieve bound
+        ExactQuadraticRoots roots = ExactQuadraticSolver.solve(999983.0 * 999983, 0, -1000003.0 * 1999993);
+
+        Assertions.assertEquals(BigInteger.valueOf(2 * 999983), roots.getSquareFactor());
+        Assertions.assertEquals(BigInteger.valueOf(1000003L * 1999993), roots.getRadicand());
+        Assertions.assertEquals(BigInteger.valueOf(999983), roots.getDenominator());
+    }
+
+
+    @Test
+    public void testRejectsInvalidCoefficients() {
+
+        Assertions.assertFalse(ExactQuadraticSolver.isIntegral(1, 2.5, 3));
+        Assertions.assertFalse(ExactQuadraticSolver.isIntegral(1, Double.NaN, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ExactQuadraticSolver.solve(0, 2, 3));
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> ExactQuadraticSolver.solve(2, 6, -1).getFirstRoot());
+    }
+}
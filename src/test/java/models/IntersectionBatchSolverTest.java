@@ -0,0 +1,117 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the IntersectionBatchSolver class
+ * */
+public class IntersectionBatchSolverTest {
+
+
+    private static final double DELTA = 1e-9;
+
+
+    @Test
+    public void testIntersectionCases() {
+
+        //x^2 and 2 - x^2, x^2 and 2x - 1 (tangent), x^2 and x^2 + 1 (parallel),
+        //x^2 + x and 2x^2 + x + 1 (none), x^2 and x^2 + x - 1 (one), x^2 and x^2, 2x and -x + 3
+        double [] coefficientsA1 = {1, 1, 1, 1, 1, 1, 0};
+        double [] coefficientsB1 = {0, 0, 0, 1, 0, 0, 2};
+        double [] constantsC1 = {0, 0, 0, 0, 0, 0, 0};
+        double [] coefficientsA2 = {-1, 0, 1, 2, 1, 1, 0};
+        double [] coefficientsB2 = {0, 2, 0, 1, 1, 0, -1};
+        double [] constantsC2 = {2, -1, 1, 1, -1, 0, 3};
+
+        IntersectionBatchResult result = new IntersectionBatchResult(coefficientsA1.length);
+
+        IntersectionBatchSolver.intersect(coefficientsA1, coefficientsB1, constantsC1,
+                coefficientsA2, coefficientsB2, constantsC2, result);
+
+        Assertions.assertArrayEquals(new byte[]{2, 1, 0, 0, 1, IntersectionBatchResult.INTERSECTIONS_INFINITE, 1},
+                result.getIntersectionCounts());
+
+        Assertions.assertEquals(-1, result.getXCoordinate(0, 0), DELTA);
+        Assertions.assertEquals(1, result.getYCoordinate(0, 0), DELTA);
+        Assertions.assertEquals(1, result.getXCoordinate(0, 1), DELTA);
+        Assertions.assertEquals(1, result.getYCoordinate(0, 1), DELTA);
+
+        Assertions.assertEquals(1, result.getXCoordinate(1, 0), DELTA);
+        Assertions.assertEquals(1, result.getYCoordinate(1, 0), DELTA);
+        Assertions.assertTrue(Double.isNaN(result.getXCoordinate(1, 1)));
+
+        Assertions.assertTrue(result.isParallel(2));
+        Assertions.assertFalse(result.isSameCurve(2));
+        Assertions.assertTrue(Double.isNaN(result.getXCoordinate(2, 0)));
+
+        Assertions.assertEquals(QuadraticEquationSolver.EquationType.QUADRATIC, result.getEquationType(3));
+        Assertions.assertTrue(Double.isNaN(result.getXCoordinate(3, 0)));
+
+        Assertions.assertEquals(QuadraticEquationSolver.EquationType.LINEAR, result.getEquationType(4));
+        Assertions.assertEquals(1, result.getXCoordinate(4, 0), DELTA);
+        Assertions.assertEquals(1, result.getYCoordinate(4, 0), DELTA);
+
+        Assertions.assertTrue(result.isSameCurve(5));
+
+        Assertions.assertEquals(1, result.getXCoordinate(6, 0), DELTA);
+        Assertions.assertEquals(2, result.getYCoordinate(6, 0), DELTA);
+    }
+
+
+    @Test
+    public void testPointsLieOnBothCurves() {
+
+        int size = 10_000;
+        Random random = new Random(17);
+
+        double [][] columns = new double[6][size];
+
+        for (double [] column : columns){
+            for (int i = 0; i < size; i++){
+                column[i] = random.nextInt(21) - 10;
+            }
+        }
+
+        IntersectionBatchResult result = new IntersectionBatchResult(size);
+
+        IntersectionBatchSolver.intersect(columns[0], columns[1], columns[2],
+                columns[3], columns[4], columns[5], result);
+
+        for (int row = 0; row < size; row++){
+
+            int count = result.getIntersectionCount(row);
+
+            for (int index = 0; index < Math.max(0, count); index++){
+
+                double x = result.getXCoordinate(row, index);
+                double y = result.getYCoordinate(row, index);
+                double tolerance = 1e-6 * Math.max(1, Math.abs(y));
+
+                Assertions.assertEquals(QuadraticEvaluator.evaluate(columns[3][row], columns[4][row],
+                        columns[5][row], x), y, tolerance);
+            }
+
+            if (count == 2){
+                Assertions.assertTrue(result.getXCoordinate(row, 0) < result.getXCoordinate(row, 1));
+            }
+        }
+    }
+
+
+    @Test
+    public void testColumnsDifferInLength() {
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> IntersectionBatchSolver.intersect(new double[2], new double[2], new double[2],
+                        new double[2], new double[1], new double[2], new IntersectionBatchResult(2)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> IntersectionBatchSolver.intersect(new double[2], new double[2], new double[2],
+                        new double[2], new double[2], new double[2], new IntersectionBatchResult(1)));
+    }
+}
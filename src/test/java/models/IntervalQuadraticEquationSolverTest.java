@@ -0,0 +1,140 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the IntervalQuadraticEquationSolver and
+ * IntervalQuadraticEquationBatchSolver classes
+ * */
+public class IntervalQuadraticEquationSolverTest {
+
+
+    @ParameterizedTest
+    @CsvSource({"1,5,-14,REAL_AND_DISTINCT", "6,12,6,REAL_AND_EQUAL", "2,8,33,COMPLEX"})
+    public void testPointIntervalsEncloseTheExactSolution(double coefficientA, double coefficientB,
+                                                          double constantC, String rootType) {
+
+        IntervalQuadraticEquationSolver solver = new IntervalQuadraticEquationSolver(
+                Interval.of(coefficientA), Interval.of(coefficientB), Interval.of(constantC));
+
+        QuadraticEquationSolver pointSolver =
+                new QuadraticEquationSolver(coefficientA, coefficientB, constantC);
+
+        Assertions.assertTrue(solver.getDiscriminant().contains(pointSolver.getDiscriminant()));
+        Assertions.assertTrue(solver.getDiscriminant().getWidth() < 1e-12);
+
+        if (!rootType.equals("REAL_AND_EQUAL")){
+
+            Assertions.assertTrue(solver.isRootTypeCertain());
+            Assertions.assertEquals(rootType, solver.getRootType().toString());
+        }
+        else{
+            //an enclosure of 0 always touches both sides of 0
+            Assertions.assertTrue(solver.getPossibleRootTypes()
+                    .contains(QuadraticEquationSolver.RootType.REAL_AND_EQUAL));
+        }
+
+        if (rootType.equals("COMPLEX")){
+
+            IComplexNumber firstRoot = (IComplexNumber) pointSolver.getFirstRoot();
+
+            Assertions.assertTrue(solver.getFirstRootRealPart().contains(firstRoot.getRealPart()));
+            Assertions.assertTrue(solver.getFirstRootImaginaryPart()
+                    .contains(firstRoot.getImaginaryPart()));
+        }
+        else{
+            Assertions.assertTrue(solver.getFirstRootRealPart()
+                    .contains((Double) pointSolver.getFirstRoot()));
+            Assertions.assertTrue(solver.getSecondRootRealPart()
+                    .contains((Double) pointSolver.getSecondRoot()));
+        }
+    }
+
+
+    @Test
+    public void testAmbiguousRootType() {
+
+        //b^2 - 4ac ranges over [-0.4, 0.4]
+        IntervalQuadraticEquationSolver solver = new IntervalQuadraticEquationSolver(
+                Interval.of(1), Interval.of(2), new Interval(0.9, 1.1));
+
+        Assertions.assertFalse(solver.isRootTypeCertain());
+        Assertions.assertNull(solver.getRootType());
+        Assertions.assertEquals(3, solver.getPossibleRootTypes().size());
+        Assertions.assertTrue(solver.getFirstRootImaginaryPart().contains(0));
+    }
+
+
+    @Test
+    public void testCoefficientAContainingZeroIsUnbounded() {
+
+        IntervalQuadraticEquationSolver solver = new IntervalQuadraticEquationSolver(
+                new Interval(-1, 1), Interval.of(5), Interval.of(-14));
+
+        Assertions.assertEquals(Double.NEGATIVE_INFINITY,
+                solver.getFirstRootRealPart().getLowerBound());
+        Assertions.assertEquals(Double.POSITIVE_INFINITY,
+                solver.getSecondRootRealPart().getUpperBound());
+    }
+
+
+    @Test
+    public void testBatchEnclosesSampledCoefficients() {
+
+        Random random = new Random(5);
+        int size = 2_000;
+
+        double [][] bounds = new double[6][size];
+
+        for (int row = 0; row < size; row++){
+            for (int coefficient = 0; coefficient < 3; coefficient++){
+
+                double centre = random.nextDouble() * 20 - 10;
+                double radius = random.nextDouble() * 0.5;
+
+                bounds[2 * coefficient][row] = centre - radius;
+                bounds[2 * coefficient + 1][row] = centre + radius;
+            }
+        }
+
+        IntervalBatchSolveResult result = new IntervalBatchSolveResult(size);
+        IntervalQuadraticEquationBatchSolver.solve(bounds[0], bounds[1], bounds[2], bounds[3],
+                bounds[4], bounds[5], result);
+
+        for (int row = 0; row < size; row++){
+            for (int sample = 0; sample < 20; sample++){
+
+                double coefficientA = sampleWithin(random, bounds[0][row], bounds[1][row]);
+                double coefficientB = sampleWithin(random, bounds[2][row], bounds[3][row]);
+                double constantC = sampleWithin(random, bounds[4][row], bounds[5][row]);
+
+                QuadraticEquationSolver solver =
+                        new QuadraticEquationSolver(coefficientA, coefficientB, constantC);
+
+                Assertions.assertTrue(result.isRootTypePossible(row, solver.getRootType()));
+                Assertions.assertTrue(result.getDiscriminantLowerBounds()[row] <= solver.getDiscriminant()
+                        && solver.getDiscriminant() <= result.getDiscriminantUpperBounds()[row]);
+
+                double firstRootRealPart = solver.getRootType() == QuadraticEquationSolver.RootType.COMPLEX
+                        ? ((IComplexNumber) solver.getFirstRoot()).getRealPart()
+                        : (Double) solver.getFirstRoot();
+
+                Assertions.assertTrue(result.getRootRealPartLowerBounds()[2 * row] <= firstRootRealPart
+                        && firstRootRealPart <= result.getRootRealPartUpperBounds()[2 * row]);
+            }
+        }
+    }
+
+
+    private static double sampleWithin(Random random, double lowerBound, double upperBound){
+        return lowerBound + random.nextDouble() * (upperBound - lowerBound);
+    }
+}
@@ -0,0 +1,102 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the NewtonRootRefiner class
+ * */
+public class NewtonRootRefinerTest {
+
+
+    @ParameterizedTest
+    @CsvSource({"1,5,-14,-7,0,2,0", "2,8,33,-2,-3.5355339059327378,-2,3.5355339059327378",
+                "1,-2,1,1,0,1,0"})
+    public void testRefineMovesPerturbedRootsBack(double coefficientA, double coefficientB,
+                                                  double constantC,
+                                                  double firstReal, double firstImaginary,
+                                                  double secondReal, double secondImaginary) {
+
+        double [] coefficientsA = {coefficientA};
+        double [] coefficientsB = {coefficientB};
+        double [] constantsC = {constantC};
+
+        BatchSolveResult result = new BatchSolveResult(1);
+        QuadraticEquationBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result);
+
+        double [] realParts = result.getRootRealParts();
+        double [] imaginaryParts = result.getRootImaginaryParts();
+
+        boolean equalRoots = result.getRootType(0) == QuadraticEquationSolver.RootType.REAL_AND_EQUAL;
+
+        realParts[0] *= 1 + 1e-12;
+        imaginaryParts[1] *= 1 - 1e-12;
+
+        int changedRows = new NewtonRootRefiner(2, 1e-6)
+                .refine(coefficientsA, coefficientsB, constantsC, result);
+
+        Assertions.assertEquals(1, changedRows);
+        Assertions.assertEquals(firstReal, realParts[0], equalRoots ? 1e-6 : 1e-15);
+        Assertions.assertEquals(firstImaginary, imaginaryParts[0], 1e-15);
+        Assertions.assertEquals(secondReal, realParts[1], 1e-15);
+        Assertions.assertEquals(secondImaginary, imaginaryParts[1], 1e-14);
+    }
+
+
+    @Test
+    public void testRefineReportsOnlyChangedRows() {
+
+        double [][] columns = QuadraticEquationBatchSolverTest.randomColumns(10_000, 3);
+
+        BatchSolveResult result = new BatchSolveResult(10_000);
+        BatchSolveResult parallelResult = new BatchSolveResult(10_000);
+
+        NewtonRootRefiner refiner = new NewtonRootRefiner(1, 1e-8);
+
+        int changedRows = QuadraticEquationBatchSolver.solve(columns[0], columns[1], columns[2],
+                result, refiner);
+        int parallelChangedRows = QuadraticEquationBatchSolver.solveParallel(columns[0], columns[1],
+                columns[2], parallelResult, refiner);
+
+        Assertions.assertEquals(changedRows, parallelChangedRows);
+        Assertions.assertArrayEquals(result.getRootRealParts(), parallelResult.getRootRealParts());
+
+        //a second pass over already refined roots changes (almost) nothing
+        int changedAgain = refiner.refine(columns[0], columns[1], columns[2], result);
+
+        Assertions.assertTrue(changedAgain <= changedRows);
+    }
+
+
+    @Test
+    public void testDegenerateRowsAreNotReportedAsChanged() {
+
+        //a linear, a constant, an identity and a non-finite row, whose NaN roots stay NaN
+        double [] coefficientsA = {0, 0, 0, Double.NaN};
+        double [] coefficientsB = {2, 0, 0, 1};
+        double [] constantsC = {-4, 1, 0, 1};
+
+        BatchSolveResult result = new BatchSolveResult(coefficientsA.length);
+        NewtonRootRefiner refiner = new NewtonRootRefiner(2, 1e-8);
+
+        QuadraticEquationBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result, refiner);
+
+        Assertions.assertEquals(0, refiner.refine(coefficientsA, coefficientsB, constantsC, result));
+        Assertions.assertEquals(2, result.getRootRealParts()[0]);
+        Assertions.assertTrue(Double.isNaN(result.getRootRealParts()[1]));
+    }
+
+
+    @Test
+    public void testInvalidSettingsAreRejected() {
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new NewtonRootRefiner(0, 1e-6));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new NewtonRootRefiner(1, Double.NaN));
+    }
+}
@@ -0,0 +1,179 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the PolynomialEquationSolver and
+ * PolynomialEquationBatchSolver classes
+ * */
+public class PolynomialEquationSolverTest {
+
+
+    private static double DELTA = 0.000001;
+
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "2,-4;SINGLE_REAL;2",
+            "1,-6,11,-6;REAL_AND_DISTINCT;1,2,3",
+            "1,-3,3,-1;REAL_AND_EQUAL;1,1,1",
+            "1,-4,5,-2;REAL_AND_EQUAL;1,1,2",
+            "1,-10,35,-50,24;REAL_AND_DISTINCT;1,2,3,4",
+            "1,0,-5,0,4;REAL_AND_DISTINCT;-2,-1,1,2",
+            "3,-12,18,-12,3;REAL_AND_EQUAL;1,1,1,1"})
+    public void testGetRealRoots(String coefficientsString, String rootType, String rootsString) {
+
+        PolynomialEquationSolver solver = new PolynomialEquationSolver(parse(coefficientsString));
+        double [] expectedRoots = parse(rootsString);
+
+        Object [] roots = solver.getRoots();
+
+        Assertions.assertEquals(rootType, solver.getRootType().toString());
+        Assertions.assertEquals(expectedRoots.length, roots.length);
+
+        for (int i = 0; i < roots.length; i++){
+            Assertions.assertEquals(expectedRoots[i], (Double) roots[i], 0.0001);
+        }
+    }
+
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "1,0,0,-1;1;-0.5,-0.866025404,-0.5,0.866025404",
+            "2,0,0,16;-2;1,-1.732050808,1,1.732050808",
+            "1,0,0,0,-1;-1,1;0,-1,0,1",
+            "1,0,2,0,1;;0,-1,0,-1,0,1,0,1"})
+    public void testGetComplexRoots(String coefficientsString, String realRootsString,
+                                    String complexRootsString) {
+
+        PolynomialEquationSolver solver = new PolynomialEquationSolver(parse(coefficientsString));
+        double [] expectedRealRoots = parse(realRootsString == null ? "" : realRootsString);
+        double [] expectedComplexRoots = parse(complexRootsString);
+
+        Object [] roots = solver.getRoots();
+
+        Assertions.assertEquals(QuadraticEquationSolver.RootType.COMPLEX, solver.getRootType());
+
+        for (int i = 0; i < expectedRealRoots.length; i++){
+            Assertions.assertEquals(expectedRealRoots[i], (Double) roots[i], DELTA);
+        }
+
+        for (int i = expectedRealRoots.length; i < roots.length; i++){
+
+            IComplexNumber complexRoot = (IComplexNumber) roots[i];
+            int complexIndex = 2 * (i - expectedRealRoots.length);
+
+            Assertions.assertEquals(expectedComplexRoots[complexIndex],
+                    complexRoot.getRealPart(), 0.0001);
+            Assertions.assertEquals(expectedComplexRoots[complexIndex + 1],
+                    complexRoot.getImaginaryPart(), 0.0001);
+        }
+    }
+
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "1,-6,11,-6;4;6;6",
+            "1,0,0,-1;-27;0;1",
+            "1,-4,5,-2;0;4;2",
+            "1,-10,35,-50,24;144;10;24"})
+    public void testGetDiscriminantSumAndProductOfRoots(String coefficientsString,
+                                                       double discriminant,
+                                                       double sumOfRoots,
+                                                       double productOfRoots) {
+
+        PolynomialEquationSolver solver = new PolynomialEquationSolver(parse(coefficientsString));
+
+        Assertions.assertEquals(discriminant, solver.getDiscriminant(), 0.0001);
+        Assertions.assertEquals(sumOfRoots, solver.getSumOfRoots(), DELTA);
+        Assertions.assertEquals(productOfRoots, solver.getProductOfRoots(), DELTA);
+    }
+
+
+    @ParameterizedTest
+    @CsvSource({"1,5,-14", "6,12,6", "2,8,33", "-3,1,7", "1e-8,1,1"})
+    public void testQuadraticMatchesQuadraticEquationSolver(double coefficientA,
+                                                           double coefficientB,
+                                                           double constantC) {
+
+        PolynomialEquationSolver solver =
+                new PolynomialEquationSolver(coefficientA, coefficientB, constantC);
+        QuadraticEquationSolver quadraticSolver =
+                new QuadraticEquationSolver(coefficientA, coefficientB, constantC);
+
+        Assertions.assertEquals(quadraticSolver.getRootType(), solver.getRootType());
+        Assertions.assertEquals(quadraticSolver.getDiscriminant(), solver.getDiscriminant());
+
+        Object [] roots = solver.getRoots();
+
+        if (quadraticSolver.getRootType() != QuadraticEquationSolver.RootType.COMPLEX){
+
+            Assertions.assertEquals(quadraticSolver.getFirstRoot(), roots[0]);
+            Assertions.assertEquals(quadraticSolver.getSecondRoot(), roots[1]);
+        }
+        else{
+            Assertions.assertEquals(((IComplexNumber) quadraticSolver.getFirstRoot()).getImaginaryPart(),
+                    ((IComplexNumber) roots[0]).getImaginaryPart());
+        }
+    }
+
+
+    @Test
+    public void testBatchSolveMatchesSingleEquationSolver() {
+
+        double [][] coefficients = {{1, 2, 1, 1}, {-6, 0, 0, -3}, {11, 0, 0, 3}, {-6, 16, -1, -1}};
+
+        BatchSolveResult result = new BatchSolveResult(4, 3);
+        BatchSolveResult parallelResult = new BatchSolveResult(4, 3);
+
+        PolynomialEquationBatchSolver.solve(coefficients, result);
+        PolynomialEquationBatchSolver.solveParallel(coefficients, parallelResult);
+
+        for (int row = 0; row < 4; row++){
+
+            PolynomialEquationSolver solver = new PolynomialEquationSolver(coefficients[0][row],
+                    coefficients[1][row], coefficients[2][row], coefficients[3][row]);
+
+            Assertions.assertEquals(solver.getRootType(), result.getRootType(row));
+            Assertions.assertEquals(solver.getDiscriminant(), result.getDiscriminants()[row]);
+        }
+
+        Assertions.assertArrayEquals(result.getRootRealParts(), parallelResult.getRootRealParts());
+        Assertions.assertArrayEquals(result.getRootImaginaryParts(),
+                parallelResult.getRootImaginaryParts());
+    }
+
+
+    @Test
+    public void testUnsupportedDegreeIsRejected() {
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new PolynomialEquationSolver(1, 0, 0, 0, 0, -1));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new PolynomialEquationSolver(0, 1, 2));
+    }
+
+
+    private static double[] parse(String values){
+
+        if (values.isEmpty()){
+            return new double[0];
+        }
+
+        String [] parts = values.split(",");
+        double [] parsed = new double[parts.length];
+
+        for (int i = 0; i < parts.length; i++){
+            parsed[i] = Double.parseDouble(parts[i]);
+        }
+
+        return parsed;
+    }
+}
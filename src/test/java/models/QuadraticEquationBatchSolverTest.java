@@ -0,0 +1,205 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the QuadraticEquationBatchSolver class
+ * */
+public class QuadraticEquationBatchSolverTest {
+
+
+    private static final int SIZE = 50_000;
+
+
+    @Test
+    public void testSolveMatchesQuadraticEquationSolver() {
+
+        double [][] columns = randomColumns(SIZE, 7);
+
+        BatchSolveResult result = new BatchSolveResult(SIZE);
+        QuadraticEquationBatchSolver.solve(columns[0], columns[1], columns[2], result);
+
+        for (int row = 0; row < SIZE; row++){
+
+            QuadraticEquationSolver solver =
+                    new QuadraticEquationSolver(columns[0][row], columns[1][row], columns[2][row]);
+
+            Assertions.assertEquals(solver.getRootType(), result.getRootType(row));
+            Assertions.assertEquals(solver.getDiscriminant(), result.getDiscriminants()[row]);
+            Assertions.assertEquals(solver.getVertex().getXCoordinate(),
+                    result.getVertexXCoordinates()[row]);
+            Assertions.assertEquals(solver.getVertex().getYCoordinate(),
+                    result.getVertexYCoordinates()[row]);
+            Assertions.assertEquals(solver.getSumOfRoots(), result.getSumsOfRoots()[row]);
+            Assertions.assertEquals(solver.getProductOfRoots(), result.getProductsOfRoots()[row]);
+
+            if (solver.getRootType() == QuadraticEquationSolver.RootType.COMPLEX){
+
+                IComplexNumber firstRoot = (IComplexNumber) solver.getFirstRoot();
+                IComplexNumber secondRoot = (IComplexNumber) solver.getSecondRoot();
+
+                Assertions.assertEquals(firstRoot.getRealPart(), result.getRootRealPart(row, 0));
+                Assertions.assertEquals(firstRoot.getImaginaryPart(),
+                        result.getRootImaginaryPart(row, 0));
+                Assertions.assertEquals(secondRoot.getImaginaryPart(),
+                        result.getRootImaginaryPart(row, 1));
+            }
+            else{
+                Assertions.assertEquals((Double) solver.getFirstRoot(), result.getRootRealPart(row, 0));
+                Assertions.assertEquals((Double) solver.getSecondRoot(), result.getRootRealPart(row, 1));
+            }
+        }
+    }
+
+
+    @Test
+    public void testVectorizedAndParallelMatchSolve() {
+
+        double [][] columns = randomColumns(SIZE, 11);
+
+        BatchSolveResult result = new BatchSolveResult(SIZE);
+        BatchSolveResult vectorizedResult = new BatchSolveResult(SIZE);
+        BatchSolveResult parallelResult = new BatchSolveResult(SIZE);
+
+        QuadraticEquationBatchSolver.solve(columns[0], columns[1], columns[2], result);
+        QuadraticEquationBatchSolver.solveVectorized(columns[0], columns[1], columns[2],
+                vectorizedResult);
+        QuadraticEquationBatchSolver.solveParallel(columns[0], columns[1], columns[2],
+                parallelResult);
+
+        for (BatchSolveResult otherResult : new BatchSolveResult[]{vectorizedResult, parallelResult}){
+
+            Assertions.assertArrayEquals(result.getRootTypes(), otherResult.getRootTypes());
+            Assertions.assertArrayEquals(result.getRootRealParts(), otherResult.getRootRealParts());
+            Assertions.assertArrayEquals(result.getRootImaginaryParts(),
+                    otherResult.getRootImaginaryParts());
+            Assertions.assertArrayEquals(result.getDiscriminants(), otherResult.getDiscriminants());
+            Assertions.assertArrayEquals(result.getVertexYCoordinates(),
+                    otherResult.getVertexYCoordinates());
+        }
+    }
+
+
+    @Test
+    public void testDegenerateRowsMatchQuadraticEquationSolver() {
+
+        double [][] columns = randomColumns(SIZE, 13);
+
+        for (int row = 0; row < SIZE; row++){
+
+            switch (row % 6){
+
+                case 1:
+                    columns[0][row] = 0;
+                    break;
+
+                case 2:
+                    columns[0][row] = 0;
+                    columns[1][row] = 0;
+                    break;
+
+                case 3:
+                    columns[0][row] = 0;
+                    columns[1][row] = 0;
+                    columns[2][row] = 0;
+                    break;
+
+                case 4:
+                    columns[row % 3][row] = row % 2 == 0 ? Double.NaN : Double.NEGATIVE_INFINITY;
+                    break;
+            }
+        }
+
+        BatchSolveResult result = new BatchSolveResult(SIZE);
+        BatchSolveResult vectorizedResult = new BatchSolveResult(SIZE);
+        BatchSolveResult parallelResult = new BatchSolveResult(SIZE);
+
+        QuadraticEquationBatchSolver.solve(columns[0], columns[1], columns[2], result);
+        QuadraticEquationBatchSolver.solveVectorized(columns[0], columns[1], columns[2],
+                vectorizedResult);
+        QuadraticEquationBatchSolver.solveParallel(columns[0], columns[1], columns[2],
+                parallelResult);
+
+        for (BatchSolveResult otherResult : new BatchSolveResult[]{vectorizedResult, parallelResult}){
+
+            Assertions.assertArrayEquals(result.getEquationTypes(), otherResult.getEquationTypes());
+            Assertions.assertArrayEquals(result.getRootTypes(), otherResult.getRootTypes());
+            Assertions.assertArrayEquals(result.getRootRealParts(), otherResult.getRootRealParts());
+            Assertions.assertArrayEquals(result.getRootImaginaryParts(),
+                    otherResult.getRootImaginaryParts());
+            Assertions.assertArrayEquals(result.getVertexXCoordinates(),
+                    otherResult.getVertexXCoordinates());
+            Assertions.assertArrayEquals(result.getSumsOfRoots(), otherResult.getSumsOfRoots());
+            Assertions.assertArrayEquals(result.getProductsOfRoots(), otherResult.getProductsOfRoots());
+        }
+
+        for (int row = 0; row < SIZE; row++){
+
+            QuadraticEquationSolver solver =
+                    new QuadraticEquationSolver(columns[0][row], columns[1][row], columns[2][row]);
+
+            Assertions.assertEquals(solver.getEquationType(), result.getEquationType(row));
+            Assertions.assertEquals(solver.getRootType(), result.getRootType(row));
+            Assertions.assertEquals(solver.getSumOfRoots(), result.getSumsOfRoots()[row]);
+            Assertions.assertEquals(solver.getVertex().getXCoordinate(),
+                    result.getVertexXCoordinates()[row]);
+
+            if (solver.getEquationType() == QuadraticEquationSolver.EquationType.LINEAR){
+
+                Assertions.assertEquals((Double) solver.getFirstRoot(), result.getRootRealPart(row, 0));
+                Assertions.assertNull(solver.getSecondRoot());
+                Assertions.assertTrue(Double.isNaN(result.getRootRealPart(row, 1)));
+                Assertions.assertEquals(0, result.getRootImaginaryPart(row, 0));
+            }
+            else if (solver.getRootType() == null){
+
+                Assertions.assertNull(solver.getFirstRoot());
+                Assertions.assertTrue(Double.isNaN(result.getRootRealPart(row, 0)));
+                Assertions.assertEquals(BatchSolveResult.ROOT_TYPE_NONE, result.getRootTypes()[row]);
+            }
+        }
+    }
+
+
+    @Test
+    public void testMismatchedColumnsAreRejected() {
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> QuadraticEquationBatchSolver.solve(new double[2], new double[2], new double[3],
+                        new BatchSolveResult(3)));
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> QuadraticEquationBatchSolver.solve(new double[2], new double[2], new double[2],
+                        new BatchSolveResult(2, 3)));
+    }
+
+
+    /**
+     * Random coefficients, a quarter of them with an equal-roots discriminant
+     * */
+    static double[][] randomColumns(int size, long seed){
+
+        Random random = new Random(seed);
+        double [][] columns = new double[3][size];
+
+        for (int row = 0; row < size; row++){
+
+            double coefficientA = random.nextInt(41) - 20;
+            double coefficientB = random.nextInt(81) - 40;
+
+            columns[0][row] = coefficientA == 0 ? 1 : coefficientA;
+            columns[1][row] = coefficientB;
+            columns[2][row] = row % 4 == 0
+                    ? coefficientB * coefficientB / (4 * columns[0][row])
+                    : random.nextDouble() * 200 - 100;
+        }
+
+        return columns;
+    }
+}
@@ -0,0 +1,609 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Differential fuzz tests of every quadratic solve path against QuadraticReferenceSolver
+ *
+ * Random and adversarial triples (subnormals, huge magnitudes, near-zero discriminants,
+ * widely separated roots, a == 0, NaN and infinities) are solved by each path, and every
+ * row is compared with the high precision reference, within a number of ulps scaled by the
+ * condition number of the root. This includes the rows whose b^2 and 4ac overflow or
+ * underflow in double precision, which the solvers scale by a power of two. Rows with a NaN
+ * or infinite coefficient have no reference solution, so on those rows a path only has to
+ * agree with the scalar QuadraticEquationSolver
+ *
+ * The number of cases and the seed are set with system properties. The default of 100,000
+ * cases keeps a plain mvn test short, so a CI run has to pass -Dfuzz.cases to check millions
+ * of cases. One million cases take about 45 seconds on a single core, most of it in the
+ * BigDecimal reference rows with extreme magnitudes, so the run below takes about 4 minutes:
+ * <pre>
+ *     mvn test -Dtest=QuadraticEquationDifferentialFuzzTest -Dfuzz.cases=5000000 -Dfuzz.seed=7
+ * </pre>
+ * */
+public class QuadraticEquationDifferentialFuzzTest {
+
+
+    private static final int CASES = Integer.getInteger("fuzz.cases", 100_000);
+    private static final long SEED = Long.getLong("fuzz.seed", 53);
+
+    //several parallel chunks per block, so the chunk boundaries are crossed
+    private static final int BLOCK_SIZE = 1 << 16;
+
+    private static final int KINDS = 10;
+    private static final int REPORTED_MISMATCHES = 10;
+
+    private static final double VALUE_ULPS = 4;
+    private static final double ROOT_ULPS = 8;
+
+    //the error of the compensated discriminant relative to the larger of b^2 and 4ac
+    private static final double DISCRIMINANT_ERROR = 0x1p-100;
+
+
+    /**
+     * A solve path, which solves the coefficient columns and returns the result holding
+     * the solutions, either the given one or its own
+     * */
+    private interface SolvePath {
+
+        BatchSolveResult solve(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                               BatchSolveResult result);
+    }
+
+
+    @Test
+    public void testSolvePathsMatchReference() {
+
+        Map<String, SolvePath> paths = solvePaths();
+
+        BatchSolveResult reference = new BatchSolveResult(BLOCK_SIZE);
+        BatchSolveResult scalar = new BatchSolveResult(BLOCK_SIZE);
+        BatchSolveResult result = new BatchSolveResult(BLOCK_SIZE);
+        double [] conditionNumbers = new double[2 * BLOCK_SIZE];
+
+        for (int blockStart = 0; blockStart < CASES; blockStart += BLOCK_SIZE){
+
+            int size = Math.min(BLOCK_SIZE, CASES - blockStart);
+            double [][] columns = fuzzColumns(size, SEED + blockStart);
+
+            double [] coefficientsA = columns[0];
+            double [] coefficientsB = columns[1];
+            double [] constantsC = columns[2];
+
+            IntStream.range(0, size).parallel().forEach(row ->
+                    QuadraticReferenceSolver.solveRow(coefficientsA[row], coefficientsB[row], constantsC[row],
+                            reference, conditionNumbers, row));
+
+            solveScalar(coefficientsA, coefficientsB, constantsC, scalar);
+
+            for (Map.Entry<String, SolvePath> path : paths.entrySet()){
+
+                BatchSolveResult solved = path.getValue().solve(coefficientsA, coefficientsB, constantsC, result);
+
+                List<String> mismatches = IntStream.range(0, size).parallel()
+                        .mapToObj(row -> checkRow(coefficientsA[row], coefficientsB[row], constantsC[row],
+                                solved, scalar, reference, conditionNumbers, row))
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList());
+
+                if (!mismatches.isEmpty()){
+
+                    Assertions.fail(path.getKey() + " has " + mismatches.size() + " mismatches in the block of "
+                            + size + " cases from " + blockStart + " (seed " + SEED + "):\n"
+                            + mismatches.stream().limit(REPORTED_MISMATCHES).collect(Collectors.joining("\n")));
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testExtremeMagnitudesMatchReference() {
+
+        //b^2 and 4ac overflow, underflow, or only one of them does
+        double [] coefficientsA = {1e200, 1e-200, 0x1p500, 0x1p1023, 1e300, Double.MIN_VALUE};
+        double [] coefficientsB = {3e200, 3e-200, 0x1p-100, 0x1p1000, 1e-300, Double.MIN_VALUE};
+        double [] constantsC = {1e200, 1e-200, -0x1p-600, -0x1p-1074, 1e-300, -Double.MIN_VALUE};
+
+        int size = coefficientsA.length;
+
+        BatchSolveResult reference = new BatchSolveResult(size);
+        BatchSolveResult scalar = new BatchSolveResult(size);
+        double [] conditionNumbers = new double[2 * size];
+
+        for (int row = 0; row < size; row++){
+            QuadraticReferenceSolver.solveRow(coefficientsA[row], coefficientsB[row], constantsC[row],
+                    reference, conditionNumbers, row);
+        }
+
+        solveScalar(coefficientsA, coefficientsB, constantsC, scalar);
+
+        //(1e200, 3e200, 1e200) has the real roots (-3 ± √5)/2
+        Assertions.assertEquals(QuadraticEquationSolver.RootType.REAL_AND_DISTINCT, scalar.getRootType(0));
+        Assertions.assertEquals(-2.618033988749895, scalar.getRootRealPart(0, 0), 1e-15);
+        Assertions.assertEquals(-0.3819660112501051, scalar.getRootRealPart(0, 1), 1e-15);
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, scalar.getDiscriminants()[0]);
+
+        for (Map.Entry<String, SolvePath> path : solvePaths().entrySet()){
+
+            BatchSolveResult solved = path.getValue().solve(coefficientsA, coefficientsB, constantsC,
+                    new BatchSolveResult(size));
+
+            for (int row = 0; row < size; row++){
+
+                Assertions.assertNull(checkRow(coefficientsA[row], coefficientsB[row], constantsC[row],
+                        solved, scalar, reference, conditionNumbers, row), path.getKey());
+            }
+        }
+    }
+
+
+    @Test
+    public void testCommonRowsSkipTheScaledKernels() {
+
+        //the scaled kernels cost several times the unscaled ones, so they are only for the rare rows
+        //whose b^2 or 4ac overflow or underflow
+        double [][] columns = fuzzColumns(10 * KINDS * KINDS, SEED);
+        int [] commonKinds = {0, 3, 4, 5, 6, 9};
+
+        for (int row = 0; row < columns[0].length; row++){
+
+            int kind = row % KINDS;
+
+            if (IntStream.of(commonKinds).anyMatch(commonKind -> commonKind == kind)){
+
+                Assertions.assertFalse(Double.isNaN(PolynomialRootKernels.compensatedQuadraticDiscriminant(
+                        columns[0][row], columns[1][row], columns[2][row])), "kind " + kind);
+            }
+        }
+
+        Assertions.assertTrue(Double.isNaN(PolynomialRootKernels.compensatedQuadraticDiscriminant(1e200, 3e200, 1e200)));
+        Assertions.assertTrue(Double.isNaN(PolynomialRootKernels.compensatedQuadraticDiscriminant(1e-200, 3e-200, 1e-200)));
+        Assertions.assertTrue(Double.isNaN(PolynomialRootKernels.compensatedQuadraticDiscriminant(1, Double.NaN, 1)));
+    }
+
+
+    @Test
+    public void testReferenceOnKnownEquations() {
+
+        //x^2 - 3x + 2, x^2 - 2x + 1, x^2 + 1 and 2x + 4
+        double [] coefficientsA = {1, 1, 1, 0};
+        double [] coefficientsB = {-3, -2, 0, 2};
+        double [] constantsC = {2, 1, 1, 4};
+
+        BatchSolveResult reference = new BatchSolveResult(coefficientsA.length);
+        double [] conditionNumbers = new double[2 * coefficientsA.length];
+
+        for (int row = 0; row < coefficientsA.length; row++){
+            QuadraticReferenceSolver.solveRow(coefficientsA[row], coefficientsB[row], constantsC[row],
+                    reference, conditionNumbers, row);
+        }
+
+        Assertions.assertEquals(1, reference.getRootRealPart(0, 0));
+        Assertions.assertEquals(2, reference.getRootRealPart(0, 1));
+        Assertions.assertEquals(QuadraticEquationSolver.RootType.REAL_AND_EQUAL, reference.getRootType(1));
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, conditionNumbers[2]);
+        Assertions.assertEquals(-1, reference.getRootImaginaryPart(2, 0));
+        Assertions.assertEquals(1, reference.getRootImaginaryPart(2, 1));
+        Assertions.assertEquals(QuadraticEquationSolver.RootType.SINGLE_REAL, reference.getRootType(3));
+        Assertions.assertEquals(-2, reference.getRootRealPart(3, 0));
+        Assertions.assertTrue(Double.isNaN(reference.getRootRealPart(3, 1)));
+        Assertions.assertTrue(Double.isNaN(reference.getSumsOfRoots()[3]));
+    }
+
+
+    /**
+     * Returns the solve paths under test, by name
+     * */
+    private static Map<String, SolvePath> solvePaths(){
+
+        Map<String, SolvePath> paths = new LinkedHashMap<>();
+
+        paths.put("scalar", (a, b, c, result) -> {
+            solveScalar(a, b, c, result);
+            return result;
+        });
+        paths.put("reusable", (a, b, c, result) -> {
+            solveReusable(a, b, c, result);
+            return result;
+        });
+        paths.put("batch", (a, b, c, result) -> {
+            QuadraticEquationBatchSolver.solve(a, b, c, result);
+            return result;
+        });
+        paths.put("parallel", (a, b, c, result) -> {
+            QuadraticEquationBatchSolver.solveParallel(a, b, c, result);
+            return result;
+        });
+        paths.put("vectorized", (a, b, c, result) -> {
+            QuadraticEquationBatchSolver.solveVectorized(a, b, c, result);
+            return result;
+        });
+        paths.put("partitioned", (a, b, c, result) -> {
+            QuadraticEquationBatchSolver.solvePartitioned(a, b, c, result, new RootTypePartition(a.length));
+            return result;
+        });
+        paths.put("sensitivity", (a, b, c, result) -> {
+            QuadraticEquationBatchSolver.solve(a, b, c, result, new RootSensitivityBatchResult(a.length));
+            return result;
+        });
+        paths.put("gradient", (a, b, c, result) -> {
+            GradientBatchSolveResult gradients = new GradientBatchSolveResult(a.length);
+            QuadraticEquationGradientBatchSolver.solve(a, b, c, gradients);
+            return gradients.getValues();
+        });
+        paths.put("polynomial", (a, b, c, result) -> {
+            PolynomialEquationBatchSolver.solve(new double[][]{a, b, c}, result);
+            return result;
+        });
+
+        return paths;
+    }
+
+
+    /**
+     * Solve every row with QuadraticEquationSolver, into the columns of the result
+     * */
+    private static void solveScalar(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                                    BatchSolveResult result){
+
+        for (int row = 0; row < coefficientsA.length; row++){
+
+            QuadraticEquationSolver solver = new QuadraticEquationSolver(coefficientsA[row], coefficientsB[row],
+                    constantsC[row]);
+
+            result.getEquationTypes()[row] = (byte) solver.getEquationType().ordinal();
+            result.getRootTypes()[row] = solver.getRootType() == null
+                    ? BatchSolveResult.ROOT_TYPE_NONE
+                    : (byte) solver.getRootType().ordinal();
+            result.getDiscriminants()[row] = solver.getDiscriminant();
+            result.getVertexXCoordinates()[row] = solver.getVertex().getXCoordinate();
+            result.getVertexYCoordinates()[row] = solver.getVertex().getYCoordinate();
+            result.getSumsOfRoots()[row] = solver.getSumOfRoots();
+            result.getProductsOfRoots()[row] = solver.getProductOfRoots();
+
+            writeRoot(solver.getFirstRoot(), result, 2 * row);
+            writeRoot(solver.getSecondRoot(), result, 2 * row + 1);
+        }
+    }
+
+
+    /**
+     * Write a root returned by QuadraticEquationSolver, a Double, an IComplexNumber or null
+     * */
+    private static void writeRoot(Object root, BatchSolveResult result, int index){
+
+        if (root instanceof IComplexNumber){
+
+            result.getRootRealParts()[index] = ((IComplexNumber) root).getRealPart();
+            result.getRootImaginaryParts()[index] = ((IComplexNumber) root).getImaginaryPart();
+        }
+        else{
+            result.getRootRealParts()[index] = root == null ? Double.NaN : (Double) root;
+            result.getRootImaginaryParts()[index] = root == null ? Double.NaN : 0;
+        }
+    }
+
+
+    /**
+     * Solve every row with one ReusableQuadraticEquationSolver, into the columns of the result
+     * */
+    private static void solveReusable(double [] coefficientsA, double [] coefficientsB, double [] constantsC,
+                                      BatchSolveResult result){
+
+        ReusableQuadraticEquationSolver solver = new ReusableQuadraticEquationSolver();
+
+        for (int row = 0; row < coefficientsA.length; row++){
+
+            solver.solve(coefficientsA[row], coefficientsB[row], constantsC[row]);
+
+            result.getEquationTypes()[row] = (byte) solver.getEquationType().ordinal();
+            result.getRootTypes()[row] = solver.getRootType() == null
+                    ? BatchSolveResult.ROOT_TYPE_NONE
+                    : (byte) solver.getRootType().ordinal();
+            result.getDiscriminants()[row] = solver.getDiscriminant();
+            result.getVertexXCoordinates()[row] = solver.getVertexXCoordinate();
+            result.getVertexYCoordinates()[row] = solver.getVertexYCoordinate();
+            result.getSumsOfRoots()[row] = solver.getSumOfRoots();
+            result.getProductsOfRoots()[row] = solver.getProductOfRoots();
+            result.getRootRealParts()[2 * row] = solver.getFirstRootRealPart();
+            result.getRootImaginaryParts()[2 * row] = solver.getFirstRootImaginaryPart();
+            result.getRootRealParts()[2 * row + 1] = solver.getSecondRootRealPart();
+            result.getRootImaginaryParts()[2 * row + 1] = solver.getSecondRootImaginaryPart();
+        }
+    }
+
+
+    /**
+     * Compare a row of a solve path with the reference, or with the scalar solver when a
+     * coefficient is not finite
+     *
+     * @return a description of the mismatch, or null if the row matches
+     * */
+    private static String checkRow(double coefficientA, double coefficientB, double constantC,
+                                   BatchSolveResult actual, BatchSolveResult scalar, BatchSolveResult reference,
+                                   double [] conditionNumbers, int row){
+
+        byte equationType = reference.getEquationTypes()[row];
+
+        if (actual.getEquationTypes()[row] != equationType){
+            return mismatch("equation type", coefficientA, coefficientB, constantC, actual, reference, row);
+        }
+
+        if (equationType == BatchSolveResult.EQUATION_TYPE_NON_FINITE){
+
+            return isSameRow(actual, scalar, row)
+                    ? null
+                    : mismatch("scalar agreement", coefficientA, coefficientB, constantC, actual, scalar, row);
+        }
+
+        if (actual.getRootTypes()[row] != reference.getRootTypes()[row]){
+            return mismatch("root type", coefficientA, coefficientB, constantC, actual, reference, row);
+        }
+
+        //the part of the discriminant error which does not scale with the discriminant itself,
+        //with the factor applied before the products so that they overflow less often, and the
+        //same error divided by |4a| without the products for the vertex
+        double scaledB = Math.scalb(coefficientB, -50);
+        double discriminantError = Math.max(scaledB * scaledB,
+                Math.abs(4 * Math.scalb(coefficientA, -50) * Math.scalb(constantC, -50)));
+        double vertexYError = DISCRIMINANT_ERROR * Math.max(
+                Math.abs(coefficientB) * Math.abs(coefficientB / (4 * coefficientA)), Math.abs(constantC));
+
+        double discriminant = reference.getDiscriminants()[row];
+        double vertexY = reference.getVertexYCoordinates()[row];
+
+        boolean isMatch = isClose(actual.getDiscriminants()[row], discriminant,
+                        ulps(discriminant, VALUE_ULPS) + discriminantError)
+                && isClose(actual.getSumsOfRoots()[row], reference.getSumsOfRoots()[row],
+                        ulps(reference.getSumsOfRoots()[row], VALUE_ULPS))
+                && isClose(actual.getProductsOfRoots()[row], reference.getProductsOfRoots()[row],
+                        ulps(reference.getProductsOfRoots()[row], VALUE_ULPS))
+                && isClose(actual.getVertexXCoordinates()[row], reference.getVertexXCoordinates()[row],
+                        ulps(reference.getVertexXCoordinates()[row], VALUE_ULPS))
+                && isClose(actual.getVertexYCoordinates()[row], vertexY,
+                        ulps(vertexY, VALUE_ULPS) + vertexYError);
+
+        for (int index = 2 * row; isMatch && index < 2 * row + 2; index++){
+
+            double realPart = reference.getRootRealParts()[index];
+            double imaginaryPart = reference.getRootImaginaryParts()[index];
+
+            //a double root is the vertex and a root at 0 is c/q == 0, so their errors do not
+            //grow with their (infinite) condition numbers
+            boolean isExact = reference.getRootTypes()[row] == BatchSolveResult.ROOT_TYPE_REAL_AND_EQUAL
+                    || (realPart == 0 && imaginaryPart == 0);
+            double conditionNumber = isExact
+                    ? 1
+                    : conditionNumbers[index];
+            double tolerance = Double.isNaN(conditionNumber)
+                    ? Double.POSITIVE_INFINITY
+                    : ulps(Math.hypot(realPart, imaginaryPart), ROOT_ULPS * conditionNumber);
+
+            isMatch = isClose(actual.getRootRealParts()[index], realPart, tolerance)
+                    && isClose(actual.getRootImaginaryParts()[index], imaginaryPart, tolerance);
+        }
+
+        return isMatch ? null : mismatch("accuracy", coefficientA, coefficientB, constantC, actual, reference, row);
+    }
+
+
+    /**
+     * Returns true if the two rows hold the same values, NaN being equal to NaN
+     * */
+    private static boolean isSameRow(BatchSolveResult actual, BatchSolveResult expected, int row){
+
+        boolean isSame = actual.getRootTypes()[row] == expected.getRootTypes()[row]
+                && isSame(actual.getDiscriminants()[row], expected.getDiscriminants()[row])
+                && isSame(actual.getVertexXCoordinates()[row], expected.getVertexXCoordinates()[row])
+                && isSame(actual.getVertexYCoordinates()[row], expected.getVertexYCoordinates()[row])
+                && isSame(actual.getSumsOfRoots()[row], expected.getSumsOfRoots()[row])
+                && isSame(actual.getProductsOfRoots()[row], expected.getProductsOfRoots()[row]);
+
+        for (int index = 2 * row; isSame && index < 2 * row + 2; index++){
+
+            isSame = isSame(actual.getRootRealParts()[index], expected.getRootRealParts()[index])
+                    && isSame(actual.getRootImaginaryParts()[index], expected.getRootImaginaryParts()[index]);
+        }
+
+        return isSame;
+    }
+
+
+    private static boolean isSame(double actual, double expected){
+        return actual == expected || (Double.isNaN(actual) && Double.isNaN(expected));
+    }
+
+
+    /**
+     * Returns true if actual is within tolerance of expected, where an infinite value is
+     * taken as the largest finite value of its sign, so that a value which overflows in one
+     * and not the other is still compared
+     * */
+    private static boolean isClose(double actual, double expected, double tolerance){
+
+        return isSame(actual, expected)
+                || Math.abs(clampToFinite(actual) - clampToFinite(expected)) <= tolerance;
+    }
+
+
+    /**
+     * Returns count ulps of the value, with an infinite value taken as the largest finite value
+     * */
+    private static double ulps(double value, double count){
+        return count * Math.ulp(clampToFinite(value));
+    }
+
+
+    private static double clampToFinite(double value){
+        return Math.max(-Double.MAX_VALUE, Math.min(Double.MAX_VALUE, value));
+    }
+
+
+    private static String mismatch(String check, double coefficientA, double coefficientB, double constantC,
+                                   BatchSolveResult actual, BatchSolveResult expected, int row){
+
+        return "  " + check + " of (" + Double.toHexString(coefficientA) + ", " + Double.toHexString(coefficientB)
+                + ", " + Double.toHexString(constantC) + "): " + describeRow(actual, row)
+                + " expected " + describeRow(expected, row);
+    }
+
+
+    private static String describeRow(BatchSolveResult result, int row){
+
+        return "[type " + result.getEquationTypes()[row] + "/" + result.getRootTypes()[row]
+                + ", D " + result.getDiscriminants()[row]
+                + ", roots " + result.getRootRealParts()[2 * row] + "" + signed(result.getRootImaginaryParts()[2 * row])
+                + ", " + result.getRootRealParts()[2 * row + 1] + "" + signed(result.getRootImaginaryParts()[2 * row + 1])
+                + ", vertex (" + result.getVertexXCoordinates()[row] + ", " + result.getVertexYCoordinates()[row]
+                + "), sum " + result.getSumsOfRoots()[row] + ", product " + result.getProductsOfRoots()[row] + "]";
+    }
+
+
+    private static String signed(double imaginaryPart){
+        return (imaginaryPart < 0 ? " - " : " + ") + Math.abs(imaginaryPart) + "i";
+    }
+
+
+    /**
+     * Returns the columns a, b and c of size fuzz cases, cycling through the kinds of
+     * random and adversarial triples
+     * */
+    static double [][] fuzzColumns(int size, long seed){
+
+        Random random = new Random(seed);
+
+        double [] coefficientsA = new double[size];
+        double [] coefficientsB = new double[size];
+        double [] constantsC = new double[size];
+
+        for (int row = 0; row < size; row++){
+
+            double a;
+            double b;
+            double c;
+
+            switch (row % KINDS){
+
+                case 0:
+                    //moderate magnitudes
+                    a = random.nextGaussian() * Math.scalb(1.0, random.nextInt(21) - 10);
+                    b = random.nextGaussian() * Math.scalb(1.0, random.nextInt(21) - 10);
+                    c = random.nextGaussian() * Math.scalb(1.0, random.nextInt(21) - 10);
+                    break;
+
+                case 1:
+                    //any bit pattern, so every exponent (and rarely NaN or an infinity)
+                    a = Double.longBitsToDouble(random.nextLong());
+                    b = Double.longBitsToDouble(random.nextLong());
+                    c = Double.longBitsToDouble(random.nextLong());
+                    break;
+
+                case 2:
+                    //subnormal coefficients mixed with ordinary ones
+                    a = randomSubnormalOr(random, random.nextGaussian());
+                    b = randomSubnormalOr(random, random.nextGaussian());
+                    c = randomSubnormalOr(random, random.nextGaussian());
+                    break;
+
+                case 3: {
+                    //a double root with c moved by a few ulps, so the discriminant is near zero
+                    double root = random.nextGaussian();
+
+                    a = random.nextGaussian();
+                    b = -2 * a * root;
+                    c = a * root * root;
+                    c += (random.nextInt(7) - 3) * Math.ulp(c);
+                    break;
+                }
+
+                case 4: {
+                    //two close roots
+                    double firstRoot = random.nextGaussian();
+                    double secondRoot = firstRoot + firstRoot * random.nextGaussian()
+                            * Math.scalb(1.0, -20 - random.nextInt(30));
+
+                    a = random.nextGaussian();
+                    b = -a * (firstRoot + secondRoot);
+                    c = a * firstRoot * secondRoot;
+                    break;
+                }
+
+                case 5:
+                    //widely separated roots, where -b + sqrt(D) cancels
+                    a = random.nextGaussian();
+                    b = (random.nextBoolean() ? 1 : -1) * Math.scalb(1 + random.nextDouble(), 20 + random.nextInt(480));
+                    c = random.nextGaussian();
+                    break;
+
+                case 6:
+                    //linear, constant and identity equations, with a signed zero
+                    a = random.nextBoolean() ? 0.0 : -0.0;
+                    b = random.nextInt(3) == 0 ? 0 : random.nextGaussian();
+                    c = random.nextInt(4) == 0 ? 0 : random.nextGaussian();
+                    break;
+
+                case 7: {
+                    //NaN or an infinity in one of the coefficients
+                    double [] triple = {random.nextGaussian(), random.nextGaussian(), random.nextGaussian()};
+                    double [] nonFinite = {Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+
+                    triple[random.nextInt(3)] = nonFinite[random.nextInt(3)];
+
+                    a = triple[0];
+                    b = triple[1];
+                    c = triple[2];
+                    break;
+                }
+
+                case 8:
+                    //huge and tiny magnitudes
+                    a = randomExtreme(random);
+                    b = randomExtreme(random);
+                    c = randomExtreme(random);
+                    break;
+
+                default:
+                    //small integers, with exact double roots and exact zero discriminants
+                    a = random.nextInt(21) - 10;
+                    b = random.nextInt(21) - 10;
+                    c = random.nextInt(21) - 10;
+                    break;
+            }
+
+            coefficientsA[row] = a;
+            coefficientsB[row] = b;
+            constantsC[row] = c;
+        }
+
+        return new double[][]{coefficientsA, coefficientsB, constantsC};
+    }
+
+
+    private static double randomSubnormalOr(Random random, double value){
+
+        return random.nextBoolean()
+                ? (random.nextBoolean() ? 1 : -1) * random.nextDouble() * Double.MIN_NORMAL
+                : value;
+    }
+
+
+    private static double randomExtreme(Random random){
+
+        int exponent = random.nextBoolean() ? 400 + random.nextInt(624) : -1074 + random.nextInt(675);
+
+        return (random.nextBoolean() ? 1 : -1) * Math.scalb(1 + random.nextDouble(), exponent);
+    }
+}
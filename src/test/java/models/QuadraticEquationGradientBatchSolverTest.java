@@ -0,0 +1,173 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the QuadraticEquationGradientBatchSolver class
+ * */
+public class QuadraticEquationGradientBatchSolverTest {
+
+
+    private static final double STEP = 1e-6;
+    private static final double TOLERANCE = 1e-5;
+
+
+    @Test
+    public void testValuesMatchBatchSolver() {
+
+        int size = 2_000;
+        Random random = new Random(37);
+
+        double [] coefficientsA = new double[size];
+        double [] coefficientsB = new double[size];
+        double [] constantsC = new double[size];
+
+        for (int i = 0; i < size; i++){
+            coefficientsA[i] = i % 50 == 0 ? 0 : random.nextGaussian();
+            coefficientsB[i] = random.nextGaussian() * 3;
+            constantsC[i] = random.nextGaussian() * 3;
+        }
+
+        BatchSolveResult expected = new BatchSolveResult(size);
+        GradientBatchSolveResult result = new GradientBatchSolveResult(size);
+
+        QuadraticEquationBatchSolver.solve(coefficientsA, coefficientsB, constantsC, expected);
+        QuadraticEquationGradientBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result);
+
+        BatchSolveResult values = result.getValues();
+
+        Assertions.assertArrayEquals(expected.getRootRealParts(), values.getRootRealParts());
+        Assertions.assertArrayEquals(expected.getRootImaginaryParts(), values.getRootImaginaryParts());
+        Assertions.assertArrayEquals(expected.getDiscriminants(), values.getDiscriminants());
+        Assertions.assertArrayEquals(expected.getVertexXCoordinates(), values.getVertexXCoordinates());
+        Assertions.assertArrayEquals(expected.getSumsOfRoots(), values.getSumsOfRoots());
+        Assertions.assertArrayEquals(expected.getRootTypes(), values.getRootTypes());
+    }
+
+
+    @Test
+    public void testGradientsMatchFiniteDifferences() {
+
+        //distinct real roots with b > 0 and b < 0, complex roots, and a linear equation
+        double [] coefficientsA = {1, 2, 1, 0};
+        double [] coefficientsB = {5, -7, 2, 2};
+        double [] constantsC = {6, 3, 5, 4};
+
+        GradientBatchSolveResult result = new GradientBatchSolveResult(coefficientsA.length);
+
+        QuadraticEquationGradientBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result);
+
+        for (int row = 0; row < coefficientsA.length; row++){
+
+            boolean isQuadratic = coefficientsA[row] != 0;
+
+            for (int j = 0; j < GradientBatchSolveResult.GRADIENT_WIDTH; j++){
+
+                double [] forward = solveShifted(coefficientsA[row], coefficientsB[row], constantsC[row], j, STEP);
+                double [] backward = solveShifted(coefficientsA[row], coefficientsB[row], constantsC[row], j, -STEP);
+
+                double [] differences = new double[forward.length];
+
+                for (int k = 0; k < forward.length; k++){
+                    differences[k] = (forward[k] - backward[k]) / (2 * STEP);
+                }
+
+                int index = GradientBatchSolveResult.GRADIENT_WIDTH * row + j;
+
+                for (int rootIndex = 0; rootIndex < 2; rootIndex++){
+
+                    Assertions.assertEquals(differences[2 * rootIndex],
+                            result.getRootRealPartGradient(row, rootIndex, j), TOLERANCE);
+                    Assertions.assertEquals(differences[2 * rootIndex + 1],
+                            result.getRootImaginaryPartGradient(row, rootIndex, j), TOLERANCE);
+                }
+
+                Assertions.assertEquals(differences[4], result.getSumOfRootsGradients()[index], TOLERANCE);
+                Assertions.assertEquals(differences[5], result.getProductOfRootsGradients()[index], TOLERANCE);
+
+                if (isQuadratic){
+
+                    Assertions.assertEquals(differences[6], result.getDiscriminantGradients()[index], TOLERANCE);
+                    Assertions.assertEquals(differences[7], result.getVertexXCoordinateGradients()[index], TOLERANCE);
+                    Assertions.assertEquals(differences[8], result.getVertexYCoordinateGradients()[index], TOLERANCE);
+                }
+                else{
+                    Assertions.assertTrue(Double.isNaN(result.getVertexXCoordinateGradients()[index]));
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testNonDifferentiableRows() {
+
+        //a double root, a constant equation and an identity
+        double [] coefficientsA = {1, 0, 0};
+        double [] coefficientsB = {-2, 0, 0};
+        double [] constantsC = {1, 3, 0};
+
+        GradientBatchSolveResult result = new GradientBatchSolveResult(coefficientsA.length);
+
+        QuadraticEquationGradientBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result);
+
+        Assertions.assertEquals(1, result.getValues().getRootRealPart(0, 0));
+        Assertions.assertTrue(Double.isNaN(result.getRootRealPartGradient(0, 0, GradientBatchSolveResult.COEFFICIENT_C)));
+
+        //the vertex of a double root is still differentiable
+        Assertions.assertEquals(-0.5, result.getVertexXCoordinateGradients()[GradientBatchSolveResult.COEFFICIENT_B], 1e-12);
+
+        for (int row = 1; row < coefficientsA.length; row++){
+            for (int j = 0; j < GradientBatchSolveResult.GRADIENT_WIDTH; j++){
+
+                Assertions.assertTrue(Double.isNaN(result.getRootRealPartGradient(row, 1, j)));
+                Assertions.assertTrue(Double.isNaN(result.getSumOfRootsGradients()[GradientBatchSolveResult.GRADIENT_WIDTH * row + j]));
+            }
+        }
+    }
+
+
+    @Test
+    public void testMismatchedColumns() {
+
+        GradientBatchSolveResult result = new GradientBatchSolveResult(1);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                QuadraticEquationGradientBatchSolver.solve(new double[]{1, 2}, new double[]{1, 2}, new double[]{1, 2}, result));
+    }
+
+
+    /**
+     * Solve one row with coefficient j shifted, and return the roots, sum, product,
+     * discriminant and vertex, keeping a linear equation linear
+     * */
+    private static double [] solveShifted(double coefficientA, double coefficientB, double constantC,
+                                          int j, double shift){
+
+        double [] a = {coefficientA + (j == GradientBatchSolveResult.COEFFICIENT_A ? shift : 0)};
+        double [] b = {coefficientB + (j == GradientBatchSolveResult.COEFFICIENT_B ? shift : 0)};
+        double [] c = {constantC + (j == GradientBatchSolveResult.COEFFICIENT_C ? shift : 0)};
+
+        if (coefficientA == 0){
+            a[0] = 0;
+        }
+
+        BatchSolveResult result = new BatchSolveResult(1);
+
+        QuadraticEquationBatchSolver.solve(a, b, c, result);
+
+        return new double[]{
+                result.getRootRealPart(0, 0), result.getRootImaginaryPart(0, 0),
+                result.getRootRealPart(0, 1), result.getRootImaginaryPart(0, 1),
+                result.getSumsOfRoots()[0], result.getProductsOfRoots()[0],
+                result.getDiscriminants()[0],
+                result.getVertexXCoordinates()[0], result.getVertexYCoordinates()[0]
+        };
+    }
+}
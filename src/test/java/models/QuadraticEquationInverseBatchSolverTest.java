@@ -0,0 +1,192 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the QuadraticEquationInverseBatchSolver class
+ * */
+public class QuadraticEquationInverseBatchSolverTest {
+
+
+    private static final int SIZE = 20_000;
+    private static final double DELTA = 1e-12;
+
+
+    @Test
+    public void testFromRoots() {
+
+        double [] coefficientsA = new double[2];
+        double [] coefficientsB = new double[2];
+        double [] constantsC = new double[2];
+
+        QuadraticEquationInverseBatchSolver.fromRoots(new double[]{-7, 1.5}, new double[]{2, 1.5},
+                QuadraticEquationInverseBatchSolver.Normalization.MONIC, coefficientsA, coefficientsB, constantsC);
+
+        Assertions.assertArrayEquals(new double[]{1, 1}, coefficientsA);
+        Assertions.assertArrayEquals(new double[]{5, -3}, coefficientsB);
+        Assertions.assertArrayEquals(new double[]{-14, 2.25}, constantsC);
+    }
+
+
+    @Test
+    public void testFromComplexRoots() {
+
+        double [] coefficientsA = new double[1];
+        double [] coefficientsB = new double[1];
+        double [] constantsC = new double[1];
+
+        QuadraticEquationInverseBatchSolver.fromComplexRoots(new double[]{1}, new double[]{-2},
+                QuadraticEquationInverseBatchSolver.Normalization.NONE, coefficientsA, coefficientsB, constantsC);
+
+        Assertions.assertEquals(1, coefficientsA[0]);
+        Assertions.assertEquals(-2, coefficientsB[0]);
+        Assertions.assertEquals(5, constantsC[0]);
+    }
+
+
+    @Test
+    public void testFromVertex() {
+
+        double [] coefficientsA = new double[3];
+        double [] coefficientsB = new double[3];
+        double [] constantsC = new double[3];
+
+        //vertex (1, -4) through (3, 0) is x^2 - 2x - 3, the other rows have no parabola
+        QuadraticEquationInverseBatchSolver.fromVertex(new double[]{1, 1, 1}, new double[]{-4, -4, -4},
+                new double[]{3, 1, 3}, new double[]{0, 0, -4},
+                QuadraticEquationInverseBatchSolver.Normalization.NONE, coefficientsA, coefficientsB, constantsC);
+
+        Assertions.assertEquals(1, coefficientsA[0]);
+        Assertions.assertEquals(-2, coefficientsB[0]);
+        Assertions.assertEquals(-3, constantsC[0]);
+
+        Assertions.assertTrue(Double.isNaN(coefficientsA[1]));
+        Assertions.assertTrue(Double.isNaN(coefficientsA[2]));
+    }
+
+
+    @Test
+    public void testNormalizations() {
+
+        double [] coefficientsA = new double[1];
+        double [] coefficientsB = new double[1];
+        double [] constantsC = new double[1];
+
+        //vertex (1, 8) through (3, 0) is -2x^2 + 4x + 6
+        double [] vertexX = {1};
+        double [] vertexY = {8};
+        double [] pointX = {3};
+        double [] pointY = {0};
+
+        QuadraticEquationInverseBatchSolver.fromVertex(vertexX, vertexY, pointX, pointY,
+                QuadraticEquationInverseBatchSolver.Normalization.MAX_NORM, coefficientsA, coefficientsB, constantsC);
+
+        Assertions.assertEquals(1.0 / 3, coefficientsA[0], DELTA);
+        Assertions.assertEquals(-2.0 / 3, coefficientsB[0], DELTA);
+        Assertions.assertEquals(-1, constantsC[0], DELTA);
+
+        QuadraticEquationInverseBatchSolver.fromVertex(vertexX, vertexY, pointX, pointY,
+                QuadraticEquationInverseBatchSolver.Normalization.UNIT_NORM, coefficientsA, coefficientsB, constantsC);
+
+        double norm = Math.sqrt(4 + 16 + 36);
+
+        Assertions.assertEquals(2 / norm, coefficientsA[0], DELTA);
+        Assertions.assertEquals(-4 / norm, coefficientsB[0], DELTA);
+        Assertions.assertEquals(-6 / norm, constantsC[0], DELTA);
+    }
+
+
+    @Test
+    public void testRoundTrip() {
+
+        Random random = new Random(11);
+
+        double [] firstRoots = new double[SIZE];
+        double [] secondRoots = new double[SIZE];
+        double [] realParts = new double[SIZE];
+        double [] imaginaryParts = new double[SIZE];
+
+        for (int i = 0; i < SIZE; i++){
+
+            firstRoots[i] = (random.nextDouble() - 0.5) * 1000;
+            secondRoots[i] = (random.nextDouble() - 0.5) * 1000;
+            realParts[i] = (random.nextDouble() - 0.5) * 1000;
+            imaginaryParts[i] = (random.nextDouble() + 0.01) * 100;
+        }
+
+        double [] coefficientsA = new double[SIZE];
+        double [] coefficientsB = new double[SIZE];
+        double [] constantsC = new double[SIZE];
+        BatchSolveResult result = new BatchSolveResult(SIZE);
+
+        for (QuadraticEquationInverseBatchSolver.Normalization normalization
+                : QuadraticEquationInverseBatchSolver.Normalization.values()){
+
+            QuadraticEquationInverseBatchSolver.fromRoots(firstRoots, secondRoots, normalization,
+                    coefficientsA, coefficientsB, constantsC);
+
+            //close roots are ill-conditioned, so the tolerance is looser than the rounding error
+            Assertions.assertEquals(0, QuadraticEquationInverseBatchSolver.checkRoundTrip(firstRoots, secondRoots,
+                    coefficientsA, coefficientsB, constantsC, 1e-6, result), normalization.toString());
+
+            QuadraticEquationInverseBatchSolver.fromComplexRoots(realParts, imaginaryParts, normalization,
+                    coefficientsA, coefficientsB, constantsC);
+
+            Assertions.assertEquals(0, QuadraticEquationInverseBatchSolver.checkComplexRoundTrip(realParts,
+                    imaginaryParts, coefficientsA, coefficientsB, constantsC, 1e-6, result), normalization.toString());
+        }
+    }
+
+
+    @Test
+    public void testVertexRoundTrip() {
+
+        Random random = new Random(13);
+
+        double [] vertexX = new double[SIZE];
+        double [] vertexY = new double[SIZE];
+        double [] pointX = new double[SIZE];
+        double [] pointY = new double[SIZE];
+
+        for (int i = 0; i < SIZE; i++){
+
+            vertexX[i] = (random.nextDouble() - 0.5) * 100;
+            vertexY[i] = (random.nextDouble() - 0.5) * 100;
+            pointX[i] = vertexX[i] + (random.nextBoolean() ? 1 : -1) * (random.nextDouble() + 0.1);
+            pointY[i] = vertexY[i] + (random.nextDouble() - 0.5) * 100;
+        }
+
+        double [] coefficientsA = new double[SIZE];
+        double [] coefficientsB = new double[SIZE];
+        double [] constantsC = new double[SIZE];
+        BatchSolveResult result = new BatchSolveResult(SIZE);
+
+        QuadraticEquationInverseBatchSolver.fromVertex(vertexX, vertexY, pointX, pointY,
+                QuadraticEquationInverseBatchSolver.Normalization.NONE, coefficientsA, coefficientsB, constantsC);
+
+        Assertions.assertEquals(0, QuadraticEquationInverseBatchSolver.checkVertexRoundTrip(vertexX, vertexY,
+                coefficientsA, coefficientsB, constantsC, 1e-8, result));
+
+        //a changed coefficient no longer round-trips
+        constantsC[0] += 1;
+
+        Assertions.assertEquals(1, QuadraticEquationInverseBatchSolver.checkVertexRoundTrip(vertexX, vertexY,
+                coefficientsA, coefficientsB, constantsC, 1e-8, result));
+    }
+
+
+    @Test
+    public void testColumnsDifferInLength() {
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> QuadraticEquationInverseBatchSolver.fromRoots(new double[2], new double[2],
+                        QuadraticEquationInverseBatchSolver.Normalization.MONIC,
+                        new double[2], new double[1], new double[2]));
+    }
+}
@@ -0,0 +1,277 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the thread-safety tests of the solvers, in the style of JCStress: many threads
+ * race on the same objects, and every outcome they observe is checked against a reference
+ * computed by a single thread
+ * */
+public class QuadraticEquationSolverConcurrencyTest {
+
+
+    private static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private static final int EQUATIONS = 20_000;
+
+
+    @Test
+    public void testRacyPublicationNeverShowsPartiallyConstructedSolvers() throws Exception {
+
+        double [][] columns = QuadraticEquationBatchSolverTest.randomColumns(EQUATIONS, 37);
+
+        BatchSolveResult reference = new BatchSolveResult(EQUATIONS);
+        QuadraticEquationBatchSolver.solve(columns[0], columns[1], columns[2], reference);
+
+        //written with plain stores and read without synchronization, so only the final
+        //fields of the solver guarantee that readers see it fully constructed
+        QuadraticEquationSolver [] slots = new QuadraticEquationSolver[EQUATIONS];
+        RacePhase phase = new RacePhase();
+
+        List<Callable<Integer>> actors = new ArrayList<>();
+
+        actors.add(() -> {
+
+            for (int row = 0; row < EQUATIONS; row++){
+                slots[row] = new QuadraticEquationSolver(columns[0][row], columns[1][row], columns[2][row]);
+            }
+
+            phase.finished = true;
+            return EQUATIONS;
+        });
+
+        for (int i = 1; i < THREADS; i++){
+
+            actors.add(() -> {
+
+                int observed = 0;
+                boolean finished;
+
+                do {
+                    //the volatile read forces the slots to be loaded again on every pass
+                    finished = phase.finished;
+
+                    for (int row = 0; row < EQUATIONS; row++){
+
+                        QuadraticEquationSolver solver = slots[row];
+
+                        if (solver != null){
+                            assertMatchesRow(solver, reference, row);
+                            observed++;
+                        }
+                    }
+                } while (!finished);
+
+                return observed;
+            });
+        }
+
+        for (int observed : race(actors)){
+            Assertions.assertTrue(observed > 0);
+        }
+    }
+
+
+    @Test
+    public void testSharedSolverHandsOutIndependentCopies() throws Exception {
+
+        QuadraticEquationSolver solver = new QuadraticEquationSolver(1, 2, 5);
+
+        List<Callable<Integer>> actors = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++){
+
+            double offset = i + 1;
+
+            actors.add(() -> {
+
+                for (int iteration = 0; iteration < EQUATIONS; iteration++){
+
+                    IComplexNumber firstRoot = (IComplexNumber) solver.getFirstRoot();
+                    IVertex vertex = solver.getVertex();
+
+                    Assertions.assertEquals(-1, firstRoot.getRealPart());
+                    Assertions.assertEquals(-2, firstRoot.getImaginaryPart());
+                    Assertions.assertEquals(-1, vertex.getXCoordinate());
+                    Assertions.assertEquals(4, vertex.getYCoordinate());
+
+                    //changing a copy must not be visible to any other thread
+                    firstRoot.setRealPart(offset);
+                    vertex.setYCoordinate(offset);
+                }
+
+                return EQUATIONS;
+            });
+        }
+
+        race(actors);
+
+        IComplexNumber secondRoot = (IComplexNumber) solver.getSecondRoot();
+
+        Assertions.assertEquals(-1, secondRoot.getRealPart());
+        Assertions.assertEquals(2, secondRoot.getImaginaryPart());
+    }
+
+
+    @Test
+    public void testConcurrentBatchSolvesMatchSingleThreadedSolve() throws Exception {
+
+        int size = 3 * QuadraticEquationBatchSolver.PARALLEL_CHUNK_SIZE + 17;
+        double [][] columns = QuadraticEquationBatchSolverTest.randomColumns(size, 41);
+
+        BatchSolveResult reference = new BatchSolveResult(size);
+        QuadraticEquationBatchSolver.solve(columns[0], columns[1], columns[2], reference);
+
+        //every thread shares the input columns and solves into its own result and partition
+        List<Callable<Integer>> actors = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++){
+
+            int path = i % 4;
+
+            actors.add(() -> {
+
+                BatchSolveResult result = new BatchSolveResult(size);
+                RootTypePartition partition = new RootTypePartition(size);
+
+                for (int iteration = 0; iteration < 3; iteration++){
+
+                    if (path == 0){
+                        QuadraticEquationBatchSolver.solve(columns[0], columns[1], columns[2], result);
+                    }
+                    else if (path == 1){
+                        QuadraticEquationBatchSolver.solveVectorized(columns[0], columns[1], columns[2], result);
+                    }
+                    else if (path == 2){
+                        QuadraticEquationBatchSolver.solveParallel(columns[0], columns[1], columns[2], result);
+                    }
+                    else{
+                        QuadraticEquationBatchSolver.solvePartitioned(columns[0], columns[1], columns[2],
+                                result, partition);
+
+                        Assertions.assertEquals(countRows(reference, BatchSolveResult.ROOT_TYPE_COMPLEX),
+                                partition.getCount(BatchSolveResult.ROOT_TYPE_COMPLEX));
+                    }
+
+                    assertSameRows(reference, result, size);
+                }
+
+                return size;
+            });
+        }
+
+        race(actors);
+    }
+
+
+    /**
+     * Start every actor at the same time on its own thread, and return what each returned
+     * once all have finished
+     * */
+    private static List<Integer> race(List<Callable<Integer>> actors) throws Exception {
+
+        ExecutorService executor = Executors.newFixedThreadPool(actors.size());
+        CyclicBarrier start = new CyclicBarrier(actors.size());
+
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+
+            for (Callable<Integer> actor : actors){
+
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return actor.call();
+                }));
+            }
+
+            List<Integer> outcomes = new ArrayList<>();
+
+            for (Future<Integer> future : futures){
+                outcomes.add(future.get(60, TimeUnit.SECONDS));
+            }
+
+            return outcomes;
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+
+    private static void assertMatchesRow(QuadraticEquationSolver solver, BatchSolveResult reference, int row){
+
+        Assertions.assertEquals(reference.getEquationType(row), solver.getEquationType());
+        Assertions.assertEquals(reference.getRootType(row), solver.getRootType());
+        Assertions.assertEquals(reference.getDiscriminants()[row], solver.getDiscriminant());
+        Assertions.assertEquals(reference.getVertexXCoordinates()[row], solver.getVertex().getXCoordinate());
+        Assertions.assertEquals(reference.getVertexYCoordinates()[row], solver.getVertex().getYCoordinate());
+        Assertions.assertEquals(reference.getSumsOfRoots()[row], solver.getSumOfRoots());
+        Assertions.assertEquals(reference.getProductsOfRoots()[row], solver.getProductOfRoots());
+
+        if (solver.getRootType() == QuadraticEquationSolver.RootType.COMPLEX){
+
+            IComplexNumber firstRoot = (IComplexNumber) solver.getFirstRoot();
+            IComplexNumber secondRoot = (IComplexNumber) solver.getSecondRoot();
+
+            Assertions.assertEquals(reference.getRootRealPart(row, 0), firstRoot.getRealPart());
+            Assertions.assertEquals(reference.getRootImaginaryPart(row, 0), firstRoot.getImaginaryPart());
+            Assertions.assertEquals(reference.getRootRealPart(row, 1), secondRoot.getRealPart());
+            Assertions.assertEquals(reference.getRootImaginaryPart(row, 1), secondRoot.getImaginaryPart());
+        }
+        else if (solver.getRootType() != null){
+
+            Assertions.assertEquals(reference.getRootRealPart(row, 0), (Double) solver.getFirstRoot());
+            Assertions.assertEquals(reference.getRootRealPart(row, 1), (Double) solver.getSecondRoot());
+        }
+    }
+
+
+    private static void assertSameRows(BatchSolveResult expected, BatchSolveResult actual, int size){
+
+        Assertions.assertArrayEquals(expected.getRootTypes(), actual.getRootTypes());
+        Assertions.assertArrayEquals(expected.getEquationTypes(), actual.getEquationTypes());
+        Assertions.assertArrayEquals(expected.getDiscriminants(), actual.getDiscriminants());
+        Assertions.assertArrayEquals(expected.getVertexXCoordinates(), actual.getVertexXCoordinates());
+        Assertions.assertArrayEquals(expected.getVertexYCoordinates(), actual.getVertexYCoordinates());
+
+        for (int row = 0; row < size; row++){
+
+            Assertions.assertEquals(expected.getRootRealPart(row, 0), actual.getRootRealPart(row, 0));
+            Assertions.assertEquals(expected.getRootImaginaryPart(row, 1), actual.getRootImaginaryPart(row, 1));
+        }
+    }
+
+
+    private static int countRows(BatchSolveResult result, byte rootType){
+
+        int count = 0;
+
+        for (byte code : result.getRootTypes()){
+            count += code == rootType ? 1 : 0;
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Tells the readers of a race that the writer has stored every slot
+     * */
+    private static final class RacePhase {
+
+        volatile boolean finished;
+    }
+}
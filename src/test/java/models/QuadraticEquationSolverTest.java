@@ -3,6 +3,7 @@ package models;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import  org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 
 
 /**
@@ -173,4 +174,45 @@ public class QuadraticEquationSolverTest {
 
         Assertions.assertEquals(productOfRoots, solver.getProductOfRoots(), DELTA);
     }
-}
\ No newline at end of file
+
+
+    @ParameterizedTest
+    @CsvSource({"1,5,-14,QUADRATIC", "0,2,-6,LINEAR", "0,0,5,CONSTANT", "0,0,0,IDENTITY",
+            "NaN,1,1,NON_FINITE", "1,Infinity,1,NON_FINITE"})
+    public void testGetEquationType(double coefficientA, double coefficientB,
+                                    double constantC, QuadraticEquationSolver.EquationType equationType) {
+
+        QuadraticEquationSolver solver =
+                new QuadraticEquationSolver(coefficientA, coefficientB, constantC);
+
+        Assertions.assertEquals(equationType, solver.getEquationType());
+    }
+
+
+    @Test
+    public void testLinearEquation() {
+
+        QuadraticEquationSolver solver = new QuadraticEquationSolver(0, 2, -6);
+
+        Assertions.assertEquals(QuadraticEquationSolver.RootType.SINGLE_REAL, solver.getRootType());
+        Assertions.assertEquals(3, (Double) solver.getFirstRoot(), DELTA);
+        Assertions.assertNull(solver.getSecondRoot());
+        Assertions.assertTrue(Double.isNaN(solver.getSumOfRoots()));
+        Assertions.assertTrue(Double.isNaN(solver.getProductOfRoots()));
+        Assertions.assertTrue(Double.isNaN(solver.getVertex().getXCoordinate()));
+    }
+
+
+    @ParameterizedTest
+    @CsvSource({"0,0,5", "0,0,0", "NaN,1,1"})
+    public void testEquationWithoutRootType(double coefficientA, double coefficientB, double constantC) {
+
+        QuadraticEquationSolver solver =
+                new QuadraticEquationSolver(coefficientA, coefficientB, constantC);
+
+        Assertions.assertNull(solver.getRootType());
+        Assertions.assertNull(solver.getFirstRoot());
+        Assertions.assertNull(solver.getSecondRoot());
+        Assertions.assertTrue(Double.isNaN(solver.getProductOfRoots()));
+    }
+}
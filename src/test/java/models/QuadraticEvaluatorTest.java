@@ -0,0 +1,149 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the QuadraticEvaluator class
+ * */
+public class QuadraticEvaluatorTest {
+
+
+    private static final double DELTA = 1e-9;
+
+
+    @Test
+    public void testEvaluate() {
+
+        double [] xValues = {-1, 0, 1, 3, 0.5};
+        double [] yValues = new double[xValues.length];
+
+        QuadraticEvaluator.evaluate(1, -2, -3, xValues, yValues);
+
+        Assertions.assertArrayEquals(new double[]{0, -3, -4, 0, -3.75}, yValues);
+        Assertions.assertEquals(5, QuadraticEvaluator.evaluate(2, 0, -3, 2), DELTA);
+    }
+
+
+    @Test
+    public void testParallelMatchesSequential() {
+
+        int size = 3 * QuadraticEvaluator.PARALLEL_CHUNK_SIZE + 17;
+        Random random = new Random(5);
+
+        double [] xValues = new double[size];
+
+        for (int i = 0; i < size; i++){
+            xValues[i] = (random.nextDouble() - 0.5) * 1000;
+        }
+
+        double [] sequential = new double[size];
+        double [] parallel = new double[size];
+
+        QuadraticEvaluator.evaluate(0.5, -3, 7, xValues, sequential);
+        QuadraticEvaluator.evaluateParallel(0.5, -3, 7, xValues, parallel);
+
+        Assertions.assertArrayEquals(sequential, parallel);
+
+        for (int i = 0; i < size; i += 997){
+            Assertions.assertEquals(0.5 * xValues[i] * xValues[i] - 3 * xValues[i] + 7, sequential[i],
+                    1e-12 * Math.max(1, Math.abs(sequential[i])) + 1e-9);
+        }
+    }
+
+
+    @Test
+    public void testEvaluateRange() {
+
+        int count = 2 * QuadraticEvaluator.PARALLEL_CHUNK_SIZE + 5;
+        double start = -5;
+        double step = 1e-4;
+
+        double [] sequential = new double[count];
+        double [] parallel = new double[count];
+        double [] xValues = new double[count];
+        double [] materialized = new double[count];
+
+        QuadraticEvaluator.evaluateRange(1, -2, -3, start, step, count, sequential);
+        QuadraticEvaluator.evaluateRangeParallel(1, -2, -3, start, step, count, parallel);
+
+        for (int i = 0; i < count; i++){
+            xValues[i] = Math.fma(i, step, start);
+        }
+
+        QuadraticEvaluator.evaluate(1, -2, -3, xValues, materialized);
+
+        Assertions.assertArrayEquals(materialized, sequential);
+        Assertions.assertArrayEquals(sequential, parallel);
+        Assertions.assertEquals(32, sequential[0], DELTA);
+    }
+
+
+    @Test
+    public void testEvaluateManyQuadratics() {
+
+        double [] coefficientsA = {1, 0, 2};
+        double [] coefficientsB = {-2, 1, 0};
+        double [] constantsC = {-3, 1, -8};
+        double [] xValues = {-2, 0, 2};
+
+        double [] expected = {5, -3, -3, -1, 1, 3, 0, -8, 0};
+        double [] yValues = new double[9];
+
+        QuadraticEvaluator.evaluate(coefficientsA, coefficientsB, constantsC, xValues, yValues);
+        Assertions.assertArrayEquals(expected, yValues);
+
+        double [] parallel = new double[9];
+
+        QuadraticEvaluator.evaluateParallel(coefficientsA, coefficientsB, constantsC, xValues, parallel);
+        Assertions.assertArrayEquals(expected, parallel);
+    }
+
+
+    @Test
+    public void testManyQuadraticsSpanningChunks() {
+
+        int rows = 3;
+        int width = QuadraticEvaluator.PARALLEL_CHUNK_SIZE + 101;
+        Random random = new Random(9);
+
+        double [] coefficientsA = {1, -0.5, 3};
+        double [] coefficientsB = {2, 4, -1};
+        double [] constantsC = {0, -6, 2};
+        double [] xValues = new double[width];
+
+        for (int i = 0; i < width; i++){
+            xValues[i] = random.nextDouble() * 10;
+        }
+
+        double [] yValues = new double[rows * width];
+
+        QuadraticEvaluator.evaluateParallel(coefficientsA, coefficientsB, constantsC, xValues, yValues);
+
+        for (int row = 0; row < rows; row++){
+            for (int i = 0; i < width; i += 1009){
+
+                Assertions.assertEquals(QuadraticEvaluator.evaluate(coefficientsA[row], coefficientsB[row],
+                        constantsC[row], xValues[i]), yValues[row * width + i]);
+            }
+        }
+    }
+
+
+    @Test
+    public void testInvalidArguments() {
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> QuadraticEvaluator.evaluate(1, 2, 3, new double[4], new double[3]));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> QuadraticEvaluator.evaluateRange(1, 2, 3, 0, 1, -1, new double[3]));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> QuadraticEvaluator.evaluate(new double[2], new double[2], new double[2],
+                        new double[3], new double[5]));
+    }
+}
@@ -0,0 +1,210 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the QuadraticInequalityBatchSolver and IntervalSetBatchResult classes
+ * */
+public class QuadraticInequalityBatchSolverTest {
+
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "1;0;-1;GREATER_THAN;(-Infinity, -1.0) ∪ (1.0, Infinity)",
+            "1;0;-1;GREATER_THAN_OR_EQUAL;(-Infinity, -1.0] ∪ [1.0, Infinity)",
+            "1;0;-1;LESS_THAN;(-1.0, 1.0)",
+            "1;0;-1;LESS_THAN_OR_EQUAL;[-1.0, 1.0]",
+            "-1;0;1;GREATER_THAN;(-1.0, 1.0)",
+            "1;-4;4;GREATER_THAN;(-Infinity, 2.0) ∪ (2.0, Infinity)",
+            "1;-4;4;GREATER_THAN_OR_EQUAL;(-Infinity, Infinity)",
+            "1;-4;4;LESS_THAN;∅",
+            "1;-4;4;LESS_THAN_OR_EQUAL;[2.0, 2.0]",
+            "1;0;1;GREATER_THAN;(-Infinity, Infinity)",
+            "1;0;1;LESS_THAN_OR_EQUAL;∅",
+            "0;2;-4;GREATER_THAN;(2.0, Infinity)",
+            "0;-2;4;GREATER_THAN_OR_EQUAL;(-Infinity, 2.0]",
+            "0;0;3;GREATER_THAN;(-Infinity, Infinity)",
+            "0;0;3;LESS_THAN;∅",
+            "0;0;0;GREATER_THAN;∅",
+            "0;0;0;LESS_THAN_OR_EQUAL;(-Infinity, Infinity)",
+            "NaN;0;1;GREATER_THAN;∅"})
+    public void testSolve(double coefficientA, double coefficientB, double constantC,
+                          QuadraticInequalityBatchSolver.Comparison comparison, String expected) {
+
+        IntervalSetBatchResult result = new IntervalSetBatchResult(1, QuadraticInequalityBatchSolver.MAXIMUM_INTERVALS);
+
+        QuadraticInequalityBatchSolver.solve(new double[]{coefficientA}, new double[]{coefficientB},
+                new double[]{constantC}, comparison, result);
+
+        Assertions.assertEquals(expected, result.format(0));
+    }
+
+
+    @Test
+    public void testSolutionSetsMatchSign() {
+
+        int size = 2_000;
+        Random random = new Random(19);
+
+        double [] coefficientsA = new double[size];
+        double [] coefficientsB = new double[size];
+        double [] constantsC = new double[size];
+
+        for (int i = 0; i < size; i++){
+            coefficientsA[i] = random.nextInt(7) - 3;
+            coefficientsB[i] = random.nextInt(7) - 3;
+            constantsC[i] = random.nextInt(7) - 3;
+        }
+
+        IntervalSetBatchResult result = new IntervalSetBatchResult(size, QuadraticInequalityBatchSolver.MAXIMUM_INTERVALS);
+
+        for (QuadraticInequalityBatchSolver.Comparison comparison : QuadraticInequalityBatchSolver.Comparison.values()){
+
+            QuadraticInequalityBatchSolver.solve(coefficientsA, coefficientsB, constantsC, comparison, result);
+
+            for (int row = 0; row < size; row++){
+
+                //quarter steps hit every root of these small integer coefficients which is rational
+                for (double x = -8; x <= 8; x += 0.25){
+
+                    double value = coefficientsA[row] * x * x + coefficientsB[row] * x + constantsC[row];
+
+                    Assertions.assertEquals(satisfies(value, comparison), result.contains(row, x),
+                            comparison + " " + coefficientsA[row] + ", " + coefficientsB[row] + ", "
+                                    + constantsC[row] + " at " + x + ": " + result.format(row));
+                }
+            }
+        }
+    }
+
+
+    @Test
+    public void testIntersectAndUnion() {
+
+        //x^2 - 1 > 0 and x^2 - 9 <= 0, x - 1 >= 0 and x - 1 <= 0, x^2 + 1 > 0 and x^2 + 1 < 0
+        IntervalSetBatchResult first = solve(new double[]{1, 0, 1}, new double[]{0, 1, 0}, new double[]{-1, -1, 1},
+                QuadraticInequalityBatchSolver.Comparison.GREATER_THAN);
+        IntervalSetBatchResult second = solve(new double[]{1, 0, 1}, new double[]{0, 1, 0}, new double[]{-9, -1, 1},
+                QuadraticInequalityBatchSolver.Comparison.LESS_THAN_OR_EQUAL);
+
+        IntervalSetBatchResult intersection = new IntervalSetBatchResult(3, 3);
+        IntervalSetBatchResult union = new IntervalSetBatchResult(3, 4);
+
+        QuadraticInequalityBatchSolver.intersect(first, second, intersection);
+        QuadraticInequalityBatchSolver.union(first, second, union);
+
+        Assertions.assertEquals("[-3.0, -1.0) ∪ (1.0, 3.0]", intersection.format(0));
+        Assertions.assertEquals("(-Infinity, Infinity)", union.format(0));
+
+        //(1, Infinity) and (-Infinity, 1] touch at 1
+        Assertions.assertEquals("∅", intersection.format(1));
+        Assertions.assertEquals("(-Infinity, Infinity)", union.format(1));
+
+        Assertions.assertEquals("∅", intersection.format(2));
+        Assertions.assertEquals("(-Infinity, Infinity)", union.format(2));
+    }
+
+
+    @Test
+    public void testRandomIntersectAndUnion() {
+
+        int size = 500;
+        Random random = new Random(23);
+
+        QuadraticInequalityBatchSolver.Comparison [] comparisons = QuadraticInequalityBatchSolver.Comparison.values();
+        IntervalSetBatchResult first = randomSets(size, random, comparisons[random.nextInt(4)]);
+        IntervalSetBatchResult second = randomSets(size, random, comparisons[random.nextInt(4)]);
+
+        IntervalSetBatchResult intersection = new IntervalSetBatchResult(size, 3);
+        IntervalSetBatchResult union = new IntervalSetBatchResult(size, 4);
+
+        QuadraticInequalityBatchSolver.intersect(first, second, intersection);
+        QuadraticInequalityBatchSolver.union(first, second, union);
+
+        for (int row = 0; row < size; row++){
+            for (double x = -8; x <= 8; x += 0.25){
+
+                Assertions.assertEquals(first.contains(row, x) && second.contains(row, x),
+                        intersection.contains(row, x), intersection.format(row) + " at " + x);
+                Assertions.assertEquals(first.contains(row, x) || second.contains(row, x),
+                        union.contains(row, x), union.format(row) + " at " + x);
+            }
+        }
+    }
+
+
+    @Test
+    public void testInvalidArguments() {
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> QuadraticInequalityBatchSolver.solve(new double[2], new double[2], new double[2],
+                        QuadraticInequalityBatchSolver.Comparison.LESS_THAN, new IntervalSetBatchResult(2, 1)));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> QuadraticInequalityBatchSolver.intersect(new IntervalSetBatchResult(2, 2),
+                        new IntervalSetBatchResult(2, 2), new IntervalSetBatchResult(2, 2)));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new IntervalSetBatchResult(2, 0));
+    }
+
+
+    private static IntervalSetBatchResult solve(double [] coefficientsA, double [] coefficientsB,
+                                                double [] constantsC,
+                                                QuadraticInequalityBatchSolver.Comparison comparison){
+
+        IntervalSetBatchResult result = new IntervalSetBatchResult(coefficientsA.length,
+                QuadraticInequalityBatchSolver.MAXIMUM_INTERVALS);
+
+        QuadraticInequalityBatchSolver.solve(coefficientsA, coefficientsB, constantsC, comparison, result);
+
+        return result;
+    }
+
+
+    private static IntervalSetBatchResult randomSets(int size, Random random,
+                                                     QuadraticInequalityBatchSolver.Comparison comparison){
+
+        double [] coefficientsA = new double[size];
+        double [] coefficientsB = new double[size];
+        double [] constantsC = new double[size];
+
+        for (int i = 0; i < size; i++){
+
+            //roots r and s on the quarter grid: (x - r)(x - s) scaled by -1, 0 or 1
+            double r = (random.nextInt(41) - 20) / 4.0;
+            double s = (random.nextInt(41) - 20) / 4.0;
+            double scale = random.nextInt(3) - 1;
+
+            coefficientsA[i] = scale;
+            coefficientsB[i] = -scale * (r + s);
+            constantsC[i] = scale * r * s;
+        }
+
+        return solve(coefficientsA, coefficientsB, constantsC, comparison);
+    }
+
+
+    private static boolean satisfies(double value, QuadraticInequalityBatchSolver.Comparison comparison){
+
+        switch (comparison){
+
+            case GREATER_THAN:
+                return value > 0;
+
+            case GREATER_THAN_OR_EQUAL:
+                return value >= 0;
+
+            case LESS_THAN:
+                return value < 0;
+
+            default:
+                return value <= 0;
+        }
+    }
+}
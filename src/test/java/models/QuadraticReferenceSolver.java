@@ -0,0 +1,680 @@
+package models;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+
+/**
+ * @author Terence Lee
+ *
+ * A high precision reference for the quadratic solve paths, used by the differential tests
+ *
+ * The discriminant b^2 - 4ac is computed exactly, from the binary mantissas and exponents of
+ * the coefficients, so it can neither overflow nor underflow and its sign is always right.
+ * Everything after it (the square roots, the quotients and the condition numbers) is taken
+ * in BigDecimal with PRECISION significant digits, and only the final values are rounded to
+ * double, so every value written is within one ulp of the exact one. The roots are taken in
+ * the order of the solvers: the first root is (-b - sqrt(D))/(2a)
+ *
+ * The conversions between double and BigDecimal go through tables of powers of two and ten
+ * rather than the exact BigDecimal(double) and doubleValue(), which take hundreds of digits
+ * for the extreme exponents and are too slow to check millions of cases
+ *
+ * BigDecimal still costs tens of microseconds per row, so the common rows are solved in
+ * double-double arithmetic (about 106 bits) instead: the rows whose coefficients are 0 or
+ * within 2^+/-DOUBLE_DOUBLE_EXPONENT, and whose discriminant is not below
+ * DOUBLE_DOUBLE_CANCELLATION of the larger of b^2 and 4ac, so nothing overflows or underflows.
+ * Their values are then still far within one ulp. The rows with extreme magnitudes,
+ * subnormals or a zero discriminant take the BigDecimal path
+ *
+ * The rows are written into a degree 2 BatchSolveResult, with the same conventions for the
+ * degenerate equations as PolynomialRootKernels.solveQuadraticRow()
+ * */
+final class QuadraticReferenceSolver {
+
+    /**
+     * The number of significant digits of the square roots and quotients
+     * */
+    static final MathContext PRECISION = new MathContext(40);
+
+    /**
+     * The number of significant digits of the condition numbers, which only scale the tolerances
+     * */
+    private static final MathContext CONDITION_PRECISION = new MathContext(10);
+
+    private static final MathContext TABLE_PRECISION = new MathContext(60);
+
+    //the exponents of the products of two doubles, with room for the shifts of toBigDecimal()
+    private static final int MINIMUM_POWER_OF_TWO = -2200;
+    private static final int MAXIMUM_POWER_OF_TWO = 2100;
+
+    //the decimal exponents outside of which a value rounds to 0 or overflows
+    private static final int MINIMUM_DECIMAL_EXPONENT = -324;
+    private static final int MAXIMUM_DECIMAL_EXPONENT = 309;
+    private static final int MAXIMUM_POWER_OF_TEN = 400;
+
+    private static final int MANTISSA_BITS = 160;
+    private static final int QUOTIENT_BITS = 64;
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    private static final BigDecimal FOUR = BigDecimal.valueOf(4);
+    private static final BigDecimal HALF = BigDecimal.valueOf(0.5);
+
+    //the largest exponent of a coefficient solved in double-double, so that the products and
+    //their quotients by a coefficient stay within 2^+/-1000, and the smallest discriminant
+    //relative to the larger of b^2 and 4ac. The double-double sum is accurate relative to the
+    //discriminant itself, so that bound only keeps it out of the subnormal range
+    private static final int DOUBLE_DOUBLE_EXPONENT = 300;
+    private static final double DOUBLE_DOUBLE_CANCELLATION = 0x1p-100;
+
+    private static final BigDecimal [] POWERS_OF_TWO = powersOfTwo();
+    private static final BigInteger [] POWERS_OF_TEN = powersOfTen();
+
+
+    private QuadraticReferenceSolver(){
+
+    }
+
+
+    /**
+     * Solve ax^2 + bx + c = 0 into a row of a degree 2 result, and write the condition
+     * numbers of its two roots at 2 * row and 2 * row + 1 of conditionNumbers
+     * */
+    static void solveRow(double coefficientA, double coefficientB, double constantC,
+                         BatchSolveResult result, double [] conditionNumbers, int row){
+
+        byte equationType = PolynomialRootKernels.quadraticEquationType(coefficientA, coefficientB, constantC);
+
+        result.getEquationTypes()[row] = equationType;
+
+        double [] realParts = result.getRootRealParts();
+        double [] imaginaryParts = result.getRootImaginaryParts();
+
+        result.getVertexXCoordinates()[row] = Double.NaN;
+        result.getVertexYCoordinates()[row] = Double.NaN;
+        conditionNumbers[2 * row] = Double.NaN;
+        conditionNumbers[2 * row + 1] = Double.NaN;
+
+        if (equationType == BatchSolveResult.EQUATION_TYPE_NON_FINITE){
+
+            writeNoRoots(result, row, Double.NaN);
+            return;
+        }
+
+        if (solveDoubleDoubleRow(coefficientA, coefficientB, constantC, equationType, result, conditionNumbers, row)){
+            return;
+        }
+
+        BigDecimal discriminant = discriminant(coefficientA, coefficientB, constantC);
+
+        BigDecimal a = toBigDecimal(coefficientA);
+        BigDecimal b = toBigDecimal(coefficientB);
+        BigDecimal c = toBigDecimal(constantC);
+
+        if (equationType != BatchSolveResult.EQUATION_TYPE_QUADRATIC){
+
+            if (equationType != BatchSolveResult.EQUATION_TYPE_LINEAR){
+
+                writeNoRoots(result, row, toDouble(discriminant));
+                return;
+            }
+
+            BigDecimal root = c.negate().divide(b, PRECISION);
+
+            //the single root is in the first slot, and there is no sum or product of roots
+            result.getDiscriminants()[row] = toDouble(discriminant);
+            result.getRootTypes()[row] = BatchSolveResult.ROOT_TYPE_SINGLE_REAL;
+            result.getSumsOfRoots()[row] = Double.NaN;
+            result.getProductsOfRoots()[row] = Double.NaN;
+
+            realParts[2 * row] = toDouble(root);
+            imaginaryParts[2 * row] = 0;
+            conditionNumbers[2 * row] = conditionNumber(a, b, c, root.abs(), b.abs());
+
+            realParts[2 * row + 1] = Double.NaN;
+            imaginaryParts[2 * row + 1] = Double.NaN;
+        }
+        else{
+            BigDecimal vertexX = b.negate().divide(TWO.multiply(a), PRECISION);
+
+            result.getDiscriminants()[row] = toDouble(discriminant);
+            result.getRootTypes()[row] = PolynomialRootKernels.quadraticRootType(discriminant.signum());
+            result.getVertexXCoordinates()[row] = toDouble(vertexX);
+            result.getVertexYCoordinates()[row] = toDouble(discriminant.negate().divide(FOUR.multiply(a), PRECISION));
+            result.getSumsOfRoots()[row] = toDouble(b.negate().divide(a, PRECISION));
+            result.getProductsOfRoots()[row] = toDouble(c.divide(a, PRECISION));
+
+            writeQuadraticRoots(a, b, c, discriminant, vertexX, realParts, imaginaryParts,
+                    conditionNumbers, 2 * row);
+        }
+    }
+
+
+    /**
+     * Solve a quadratic or linear row in double-double arithmetic, like the BigDecimal path
+     * of solveRow()
+     *
+     * The condition numbers only scale the tolerances, so they are taken in double, from
+     * |p'(r)| = sqrt(|b^2 - 4ac|) for the roots of a quadratic, which does not cancel
+     *
+     * @return false if the row is out of the range of double-double, see the class comment
+     * */
+    private static boolean solveDoubleDoubleRow(double coefficientA, double coefficientB, double constantC,
+                                                byte equationType, BatchSolveResult result,
+                                                double [] conditionNumbers, int row){
+
+        boolean isLinear = equationType == BatchSolveResult.EQUATION_TYPE_LINEAR;
+
+        if (!(equationType == BatchSolveResult.EQUATION_TYPE_QUADRATIC || isLinear)
+                || !isInDoubleDoubleRange(coefficientA) || !isInDoubleDoubleRange(coefficientB)
+                || !isInDoubleDoubleRange(constantC)){
+
+            return false;
+        }
+
+        DoubleDouble bSquare = DoubleDouble.product(coefficientB, coefficientB);
+        DoubleDouble fourAC = DoubleDouble.product(4 * coefficientA, constantC);
+        DoubleDouble discriminant = bSquare.add(fourAC.negate());
+
+        double largerProduct = Math.max(bSquare.high, Math.abs(fourAC.high));
+
+        if (discriminant.high == 0 || !(Math.abs(discriminant.high) >= DOUBLE_DOUBLE_CANCELLATION * largerProduct)){
+            return false;
+        }
+
+        DoubleDouble a = DoubleDouble.of(coefficientA);
+        DoubleDouble b = DoubleDouble.of(coefficientB);
+        DoubleDouble c = DoubleDouble.of(constantC);
+
+        double [] realParts = result.getRootRealParts();
+        double [] imaginaryParts = result.getRootImaginaryParts();
+        int offset = 2 * row;
+
+        result.getDiscriminants()[row] = discriminant.doubleValue();
+
+        if (isLinear){
+
+            double root = c.negate().divide(b).doubleValue();
+
+            result.getRootTypes()[row] = BatchSolveResult.ROOT_TYPE_SINGLE_REAL;
+            result.getSumsOfRoots()[row] = Double.NaN;
+            result.getProductsOfRoots()[row] = Double.NaN;
+
+            realParts[offset] = root;
+            imaginaryParts[offset] = 0;
+            conditionNumbers[offset] = conditionNumber(coefficientA, coefficientB, constantC,
+                    Math.abs(root), Math.abs(coefficientB));
+
+            realParts[offset + 1] = Double.NaN;
+            imaginaryParts[offset + 1] = Double.NaN;
+
+            return true;
+        }
+
+        DoubleDouble vertexX = b.negate().divide(a.scale(2));
+        double slope = Math.sqrt(Math.abs(discriminant.high));
+
+        result.getRootTypes()[row] = PolynomialRootKernels.quadraticRootType(discriminant.high);
+        result.getVertexXCoordinates()[row] = vertexX.doubleValue();
+        result.getVertexYCoordinates()[row] = discriminant.negate().divide(a.scale(4)).doubleValue();
+        result.getSumsOfRoots()[row] = b.negate().divide(a).doubleValue();
+        result.getProductsOfRoots()[row] = c.divide(a).doubleValue();
+
+        if (discriminant.high > 0){
+
+            //q = -(b + sign(b) * sqrt(D))/2 does not cancel, and the roots are q/a and c/q
+            DoubleDouble squareRoot = discriminant.squareRoot();
+            DoubleDouble q = b.add(coefficientB < 0 ? squareRoot.negate() : squareRoot).scale(-0.5);
+
+            double qOverA = q.divide(a).doubleValue();
+            double cOverQ = c.divide(q).doubleValue();
+
+            realParts[offset] = coefficientB < 0 ? cOverQ : qOverA;
+            realParts[offset + 1] = coefficientB < 0 ? qOverA : cOverQ;
+            imaginaryParts[offset] = 0;
+            imaginaryParts[offset + 1] = 0;
+        }
+        else{
+            double imaginaryPart = discriminant.negate().squareRoot().divide(a.scale(2)).doubleValue();
+
+            realParts[offset] = vertexX.doubleValue();
+            realParts[offset + 1] = vertexX.doubleValue();
+            imaginaryParts[offset] = -imaginaryPart;
+            imaginaryParts[offset + 1] = imaginaryPart;
+        }
+
+        for (int index = offset; index < offset + 2; index++){
+
+            conditionNumbers[index] = conditionNumber(coefficientA, coefficientB, constantC,
+                    Math.hypot(realParts[index], imaginaryParts[index]), slope);
+        }
+
+        return true;
+    }
+
+
+    private static boolean isInDoubleDoubleRange(double coefficient){
+        return coefficient == 0 || Math.abs(Math.getExponent(coefficient)) <= DOUBLE_DOUBLE_EXPONENT;
+    }
+
+
+    /**
+     * Returns the condition number (|a||r|^2 + |b||r| + |c|)/(|r||p'(r)|) of a root of modulus
+     * |r|, written as (|a||r| + |b| + |c|/|r|)/|p'(r)| so that |r|^2 cannot overflow
+     * */
+    private static double conditionNumber(double coefficientA, double coefficientB, double constantC,
+                                          double modulus, double slope){
+
+        double perturbation = Math.abs(coefficientA) * modulus + Math.abs(coefficientB)
+                + Math.abs(constantC) / modulus;
+
+        return modulus == 0 ? Double.POSITIVE_INFINITY : perturbation / slope;
+    }
+
+
+    /**
+     * Write the two roots of a quadratic equation and their condition numbers
+     * */
+    private static void writeQuadraticRoots(BigDecimal a, BigDecimal b, BigDecimal c, BigDecimal discriminant,
+                                            BigDecimal vertexX, double [] realParts, double [] imaginaryParts,
+                                            double [] conditionNumbers, int offset){
+
+        BigDecimal [] roots = new BigDecimal[4];
+
+        //|p'(r)| = |2ar + b| = sqrt(|D|) for both roots
+        BigDecimal squareRoot = squareRoot(discriminant.abs());
+
+        if (discriminant.signum() > 0){
+
+            //q = -(b + sign(b) * sqrt(D))/2 does not cancel, and the roots are q/a and c/q
+            //the sums are rounded, as exact sums of values hundreds of digits apart are slow
+            BigDecimal q = (b.signum() < 0 ? b.subtract(squareRoot, PRECISION) : b.add(squareRoot, PRECISION))
+                    .multiply(HALF).negate();
+
+            BigDecimal qOverA = q.divide(a, PRECISION);
+            BigDecimal cOverQ = c.divide(q, PRECISION);
+
+            roots[0] = b.signum() < 0 ? cOverQ : qOverA;
+            roots[1] = BigDecimal.ZERO;
+            roots[2] = b.signum() < 0 ? qOverA : cOverQ;
+            roots[3] = BigDecimal.ZERO;
+        }
+        else{
+            BigDecimal imaginaryPart = discriminant.signum() == 0
+                    ? BigDecimal.ZERO
+                    : squareRoot.divide(TWO.multiply(a), PRECISION);
+
+            roots[0] = vertexX;
+            roots[1] = imaginaryPart.negate();
+            roots[2] = vertexX;
+            roots[3] = imaginaryPart;
+        }
+
+        for (int k = 0; k < 2; k++){
+
+            realParts[offset + k] = toDouble(roots[2 * k]);
+            imaginaryParts[offset + k] = toDouble(roots[2 * k + 1]);
+            conditionNumbers[offset + k] = conditionNumber(a, b, c,
+                    modulus(roots[2 * k], roots[2 * k + 1]), squareRoot);
+        }
+    }
+
+
+    /**
+     * Returns the condition number (|a||r|^2 + |b||r| + |c|)/(|r||p'(r)|) of a root of modulus
+     * |r|, like PolynomialRootKernels.writeQuadraticRootSensitivity() but without its underflow
+     * of |r|^2 for the extreme exponents. It is infinite for r == 0 and for a double root
+     *
+     * |p'(r)| is given rather than computed as |2ar + b|, which cancels for the real roots
+     * */
+    private static double conditionNumber(BigDecimal a, BigDecimal b, BigDecimal c,
+                                          BigDecimal modulus, BigDecimal slope){
+
+        if (slope.signum() == 0 || modulus.signum() == 0){
+            return Double.POSITIVE_INFINITY;
+        }
+
+        BigDecimal perturbation = a.abs().multiply(modulus, CONDITION_PRECISION)
+                .add(b.abs(), CONDITION_PRECISION)
+                .add(c.abs().divide(modulus, CONDITION_PRECISION), CONDITION_PRECISION);
+
+        return toDouble(perturbation.divide(slope, CONDITION_PRECISION));
+    }
+
+
+    /**
+     * Returns the modulus of a complex number, with CONDITION_PRECISION digits
+     * */
+    private static BigDecimal modulus(BigDecimal realPart, BigDecimal imaginaryPart){
+
+        if (imaginaryPart.signum() == 0){
+            return realPart.abs().round(CONDITION_PRECISION);
+        }
+
+        BigDecimal roundedRealPart = realPart.round(CONDITION_PRECISION);
+        BigDecimal roundedImaginaryPart = imaginaryPart.round(CONDITION_PRECISION);
+
+        return squareRoot(roundedRealPart.multiply(roundedRealPart)
+                .add(roundedImaginaryPart.multiply(roundedImaginaryPart), CONDITION_PRECISION), CONDITION_PRECISION);
+    }
+
+
+    /**
+     * Returns the square root of a non-negative value, with PRECISION digits
+     * */
+    static BigDecimal squareRoot(BigDecimal value){
+        return squareRoot(value, PRECISION);
+    }
+
+
+    /**
+     * Returns the square root of a non-negative value, with the digits of the given context
+     *
+     * BigDecimal.sqrt() is too slow to check millions of cases, so this starts from the
+     * double square root of the value scaled by an even power of ten, and two Newton steps
+     * take its 16 correct digits past PRECISION
+     * */
+    private static BigDecimal squareRoot(BigDecimal value, MathContext precision){
+
+        if (value.signum() == 0){
+            return BigDecimal.ZERO;
+        }
+
+        int exponent = value.precision() - value.scale();
+        int evenExponent = exponent - Math.floorMod(exponent, 2);
+
+        double scaledValue = toDouble(value.scaleByPowerOfTen(-evenExponent).round(precision));
+        BigDecimal root = new BigDecimal(Math.sqrt(scaledValue)).scaleByPowerOfTen(evenExponent / 2);
+
+        for (int step = 0; step < 2; step++){
+            root = root.add(value.divide(root, precision), precision).multiply(HALF, precision);
+        }
+
+        return root;
+    }
+
+
+    /**
+     * Returns the exact discriminant b^2 - 4ac, from the binary mantissas and exponents of
+     * the finite coefficients, rounded to PRECISION digits
+     * */
+    static BigDecimal discriminant(double coefficientA, double coefficientB, double constantC){
+
+        BigInteger bSquare = BigInteger.valueOf(mantissa(coefficientB)).pow(2);
+        BigInteger fourAC = BigInteger.valueOf(mantissa(coefficientA)).multiply(BigInteger.valueOf(mantissa(constantC)));
+
+        int bSquareExponent = 2 * exponent(coefficientB);
+        int fourACExponent = exponent(coefficientA) + exponent(constantC) + 2;
+        int exponent = Math.min(bSquareExponent, fourACExponent);
+
+        BigInteger discriminant = bSquare.shiftLeft(bSquareExponent - exponent)
+                .subtract(fourAC.shiftLeft(fourACExponent - exponent));
+
+        return toBigDecimal(discriminant, exponent);
+    }
+
+
+    /**
+     * Returns a finite double with PRECISION digits
+     * */
+    static BigDecimal toBigDecimal(double value){
+
+        //without its trailing zero bits, a small integer or dyadic coefficient stays short
+        long mantissa = mantissa(value);
+        int trailingZeros = mantissa == 0 ? 0 : Long.numberOfTrailingZeros(mantissa);
+
+        return toBigDecimal(BigInteger.valueOf(mantissa >> trailingZeros), exponent(value) + trailingZeros);
+    }
+
+
+    /**
+     * Returns mantissa * 2^exponent with PRECISION digits
+     * */
+    private static BigDecimal toBigDecimal(BigInteger mantissa, int exponent){
+
+        if (mantissa.signum() == 0){
+            return BigDecimal.ZERO;
+        }
+
+        //dropping the low bits of a long mantissa still keeps far more than PRECISION digits
+        int excessBits = Math.max(0, mantissa.bitLength() - MANTISSA_BITS);
+
+        return new BigDecimal(mantissa.shiftRight(excessBits))
+                .multiply(POWERS_OF_TWO[exponent + excessBits - MINIMUM_POWER_OF_TWO], PRECISION);
+    }
+
+
+    /**
+     * Returns a value rounded to double, within one ulp
+     * */
+    static double toDouble(BigDecimal value){
+
+        int decimalExponent = value.precision() - value.scale();
+
+        if (value.signum() == 0 || decimalExponent < MINIMUM_DECIMAL_EXPONENT){
+            return value.signum() < 0 ? -0.0 : 0.0;
+        }
+
+        if (decimalExponent > MAXIMUM_DECIMAL_EXPONENT){
+            return value.signum() * Double.POSITIVE_INFINITY;
+        }
+
+        BigInteger unscaledValue = value.unscaledValue();
+        int scale = value.scale();
+
+        if (Math.abs(scale) > MAXIMUM_POWER_OF_TEN){
+            return value.doubleValue();
+        }
+
+        if (scale <= 0){
+            return unscaledValue.multiply(POWERS_OF_TEN[-scale]).doubleValue();
+        }
+
+        //a quotient of at least QUOTIENT_BITS bits, so its truncation is far below an ulp
+        BigInteger divisor = POWERS_OF_TEN[scale];
+        int shift = Math.max(0, QUOTIENT_BITS + divisor.bitLength() - unscaledValue.bitLength());
+
+        return Math.scalb(unscaledValue.shiftLeft(shift).divide(divisor).doubleValue(), -shift);
+    }
+
+
+    /**
+     * Returns the signed integer mantissa of a finite double, which is value / 2^exponent(value)
+     * */
+    private static long mantissa(double value){
+
+        long bits = Double.doubleToRawLongBits(value);
+        long fraction = bits & 0x000fffffffffffffL;
+        long mantissa = (bits & 0x7ff0000000000000L) == 0 ? fraction : fraction | 0x0010000000000000L;
+
+        return bits < 0 ? -mantissa : mantissa;
+    }
+
+
+    /**
+     * Returns the exponent of the integer mantissa of a finite double
+     * */
+    private static int exponent(double value){
+
+        int biasedExponent = (int) ((Double.doubleToRawLongBits(value) >>> 52) & 0x7ff);
+
+        return Math.max(biasedExponent, 1) - 1075;
+    }
+
+
+    private static BigDecimal [] powersOfTwo(){
+
+        BigDecimal [] powers = new BigDecimal[MAXIMUM_POWER_OF_TWO - MINIMUM_POWER_OF_TWO + 1];
+
+        for (int exponent = MINIMUM_POWER_OF_TWO; exponent <= MAXIMUM_POWER_OF_TWO; exponent++){
+
+            powers[exponent - MINIMUM_POWER_OF_TWO] = exponent < 0
+                    ? HALF.pow(-exponent, TABLE_PRECISION)
+                    : TWO.pow(exponent, TABLE_PRECISION);
+        }
+
+        return powers;
+    }
+
+
+    private static BigInteger [] powersOfTen(){
+
+        BigInteger [] powers = new BigInteger[MAXIMUM_POWER_OF_TEN + 1];
+
+        powers[0] = BigInteger.ONE;
+
+        for (int exponent = 1; exponent <= MAXIMUM_POWER_OF_TEN; exponent++){
+            powers[exponent] = powers[exponent - 1].multiply(BigInteger.TEN);
+        }
+
+        return powers;
+    }
+
+
+    /**
+     * Write a row of an equation without a finite set of roots
+     * */
+    private static void writeNoRoots(BatchSolveResult result, int row, double discriminant){
+
+        result.getDiscriminants()[row] = discriminant;
+        result.getRootTypes()[row] = BatchSolveResult.ROOT_TYPE_NONE;
+        result.getSumsOfRoots()[row] = Double.NaN;
+        result.getProductsOfRoots()[row] = Double.NaN;
+
+        for (int index = 2 * row; index < 2 * row + 2; index++){
+
+            result.getRootRealParts()[index] = Double.NaN;
+            result.getRootImaginaryParts()[index] = Double.NaN;
+        }
+    }
+
+
+    /**
+     * An unevaluated sum high + low of two doubles, with |low| at most half an ulp of high,
+     * which carries about 106 bits. The operations follow the accurate algorithms of the QD
+     * library, and assume that nothing overflows or underflows
+     * */
+    private static final class DoubleDouble {
+
+        private final double high;
+        private final double low;
+
+
+        private DoubleDouble(double high, double low){
+
+            this.high = high;
+            this.low = low;
+        }
+
+
+        static DoubleDouble of(double value){
+            return new DoubleDouble(value, 0);
+        }
+
+
+        /**
+         * Returns the exact product x * y
+         * */
+        static DoubleDouble product(double x, double y){
+
+            double high = x * y;
+
+            return new DoubleDouble(high, Math.fma(x, y, -high));
+        }
+
+
+        /**
+         * Returns x + y, where |x| >= |y| or x == 0, normalized
+         * */
+        private static DoubleDouble fastTwoSum(double x, double y){
+
+            double sum = x + y;
+
+            return new DoubleDouble(sum, y - (sum - x));
+        }
+
+
+        private static DoubleDouble twoSum(double x, double y){
+
+            double sum = x + y;
+            double yPart = sum - x;
+
+            return new DoubleDouble(sum, (x - (sum - yPart)) + (y - yPart));
+        }
+
+
+        DoubleDouble negate(){
+            return new DoubleDouble(-this.high, -this.low);
+        }
+
+
+        /**
+         * Returns this times a power of two, which is exact
+         * */
+        DoubleDouble scale(double powerOfTwo){
+            return new DoubleDouble(this.high * powerOfTwo, this.low * powerOfTwo);
+        }
+
+
+        /**
+         * Returns this + other, with a relative error of about 2^-105 of the sum itself even
+         * when the two cancel
+         * */
+        DoubleDouble add(DoubleDouble other){
+
+            DoubleDouble highSum = twoSum(this.high, other.high);
+            DoubleDouble lowSum = twoSum(this.low, other.low);
+
+            DoubleDouble sum = fastTwoSum(highSum.high, highSum.low + lowSum.high);
+
+            return fastTwoSum(sum.high, sum.low + lowSum.low);
+        }
+
+
+        DoubleDouble multiply(double factor){
+
+            DoubleDouble product = product(this.high, factor);
+
+            return fastTwoSum(product.high, product.low + this.low * factor);
+        }
+
+
+        /**
+         * Returns this / divisor, from three quotient digits of the long division
+         * */
+        DoubleDouble divide(DoubleDouble divisor){
+
+            double firstDigit = this.high / divisor.high;
+            DoubleDouble remainder = add(divisor.multiply(firstDigit).negate());
+
+            double secondDigit = remainder.high / divisor.high;
+            remainder = remainder.add(divisor.multiply(secondDigit).negate());
+
+            double thirdDigit = remainder.high / divisor.high;
+
+            return fastTwoSum(firstDigit, secondDigit).add(of(thirdDigit));
+        }
+
+
+        /**
+         * Returns the square root of a positive value, from the double square root s and one
+         * Newton step (this - s^2)/(2s), where s^2 is exact
+         * */
+        DoubleDouble squareRoot(){
+
+            double root = Math.sqrt(this.high);
+            double correction = add(product(root, root).negate()).high / (2 * root);
+
+            return fastTwoSum(root, correction);
+        }
+
+
+        /**
+         * Returns the value rounded to double, high being the rounded sum already
+         * */
+        double doubleValue(){
+            return this.high + this.low;
+        }
+    }
+}
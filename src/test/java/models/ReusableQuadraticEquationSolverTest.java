@@ -0,0 +1,94 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the ReusableQuadraticEquationSolver class
+ * */
+public class ReusableQuadraticEquationSolverTest {
+
+
+    @Test
+    public void testSolveMatchesQuadraticEquationSolver() {
+
+        double [][] columns = QuadraticEquationBatchSolverTest.randomColumns(5_000, 29);
+        columns[0][1] = 0;
+        columns[0][2] = 0;
+        columns[1][2] = 0;
+
+        ReusableQuadraticEquationSolver reusableSolver = new ReusableQuadraticEquationSolver();
+
+        for (int row = 0; row < columns[0].length; row++){
+
+            QuadraticEquationSolver solver =
+                    new QuadraticEquationSolver(columns[0][row], columns[1][row], columns[2][row]);
+
+            Assertions.assertSame(reusableSolver,
+                    reusableSolver.solve(columns[0][row], columns[1][row], columns[2][row]));
+
+            Assertions.assertEquals(solver.getCoefficientA(), reusableSolver.getCoefficientA());
+            Assertions.assertEquals(solver.getEquationType(), reusableSolver.getEquationType());
+            Assertions.assertEquals(solver.getRootType(), reusableSolver.getRootType());
+            Assertions.assertEquals(solver.getDiscriminant(), reusableSolver.getDiscriminant());
+            Assertions.assertEquals(solver.getVertex().getXCoordinate(), reusableSolver.getVertexXCoordinate());
+            Assertions.assertEquals(solver.getVertex().getYCoordinate(),
+                    reusableSolver.getVertex().getYCoordinate());
+            Assertions.assertEquals(solver.getSumOfRoots(), reusableSolver.getSumOfRoots());
+            Assertions.assertEquals(solver.getProductOfRoots(), reusableSolver.getProductOfRoots());
+
+            if (solver.getRootType() == QuadraticEquationSolver.RootType.COMPLEX){
+
+                IComplexNumber firstRoot = (IComplexNumber) solver.getFirstRoot();
+                IComplexNumber secondRoot = (IComplexNumber) reusableSolver.getSecondRoot();
+
+                Assertions.assertEquals(firstRoot.getImaginaryPart(), reusableSolver.getFirstRootImaginaryPart());
+                Assertions.assertEquals(((IComplexNumber) solver.getSecondRoot()).getRealPart(),
+                        secondRoot.getRealPart());
+            }
+            else{
+                Assertions.assertEquals(solver.getFirstRoot(), reusableSolver.getFirstRoot());
+                Assertions.assertEquals(solver.getSecondRoot(), reusableSolver.getSecondRoot());
+            }
+        }
+    }
+
+
+    @Test
+    public void testPoolReusesReleasedSolvers() {
+
+        ReusableQuadraticEquationSolver first = ReusableQuadraticEquationSolver.acquire();
+        ReusableQuadraticEquationSolver nested = ReusableQuadraticEquationSolver.acquire();
+
+        Assertions.assertNotSame(first, nested);
+
+        nested.close();
+        nested.close();
+
+        Assertions.assertSame(nested, ReusableQuadraticEquationSolver.acquire());
+        Assertions.assertNotSame(nested, ReusableQuadraticEquationSolver.acquire());
+
+        first.close();
+    }
+
+
+    @Test
+    public void testSolveKeepsInternalObjects() {
+
+        ReusableQuadraticEquationSolver solver = new ReusableQuadraticEquationSolver().solve(1, 2, 5);
+
+        IComplexNumber firstRoot = (IComplexNumber) solver.getFirstRoot();
+        IVertex vertex = solver.getVertex();
+
+        solver.solve(1, -2, 5);
+
+        Assertions.assertSame(firstRoot, solver.getFirstRoot());
+        Assertions.assertSame(vertex, solver.getVertex());
+        Assertions.assertEquals(-2, firstRoot.getImaginaryPart());
+        Assertions.assertEquals(1, vertex.getXCoordinate());
+        Assertions.assertEquals(4, vertex.getYCoordinate());
+    }
+}
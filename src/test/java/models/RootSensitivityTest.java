@@ -0,0 +1,180 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the RootSensitivity and RootSensitivityBatchResult classes
+ * */
+public class RootSensitivityTest {
+
+
+    private static final double DELTA = 1e-9;
+
+
+    @Test
+    public void testDerivativesOfRealRoots() {
+
+        //x^2 - 5x + 6 = (x - 2)(x - 3), p'(2) = -1 and p'(3) = 1
+        QuadraticEquationSolver solver = new QuadraticEquationSolver(1, -5, 6);
+
+        RootSensitivity first = solver.getFirstRootSensitivity();
+        RootSensitivity second = solver.getSecondRootSensitivity();
+
+        Assertions.assertEquals(4, first.getDerivativeWithRespectToA(), DELTA);
+        Assertions.assertEquals(2, first.getDerivativeWithRespectToB(), DELTA);
+        Assertions.assertEquals(1, first.getDerivativeWithRespectToC(), DELTA);
+        Assertions.assertEquals(0, first.getImaginaryDerivativeWithRespectToA(), DELTA);
+
+        Assertions.assertEquals(-9, second.getDerivativeWithRespectToA(), DELTA);
+        Assertions.assertEquals(-3, second.getDerivativeWithRespectToB(), DELTA);
+        Assertions.assertEquals(-1, second.getDerivativeWithRespectToC(), DELTA);
+
+        //(4 + 10 + 6)/(2 * 1) and (9 + 15 + 6)/(3 * 1)
+        Assertions.assertEquals(10, first.getConditionNumber(), DELTA);
+        Assertions.assertEquals(10, second.getConditionNumber(), DELTA);
+    }
+
+
+    @Test
+    public void testDerivativesMatchFiniteDifferences() {
+
+        Random random = new Random(31);
+        double step = 1e-6;
+
+        for (int i = 0; i < 1_000; i++){
+
+            double a = random.nextDouble() * 4 + 0.5;
+            double b = (random.nextDouble() - 0.5) * 10;
+            double c = (random.nextDouble() - 0.5) * 10;
+
+            QuadraticEquationSolver solver = new QuadraticEquationSolver(a, b, c);
+
+            if (solver.getRootType() != QuadraticEquationSolver.RootType.REAL_AND_DISTINCT
+                    || solver.getDiscriminant() < 1){
+                continue;
+            }
+
+            double root = (Double) solver.getSecondRoot();
+            RootSensitivity sensitivity = solver.getSecondRootSensitivity();
+
+            double derivativeA = ((Double) new QuadraticEquationSolver(a + step, b, c).getSecondRoot()
+                    - (Double) new QuadraticEquationSolver(a - step, b, c).getSecondRoot()) / (2 * step);
+            double derivativeB = ((Double) new QuadraticEquationSolver(a, b + step, c).getSecondRoot()
+                    - (Double) new QuadraticEquationSolver(a, b - step, c).getSecondRoot()) / (2 * step);
+            double derivativeC = ((Double) new QuadraticEquationSolver(a, b, c + step).getSecondRoot()
+                    - (Double) new QuadraticEquationSolver(a, b, c - step).getSecondRoot()) / (2 * step);
+
+            double tolerance = 1e-4 * Math.max(1, Math.abs(root * root));
+
+            Assertions.assertEquals(derivativeA, sensitivity.getDerivativeWithRespectToA(), tolerance);
+            Assertions.assertEquals(derivativeB, sensitivity.getDerivativeWithRespectToB(), tolerance);
+            Assertions.assertEquals(derivativeC, sensitivity.getDerivativeWithRespectToC(), tolerance);
+        }
+    }
+
+
+    @Test
+    public void testComplexAndDegenerateRoots() {
+
+        //x^2 + 1: r = i, p'(i) = 2i, dr/dc = -1/(2i) = i/2, dr/db = i * i/2 = -1/2, dr/da = -i/2
+        RootSensitivity sensitivity = new QuadraticEquationSolver(1, 0, 1).getSecondRootSensitivity();
+
+        Assertions.assertEquals(0, sensitivity.getDerivativeWithRespectToC(), DELTA);
+        Assertions.assertEquals(0.5, sensitivity.getImaginaryDerivativeWithRespectToC(), DELTA);
+        Assertions.assertEquals(-0.5, sensitivity.getDerivativeWithRespectToB(), DELTA);
+        Assertions.assertEquals(0, sensitivity.getImaginaryDerivativeWithRespectToB(), DELTA);
+        Assertions.assertEquals(0, sensitivity.getDerivativeWithRespectToA(), DELTA);
+        Assertions.assertEquals(-0.5, sensitivity.getImaginaryDerivativeWithRespectToA(), DELTA);
+        Assertions.assertEquals(1, sensitivity.getConditionNumber(), DELTA);
+
+        //a double root is infinitely ill-conditioned
+        Assertions.assertEquals(Double.POSITIVE_INFINITY,
+                new QuadraticEquationSolver(1, -2, 1).getFirstRootSensitivity().getConditionNumber());
+
+        //2x + 4: r = -2, dr/dc = -1/2, dr/da = -4/2, condition (2 * 2 + 4)/(2 * 2)
+        RootSensitivity linear = new QuadraticEquationSolver(0, 2, 4).getFirstRootSensitivity();
+
+        Assertions.assertEquals(-0.5, linear.getDerivativeWithRespectToC(), DELTA);
+        Assertions.assertEquals(-2, linear.getDerivativeWithRespectToA(), DELTA);
+        Assertions.assertEquals(2, linear.getConditionNumber(), DELTA);
+
+        //x^2 - x: the relative error of the root 0 is unbounded, the root 1 has (1 + 1)/(1 * 1)
+        QuadraticEquationSolver zeroRoot = new QuadraticEquationSolver(1, -1, 0);
+
+        Assertions.assertEquals(Double.POSITIVE_INFINITY, zeroRoot.getFirstRootSensitivity().getConditionNumber());
+        Assertions.assertEquals(2, zeroRoot.getSecondRootSensitivity().getConditionNumber(), DELTA);
+
+        Assertions.assertNull(new QuadraticEquationSolver(0, 0, 1).getFirstRootSensitivity());
+    }
+
+
+    @Test
+    public void testBatchMatchesSingleEquation() {
+
+        int size = 5_000;
+        Random random = new Random(37);
+
+        double [] coefficientsA = new double[size];
+        double [] coefficientsB = new double[size];
+        double [] constantsC = new double[size];
+
+        for (int i = 0; i < size; i++){
+            coefficientsA[i] = random.nextInt(5) - 2;
+            coefficientsB[i] = random.nextInt(5) - 2;
+            constantsC[i] = random.nextInt(5) - 2;
+        }
+
+        BatchSolveResult result = new BatchSolveResult(size);
+        RootSensitivityBatchResult sensitivity = new RootSensitivityBatchResult(size);
+
+        QuadraticEquationBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result, sensitivity);
+
+        int illConditioned = 0;
+
+        for (int row = 0; row < size; row++){
+
+            QuadraticEquationSolver solver = new QuadraticEquationSolver(coefficientsA[row], coefficientsB[row],
+                    constantsC[row]);
+
+            RootSensitivity first = solver.getFirstRootSensitivity();
+
+            if (first == null){
+
+                Assertions.assertTrue(Double.isNaN(sensitivity.getConditionNumber(row)));
+                illConditioned++;
+                continue;
+            }
+
+            RootSensitivity second = solver.getSecondRootSensitivity();
+
+            Assertions.assertEquals(first.getDerivativeWithRespectToA(), sensitivity.getDerivativeARealParts()[2 * row]);
+
+            if (second == null){
+
+                //the single root of a linear equation
+                Assertions.assertTrue(Double.isNaN(sensitivity.getConditionNumbers()[2 * row + 1]));
+                Assertions.assertEquals(first.getConditionNumber(), sensitivity.getConditionNumber(row));
+                illConditioned += sensitivity.getConditionNumber(row) <= 1e6 ? 0 : 1;
+                continue;
+            }
+
+            Assertions.assertEquals(second.getImaginaryDerivativeWithRespectToB(),
+                    sensitivity.getDerivativeBImaginaryParts()[2 * row + 1]);
+            Assertions.assertEquals(second.getDerivativeWithRespectToC(),
+                    sensitivity.getDerivativeCRealParts()[2 * row + 1]);
+            Assertions.assertEquals(Math.max(first.getConditionNumber(), second.getConditionNumber()),
+                    sensitivity.getConditionNumber(row));
+
+            illConditioned += sensitivity.getConditionNumber(row) <= 1e6 ? 0 : 1;
+        }
+
+        Assertions.assertEquals(illConditioned, sensitivity.countIllConditioned(size, 1e6));
+        Assertions.assertTrue(illConditioned > 0);
+    }
+}
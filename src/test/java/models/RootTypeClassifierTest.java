@@ -0,0 +1,89 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the RootTypeClassifier class
+ * */
+public class RootTypeClassifierTest {
+
+
+    private static final int SIZE = 10_001;
+
+
+    @Test
+    public void testOutputsMatchBatchSolver() {
+
+        double [][] columns = QuadraticEquationBatchSolverTest.randomColumns(SIZE, 23);
+
+        //degenerate rows
+        columns[0][1] = 0;
+        columns[0][2] = 0;
+        columns[1][2] = 0;
+        columns[2][3] = Double.NaN;
+
+        BatchSolveResult result = new BatchSolveResult(SIZE);
+        QuadraticEquationBatchSolver.solve(columns[0], columns[1], columns[2], result);
+
+        byte [] rootTypes = new byte[SIZE];
+        RootTypeClassifier.classify(columns[0], columns[1], columns[2], rootTypes);
+
+        long [] bitmap = new long[RootTypeClassifier.packedLength(SIZE)];
+        RootTypeClassifier.classifyPacked(columns[0], columns[1], columns[2], bitmap);
+
+        int [] counts = RootTypeClassifier.count(columns[0], columns[1], columns[2]);
+        int [] expectedCounts = new int[counts.length];
+
+        for (int row = 0; row < SIZE; row++){
+
+            byte expected = result.getRootTypes()[row];
+
+            Assertions.assertEquals(expected, rootTypes[row]);
+            Assertions.assertEquals(expected, RootTypeClassifier.getPackedRootType(bitmap, row));
+
+            expectedCounts[expected]++;
+        }
+
+        Assertions.assertArrayEquals(expectedCounts, counts);
+        Assertions.assertEquals(BatchSolveResult.ROOT_TYPE_SINGLE_REAL, rootTypes[1]);
+        Assertions.assertEquals(BatchSolveResult.ROOT_TYPE_NONE, rootTypes[2]);
+        Assertions.assertEquals(BatchSolveResult.ROOT_TYPE_NONE, rootTypes[3]);
+
+        //the unused bits of the last word stay 0
+        Assertions.assertEquals(0, bitmap[bitmap.length - 1]
+                >>> (RootTypeClassifier.BITS_PER_ROW * (SIZE % RootTypeClassifier.ROWS_PER_WORD)));
+    }
+
+
+    @Test
+    public void testSignIsExactNearZero() {
+
+        double coefficientB = 1 + Math.ulp(1.0);
+        double [] coefficientsA = {0.25, 0.25, 0.25};
+        double [] coefficientsB = {coefficientB, 1, -coefficientB};
+        double [] constantsC = {1, 1 + Math.ulp(1.0), coefficientB * coefficientB};
+
+        byte [] rootTypes = new byte[3];
+        RootTypeClassifier.classify(coefficientsA, coefficientsB, constantsC, rootTypes);
+
+        Assertions.assertEquals(BatchSolveResult.ROOT_TYPE_REAL_AND_DISTINCT, rootTypes[0]);
+        Assertions.assertEquals(BatchSolveResult.ROOT_TYPE_COMPLEX, rootTypes[1]);
+        //b^2 rounds to exactly 4ac, but the exact discriminant is ulp(1)^2
+        Assertions.assertEquals(BatchSolveResult.ROOT_TYPE_REAL_AND_DISTINCT, rootTypes[2]);
+    }
+
+
+    @Test
+    public void testRejectsMismatchedColumns() {
+
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                RootTypeClassifier.classify(new double[2], new double[2], new double[1], new byte[2]));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () ->
+                RootTypeClassifier.classifyPacked(new double[22], new double[22], new double[22], new long[1]));
+    }
+}
@@ -0,0 +1,83 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the RootTypePartition class
+ * */
+public class RootTypePartitionTest {
+
+
+    @Test
+    public void testPartitionIsStable() {
+
+        byte [] rootTypes = {2, 0, 1, 2, 3, 0, 2};
+
+        RootTypePartition partition = new RootTypePartition(10);
+        partition.partition(rootTypes, rootTypes.length);
+
+        Assertions.assertEquals(7, partition.getSize());
+        Assertions.assertArrayEquals(new int[]{1, 5, 2, 0, 3, 6, 4},
+                Arrays.copyOf(partition.getPermutation(), 7));
+
+        Assertions.assertEquals(3, partition.getCount(BatchSolveResult.ROOT_TYPE_COMPLEX));
+        Assertions.assertEquals(3, partition.getStart(BatchSolveResult.ROOT_TYPE_COMPLEX));
+        Assertions.assertEquals(6, partition.getEnd(BatchSolveResult.ROOT_TYPE_COMPLEX));
+        Assertions.assertEquals(7, partition.getEnd(BatchSolveResult.ROOT_TYPE_NONE));
+    }
+
+
+    @Test
+    public void testSolvePartitionedGroupsRowsByRootType() {
+
+        int size = 20_000;
+        double [][] columns = QuadraticEquationBatchSolverTest.randomColumns(size, 17);
+
+        for (int row = 0; row < size; row += 9){
+            columns[0][row] = 0;
+            columns[1][row] = 0;
+        }
+
+        BatchSolveResult result = new BatchSolveResult(size);
+        RootTypePartition partition = new RootTypePartition(size);
+
+        QuadraticEquationBatchSolver.solvePartitioned(columns[0], columns[1], columns[2],
+                result, partition);
+
+        int [] rows = partition.getPermutation();
+        boolean [] seen = new boolean[size];
+
+        for (byte code = 0; code < RootTypePartition.ROOT_TYPE_CODES; code++){
+
+            int previousRow = -1;
+
+            for (int i = partition.getStart(code); i < partition.getEnd(code); i++){
+
+                Assertions.assertEquals(code, result.getRootTypes()[rows[i]]);
+                Assertions.assertTrue(rows[i] > previousRow);
+                Assertions.assertFalse(seen[rows[i]]);
+
+                seen[rows[i]] = true;
+                previousRow = rows[i];
+            }
+        }
+
+        Assertions.assertEquals(size, partition.getEnd(BatchSolveResult.ROOT_TYPE_NONE));
+        Assertions.assertTrue(partition.getCount(BatchSolveResult.ROOT_TYPE_NONE) > 0);
+    }
+
+
+    @Test
+    public void testTooSmallPartitionIsRejected() {
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> QuadraticEquationBatchSolver.solvePartitioned(new double[3], new double[3],
+                        new double[3], new BatchSolveResult(3), new RootTypePartition(2)));
+    }
+}
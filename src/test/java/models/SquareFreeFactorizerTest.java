@@ -0,0 +1,102 @@
+package models;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the SquareFreeFactorizer class and the exact root display
+ * */
+public class SquareFreeFactorizerTest {
+
+
+    @Test
+    public void testSieveMatchesTrialDivision() {
+
+        //a sieve bound of 2 factors everything above 2 by trial division
+        SquareFreeFactorizer sieved = new SquareFreeFactorizer(1 << 12, 0);
+        SquareFreeFactorizer trialDivided = new SquareFreeFactorizer(2, 0);
+
+        for (long n = 0; n <= 1 << 13; n++){
+
+            long squareFactor = sieved.squareFactor(n);
+
+            Assertions.assertEquals(squareFactor, trialDivided.squareFactor(n), "n = " + n);
+
+            if (n > 0){
+                Assertions.assertEquals(n, squareFactor * squareFactor * sieved.squareFreePart(n));
+                Assertions.assertEquals(1, sieved.squareFactor(sieved.squareFreePart(n)), "n = " + n);
+            }
+        }
+    }
+
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 0",
+            "1, 1",
+            "180, 6",
+            "999999999999, 3",
+            "1000000000000, 1000000",
+            "999966000289, 999983",
+            "4000011000007, 1",
+            "4611686014132420609, 2147483647"})
+    public void testSquareFactor(long n, long expected) {
+
+        Assertions.assertEquals(expected, SquareFreeFactorizer.getDefault().squareFactor(n));
+    }
+
+
+    @Test
+    public void testCache() {
+
+        SquareFreeFactorizer factorizer = new SquareFreeFactorizer(1 << 10, 2);
+
+        Assertions.assertEquals(6, factorizer.squareFactor(180));
+        Assertions.assertEquals(0, factorizer.getCachedCount());
+
+        Assertions.assertEquals(1000, factorizer.squareFactor(2_000_000));
+        Assertions.assertEquals(1000, factorizer.squareFactor(2_000_000));
+        Assertions.assertEquals(1, factorizer.getCachedCount());
+
+        factorizer.squareFactor(3_000_000);
+        factorizer.squareFactor(5_000_000);
+
+        Assertions.assertEquals(2, factorizer.getCachedCount());
+        Assertions.assertEquals(1000, factorizer.squareFactor(5_000_000));
+    }
+
+
+    @Test
+    public void testInvalidArguments() {
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SquareFreeFactorizer(1, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SquareFreeFactorizer(16, -1));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> SquareFreeFactorizer.getDefault().squareFactor(-4));
+    }
+
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "4;6;-1;(-3 - √13)/4;(-3 + √13)/4",
+            "16;24;-11;(-3 - 2√5)/4;(-3 + 2√5)/4",
+            "-16;-24;11;(-3 + 2√5)/4;(-3 - 2√5)/4",
+            "1;0;-8;-2√2;2√2",
+            "1;2;9;-1 - 2i√2;-1 + 2i√2",
+            "4;0;1;-i/2;i/2",
+            "1;5;-14;-7;2",
+            "4;-12;9;3/2;3/2"})
+    public void testFormatRoots(double coefficientA, double coefficientB, double constantC,
+                                String expectedFirstRoot, String expectedSecondRoot) {
+
+        ExactQuadraticRoots roots = ExactQuadraticSolver.solve(coefficientA, coefficientB, constantC);
+
+        Assertions.assertEquals(expectedFirstRoot, roots.formatFirstRoot());
+        Assertions.assertEquals(expectedSecondRoot, roots.formatSecondRoot());
+    }
+}
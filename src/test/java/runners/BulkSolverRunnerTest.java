@@ -0,0 +1,84 @@
+package runners;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the BulkSolverRunner and AllocationProfiler classes
+ * */
+public class BulkSolverRunnerTest {
+
+
+    @Test
+    public void testBulkOutputMatchesHeadlessOutput() {
+
+        Random random = new Random(5);
+        StringBuilder input = new StringBuilder("# comment\n0 2 -6\n0 0 5\n1 2 3 4\n2,8,33\n");
+
+        for (int i = 0; i < BulkSolverRunner.BATCH_SIZE + 100; i++){
+
+            input.append(random.nextInt(21) - 10).append(' ')
+                    .append(random.nextDouble() * 20 - 10).append(' ')
+                    .append(random.nextDouble() * 20 - 10).append('\n');
+        }
+
+        String [] headless = run(input.toString(), HeadlessSolverRunner.HEADLESS_FLAG);
+        String [] bulk = run(input.toString(), BulkSolverRunner.BULK_FLAG);
+
+        Assertions.assertEquals(headless[0], bulk[0]);
+        Assertions.assertEquals(headless[1], bulk[1]);
+        Assertions.assertTrue(bulk[1].startsWith("Line 4"));
+    }
+
+
+    @Test
+    public void testProfilerReportsEquationsAndCollectors() {
+
+        String [] bulk = run("1 5 -14\n6 12 6\n", BulkSolverRunner.BULK_FLAG, AllocationProfiler.PROFILE_FLAG);
+
+        Assertions.assertEquals(2, bulk[0].trim().split("\\R").length);
+        Assertions.assertTrue(bulk[1].startsWith("equations=2 batches=1 allocated-bytes="));
+        Assertions.assertTrue(bulk[1].contains("gc="));
+    }
+
+
+    @Test
+    public void testProfilerMeasuresAllocationsOfBatch() {
+
+        AllocationProfiler profiler = new AllocationProfiler(null);
+
+        profiler.beginBatch();
+        long [] allocation = new long[1024];
+        profiler.endBatch(allocation.length);
+
+        Assertions.assertEquals(1024, profiler.getEquations());
+
+        if (profiler.getAllocatedBytes() >= 0){
+            Assertions.assertTrue(profiler.getAllocatedBytes() >= Long.BYTES * allocation.length);
+        }
+    }
+
+
+    /**
+     * Returns the standard output and standard error of a run
+     * */
+    private static String[] run(String input, String... args){
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        HeadlessSolverRunner.run(args, new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                new PrintStream(out, true), new PrintStream(err, true));
+
+        return new String[]{out.toString(), err.toString()};
+    }
+}
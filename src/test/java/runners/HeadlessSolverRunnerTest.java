@@ -0,0 +1,55 @@
+package runners;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the HeadlessSolverRunner class
+ * */
+public class HeadlessSolverRunnerTest {
+
+
+    @ParameterizedTest
+    @CsvSource(delimiter = ';', value = {
+            "1;5;-14;1.0,5.0,-14.0,REAL_AND_DISTINCT,-7.0,2.0,81.0,-2.5,-20.25,-5.0,-14.0,QUADRATIC",
+            "2;8;33;2.0,8.0,33.0,COMPLEX,-2.0-3.5355339059327378i,-2.0+3.5355339059327378i,-200.0,-2.0,25.0,-4.0,16.5,QUADRATIC",
+            "0;2;-6;0.0,2.0,-6.0,SINGLE_REAL,3.0,NaN,4.0,NaN,NaN,NaN,NaN,LINEAR",
+            "0;0;5;0.0,0.0,5.0,NONE,NaN,NaN,0.0,NaN,NaN,NaN,NaN,CONSTANT"})
+    public void testSolveAndFormat(String coefficientA, String coefficientB,
+                                   String constantC, String expectedLine) {
+
+        Assertions.assertEquals(expectedLine,
+                HeadlessSolverRunner.solveAndFormat(coefficientA, coefficientB, constantC));
+    }
+
+
+    @Test
+    public void testRunReadsEquationsFromInput() {
+
+        String input = "# comment\n1 5 -14\n\n6,12,6\nnot a number 1\n";
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+        int exitCode = HeadlessSolverRunner.run(new String[]{HeadlessSolverRunner.HEADLESS_FLAG},
+                new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)),
+                new PrintStream(out, true), new PrintStream(err, true));
+
+        String [] lines = out.toString().trim().split("\\R");
+
+        Assertions.assertEquals(1, exitCode);
+        Assertions.assertEquals(2, lines.length);
+        Assertions.assertTrue(lines[1].startsWith("6.0,12.0,6.0,REAL_AND_EQUAL,-1.0,-1.0"));
+        Assertions.assertTrue(err.toString().startsWith("Line 5"));
+    }
+}
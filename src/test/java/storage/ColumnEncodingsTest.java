@@ -0,0 +1,89 @@
+package storage;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the ColumnEncodings class
+ * */
+public class ColumnEncodingsTest {
+
+
+    @Test
+    public void testDoublesRoundTripBitExactly() {
+
+        Random random = new Random(3);
+        double [] values = new double[5000];
+
+        for (int i = 0; i < values.length; i++){
+
+            switch (i % 5){
+
+                case 0:
+                    values[i] = random.nextDouble() * 100;
+                    break;
+
+                case 1:
+                    values[i] = values[i - 1];
+                    break;
+
+                case 2:
+                    values[i] = random.nextInt(10);
+                    break;
+
+                case 3:
+                    values[i] = i % 2 == 0 ? -0.0 : Double.NaN;
+                    break;
+
+                default:
+                    values[i] = Double.longBitsToDouble(random.nextLong());
+                    break;
+            }
+        }
+
+        byte [] chunk = ColumnEncodings.encodeDoubles(values, 0, values.length);
+        double [] decoded = new double[values.length + 3];
+
+        ColumnEncodings.decodeDoubles(chunk, values.length, decoded, 3);
+
+        for (int i = 0; i < values.length; i++){
+            Assertions.assertEquals(Double.doubleToRawLongBits(values[i]),
+                    Double.doubleToRawLongBits(decoded[i + 3]));
+        }
+    }
+
+
+    @Test
+    public void testRepeatedValuesTakeOneBitEach() {
+
+        double [] values = new double[8001];
+        Arrays.fill(values, 2.5);
+
+        Assertions.assertEquals(8 + 1000, ColumnEncodings.encodeDoubles(values, 0, values.length).length);
+    }
+
+
+    @Test
+    public void testCodesArePackedTwoBitsPerRow() {
+
+        byte [] codes = new byte[1001];
+
+        for (int i = 0; i < codes.length; i++){
+            codes[i] = (byte) (i % 4);
+        }
+
+        byte [] chunk = ColumnEncodings.encodeCodes(codes, 0, codes.length, 2);
+        byte [] decoded = new byte[codes.length];
+
+        ColumnEncodings.decodeCodes(chunk, codes.length, 2, decoded, 0);
+
+        Assertions.assertEquals(251, chunk.length);
+        Assertions.assertArrayEquals(codes, decoded);
+    }
+}
@@ -0,0 +1,129 @@
+package storage;
+
+import models.BatchSolveResult;
+import models.QuadraticEquationBatchSolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the ColumnarResultReader and ColumnarResultWriter classes
+ * */
+public class ColumnarResultReaderTest {
+
+
+    private static final int SIZE = 10_000;
+
+
+    @TempDir
+    Path temporaryDirectory;
+
+
+    @Test
+    public void testRoundTrip() throws IOException {
+
+        BatchSolveResult result = solveRandomBatch(SIZE, 5);
+        Path path = writeInPieces(result, 3000);
+
+        try (ColumnarResultReader reader = new ColumnarResultReader(path)){
+
+            Assertions.assertEquals(SIZE, reader.getRowCount());
+            Assertions.assertEquals(4, reader.getRowGroupCount());
+            Assertions.assertEquals(1000, reader.getRowGroupRowCount(3));
+            Assertions.assertEquals(9000, reader.getRowGroupFirstRow(3));
+
+            BatchSolveResult readResult = reader.readAll();
+
+            Assertions.assertArrayEquals(result.getRootTypes(), readResult.getRootTypes());
+            Assertions.assertArrayEquals(result.getEquationTypes(), readResult.getEquationTypes());
+            Assertions.assertArrayEquals(result.getRootRealParts(), readResult.getRootRealParts());
+            Assertions.assertArrayEquals(result.getRootImaginaryParts(),
+                    readResult.getRootImaginaryParts());
+            Assertions.assertArrayEquals(result.getVertexYCoordinates(),
+                    readResult.getVertexYCoordinates());
+            Assertions.assertArrayEquals(result.getProductsOfRoots(), readResult.getProductsOfRoots());
+        }
+    }
+
+
+    @Test
+    public void testSingleColumnIsReadOnItsOwn() throws IOException {
+
+        BatchSolveResult result = solveRandomBatch(SIZE, 9);
+        Path path = writeInPieces(result, 4096);
+
+        try (ColumnarResultReader reader = new ColumnarResultReader(path)){
+
+            Assertions.assertArrayEquals(result.getDiscriminants(),
+                    reader.readDoubleColumn(ResultColumn.DISCRIMINANT));
+            Assertions.assertArrayEquals(result.getRootTypes(),
+                    reader.readCodeColumn(ResultColumn.ROOT_TYPE));
+
+            //3 bits per root type code
+            Assertions.assertEquals((3 * SIZE + 7) / 8, reader.getCompressedSize(ResultColumn.ROOT_TYPE), 3);
+
+            Assertions.assertThrows(IllegalArgumentException.class,
+                    () -> reader.readCodeColumn(ResultColumn.VERTEX_X));
+        }
+    }
+
+
+    @Test
+    public void testOtherFilesAreRejected() throws IOException {
+
+        Path path = this.temporaryDirectory.resolve("not-a-result-file");
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+
+        Assertions.assertThrows(IOException.class, () -> new ColumnarResultReader(path));
+    }
+
+
+    /**
+     * Write a result in pieces of 777 rows, so that row groups span several writes
+     * */
+    private Path writeInPieces(BatchSolveResult result, int rowGroupSize) throws IOException {
+
+        Path path = this.temporaryDirectory.resolve("results-" + rowGroupSize + ".qesr");
+
+        try (OutputStream out = Files.newOutputStream(path);
+             ColumnarResultWriter writer = new ColumnarResultWriter(out, rowGroupSize)){
+
+            for (int row = 0; row < result.getSize(); row += 777){
+                writer.write(result, row, Math.min(result.getSize(), row + 777));
+            }
+        }
+
+        return path;
+    }
+
+
+    private static BatchSolveResult solveRandomBatch(int size, long seed){
+
+        Random random = new Random(seed);
+
+        double [] coefficientsA = new double[size];
+        double [] coefficientsB = new double[size];
+        double [] constantsC = new double[size];
+
+        for (int row = 0; row < size; row++){
+
+            coefficientsA[row] = row % 50 == 0 ? 0 : random.nextInt(21) - 10;
+            coefficientsB[row] = random.nextInt(41) - 20;
+            constantsC[row] = random.nextDouble() * 100 - 50;
+        }
+
+        BatchSolveResult result = new BatchSolveResult(size);
+        QuadraticEquationBatchSolver.solve(coefficientsA, coefficientsB, constantsC, result);
+
+        return result;
+    }
+}
@@ -0,0 +1,299 @@
+package storage;
+
+import models.BatchSolveResult;
+import models.QuadraticEquationBatchSolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the PersistentSolveCache class
+ * */
+public class PersistentSolveCacheTest {
+
+
+    private static final int SIZE = 2000;
+
+
+    @TempDir
+    Path temporaryDirectory;
+
+
+    @Test
+    public void testEntriesSurviveReopening() throws IOException {
+
+        double [][] columns = columns(SIZE);
+        BatchSolveResult expected = solve(columns);
+        Path path = this.temporaryDirectory.resolve("cache.bin");
+
+        try (PersistentSolveCache cache = PersistentSolveCache.open(path, 4 * SIZE)){
+
+            for (int row = 0; row < SIZE; row++){
+                cache.put(columns[0][row], columns[1][row], columns[2][row], expected, row);
+            }
+        }
+
+        BatchSolveResult cached = new BatchSolveResult(SIZE);
+
+        try (PersistentSolveCache cache = PersistentSolveCache.openReadOnly(path)){
+
+            Assertions.assertEquals(8192, cache.getSlotCount());
+
+            for (int row = 0; row < SIZE; row++){
+                Assertions.assertTrue(cache.get(columns[0][row], columns[1][row], columns[2][row],
+                        cached, row));
+            }
+
+            Assertions.assertFalse(cache.get(1, 2, 3, cached, 0));
+            Assertions.assertThrows(IllegalStateException.class, () -> cache.put(1, 2, 3, expected, 0));
+        }
+
+        Assertions.assertArrayEquals(expected.getRootTypes(), cached.getRootTypes());
+        Assertions.assertArrayEquals(expected.getEquationTypes(), cached.getEquationTypes());
+        Assertions.assertArrayEquals(expected.getRootRealParts(), cached.getRootRealParts());
+        Assertions.assertArrayEquals(expected.getRootImaginaryParts(), cached.getRootImaginaryParts());
+        Assertions.assertArrayEquals(expected.getProductsOfRoots(), cached.getProductsOfRoots());
+    }
+
+
+    @Test
+    public void testCorruptSlotReadsAsMiss() throws IOException {
+
+        double [][] columns = columns(1);
+        BatchSolveResult expected = solve(columns);
+        Path path = this.temporaryDirectory.resolve("corrupt.bin");
+
+        try (PersistentSolveCache cache = PersistentSolveCache.open(path, 8)){
+            cache.put(columns[0][0], columns[1][0], columns[2][0], expected, 0);
+        }
+
+        //flip a bit in the discriminant of every slot, as a torn write would
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)){
+
+            for (int slot = 0; slot < 8; slot++){
+
+                long position = PersistentSolveCache.HEADER_SIZE
+                        + (long) slot * PersistentSolveCache.SLOT_SIZE + 90;
+
+                ByteBuffer value = ByteBuffer.allocate(1);
+                channel.read(value, position);
+                value.put(0, (byte) (value.get(0) ^ 1)).rewind();
+                channel.write(value, position);
+            }
+        }
+
+        try (PersistentSolveCache cache = PersistentSolveCache.open(path, 8)){
+            Assertions.assertFalse(cache.get(columns[0][0], columns[1][0], columns[2][0],
+                    new BatchSolveResult(1), 0));
+        }
+    }
+
+
+    @Test
+    public void testTornSlotsAreOnlyClearedAfterUncleanShutdown() throws IOException {
+
+        Path path = this.temporaryDirectory.resolve("torn.bin");
+
+        try (PersistentSolveCache cache = PersistentSolveCache.open(path, 8)){
+            Assertions.assertEquals(8, cache.getSlotCount());
+        }
+
+        //leave the first slot in the middle of a write
+        writeInt(path, PersistentSolveCache.HEADER_SIZE + 4, 1);
+
+        try (PersistentSolveCache cache = PersistentSolveCache.open(path, 8)){
+
+            Assertions.assertEquals(8, cache.getSlotCount());
+            Assertions.assertEquals(PersistentSolveCache.STATE_OPEN,
+                    readInt(path, PersistentSolveCache.STATE_OFFSET));
+        }
+
+        //a cleanly closed file is not scanned
+        Assertions.assertEquals(1, readInt(path, PersistentSolveCache.HEADER_SIZE + 4));
+        Assertions.assertEquals(PersistentSolveCache.STATE_CLOSED,
+                readInt(path, PersistentSolveCache.STATE_OFFSET));
+
+        //as if the last writer crashed
+        writeInt(path, PersistentSolveCache.STATE_OFFSET, PersistentSolveCache.STATE_OPEN);
+
+        try (PersistentSolveCache cache = PersistentSolveCache.open(path, 8)){
+
+            Assertions.assertEquals(8, cache.getSlotCount());
+            Assertions.assertEquals(0, readInt(path, PersistentSolveCache.HEADER_SIZE + 4) & 1);
+        }
+    }
+
+
+    @Test
+    public void testOversizedSlotCountIsRejected() throws IOException {
+
+        Path path = this.temporaryDirectory.resolve("oversized.bin");
+
+        try (PersistentSolveCache cache = PersistentSolveCache.open(path, 8)){
+            Assertions.assertEquals(8, cache.getSlotCount());
+        }
+
+        writeInt(path, 8, Integer.highestOneBit(PersistentSolveCache.MAXIMUM_SLOT_COUNT) << 1);
+
+        Assertions.assertThrows(IOException.class, () -> PersistentSolveCache.openReadOnly(path));
+        Assertions.assertThrows(IOException.class, () -> PersistentSolveCache.open(path, 8));
+    }
+
+
+    @Test
+    public void testSizeIsBoundedByEviction() throws IOException {
+
+        double [][] columns = columns(SIZE);
+        BatchSolveResult expected = solve(columns);
+        BatchSolveResult cached = new BatchSolveResult(SIZE);
+
+        try (PersistentSolveCache cache =
+                     PersistentSolveCache.open(this.temporaryDirectory.resolve("small.bin"), 16)){
+
+            int hits = 0;
+
+            for (int row = 0; row < SIZE; row++){
+
+                cache.put(columns[0][row], columns[1][row], columns[2][row], expected, row);
+
+                Assertions.assertTrue(cache.get(columns[0][row], columns[1][row], columns[2][row],
+                        cached, row));
+            }
+
+            for (int row = 0; row < SIZE; row++){
+                hits += cache.get(columns[0][row], columns[1][row], columns[2][row], cached, row) ? 1 : 0;
+            }
+
+            Assertions.assertTrue(hits > 0 && hits <= 16);
+        }
+    }
+
+
+    @Test
+    public void testSecondWriterIsRejected() throws IOException {
+
+        Path path = this.temporaryDirectory.resolve("locked.bin");
+
+        try (PersistentSolveCache cache = PersistentSolveCache.open(path, 8)){
+
+            Assertions.assertEquals(8, cache.getSlotCount());
+            Assertions.assertThrows(IOException.class, () -> PersistentSolveCache.open(path, 8));
+        }
+    }
+
+
+    @Test
+    public void testReadersNeverSeeTornRows() throws Exception {
+
+        double [][] columns = columns(SIZE);
+        BatchSolveResult expected = solve(columns);
+
+        try (PersistentSolveCache cache =
+                     PersistentSolveCache.open(this.temporaryDirectory.resolve("shared.bin"), 256)){
+
+            AtomicBoolean writing = new AtomicBoolean(true);
+            AtomicInteger mismatches = new AtomicInteger();
+            Thread [] readers = new Thread[3];
+
+            for (int i = 0; i < readers.length; i++){
+
+                long seed = i;
+
+                readers[i] = new Thread(() -> {
+
+                    Random random = new Random(seed);
+                    BatchSolveResult cached = new BatchSolveResult(1);
+
+                    while (writing.get()){
+
+                        int row = random.nextInt(SIZE);
+
+                        if (cache.get(columns[0][row], columns[1][row], columns[2][row], cached, 0)
+                                && (Double.compare(cached.getDiscriminants()[0],
+                                        expected.getDiscriminants()[row]) != 0
+                                || Double.compare(cached.getRootRealParts()[1],
+                                        expected.getRootRealParts()[2 * row + 1]) != 0)){
+
+                            mismatches.incrementAndGet();
+                        }
+                    }
+                });
+
+                readers[i].start();
+            }
+
+            for (int pass = 0; pass < 20; pass++){
+                for (int row = 0; row < SIZE; row++){
+                    cache.put(columns[0][row], columns[1][row], columns[2][row], expected, row);
+                }
+            }
+
+            writing.set(false);
+
+            for (Thread reader : readers){
+                reader.join();
+            }
+
+            Assertions.assertEquals(0, mismatches.get());
+        }
+    }
+
+
+    private static int readInt(Path path, long position) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+
+            ByteBuffer value = ByteBuffer.allocate(4);
+            channel.read(value, position);
+
+            return value.getInt(0);
+        }
+    }
+
+
+    private static void writeInt(Path path, long position, int value) throws IOException {
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)){
+
+            ByteBuffer buffer = ByteBuffer.allocate(4).putInt(0, value);
+            channel.write(buffer, position);
+        }
+    }
+
+
+    private static double[][] columns(int size){
+
+        Random random = new Random(size);
+        double [][] columns = new double[3][size];
+
+        for (int row = 0; row < size; row++){
+
+            columns[0][row] = row % 10 == 0 ? 0 : random.nextInt(21) - 10;
+            columns[1][row] = row;
+            columns[2][row] = random.nextDouble() * 100 - 50;
+        }
+
+        return columns;
+    }
+
+
+    private static BatchSolveResult solve(double [][] columns){
+
+        BatchSolveResult result = new BatchSolveResult(columns[0].length);
+        QuadraticEquationBatchSolver.solve(columns[0], columns[1], columns[2], result);
+
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+package storage;
+
+import models.BatchSolveResult;
+import models.QuadraticEquationBatchSolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the ResultScanner class
+ * */
+public class ResultScannerTest {
+
+
+    private static final int SIZE = 10_000;
+    private static final int ROW_GROUP_SIZE = 1000;
+
+
+    @TempDir
+    Path temporaryDirectory;
+
+    private BatchSolveResult result;
+    private Path path;
+
+
+    /**
+     * Writes x^2 + (row - SIZE/2) = 0 for every row, so the vertex y-coordinate grows
+     * with the row and the zone maps of the row groups do not overlap
+     * */
+    @BeforeEach
+    public void writeResults() throws IOException {
+
+        double [] coefficientsA = new double[SIZE];
+        double [] coefficientsB = new double[SIZE];
+        double [] constantsC = new double[SIZE];
+
+        for (int row = 0; row < SIZE; row++){
+
+            coefficientsA[row] = 1;
+            constantsC[row] = row - SIZE / 2;
+        }
+
+        this.result = new BatchSolveResult(SIZE);
+        QuadraticEquationBatchSolver.solve(coefficientsA, coefficientsB, constantsC, this.result);
+
+        this.path = this.temporaryDirectory.resolve("results.qesr");
+
+        try (OutputStream out = Files.newOutputStream(this.path);
+             ColumnarResultWriter writer = new ColumnarResultWriter(out, ROW_GROUP_SIZE)){
+
+            writer.write(this.result, 0, SIZE);
+        }
+    }
+
+
+    @Test
+    public void testFilterSkipsRowGroupsAndMatchesFullScan() throws IOException {
+
+        ResultQuery query = new ResultQuery()
+                .withRootTypes(BatchSolveResult.ROOT_TYPE_COMPLEX)
+                .where(ColumnPredicate.lessThan(ResultColumn.VERTEX_Y, 2000))
+                .aggregate(ResultColumn.DISCRIMINANT);
+
+        long expectedRows = 0;
+        double expectedSum = 0;
+        double expectedMinimum = Double.POSITIVE_INFINITY;
+
+        for (int row = 0; row < SIZE; row++){
+
+            if (this.result.getRootTypes()[row] == BatchSolveResult.ROOT_TYPE_COMPLEX
+                    && this.result.getVertexYCoordinates()[row] < 2000){
+
+                expectedRows++;
+                expectedSum += this.result.getDiscriminants()[row];
+                expectedMinimum = Math.min(expectedMinimum, this.result.getDiscriminants()[row]);
+            }
+        }
+
+        try (ColumnarResultReader reader = new ColumnarResultReader(this.path)){
+
+            ScanResult scanResult = new ResultScanner(reader).scan(query);
+
+            Assertions.assertEquals(1999, expectedRows);
+            Assertions.assertEquals(expectedRows, scanResult.getMatchingRows());
+            Assertions.assertEquals(expectedSum, scanResult.getSum(), 1e-6);
+            Assertions.assertEquals(expectedMinimum, scanResult.getMinimum());
+
+            Assertions.assertEquals(2, scanResult.getRowGroupsScanned());
+            Assertions.assertEquals(8, scanResult.getRowGroupsSkipped());
+        }
+    }
+
+
+    @Test
+    public void testCountIsAnsweredFromZoneMaps() throws IOException {
+
+        ResultQuery query = new ResultQuery()
+                .withRootTypes(BatchSolveResult.ROOT_TYPE_REAL_AND_DISTINCT,
+                        BatchSolveResult.ROOT_TYPE_REAL_AND_EQUAL)
+                .where(ColumnPredicate.greaterThanOrEqual(ResultColumn.DISCRIMINANT, -1e9));
+
+        try (ColumnarResultReader reader = new ColumnarResultReader(this.path)){
+
+            ScanResult scanResult = new ResultScanner(reader).scan(query);
+
+            Assertions.assertEquals(SIZE / 2 + 1, scanResult.getMatchingRows());
+            Assertions.assertEquals(0, scanResult.getRowGroupsScanned());
+        }
+    }
+
+
+    @Test
+    public void testCodeColumnsCannotBeFiltered() {
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> ColumnPredicate.lessThan(ResultColumn.ROOT_TYPE, 1));
+    }
+}
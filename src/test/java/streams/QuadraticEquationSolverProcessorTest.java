@@ -0,0 +1,239 @@
+package streams;
+
+import models.BatchSolveResult;
+import models.QuadraticEquationBatchSolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * @author Terence Lee
+ *
+ * Contains the unit tests for the QuadraticEquationSolverProcessor class
+ * */
+public class QuadraticEquationSolverProcessorTest {
+
+
+    private static final int CHUNKS = 200;
+    private static final int CHUNK_SIZE = 100;
+
+
+    @Test
+    public void testOrderedSolutionsMatchBatchSolver() throws InterruptedException {
+
+        QuadraticEquationSolverProcessor processor = new QuadraticEquationSolverProcessor();
+        CollectingSubscriber subscriber = new CollectingSubscriber(3);
+
+        publishChunks(processor, subscriber);
+
+        Assertions.assertNull(subscriber.error);
+        Assertions.assertEquals(CHUNKS, subscriber.items.size());
+
+        for (int i = 0; i < CHUNKS; i++){
+
+            SolvedChunk solvedChunk = subscriber.items.get(i);
+            CoefficientChunk chunk = solvedChunk.getCoefficients();
+
+            BatchSolveResult expected = new BatchSolveResult(chunk.getSize());
+            QuadraticEquationBatchSolver.solve(chunk.getCoefficientsA(), chunk.getCoefficientsB(),
+                    chunk.getConstantsC(), expected);
+
+            Assertions.assertEquals(i, solvedChunk.getSequenceNumber());
+            Assertions.assertEquals(i, chunk.getCoefficientsA()[0]);
+            Assertions.assertArrayEquals(expected.getRootRealParts(),
+                    solvedChunk.getResult().getRootRealParts());
+        }
+    }
+
+
+    @Test
+    public void testUnorderedModeEmitsEveryChunkOnce() throws InterruptedException {
+
+        QuadraticEquationSolverProcessor processor =
+                new QuadraticEquationSolverProcessor(ForkJoinPool.commonPool(), 4, false);
+        CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+
+        publishChunks(processor, subscriber);
+
+        boolean [] seen = new boolean[CHUNKS];
+
+        for (SolvedChunk solvedChunk : subscriber.items){
+
+            Assertions.assertFalse(seen[(int) solvedChunk.getSequenceNumber()]);
+            seen[(int) solvedChunk.getSequenceNumber()] = true;
+        }
+
+        Assertions.assertEquals(CHUNKS, subscriber.items.size());
+    }
+
+
+    @Test
+    public void testUpstreamDemandIsBoundedByTheBuffer() {
+
+        QuadraticEquationSolverProcessor processor =
+                new QuadraticEquationSolverProcessor(Runnable::run, 4, true);
+        CollectingSubscriber subscriber = new CollectingSubscriber(0);
+        RecordingSubscription upstream = new RecordingSubscription();
+
+        processor.subscribe(subscriber);
+        processor.onSubscribe(upstream);
+
+        Assertions.assertEquals(4, upstream.requested);
+
+        for (int i = 0; i < 4; i++){
+            processor.onNext(CoefficientChunk.of(1, i, -1));
+        }
+
+        Assertions.assertEquals(4, processor.getBufferedChunkCount());
+        Assertions.assertEquals(4, upstream.requested);
+        Assertions.assertTrue(subscriber.items.isEmpty());
+
+        subscriber.subscription.request(1);
+
+        Assertions.assertEquals(1, subscriber.items.size());
+        Assertions.assertEquals(5, upstream.requested);
+        Assertions.assertEquals(3, processor.getBufferedChunkCount());
+
+        processor.onComplete();
+        subscriber.subscription.request(10);
+
+        Assertions.assertEquals(4, subscriber.items.size());
+        Assertions.assertTrue(subscriber.completed.getCount() == 0);
+    }
+
+
+    @Test
+    public void testNonPositiveRequestIsAnError() {
+
+        QuadraticEquationSolverProcessor processor =
+                new QuadraticEquationSolverProcessor(Runnable::run, 4, true);
+        CollectingSubscriber subscriber = new CollectingSubscriber(0);
+        RecordingSubscription upstream = new RecordingSubscription();
+
+        processor.onSubscribe(upstream);
+        processor.subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        Assertions.assertTrue(subscriber.error instanceof IllegalArgumentException);
+        Assertions.assertTrue(upstream.cancelled);
+    }
+
+
+    private static void publishChunks(QuadraticEquationSolverProcessor processor,
+                                      CollectingSubscriber subscriber) throws InterruptedException {
+
+        try (SubmissionPublisher<CoefficientChunk> publisher = new SubmissionPublisher<>()){
+
+            publisher.subscribe(processor);
+            processor.subscribe(subscriber);
+
+            for (int i = 0; i < CHUNKS; i++){
+
+                double [] coefficientsA = new double[CHUNK_SIZE];
+                double [] coefficientsB = new double[CHUNK_SIZE];
+                double [] constantsC = new double[CHUNK_SIZE];
+
+                for (int row = 0; row < CHUNK_SIZE; row++){
+
+                    coefficientsA[row] = i == 0 ? 1 : i;
+                    coefficientsB[row] = row - 50;
+                    constantsC[row] = row % 7 - 3;
+                }
+
+                coefficientsA[0] = i;
+
+                publisher.submit(new CoefficientChunk(coefficientsA, coefficientsB, constantsC));
+            }
+        }
+
+        Assertions.assertTrue(subscriber.completed.await(30, TimeUnit.SECONDS));
+    }
+
+
+    /**
+     * Collects the emitted items, requesting batchSize more items whenever the previous
+     * batch has arrived
+     * */
+    private static final class CollectingSubscriber implements Flow.Subscriber<SolvedChunk> {
+
+        private final long batchSize;
+        private final List<SolvedChunk> items = new CopyOnWriteArrayList<>();
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private Flow.Subscription subscription;
+        private volatile Throwable error;
+        private long remaining;
+
+
+        private CollectingSubscriber(long batchSize){
+            this.batchSize = batchSize;
+        }
+
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription){
+
+            this.subscription = subscription;
+
+            if (this.batchSize > 0){
+
+                this.remaining = this.batchSize;
+                subscription.request(this.batchSize);
+            }
+        }
+
+
+        @Override
+        public void onNext(SolvedChunk item){
+
+            this.items.add(item);
+
+            if (this.batchSize > 0 && this.batchSize != Long.MAX_VALUE && --this.remaining == 0){
+
+                this.remaining = this.batchSize;
+                this.subscription.request(this.batchSize);
+            }
+        }
+
+
+        @Override
+        public void onError(Throwable throwable){
+
+            this.error = throwable;
+            this.completed.countDown();
+        }
+
+
+        @Override
+        public void onComplete(){
+            this.completed.countDown();
+        }
+    }
+
+
+    private static final class RecordingSubscription implements Flow.Subscription {
+
+        private long requested;
+        private boolean cancelled;
+
+
+        @Override
+        public void request(long n){
+            this.requested += n;
+        }
+
+
+        @Override
+        public void cancel(){
+            this.cancelled = true;
+        }
+    }
+}